@@ -0,0 +1,156 @@
+package io.katharsis.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.katharsis.benchmarks.model.Article;
+import io.katharsis.benchmarks.model.Comment;
+import io.katharsis.benchmarks.model.Person;
+import io.katharsis.benchmarks.repository.ArticleRepository;
+import io.katharsis.benchmarks.repository.CommentRepository;
+import io.katharsis.benchmarks.repository.PersonRepository;
+import io.katharsis.dispatcher.RequestDispatcher;
+import io.katharsis.dispatcher.registry.ControllerRegistry;
+import io.katharsis.dispatcher.registry.ControllerRegistryBuilder;
+import io.katharsis.errorhandling.mapper.ExceptionMapperRegistryBuilder;
+import io.katharsis.jackson.JsonApiModuleBuilder;
+import io.katharsis.locator.SampleJsonServiceLocator;
+import io.katharsis.queryParams.QueryParams;
+import io.katharsis.queryParams.QueryParamsBuilder;
+import io.katharsis.request.path.PathBuilder;
+import io.katharsis.resource.field.ResourceFieldNameTransformer;
+import io.katharsis.resource.information.ResourceInformationBuilder;
+import io.katharsis.resource.registry.ResourceRegistry;
+import io.katharsis.resource.registry.ResourceRegistryBuilder;
+import io.katharsis.utils.parser.TypeParser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Katharsis configured the way a servlet or JAX-RS integration does it, with in-memory repositories filled with a
+ * synthetic graph of articles, their authors and comments.
+ */
+public class BenchmarkFixture {
+
+    public static final String SERVICE_URL = "http://localhost:8080/api";
+    private static final String RESOURCE_PACKAGE = "io.katharsis.benchmarks.model,io.katharsis.benchmarks.repository";
+    private static final int AUTHORS = 16;
+
+    private final ResourceRegistry resourceRegistry;
+    private final PathBuilder pathBuilder;
+    private final TypeParser typeParser;
+    private final QueryParamsBuilder queryParamsBuilder;
+    private final ObjectMapper objectMapper;
+    private final RequestDispatcher requestDispatcher;
+    private final List<Article> articles;
+
+    /**
+     * @param articleCount       number of articles in the graph
+     * @param commentsPerArticle number of comments of each article
+     */
+    public BenchmarkFixture(int articleCount, int commentsPerArticle) throws Exception {
+        ResourceInformationBuilder resourceInformationBuilder = new ResourceInformationBuilder(
+            new ResourceFieldNameTransformer());
+        resourceRegistry = new ResourceRegistryBuilder(new SampleJsonServiceLocator(), resourceInformationBuilder)
+            .build(RESOURCE_PACKAGE, SERVICE_URL);
+        pathBuilder = new PathBuilder(resourceRegistry);
+        typeParser = new TypeParser();
+        queryParamsBuilder = new QueryParamsBuilder();
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JsonApiModuleBuilder().build(resourceRegistry));
+        ControllerRegistry controllerRegistry = new ControllerRegistryBuilder(resourceRegistry, typeParser,
+            objectMapper).build();
+        requestDispatcher = new RequestDispatcher(controllerRegistry,
+            new ExceptionMapperRegistryBuilder().build(RESOURCE_PACKAGE));
+        articles = populate(articleCount, commentsPerArticle);
+    }
+
+    private static List<Article> populate(int articleCount, int commentsPerArticle) {
+        ArticleRepository.clear();
+        PersonRepository.clear();
+        CommentRepository.clear();
+        PersonRepository personRepository = new PersonRepository();
+        CommentRepository commentRepository = new CommentRepository();
+        ArticleRepository articleRepository = new ArticleRepository();
+
+        List<Person> authors = new ArrayList<>(AUTHORS);
+        for (long i = 1; i <= AUTHORS; i++) {
+            authors.add(personRepository.save(new Person().setId(i).setName("Author " + i)
+                .setEmail("author" + i + "@example.com")));
+        }
+        List<Article> articles = new ArrayList<>(articleCount);
+        long commentId = 1;
+        for (long i = 1; i <= articleCount; i++) {
+            List<Comment> comments = new ArrayList<>(commentsPerArticle);
+            for (int j = 0; j < commentsPerArticle; j++, commentId++) {
+                comments.add(commentRepository.save(new Comment().setId(commentId)
+                    .setBody("Comment " + commentId + " of article " + i)
+                    .setAuthor(authors.get((int) (commentId % AUTHORS)))));
+            }
+            articles.add(articleRepository.save(new Article().setId(i)
+                .setTitle("Article " + i)
+                .setBody("Body of article " + i + " which is a bit longer than its title")
+                .setViews(i * 31)
+                .setAuthor(authors.get((int) (i % AUTHORS)))
+                .setComments(comments)));
+        }
+        return Collections.unmodifiableList(articles);
+    }
+
+    /**
+     * @param parameters query parameters as name and value pairs, multiple values are separated by commas
+     * @return parsed parameters
+     */
+    public QueryParams queryParams(String... parameters) {
+        return queryParamsBuilder.buildQueryParams(rawQueryParams(parameters));
+    }
+
+    /**
+     * @param parameters query parameters as name and value pairs, multiple values are separated by commas
+     * @return parameters the way they are received from a request
+     */
+    public static Map<String, Set<String>> rawQueryParams(String... parameters) {
+        Map<String, Set<String>> queryParams = new HashMap<>();
+        for (int i = 0; i < parameters.length; i += 2) {
+            queryParams.put(parameters[i], new LinkedHashSet<>(Arrays.asList(parameters[i + 1].split(","))));
+        }
+        return queryParams;
+    }
+
+    public ResourceRegistry getResourceRegistry() {
+        return resourceRegistry;
+    }
+
+    public PathBuilder getPathBuilder() {
+        return pathBuilder;
+    }
+
+    public TypeParser getTypeParser() {
+        return typeParser;
+    }
+
+    public QueryParamsBuilder getQueryParamsBuilder() {
+        return queryParamsBuilder;
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    public RequestDispatcher getRequestDispatcher() {
+        return requestDispatcher;
+    }
+
+    public List<Article> getArticles() {
+        return articles;
+    }
+
+    public List<Article> getArticles(int count) {
+        return articles.subList(0, Math.min(count, articles.size()));
+    }
+}
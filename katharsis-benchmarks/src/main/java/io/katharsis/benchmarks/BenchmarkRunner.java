@@ -0,0 +1,32 @@
+package io.katharsis.benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs benchmarks selected by JMH command line options, always reporting allocation rates of the GC profiler, the
+ * same as with {@code -prof gc}. Listing and help options are handled by {@link Main}.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        if (commandLineOptions.shouldHelp() || commandLineOptions.shouldList()
+            || commandLineOptions.shouldListWithParams() || commandLineOptions.shouldListProfilers()
+            || commandLineOptions.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+        new Runner(new OptionsBuilder()
+            .parent(commandLineOptions)
+            .addProfiler(GCProfiler.class)
+            .build())
+            .run();
+    }
+}
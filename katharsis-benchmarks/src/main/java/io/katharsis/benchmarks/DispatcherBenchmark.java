@@ -0,0 +1,123 @@
+package io.katharsis.benchmarks;
+
+import io.katharsis.benchmarks.model.Comment;
+import io.katharsis.benchmarks.repository.CommentRepository;
+import io.katharsis.dispatcher.RequestDispatcher;
+import io.katharsis.queryParams.QueryParams;
+import io.katharsis.request.dto.RequestBody;
+import io.katharsis.request.path.JsonPath;
+import io.katharsis.request.path.PathBuilder;
+import io.katharsis.response.BaseResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatches requests handled by each type of controller. Paths and bodies are built up front, so only the work of
+ * a controller and its repositories is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DispatcherBenchmark {
+
+    private static final long DELETED_COMMENT_ID = 999_999L;
+
+    private RequestDispatcher requestDispatcher;
+    private QueryParams noQueryParams;
+    private JsonPath collectionPath;
+    private JsonPath resourcePath;
+    private JsonPath fieldPath;
+    private JsonPath relationshipsPath;
+    private JsonPath commentsPath;
+    private JsonPath deletedCommentPath;
+    private RequestBody postBody;
+    private RequestBody[] patchBodies;
+    private RequestBody relationshipsPatchBody;
+    private CommentRepository commentRepository;
+    private int patchCount;
+
+    @Setup
+    public void setUp() throws Exception {
+        BenchmarkFixture fixture = new BenchmarkFixture(100, 5);
+        PathBuilder pathBuilder = fixture.getPathBuilder();
+        requestDispatcher = fixture.getRequestDispatcher();
+        noQueryParams = fixture.queryParams();
+        collectionPath = pathBuilder.buildPath("/articles");
+        resourcePath = pathBuilder.buildPath("/articles/1");
+        fieldPath = pathBuilder.buildPath("/articles/1/comments");
+        relationshipsPath = pathBuilder.buildPath("/articles/1/relationships/author");
+        commentsPath = pathBuilder.buildPath("/comments");
+        deletedCommentPath = pathBuilder.buildPath("/comments/" + DELETED_COMMENT_ID);
+        postBody = body(fixture, "{\"data\": {\"type\": \"comments\", \"attributes\": {\"body\": \"new comment\"}, " +
+            "\"relationships\": {\"author\": {\"data\": {\"type\": \"people\", \"id\": \"1\"}}}}}");
+        patchBodies = new RequestBody[]{
+            body(fixture, "{\"data\": {\"type\": \"articles\", \"id\": \"1\", \"attributes\": {\"title\": \"a\"}}}"),
+            body(fixture, "{\"data\": {\"type\": \"articles\", \"id\": \"1\", \"attributes\": {\"title\": \"b\"}}}")
+        };
+        relationshipsPatchBody = body(fixture, "{\"data\": {\"type\": \"people\", \"id\": \"2\"}}");
+        commentRepository = new CommentRepository();
+    }
+
+    private static RequestBody body(BenchmarkFixture fixture, String json) throws Exception {
+        return fixture.getObjectMapper().readValue(json, RequestBody.class);
+    }
+
+    @Benchmark
+    public BaseResponse<?> collectionGet() throws Exception {
+        return requestDispatcher.dispatchRequest(collectionPath, "GET", noQueryParams, null, null);
+    }
+
+    @Benchmark
+    public BaseResponse<?> resourceGet() throws Exception {
+        return requestDispatcher.dispatchRequest(resourcePath, "GET", noQueryParams, null, null);
+    }
+
+    @Benchmark
+    public BaseResponse<?> fieldResourceGet() throws Exception {
+        return requestDispatcher.dispatchRequest(fieldPath, "GET", noQueryParams, null, null);
+    }
+
+    @Benchmark
+    public BaseResponse<?> relationshipsResourceGet() throws Exception {
+        return requestDispatcher.dispatchRequest(relationshipsPath, "GET", noQueryParams, null, null);
+    }
+
+    @Benchmark
+    public BaseResponse<?> resourcePost() throws Exception {
+        return requestDispatcher.dispatchRequest(commentsPath, "POST", noQueryParams, null, postBody);
+    }
+
+    /**
+     * Alternates between two titles, since a PATCH which does not change a resource is not saved.
+     */
+    @Benchmark
+    public BaseResponse<?> resourcePatch() throws Exception {
+        RequestBody body = patchBodies[patchCount++ & 1];
+        return requestDispatcher.dispatchRequest(resourcePath, "PATCH", noQueryParams, null, body);
+    }
+
+    @Benchmark
+    public BaseResponse<?> relationshipsResourcePatch() throws Exception {
+        return requestDispatcher.dispatchRequest(relationshipsPath, "PATCH", noQueryParams, null,
+            relationshipsPatchBody);
+    }
+
+    @Benchmark
+    public BaseResponse<?> resourceDelete() throws Exception {
+        commentRepository.save(new Comment().setId(DELETED_COMMENT_ID));
+        return requestDispatcher.dispatchRequest(deletedCommentPath, "DELETE", noQueryParams, null, null);
+    }
+}
@@ -0,0 +1,42 @@
+package io.katharsis.benchmarks;
+
+import io.katharsis.request.path.JsonPath;
+import io.katharsis.request.path.PathBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PathBuilderBenchmark {
+
+    @Param({"/articles", "/articles/1", "/articles/1,2,3", "/articles/1/comments",
+        "/articles/1/relationships/author"})
+    public String path;
+
+    private PathBuilder pathBuilder;
+
+    @Setup
+    public void setUp() throws Exception {
+        pathBuilder = new BenchmarkFixture(1, 1).getPathBuilder();
+    }
+
+    @Benchmark
+    public JsonPath buildPath() {
+        return pathBuilder.buildPath(path);
+    }
+}
@@ -0,0 +1,62 @@
+package io.katharsis.benchmarks;
+
+import io.katharsis.benchmarks.model.Article;
+import io.katharsis.utils.PropertyGetter;
+import io.katharsis.utils.PropertyUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PropertyUtilsBenchmark {
+
+    @Param({"title", "views", "author"})
+    public String field;
+
+    private Article article;
+    private PropertyGetter reflectiveGetter;
+    private PropertyGetter generatedGetter;
+
+    @Setup
+    public void setUp() throws Exception {
+        article = new BenchmarkFixture(1, 1).getArticles().get(0);
+        reflectiveGetter = PropertyUtils.getPropertyGetter(Article.class, field, false);
+        generatedGetter = PropertyUtils.getPropertyGetter(Article.class, field, true);
+    }
+
+    @Benchmark
+    public Object getProperty() {
+        return PropertyUtils.getProperty(article, field);
+    }
+
+    @Benchmark
+    public Object reflectiveGetter() {
+        return reflectiveGetter.get(article);
+    }
+
+    @Benchmark
+    public Object generatedGetter() {
+        return generatedGetter.get(article);
+    }
+
+    @Benchmark
+    public Article setProperty() {
+        PropertyUtils.setProperty(article, "title", "Article 1");
+        return article;
+    }
+}
@@ -0,0 +1,64 @@
+package io.katharsis.benchmarks;
+
+import io.katharsis.queryParams.QueryParams;
+import io.katharsis.queryParams.QueryParamsBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static io.katharsis.benchmarks.BenchmarkFixture.rawQueryParams;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueryParamsBuilderBenchmark {
+
+    @Param({"none", "include", "fieldsAndInclude", "filterSortPage"})
+    public String parameters;
+
+    private final QueryParamsBuilder queryParamsBuilder = new QueryParamsBuilder();
+    private Map<String, Set<String>> queryParams;
+
+    @Setup
+    public void setUp() {
+        switch (parameters) {
+            case "none":
+                queryParams = rawQueryParams();
+                break;
+            case "include":
+                queryParams = rawQueryParams("include[articles]", "author,comments");
+                break;
+            case "fieldsAndInclude":
+                queryParams = rawQueryParams("include[articles]", "author,comments",
+                    "fields[articles]", "title,views", "fields[people]", "name");
+                break;
+            case "filterSortPage":
+                queryParams = rawQueryParams("filter[articles][title]", "Article 1",
+                    "filter[articles][author][name]", "Author 1", "sort[articles][views]", "desc",
+                    "page[offset]", "20", "page[limit]", "10");
+                break;
+            default:
+                throw new IllegalArgumentException(parameters);
+        }
+    }
+
+    @Benchmark
+    public QueryParams buildQueryParams() {
+        return queryParamsBuilder.buildQueryParams(queryParams);
+    }
+}
@@ -0,0 +1,72 @@
+package io.katharsis.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.katharsis.request.dto.RequestBody;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads request bodies with {@link io.katharsis.jackson.deserializer.RequestBodyDeserializer}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestBodyDeserializerBenchmark {
+
+    /**
+     * Number of resources in the body, 1 for a single resource body.
+     */
+    @Param({"1", "25"})
+    public int resources;
+
+    private ObjectReader reader;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws Exception {
+        reader = new BenchmarkFixture(1, 1).getObjectMapper().reader(RequestBody.class);
+        StringBuilder json = new StringBuilder("{\"data\": ");
+        if (resources == 1) {
+            appendArticle(json, 1);
+        } else {
+            json.append('[');
+            for (int i = 1; i <= resources; i++) {
+                if (i > 1) {
+                    json.append(',');
+                }
+                appendArticle(json, i);
+            }
+            json.append(']');
+        }
+        body = json.append('}').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendArticle(StringBuilder json, int id) {
+        json.append("{\"type\": \"articles\", \"id\": \"").append(id).append("\", ")
+            .append("\"attributes\": {\"title\": \"Article ").append(id).append("\", \"views\": ").append(id)
+            .append(", \"body\": \"Body of article ").append(id).append("\"}, ")
+            .append("\"relationships\": {\"author\": {\"data\": {\"type\": \"people\", \"id\": \"1\"}}, ")
+            .append("\"comments\": {\"data\": [{\"type\": \"comments\", \"id\": \"1\"}, ")
+            .append("{\"type\": \"comments\", \"id\": \"2\"}]}}}");
+    }
+
+    @Benchmark
+    public RequestBody deserialize() throws Exception {
+        return reader.readValue(body);
+    }
+}
@@ -0,0 +1,113 @@
+package io.katharsis.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.katharsis.jackson.JsonApiEncodingNegotiator;
+import io.katharsis.queryParams.QueryParams;
+import io.katharsis.request.path.JsonPath;
+import io.katharsis.response.BaseResponse;
+import io.katharsis.response.CollectionResponse;
+import io.katharsis.response.ResourceResponse;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes responses with {@link io.katharsis.jackson.serializer.BaseResponseSerializer} into a reused buffer, in
+ * each encoding supported by {@link JsonApiEncodingNegotiator}. The size of a written response is reported as
+ * <i>payloadBytes</i>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializerBenchmark {
+
+    @Param({"1", "25"})
+    public int articles;
+
+    @Param({"false", "true"})
+    public boolean includes;
+
+    @Param({"false", "true"})
+    public boolean sparseFieldsets;
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    public Encoding encoding;
+
+    private ObjectWriter writer;
+    private BaseResponse<?> response;
+    private ByteArrayOutputStream output;
+
+    @Setup
+    public void setUp() throws Exception {
+        BenchmarkFixture fixture = new BenchmarkFixture(articles, 5);
+        List<String> parameters = new ArrayList<>();
+        if (includes) {
+            parameters.add("include[articles]");
+            parameters.add("author,comments");
+        }
+        if (sparseFieldsets) {
+            parameters.add("fields[articles]");
+            parameters.add("title,author,comments");
+            parameters.add("fields[comments]");
+            parameters.add("body");
+        }
+        QueryParams queryParams = fixture.queryParams(parameters.toArray(new String[parameters.size()]));
+        if (articles == 1) {
+            JsonPath jsonPath = fixture.getPathBuilder().buildPath("/articles/1");
+            response = new ResourceResponse(fixture.getArticles().get(0), jsonPath, queryParams, null, null);
+        } else {
+            JsonPath jsonPath = fixture.getPathBuilder().buildPath("/articles");
+            response = new CollectionResponse(fixture.getArticles(), jsonPath, queryParams, null, null);
+        }
+        writer = new JsonApiEncodingNegotiator(fixture.getResourceRegistry())
+            .getObjectMapper(encoding.mediaType)
+            .writer();
+        output = new ByteArrayOutputStream(1 << 16);
+    }
+
+    @Benchmark
+    public int serialize(PayloadSize payloadSize) throws Exception {
+        output.reset();
+        writer.writeValue(output, response);
+        payloadSize.payloadBytes = output.size();
+        return output.size();
+    }
+
+    public enum Encoding {
+        JSON(JsonApiEncodingNegotiator.JSON_API_MEDIA_TYPE),
+        SMILE(JsonApiEncodingNegotiator.SMILE_MEDIA_TYPE),
+        CBOR(JsonApiEncodingNegotiator.CBOR_MEDIA_TYPE);
+
+        private final String mediaType;
+
+        Encoding(String mediaType) {
+            this.mediaType = mediaType;
+        }
+    }
+
+    /**
+     * Size of the last written response, reported next to the time of an operation.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class PayloadSize {
+        public long payloadBytes;
+    }
+}
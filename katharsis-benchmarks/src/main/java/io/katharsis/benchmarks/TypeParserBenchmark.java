@@ -0,0 +1,80 @@
+package io.katharsis.benchmarks;
+
+import io.katharsis.utils.parser.TypeParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TypeParserBenchmark {
+
+    @Param({"Long", "String", "UUID", "LocalDate", "Enum"})
+    public String type;
+
+    private final TypeParser typeParser = new TypeParser();
+    private Class<? extends Serializable> parsedClass;
+    private String input;
+    private List<String> longInputs;
+
+    @Setup
+    public void setUp() {
+        switch (type) {
+            case "Long":
+                parsedClass = Long.class;
+                input = "1234567890";
+                break;
+            case "String":
+                parsedClass = String.class;
+                input = "identifier";
+                break;
+            case "UUID":
+                parsedClass = UUID.class;
+                input = UUID.randomUUID().toString();
+                break;
+            case "LocalDate":
+                parsedClass = LocalDate.class;
+                input = "2015-06-01";
+                break;
+            case "Enum":
+                parsedClass = TimeUnit.class;
+                input = "MILLISECONDS";
+                break;
+            default:
+                throw new IllegalArgumentException(type);
+        }
+        longInputs = Arrays.asList("1", "22", "333", "4444", "55555", "666666", "7777777", "88888888");
+    }
+
+    @Benchmark
+    public Serializable parse() {
+        return typeParser.parse(input, parsedClass);
+    }
+
+    /**
+     * Ids of a path, parsed the way controllers of repositories with long ids do it.
+     */
+    @Benchmark
+    public long[] parseLongs() {
+        return typeParser.parseLongs(longInputs);
+    }
+}
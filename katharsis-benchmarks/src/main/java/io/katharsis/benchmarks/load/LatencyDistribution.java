@@ -0,0 +1,60 @@
+package io.katharsis.benchmarks.load;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a simulated repository call, e.g. a round trip to a database.
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+
+    LatencyDistribution NONE = random -> 0;
+
+    /**
+     * @param random source of randomness of the calling thread
+     * @return latency of the next call in nanoseconds
+     */
+    long nextNanos(Random random);
+
+    /**
+     * Parses a distribution with times given in microseconds:
+     * <ul>
+     *     <li>{@code none}</li>
+     *     <li>{@code fixed:<latency>}</li>
+     *     <li>{@code uniform:<min>:<max>}</li>
+     *     <li>{@code exponential:<mean>}</li>
+     *     <li>{@code lognormal:<median>:<sigma>}, a long tailed distribution typical for remote calls</li>
+     * </ul>
+     *
+     * @param specification textual specification of a distribution
+     * @return parsed distribution
+     */
+    static LatencyDistribution parse(String specification) {
+        String[] parts = specification.split(":");
+        switch (parts[0]) {
+            case "none":
+                return NONE;
+            case "fixed":
+                long latency = micros(parts[1]);
+                return random -> latency;
+            case "uniform":
+                long min = micros(parts[1]);
+                long max = micros(parts[2]);
+                return random -> min + (long) (random.nextDouble() * (max - min));
+            case "exponential":
+                long mean = micros(parts[1]);
+                return random -> (long) (-mean * Math.log(1 - random.nextDouble()));
+            case "lognormal":
+                double mu = Math.log(micros(parts[1]));
+                double sigma = Double.parseDouble(parts[2]);
+                return random -> (long) Math.exp(mu + sigma * random.nextGaussian());
+            default:
+                throw new IllegalArgumentException("Unknown latency distribution: " + specification);
+        }
+    }
+
+    static long micros(String value) {
+        return TimeUnit.MICROSECONDS.toNanos(Long.parseLong(value));
+    }
+}
@@ -0,0 +1,255 @@
+package io.katharsis.benchmarks.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.katharsis.benchmarks.load.QueryMix.Query;
+import io.katharsis.benchmarks.load.repository.SyntheticData;
+import io.katharsis.dispatcher.RequestDispatcher;
+import io.katharsis.dispatcher.registry.ControllerRegistryBuilder;
+import io.katharsis.errorhandling.mapper.ExceptionMapperRegistryBuilder;
+import io.katharsis.jackson.JsonApiModuleBuilder;
+import io.katharsis.locator.SampleJsonServiceLocator;
+import io.katharsis.queryParams.QueryParams;
+import io.katharsis.queryParams.QueryParamsBuilder;
+import io.katharsis.request.path.JsonPath;
+import io.katharsis.request.path.PathBuilder;
+import io.katharsis.resource.field.ResourceFieldNameTransformer;
+import io.katharsis.resource.information.ResourceInformationBuilder;
+import io.katharsis.resource.registry.ResourceRegistry;
+import io.katharsis.resource.registry.ResourceRegistryBuilder;
+import io.katharsis.response.BaseResponse;
+import io.katharsis.utils.parser.TypeParser;
+import org.HdrHistogram.Histogram;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives {@link RequestDispatcher} and serialization of responses from many threads, over a synthetic resource graph
+ * whose repositories take a simulated latency. Unlike the JMH benchmarks it shows effects of include fan-out and of
+ * blocking repository calls. Latencies are recorded into histograms, and throughput and percentiles of each query of
+ * the mix are reported.
+ * <p>
+ * By default each thread sends the next request as soon as the previous one is answered. This measures the highest
+ * throughput, but a stalled request also delays the requests which would have been sent meanwhile, so the percentiles
+ * understate the latency seen by clients sending requests at their own pace. With the {@code rate} option the threads
+ * send requests on a fixed schedule instead, and the latency of each request is measured from the time it was
+ * scheduled, including the time it waited for the thread. Requests which were still not sent at the end of the run
+ * are reported as missed, i.e. the harness could not keep up with the rate.
+ * <p>
+ * Options are given as {@code name=value} arguments, see {@link LoadOptions}, e.g.
+ * <pre>
+ * java -cp target/benchmarks.jar io.katharsis.benchmarks.load.LoadHarness threads=64 depth=3 latency=fixed:500
+ * </pre>
+ */
+public final class LoadHarness {
+
+    private static final String RESOURCE_PACKAGE = "io.katharsis.benchmarks.load";
+    private static final long HIGHEST_LATENCY = TimeUnit.MINUTES.toNanos(1);
+
+    private final LoadOptions options;
+    private final QueryMix queryMix;
+    private final PathBuilder pathBuilder;
+    private final QueryParamsBuilder queryParamsBuilder;
+    private final ObjectMapper objectMapper;
+    private final RequestDispatcher requestDispatcher;
+    private final AtomicBoolean failureLogged = new AtomicBoolean();
+
+    LoadHarness(LoadOptions options) throws Exception {
+        this.options = options;
+        SyntheticData.configure(options.roots, options.fanOut, LatencyDistribution.parse(options.latency));
+        queryMix = new QueryMix(options.depth, options.roots);
+        ResourceRegistry resourceRegistry = new ResourceRegistryBuilder(new SampleJsonServiceLocator(),
+            new ResourceInformationBuilder(new ResourceFieldNameTransformer()))
+            .build(RESOURCE_PACKAGE, "http://localhost:8080/api");
+        pathBuilder = new PathBuilder(resourceRegistry);
+        queryParamsBuilder = new QueryParamsBuilder();
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JsonApiModuleBuilder().build(resourceRegistry));
+        requestDispatcher = new RequestDispatcher(
+            new ControllerRegistryBuilder(resourceRegistry, new TypeParser(), objectMapper).build(),
+            new ExceptionMapperRegistryBuilder().build(RESOURCE_PACKAGE));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadHarness(LoadOptions.parse(args)).run(System.out);
+    }
+
+    void run(PrintStream out) throws InterruptedException {
+        out.println(options);
+        long now = System.nanoTime();
+        long measureStart = now + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+        long measureEnd = measureStart + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+        long interval = options.rate > 0 ? Math.max(1, (long) (options.threads * 1e9 / options.rate)) : 0;
+        List<Worker> workers = new ArrayList<>(options.threads);
+        List<Thread> threads = new ArrayList<>(options.threads);
+        for (int i = 0; i < options.threads; i++) {
+            // requests of the threads are spread evenly over each interval
+            Worker worker = new Worker(measureStart, measureEnd, interval, now + interval * i / options.threads);
+            Thread thread = new Thread(worker, "load-" + i);
+            workers.add(worker);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        report(out, workers, measureEnd - measureStart);
+    }
+
+    private void report(PrintStream out, List<Worker> workers, long elapsed) {
+        double seconds = elapsed / 1e9;
+        Histogram total = newHistogram();
+        long totalErrors = 0;
+        long missed = 0;
+        for (Worker worker : workers) {
+            missed += worker.missed;
+        }
+        out.printf("%-40s %10s %8s %10s %10s %10s %10s %10s%n",
+            "query", "requests", "errors", "req/s", "p50 us", "p99 us", "p999 us", "max us");
+        for (Query query : queryMix.getQueries()) {
+            Histogram histogram = newHistogram();
+            long errors = 0;
+            for (Worker worker : workers) {
+                histogram.add(worker.histograms[query.getIndex()]);
+                errors += worker.errors[query.getIndex()];
+            }
+            total.add(histogram);
+            totalErrors += errors;
+            print(out, query.getName(), histogram, errors, seconds);
+        }
+        print(out, "all", total, totalErrors, seconds);
+        if (options.rate > 0) {
+            out.printf("missed %d of %d requests scheduled at %d req/s%n", missed, total.getTotalCount() + missed,
+                options.rate);
+        }
+    }
+
+    private static void print(PrintStream out, String name, Histogram histogram, long errors, double seconds) {
+        out.printf("%-40s %10d %8d %10.1f %10.1f %10.1f %10.1f %10.1f%n", name, histogram.getTotalCount(), errors,
+            histogram.getTotalCount() / seconds, micros(histogram.getValueAtPercentile(50)),
+            micros(histogram.getValueAtPercentile(99)), micros(histogram.getValueAtPercentile(99.9)),
+            micros(histogram.getMaxValue()));
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1e3;
+    }
+
+    private static Histogram newHistogram() {
+        return new Histogram(HIGHEST_LATENCY, 3);
+    }
+
+    /**
+     * Sends requests in a loop until the end of the run, recording latencies of requests started within the measured
+     * period into its own histograms.
+     */
+    private final class Worker implements Runnable {
+        private final Histogram[] histograms;
+        private final long[] errors;
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream(1 << 16);
+        private final long measureStart;
+        private final long measureEnd;
+        private final long interval;
+        private long scheduledStart;
+        private long missed;
+
+        /**
+         * @param interval       time between the scheduled requests of the worker, or 0 to send requests one after
+         *                       another
+         * @param scheduledStart time of the first scheduled request
+         */
+        private Worker(long measureStart, long measureEnd, long interval, long scheduledStart) {
+            this.measureStart = measureStart;
+            this.measureEnd = measureEnd;
+            this.interval = interval;
+            this.scheduledStart = scheduledStart;
+            int queries = queryMix.getQueries().size();
+            histograms = new Histogram[queries];
+            errors = new long[queries];
+            for (int i = 0; i < queries; i++) {
+                histograms[i] = newHistogram();
+            }
+        }
+
+        @Override
+        public void run() {
+            Random random = ThreadLocalRandom.current();
+            while (true) {
+                long start;
+                if (interval > 0) {
+                    start = scheduledStart;
+                    waitUntil(start);
+                } else {
+                    start = System.nanoTime();
+                }
+                if (start >= measureEnd || System.nanoTime() >= measureEnd) {
+                    break;
+                }
+                if (interval > 0 && start < measureStart && System.nanoTime() >= measureStart) {
+                    // requests of the warmup which are late are not sent, so they do not delay the measured ones
+                    scheduledStart = alignToSchedule(measureStart);
+                    continue;
+                }
+                scheduledStart += interval;
+                Query query = queryMix.next(random);
+                boolean succeeded = execute(query, random);
+                long latency = System.nanoTime() - start;
+                if (start >= measureStart) {
+                    histograms[query.getIndex()].recordValue(Math.min(latency, HIGHEST_LATENCY));
+                    if (!succeeded) {
+                        errors[query.getIndex()]++;
+                    }
+                }
+            }
+            if (interval > 0) {
+                missed = countScheduled(Math.max(scheduledStart, measureStart));
+            }
+        }
+
+        private void waitUntil(long time) {
+            for (long delay = time - System.nanoTime(); delay > 0; delay = time - System.nanoTime()) {
+                LockSupport.parkNanos(delay);
+            }
+        }
+
+        /**
+         * @return number of requests scheduled from the given time up to the end of the run
+         */
+        private long countScheduled(long from) {
+            long first = alignToSchedule(from);
+            return first < measureEnd ? (measureEnd - first - 1) / interval + 1 : 0;
+        }
+
+        /**
+         * @return time of the first request scheduled at or after the given time
+         */
+        private long alignToSchedule(long time) {
+            return scheduledStart + (time - scheduledStart + interval - 1) / interval * interval;
+        }
+
+        private boolean execute(Query query, Random random) {
+            try {
+                JsonPath jsonPath = pathBuilder.buildPath(queryMix.path(query, random));
+                QueryParams queryParams = queryParamsBuilder.buildQueryParams(query.getQueryParams());
+                BaseResponse<?> response = requestDispatcher.dispatchRequest(jsonPath, "GET", queryParams, null,
+                    null);
+                output.reset();
+                objectMapper.writeValue(output, response);
+                return response.getHttpStatus() < 400;
+            } catch (Exception e) {
+                if (failureLogged.compareAndSet(false, true)) {
+                    System.err.println("First failed request of " + query.getName() + ", next ones are only counted:");
+                    e.printStackTrace();
+                }
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package io.katharsis.benchmarks.load;
+
+/**
+ * Options of {@link LoadHarness}, given as {@code name=value} arguments.
+ */
+final class LoadOptions {
+
+    int threads = 32;
+    int warmupSeconds = 10;
+    int durationSeconds = 30;
+    int roots = 20;
+    int fanOut = 5;
+    int depth = 2;
+    String latency = "lognormal:200:0.5";
+    /**
+     * Requests per second sent by all threads together, or 0 to send the next request of a thread as soon as the
+     * previous one is answered.
+     */
+    int rate = 0;
+
+    static LoadOptions parse(String[] args) {
+        LoadOptions options = new LoadOptions();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected name=value but got: " + arg);
+            }
+            String value = arg.substring(separator + 1);
+            switch (arg.substring(0, separator)) {
+                case "threads":
+                    options.threads = Integer.parseInt(value);
+                    break;
+                case "warmup":
+                    options.warmupSeconds = Integer.parseInt(value);
+                    break;
+                case "duration":
+                    options.durationSeconds = Integer.parseInt(value);
+                    break;
+                case "roots":
+                    options.roots = Integer.parseInt(value);
+                    break;
+                case "fanOut":
+                    options.fanOut = Integer.parseInt(value);
+                    break;
+                case "depth":
+                    options.depth = Integer.parseInt(value);
+                    break;
+                case "latency":
+                    options.latency = value;
+                    break;
+                case "rate":
+                    options.rate = Integer.parseInt(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        return options;
+    }
+
+    @Override
+    public String toString() {
+        return "threads=" + threads + " warmup=" + warmupSeconds + " duration=" + durationSeconds
+            + " roots=" + roots + " fanOut=" + fanOut + " depth=" + depth + " latency=" + latency
+            + " rate=" + rate;
+    }
+}
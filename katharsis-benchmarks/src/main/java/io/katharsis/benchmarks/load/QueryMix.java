@@ -0,0 +1,105 @@
+package io.katharsis.benchmarks.load;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Weighted mix of requests for resources of the first level, including their children up to a configured depth.
+ */
+final class QueryMix {
+
+    private final List<Query> queries = new ArrayList<>();
+    private final int roots;
+    private int totalWeight;
+
+    /**
+     * @param depth number of levels of children included by queries with includes, from 1 to 3
+     * @param roots number of resources of the first level
+     */
+    QueryMix(int depth, int roots) {
+        if (depth < 1 || depth > 3) {
+            throw new IllegalArgumentException("depth must be between 1 and 3: " + depth);
+        }
+        this.roots = roots;
+        String include = String.join(".", Collections.nCopies(depth, "children"));
+        add("collection with includes", 30, "/level1", params("include[level1]", include));
+        add("resource with includes", 30, "/level1/{id}", params("include[level1]", include));
+        add("resource with includes and fieldsets", 20, "/level1/{id}", params("include[level1]", include,
+            "fields[level1]", "name,children", "fields[level2]", "name,children", "fields[level3]", "name,children",
+            "fields[level4]", "name"));
+        add("collection with fieldsets", 20, "/level1", params("fields[level1]", "name,weight"));
+    }
+
+    private void add(String name, int weight, String path, Map<String, Set<String>> queryParams) {
+        queries.add(new Query(queries.size(), name, weight, path, queryParams));
+        totalWeight += weight;
+    }
+
+    private static Map<String, Set<String>> params(String... parameters) {
+        Map<String, Set<String>> queryParams = new HashMap<>();
+        for (int i = 0; i < parameters.length; i += 2) {
+            queryParams.put(parameters[i], new LinkedHashSet<>(asList(parameters[i + 1].split(","))));
+        }
+        return Collections.unmodifiableMap(queryParams);
+    }
+
+    List<Query> getQueries() {
+        return queries;
+    }
+
+    Query next(Random random) {
+        int value = random.nextInt(totalWeight);
+        for (Query query : queries) {
+            value -= query.weight;
+            if (value < 0) {
+                return query;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    /**
+     * @param query  selected query
+     * @param random source of randomness of the calling thread
+     * @return path of a request, with a random resource if the query is for a single resource
+     */
+    String path(Query query, Random random) {
+        return query.path.replace("{id}", Integer.toString(1 + random.nextInt(roots)));
+    }
+
+    static final class Query {
+        private final int index;
+        private final String name;
+        private final int weight;
+        private final String path;
+        private final Map<String, Set<String>> queryParams;
+
+        private Query(int index, String name, int weight, String path, Map<String, Set<String>> queryParams) {
+            this.index = index;
+            this.name = name;
+            this.weight = weight;
+            this.path = path;
+            this.queryParams = queryParams;
+        }
+
+        int getIndex() {
+            return index;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        Map<String, Set<String>> getQueryParams() {
+            return queryParams;
+        }
+    }
+}
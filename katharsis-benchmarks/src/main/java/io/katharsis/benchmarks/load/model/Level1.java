@@ -0,0 +1,23 @@
+package io.katharsis.benchmarks.load.model;
+
+import io.katharsis.resource.annotations.JsonApiLookupIncludeAutomatically;
+import io.katharsis.resource.annotations.JsonApiResource;
+import io.katharsis.resource.annotations.JsonApiToMany;
+
+import java.util.List;
+
+@JsonApiResource(type = "level1")
+public class Level1 extends Node {
+
+    @JsonApiToMany
+    @JsonApiLookupIncludeAutomatically
+    private List<Level2> children;
+
+    public List<Level2> getChildren() {
+        return children;
+    }
+
+    public void setChildren(List<Level2> children) {
+        this.children = children;
+    }
+}
@@ -0,0 +1,23 @@
+package io.katharsis.benchmarks.load.model;
+
+import io.katharsis.resource.annotations.JsonApiLookupIncludeAutomatically;
+import io.katharsis.resource.annotations.JsonApiResource;
+import io.katharsis.resource.annotations.JsonApiToMany;
+
+import java.util.List;
+
+@JsonApiResource(type = "level2")
+public class Level2 extends Node {
+
+    @JsonApiToMany
+    @JsonApiLookupIncludeAutomatically
+    private List<Level3> children;
+
+    public List<Level3> getChildren() {
+        return children;
+    }
+
+    public void setChildren(List<Level3> children) {
+        this.children = children;
+    }
+}
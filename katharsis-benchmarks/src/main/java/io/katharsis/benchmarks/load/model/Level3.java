@@ -0,0 +1,23 @@
+package io.katharsis.benchmarks.load.model;
+
+import io.katharsis.resource.annotations.JsonApiLookupIncludeAutomatically;
+import io.katharsis.resource.annotations.JsonApiResource;
+import io.katharsis.resource.annotations.JsonApiToMany;
+
+import java.util.List;
+
+@JsonApiResource(type = "level3")
+public class Level3 extends Node {
+
+    @JsonApiToMany
+    @JsonApiLookupIncludeAutomatically
+    private List<Level4> children;
+
+    public List<Level4> getChildren() {
+        return children;
+    }
+
+    public void setChildren(List<Level4> children) {
+        this.children = children;
+    }
+}
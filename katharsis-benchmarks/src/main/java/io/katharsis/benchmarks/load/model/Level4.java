@@ -0,0 +1,7 @@
+package io.katharsis.benchmarks.load.model;
+
+import io.katharsis.resource.annotations.JsonApiResource;
+
+@JsonApiResource(type = "level4")
+public class Level4 extends Node {
+}
@@ -0,0 +1,50 @@
+package io.katharsis.benchmarks.load.model;
+
+import io.katharsis.resource.annotations.JsonApiId;
+
+/**
+ * Attributes shared by all synthetic resource types.
+ */
+public abstract class Node {
+
+    @JsonApiId
+    private Long id;
+
+    private String name;
+
+    private String description;
+
+    private long weight;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public long getWeight() {
+        return weight;
+    }
+
+    public void setWeight(long weight) {
+        this.weight = weight;
+    }
+}
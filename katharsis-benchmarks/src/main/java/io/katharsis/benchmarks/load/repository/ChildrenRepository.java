@@ -0,0 +1,58 @@
+package io.katharsis.benchmarks.load.repository;
+
+import io.katharsis.benchmarks.load.model.Node;
+import io.katharsis.queryParams.QueryParams;
+import io.katharsis.repository.RelationshipRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Loads children of a synthetic resource, each call takes the simulated latency once. A child with index {@code i}
+ * of a resource has id {@code parentId * fanOut + i}.
+ */
+abstract class ChildrenRepository<T extends Node, D extends Node> implements RelationshipRepository<T, Long, D, Long> {
+
+    private final Supplier<D> factory;
+
+    ChildrenRepository(Supplier<D> factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public void setRelation(T source, Long targetId, String fieldName) {
+        throw new UnsupportedOperationException("children is a to-many relationship");
+    }
+
+    @Override
+    public void setRelations(T source, Iterable<Long> targetIds, String fieldName) {
+        SyntheticData.simulateLatency();
+    }
+
+    @Override
+    public void addRelations(T source, Iterable<Long> targetIds, String fieldName) {
+        SyntheticData.simulateLatency();
+    }
+
+    @Override
+    public void removeRelations(T source, Iterable<Long> targetIds, String fieldName) {
+        SyntheticData.simulateLatency();
+    }
+
+    @Override
+    public D findOneTarget(Long sourceId, String fieldName, QueryParams queryParams) {
+        throw new UnsupportedOperationException("children is a to-many relationship");
+    }
+
+    @Override
+    public Iterable<D> findManyTargets(Long sourceId, String fieldName, QueryParams queryParams) {
+        SyntheticData.simulateLatency();
+        int fanOut = SyntheticData.getFanOut();
+        List<D> children = new ArrayList<>(fanOut);
+        for (int i = 0; i < fanOut; i++) {
+            children.add(SyntheticData.fill(factory.get(), sourceId * fanOut + i));
+        }
+        return children;
+    }
+}
@@ -0,0 +1,10 @@
+package io.katharsis.benchmarks.load.repository;
+
+import io.katharsis.benchmarks.load.model.Level1;
+
+public class Level1Repository extends NodeRepository<Level1> {
+
+    public Level1Repository() {
+        super(Level1::new);
+    }
+}
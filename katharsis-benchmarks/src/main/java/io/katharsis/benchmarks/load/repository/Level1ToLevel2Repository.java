@@ -0,0 +1,11 @@
+package io.katharsis.benchmarks.load.repository;
+
+import io.katharsis.benchmarks.load.model.Level2;
+import io.katharsis.benchmarks.load.model.Level1;
+
+public class Level1ToLevel2Repository extends ChildrenRepository<Level1, Level2> {
+
+    public Level1ToLevel2Repository() {
+        super(Level2::new);
+    }
+}
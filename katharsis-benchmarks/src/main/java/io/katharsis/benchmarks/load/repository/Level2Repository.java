@@ -0,0 +1,10 @@
+package io.katharsis.benchmarks.load.repository;
+
+import io.katharsis.benchmarks.load.model.Level2;
+
+public class Level2Repository extends NodeRepository<Level2> {
+
+    public Level2Repository() {
+        super(Level2::new);
+    }
+}
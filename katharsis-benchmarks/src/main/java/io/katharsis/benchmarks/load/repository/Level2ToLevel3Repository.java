@@ -0,0 +1,11 @@
+package io.katharsis.benchmarks.load.repository;
+
+import io.katharsis.benchmarks.load.model.Level3;
+import io.katharsis.benchmarks.load.model.Level2;
+
+public class Level2ToLevel3Repository extends ChildrenRepository<Level2, Level3> {
+
+    public Level2ToLevel3Repository() {
+        super(Level3::new);
+    }
+}
@@ -0,0 +1,10 @@
+package io.katharsis.benchmarks.load.repository;
+
+import io.katharsis.benchmarks.load.model.Level3;
+
+public class Level3Repository extends NodeRepository<Level3> {
+
+    public Level3Repository() {
+        super(Level3::new);
+    }
+}
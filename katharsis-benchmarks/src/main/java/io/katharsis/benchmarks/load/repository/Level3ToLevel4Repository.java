@@ -0,0 +1,11 @@
+package io.katharsis.benchmarks.load.repository;
+
+import io.katharsis.benchmarks.load.model.Level4;
+import io.katharsis.benchmarks.load.model.Level3;
+
+public class Level3ToLevel4Repository extends ChildrenRepository<Level3, Level4> {
+
+    public Level3ToLevel4Repository() {
+        super(Level4::new);
+    }
+}
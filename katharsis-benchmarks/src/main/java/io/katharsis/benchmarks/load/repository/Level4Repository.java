@@ -0,0 +1,10 @@
+package io.katharsis.benchmarks.load.repository;
+
+import io.katharsis.benchmarks.load.model.Level4;
+
+public class Level4Repository extends NodeRepository<Level4> {
+
+    public Level4Repository() {
+        super(Level4::new);
+    }
+}
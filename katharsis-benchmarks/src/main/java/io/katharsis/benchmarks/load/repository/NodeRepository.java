@@ -0,0 +1,59 @@
+package io.katharsis.benchmarks.load.repository;
+
+import io.katharsis.benchmarks.load.model.Node;
+import io.katharsis.queryParams.QueryParams;
+import io.katharsis.repository.ResourceRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Repository of a synthetic resource type, each call takes the simulated latency once.
+ */
+abstract class NodeRepository<T extends Node> implements ResourceRepository<T, Long> {
+
+    private final Supplier<T> factory;
+
+    NodeRepository(Supplier<T> factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public <S extends T> S save(S entity) {
+        SyntheticData.simulateLatency();
+        return entity;
+    }
+
+    @Override
+    public T findOne(Long id, QueryParams queryParams) {
+        SyntheticData.simulateLatency();
+        return SyntheticData.fill(factory.get(), id);
+    }
+
+    @Override
+    public Iterable<T> findAll(QueryParams queryParams) {
+        SyntheticData.simulateLatency();
+        int roots = SyntheticData.getRoots();
+        List<T> nodes = new ArrayList<>(roots);
+        for (long id = 1; id <= roots; id++) {
+            nodes.add(SyntheticData.fill(factory.get(), id));
+        }
+        return nodes;
+    }
+
+    @Override
+    public Iterable<T> findAll(Iterable<Long> ids, QueryParams queryParams) {
+        SyntheticData.simulateLatency();
+        List<T> nodes = new ArrayList<>();
+        for (Long id : ids) {
+            nodes.add(SyntheticData.fill(factory.get(), id));
+        }
+        return nodes;
+    }
+
+    @Override
+    public void delete(Long id) {
+        SyntheticData.simulateLatency();
+    }
+}
@@ -0,0 +1,59 @@
+package io.katharsis.benchmarks.load.repository;
+
+import io.katharsis.benchmarks.load.LatencyDistribution;
+import io.katharsis.benchmarks.load.model.Node;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Shape of the synthetic resource graph and latency of its repositories. Resources are not stored, but created on
+ * each call from their ids, the way a repository maps rows of a database. Repositories are created by the service
+ * locator, so the configuration is static.
+ */
+public final class SyntheticData {
+
+    private static volatile int roots = 20;
+    private static volatile int fanOut = 5;
+    private static volatile LatencyDistribution latency = LatencyDistribution.NONE;
+
+    private SyntheticData() {
+    }
+
+    /**
+     * @param roots   number of resources of the first level returned by a collection request
+     * @param fanOut  number of children of each resource
+     * @param latency latency of each repository call
+     */
+    public static void configure(int roots, int fanOut, LatencyDistribution latency) {
+        SyntheticData.roots = roots;
+        SyntheticData.fanOut = fanOut;
+        SyntheticData.latency = latency;
+    }
+
+    static int getRoots() {
+        return roots;
+    }
+
+    static int getFanOut() {
+        return fanOut;
+    }
+
+    /**
+     * Blocks the calling thread for the time of a simulated call.
+     */
+    static void simulateLatency() {
+        long nanos = latency.nextNanos(ThreadLocalRandom.current());
+        if (nanos > 0) {
+            LockSupport.parkNanos(nanos);
+        }
+    }
+
+    static <T extends Node> T fill(T node, long id) {
+        node.setId(id);
+        node.setName(node.getClass().getSimpleName() + " " + id);
+        node.setDescription("Synthetic resource " + id + " of type " + node.getClass().getSimpleName());
+        node.setWeight(id * 31);
+        return node;
+    }
+}
@@ -0,0 +1,81 @@
+package io.katharsis.benchmarks.model;
+
+import io.katharsis.resource.annotations.JsonApiId;
+import io.katharsis.resource.annotations.JsonApiResource;
+import io.katharsis.resource.annotations.JsonApiToMany;
+import io.katharsis.resource.annotations.JsonApiToOne;
+
+import java.util.List;
+
+@JsonApiResource(type = "articles")
+public class Article {
+
+    @JsonApiId
+    private Long id;
+
+    private String title;
+
+    private String body;
+
+    private long views;
+
+    @JsonApiToOne
+    private Person author;
+
+    @JsonApiToMany(lazy = false)
+    private List<Comment> comments;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Article setId(Long id) {
+        this.id = id;
+        return this;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public Article setTitle(String title) {
+        this.title = title;
+        return this;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public Article setBody(String body) {
+        this.body = body;
+        return this;
+    }
+
+    public long getViews() {
+        return views;
+    }
+
+    public Article setViews(long views) {
+        this.views = views;
+        return this;
+    }
+
+    public Person getAuthor() {
+        return author;
+    }
+
+    public Article setAuthor(Person author) {
+        this.author = author;
+        return this;
+    }
+
+    public List<Comment> getComments() {
+        return comments;
+    }
+
+    public Article setComments(List<Comment> comments) {
+        this.comments = comments;
+        return this;
+    }
+}
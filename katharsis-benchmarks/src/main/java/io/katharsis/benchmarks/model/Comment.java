@@ -0,0 +1,44 @@
+package io.katharsis.benchmarks.model;
+
+import io.katharsis.resource.annotations.JsonApiId;
+import io.katharsis.resource.annotations.JsonApiResource;
+import io.katharsis.resource.annotations.JsonApiToOne;
+
+@JsonApiResource(type = "comments")
+public class Comment {
+
+    @JsonApiId
+    private Long id;
+
+    private String body;
+
+    @JsonApiToOne
+    private Person author;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Comment setId(Long id) {
+        this.id = id;
+        return this;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public Comment setBody(String body) {
+        this.body = body;
+        return this;
+    }
+
+    public Person getAuthor() {
+        return author;
+    }
+
+    public Comment setAuthor(Person author) {
+        this.author = author;
+        return this;
+    }
+}
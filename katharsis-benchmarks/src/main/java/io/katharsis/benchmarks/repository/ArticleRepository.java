@@ -0,0 +1,62 @@
+package io.katharsis.benchmarks.repository;
+
+import io.katharsis.benchmarks.model.Article;
+import io.katharsis.queryParams.QueryParams;
+import io.katharsis.repository.ResourceRepository;
+import io.katharsis.resource.exception.ResourceNotFoundException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ArticleRepository implements ResourceRepository<Article, Long> {
+
+    private static final ConcurrentMap<Long, Article> ARTICLES = new ConcurrentHashMap<>();
+    private static final AtomicLong ID_GENERATOR = new AtomicLong();
+
+    @Override
+    public <S extends Article> S save(S entity) {
+        if (entity.getId() == null) {
+            entity.setId(GeneratedIds.next(ID_GENERATOR));
+        }
+        ARTICLES.put(entity.getId(), entity);
+        return entity;
+    }
+
+    @Override
+    public Article findOne(Long id, QueryParams queryParams) {
+        Article resource = ARTICLES.get(id);
+        if (resource == null) {
+            throw new ResourceNotFoundException(Article.class.getCanonicalName());
+        }
+        return resource;
+    }
+
+    @Override
+    public Iterable<Article> findAll(QueryParams queryParams) {
+        return ARTICLES.values();
+    }
+
+    @Override
+    public Iterable<Article> findAll(Iterable<Long> ids, QueryParams queryParams) {
+        List<Article> resources = new ArrayList<>();
+        for (Long id : ids) {
+            Article resource = ARTICLES.get(id);
+            if (resource != null) {
+                resources.add(resource);
+            }
+        }
+        return resources;
+    }
+
+    @Override
+    public void delete(Long id) {
+        ARTICLES.remove(id);
+    }
+
+    public static void clear() {
+        ARTICLES.clear();
+    }
+}
@@ -0,0 +1,58 @@
+package io.katharsis.benchmarks.repository;
+
+import io.katharsis.benchmarks.model.Article;
+import io.katharsis.benchmarks.model.Comment;
+import io.katharsis.queryParams.QueryParams;
+import io.katharsis.repository.RelationshipRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores comments of an article in the article itself.
+ */
+public class ArticleToCommentRepository implements RelationshipRepository<Article, Long, Comment, Long> {
+
+    @Override
+    public void setRelation(Article source, Long targetId, String fieldName) {
+        throw new UnsupportedOperationException("comments is a to-many relationship");
+    }
+
+    @Override
+    public void setRelations(Article source, Iterable<Long> targetIds, String fieldName) {
+        List<Comment> comments = new ArrayList<>();
+        new CommentRepository().findAll(targetIds, null).forEach(comments::add);
+        source.setComments(comments);
+    }
+
+    @Override
+    public void addRelations(Article source, Iterable<Long> targetIds, String fieldName) {
+        List<Comment> comments = source.getComments() != null
+            ? new ArrayList<>(source.getComments())
+            : new ArrayList<>();
+        new CommentRepository().findAll(targetIds, null).forEach(comments::add);
+        source.setComments(comments);
+    }
+
+    @Override
+    public void removeRelations(Article source, Iterable<Long> targetIds, String fieldName) {
+        if (source.getComments() == null) {
+            return;
+        }
+        List<Comment> comments = new ArrayList<>(source.getComments());
+        for (Long targetId : targetIds) {
+            comments.removeIf(comment -> comment.getId().equals(targetId));
+        }
+        source.setComments(comments);
+    }
+
+    @Override
+    public Comment findOneTarget(Long sourceId, String fieldName, QueryParams queryParams) {
+        throw new UnsupportedOperationException("comments is a to-many relationship");
+    }
+
+    @Override
+    public Iterable<Comment> findManyTargets(Long sourceId, String fieldName, QueryParams queryParams) {
+        return new ArticleRepository().findOne(sourceId, queryParams).getComments();
+    }
+}
@@ -0,0 +1,42 @@
+package io.katharsis.benchmarks.repository;
+
+import io.katharsis.benchmarks.model.Article;
+import io.katharsis.benchmarks.model.Person;
+import io.katharsis.queryParams.QueryParams;
+import io.katharsis.repository.RelationshipRepository;
+
+/**
+ * Stores the author of an article in the article itself.
+ */
+public class ArticleToPersonRepository implements RelationshipRepository<Article, Long, Person, Long> {
+
+    @Override
+    public void setRelation(Article source, Long targetId, String fieldName) {
+        source.setAuthor(targetId != null ? new PersonRepository().findOne(targetId, null) : null);
+    }
+
+    @Override
+    public void setRelations(Article source, Iterable<Long> targetIds, String fieldName) {
+        throw new UnsupportedOperationException("author is a to-one relationship");
+    }
+
+    @Override
+    public void addRelations(Article source, Iterable<Long> targetIds, String fieldName) {
+        throw new UnsupportedOperationException("author is a to-one relationship");
+    }
+
+    @Override
+    public void removeRelations(Article source, Iterable<Long> targetIds, String fieldName) {
+        throw new UnsupportedOperationException("author is a to-one relationship");
+    }
+
+    @Override
+    public Person findOneTarget(Long sourceId, String fieldName, QueryParams queryParams) {
+        return new ArticleRepository().findOne(sourceId, queryParams).getAuthor();
+    }
+
+    @Override
+    public Iterable<Person> findManyTargets(Long sourceId, String fieldName, QueryParams queryParams) {
+        throw new UnsupportedOperationException("author is a to-one relationship");
+    }
+}
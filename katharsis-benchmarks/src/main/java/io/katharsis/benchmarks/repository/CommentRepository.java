@@ -0,0 +1,62 @@
+package io.katharsis.benchmarks.repository;
+
+import io.katharsis.benchmarks.model.Comment;
+import io.katharsis.queryParams.QueryParams;
+import io.katharsis.repository.ResourceRepository;
+import io.katharsis.resource.exception.ResourceNotFoundException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class CommentRepository implements ResourceRepository<Comment, Long> {
+
+    private static final ConcurrentMap<Long, Comment> COMMENTS = new ConcurrentHashMap<>();
+    private static final AtomicLong ID_GENERATOR = new AtomicLong();
+
+    @Override
+    public <S extends Comment> S save(S entity) {
+        if (entity.getId() == null) {
+            entity.setId(GeneratedIds.next(ID_GENERATOR));
+        }
+        COMMENTS.put(entity.getId(), entity);
+        return entity;
+    }
+
+    @Override
+    public Comment findOne(Long id, QueryParams queryParams) {
+        Comment resource = COMMENTS.get(id);
+        if (resource == null) {
+            throw new ResourceNotFoundException(Comment.class.getCanonicalName());
+        }
+        return resource;
+    }
+
+    @Override
+    public Iterable<Comment> findAll(QueryParams queryParams) {
+        return COMMENTS.values();
+    }
+
+    @Override
+    public Iterable<Comment> findAll(Iterable<Long> ids, QueryParams queryParams) {
+        List<Comment> resources = new ArrayList<>();
+        for (Long id : ids) {
+            Comment resource = COMMENTS.get(id);
+            if (resource != null) {
+                resources.add(resource);
+            }
+        }
+        return resources;
+    }
+
+    @Override
+    public void delete(Long id) {
+        COMMENTS.remove(id);
+    }
+
+    public static void clear() {
+        COMMENTS.clear();
+    }
+}
@@ -0,0 +1,20 @@
+package io.katharsis.benchmarks.repository;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Identifiers of resources created by benchmarks. They are taken from a fixed range above ids of the generated
+ * resource graph and reused, so the in-memory repositories stay bounded however many resources are created.
+ */
+final class GeneratedIds {
+
+    static final long FIRST_ID = 1_000_000;
+    private static final long RANGE = 1 << 16;
+
+    private GeneratedIds() {
+    }
+
+    static long next(AtomicLong generator) {
+        return FIRST_ID + (generator.getAndIncrement() & (RANGE - 1));
+    }
+}
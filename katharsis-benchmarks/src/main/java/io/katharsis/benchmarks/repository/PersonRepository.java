@@ -0,0 +1,62 @@
+package io.katharsis.benchmarks.repository;
+
+import io.katharsis.benchmarks.model.Person;
+import io.katharsis.queryParams.QueryParams;
+import io.katharsis.repository.ResourceRepository;
+import io.katharsis.resource.exception.ResourceNotFoundException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class PersonRepository implements ResourceRepository<Person, Long> {
+
+    private static final ConcurrentMap<Long, Person> PEOPLE = new ConcurrentHashMap<>();
+    private static final AtomicLong ID_GENERATOR = new AtomicLong();
+
+    @Override
+    public <S extends Person> S save(S entity) {
+        if (entity.getId() == null) {
+            entity.setId(GeneratedIds.next(ID_GENERATOR));
+        }
+        PEOPLE.put(entity.getId(), entity);
+        return entity;
+    }
+
+    @Override
+    public Person findOne(Long id, QueryParams queryParams) {
+        Person resource = PEOPLE.get(id);
+        if (resource == null) {
+            throw new ResourceNotFoundException(Person.class.getCanonicalName());
+        }
+        return resource;
+    }
+
+    @Override
+    public Iterable<Person> findAll(QueryParams queryParams) {
+        return PEOPLE.values();
+    }
+
+    @Override
+    public Iterable<Person> findAll(Iterable<Long> ids, QueryParams queryParams) {
+        List<Person> resources = new ArrayList<>();
+        for (Long id : ids) {
+            Person resource = PEOPLE.get(id);
+            if (resource != null) {
+                resources.add(resource);
+            }
+        }
+        return resources;
+    }
+
+    @Override
+    public void delete(Long id) {
+        PEOPLE.remove(id);
+    }
+
+    public static void clear() {
+        PEOPLE.clear();
+    }
+}
@@ -0,0 +1,59 @@
+package io.katharsis.cache;
+
+import io.katharsis.response.LinksInformation;
+import io.katharsis.response.MetaInformation;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A result of a collection query stored in {@link CollectionQueryCache}. Only identifiers of the returned resources
+ * are kept, in the order returned by the repository, together with meta and links information of the response.
+ */
+public final class CachedCollection {
+
+    private final List<Serializable> ids;
+    private final MetaInformation metaInformation;
+    private final LinksInformation linksInformation;
+    private final long generation;
+    private final long createdAt;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    CachedCollection(List<Serializable> ids, MetaInformation metaInformation, LinksInformation linksInformation,
+                     long generation, long createdAt) {
+        this.ids = Collections.unmodifiableList(ids);
+        this.metaInformation = metaInformation;
+        this.linksInformation = linksInformation;
+        this.generation = generation;
+        this.createdAt = createdAt;
+    }
+
+    public List<Serializable> getIds() {
+        return ids;
+    }
+
+    public MetaInformation getMetaInformation() {
+        return metaInformation;
+    }
+
+    public LinksInformation getLinksInformation() {
+        return linksInformation;
+    }
+
+    long getGeneration() {
+        return generation;
+    }
+
+    long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * @return true if the caller is the first one to request a refresh of this entry
+     */
+    boolean markRefreshing() {
+        return refreshing.compareAndSet(false, true);
+    }
+}
@@ -0,0 +1,263 @@
+package io.katharsis.cache;
+
+import io.katharsis.queryParams.QueryParams;
+import io.katharsis.request.path.FieldPath;
+import io.katharsis.request.path.JsonPath;
+import io.katharsis.resource.field.ResourceField;
+import io.katharsis.resource.registry.RegistryEntry;
+import io.katharsis.resource.registry.ResourceRegistry;
+import io.katharsis.response.LinksInformation;
+import io.katharsis.response.MetaInformation;
+import io.katharsis.utils.Generics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches results of collection GET requests. An entry is keyed by a resource type and {@link QueryParams} of the
+ * request and holds only identifiers of the returned resources along with meta and links information. Resources
+ * themselves are hydrated by the caller using {@link io.katharsis.repository.ResourceRepository#findAll(Iterable, QueryParams)}.
+ * <p>
+ * Each resource type has a generation counter which is incremented on every write to that type. Entries created
+ * before the last write are never returned, so a modification of any resource invalidates all cached queries of
+ * its type. The number of entries is bounded and the least recently used ones are evicted first.
+ * <p>
+ * If an executor is provided, an entry older than <i>staleAfterMillis</i> is still served, but a single background
+ * refresh of it is scheduled (stale-while-revalidate).
+ * <p>
+ * Caching is enabled only for the resource types passed to the constructor. A cached query is served to every caller,
+ * regardless of the parameters provided to the repository by a
+ * {@link io.katharsis.repository.RepositoryMethodParameterProvider}, so results of these types must not depend on the
+ * caller, e.g. must not be filtered by permissions of the current user.
+ */
+public class CollectionQueryCache {
+
+    private static final Logger log = LoggerFactory.getLogger(CollectionQueryCache.class);
+
+    private final ResourceRegistry resourceRegistry;
+    private final Set<String> resourceTypes;
+    private final long timeToLiveMillis;
+    private final long staleAfterMillis;
+    private final Executor refreshExecutor;
+    private final Map<CollectionQueryKey, CachedCollection> entries;
+    private final ConcurrentMap<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    /**
+     * @param resourceRegistry registry used to resolve types affected by a write request
+     * @param resourceTypes    types whose queries are cached, their results must not depend on the caller
+     * @param maximumSize      maximum number of cached queries
+     * @param timeToLiveMillis time after which an entry is discarded
+     */
+    public CollectionQueryCache(ResourceRegistry resourceRegistry, Set<String> resourceTypes, int maximumSize,
+                                long timeToLiveMillis) {
+        this(resourceRegistry, resourceTypes, maximumSize, timeToLiveMillis, timeToLiveMillis, null);
+    }
+
+    /**
+     * @param resourceRegistry registry used to resolve types affected by a write request
+     * @param resourceTypes    types whose queries are cached, their results must not depend on the caller
+     * @param maximumSize      maximum number of cached queries
+     * @param timeToLiveMillis time after which an entry is discarded
+     * @param staleAfterMillis time after which an entry is served but refreshed in the background
+     * @param refreshExecutor  executor running background refreshes, if null stale entries are not refreshed
+     */
+    public CollectionQueryCache(ResourceRegistry resourceRegistry, Set<String> resourceTypes, int maximumSize,
+                                long timeToLiveMillis, long staleAfterMillis, Executor refreshExecutor) {
+        this.resourceRegistry = resourceRegistry;
+        this.resourceTypes = Collections.unmodifiableSet(new HashSet<>(resourceTypes));
+        this.timeToLiveMillis = timeToLiveMillis;
+        this.staleAfterMillis = staleAfterMillis;
+        this.refreshExecutor = refreshExecutor;
+        this.entries = new LinkedHashMap<CollectionQueryKey, CachedCollection>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CollectionQueryKey, CachedCollection> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    /**
+     * @param resourceType resource type
+     * @return true if queries of the type are cached
+     */
+    public boolean isCacheable(String resourceType) {
+        return resourceTypes.contains(resourceType);
+    }
+
+    /**
+     * Returns a valid entry for the query or null if there is none.
+     *
+     * @param resourceType type of the queried resource
+     * @param queryParams  parameters of the query
+     * @return cached result or null
+     */
+    public CachedCollection get(String resourceType, QueryParams queryParams) {
+        if (!isCacheable(resourceType)) {
+            return null;
+        }
+        CollectionQueryKey key = new CollectionQueryKey(resourceType, queryParams);
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            CachedCollection cachedCollection = entries.get(key);
+            if (cachedCollection == null) {
+                return null;
+            }
+            if (cachedCollection.getGeneration() != currentGeneration(resourceType)
+                || now - cachedCollection.getCreatedAt() >= timeToLiveMillis) {
+                entries.remove(key);
+                return null;
+            }
+            return cachedCollection;
+        }
+    }
+
+    /**
+     * Returns the current generation of a type. It should be read before calling the repository and passed to
+     * {@link #put(String, QueryParams, long, List, MetaInformation, LinksInformation)}, so that a result loaded
+     * concurrently with a write is not stored.
+     *
+     * @param resourceType resource type
+     * @return current generation
+     */
+    public long currentGeneration(String resourceType) {
+        return generationOf(resourceType).get();
+    }
+
+    /**
+     * Stores a result of a query. Results of types which are not cached are ignored.
+     *
+     * @param resourceType     type of the queried resource
+     * @param queryParams      parameters of the query
+     * @param generation       generation of the type read before the query was executed
+     * @param ids              identifiers of the returned resources
+     * @param metaInformation  meta information of the response
+     * @param linksInformation links information of the response
+     */
+    public void put(String resourceType, QueryParams queryParams, long generation, List<Serializable> ids,
+                    MetaInformation metaInformation, LinksInformation linksInformation) {
+        if (!isCacheable(resourceType)) {
+            return;
+        }
+        CachedCollection cachedCollection = new CachedCollection(ids, metaInformation, linksInformation, generation,
+            System.currentTimeMillis());
+        synchronized (entries) {
+            if (generation == currentGeneration(resourceType)) {
+                entries.put(new CollectionQueryKey(resourceType, queryParams), cachedCollection);
+            }
+        }
+    }
+
+    /**
+     * Schedules a refresh of the entry if it is stale, no other refresh of it has been scheduled and an executor
+     * has been provided. The loader is expected to query the repository and call
+     * {@link #put(String, QueryParams, long, List, MetaInformation, LinksInformation)}.
+     *
+     * @param cachedCollection entry returned by {@link #get(String, QueryParams)}
+     * @param loader           task reloading the entry
+     */
+    public void refreshIfStale(CachedCollection cachedCollection, Runnable loader) {
+        if (refreshExecutor == null
+            || System.currentTimeMillis() - cachedCollection.getCreatedAt() < staleAfterMillis
+            || !cachedCollection.markRefreshing()) {
+            return;
+        }
+        refreshExecutor.execute(() -> {
+            try {
+                loader.run();
+            } catch (RuntimeException e) {
+                log.warn("Background refresh of a cached collection failed", e);
+            }
+        });
+    }
+
+    /**
+     * Invalidates all cached queries of a type.
+     *
+     * @param resourceType resource type
+     */
+    public void invalidate(String resourceType) {
+        synchronized (entries) {
+            generationOf(resourceType).incrementAndGet();
+            entries.keySet().removeIf(key -> key.resourceType.equals(resourceType));
+        }
+    }
+
+    /**
+     * Invalidates cached queries of all types which might have been modified by a write request to the path. These
+     * are the type of the resource, its parent types and, for relationship paths, the type of the relationship target.
+     *
+     * @param jsonPath path of a write request
+     */
+    public void invalidate(JsonPath jsonPath) {
+        String resourceType = jsonPath.getResourceName();
+        RegistryEntry registryEntry = resourceRegistry.getEntry(resourceType);
+        if (registryEntry == null) {
+            invalidate(resourceType);
+            return;
+        }
+        for (RegistryEntry entry = registryEntry; entry != null; entry = entry.getParentRegistryEntry()) {
+            invalidate(resourceRegistry.getResourceType(entry.getResourceInformation().getResourceClass()));
+        }
+        if (jsonPath instanceof FieldPath) {
+            ResourceField relationshipField = registryEntry.getResourceInformation()
+                .findRelationshipFieldByName(jsonPath.getElementName());
+            if (relationshipField != null) {
+                Class<?> targetClass = Generics.getResourceClass(relationshipField.getGenericType(),
+                    relationshipField.getType());
+                invalidate(resourceRegistry.getResourceType(targetClass));
+            }
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            for (AtomicLong generation : generations.values()) {
+                generation.incrementAndGet();
+            }
+            entries.clear();
+        }
+    }
+
+    private AtomicLong generationOf(String resourceType) {
+        return generations.computeIfAbsent(resourceType, type -> new AtomicLong());
+    }
+
+    private static final class CollectionQueryKey {
+        private final String resourceType;
+        private final QueryParams queryParams;
+
+        CollectionQueryKey(String resourceType, QueryParams queryParams) {
+            this.resourceType = resourceType;
+            this.queryParams = queryParams;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            CollectionQueryKey that = (CollectionQueryKey) o;
+            return Objects.equals(resourceType, that.resourceType) &&
+                Objects.equals(queryParams, that.queryParams);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(resourceType, queryParams);
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package io.katharsis.cache;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.katharsis.jackson.JsonApiEncodingNegotiator;
+import io.katharsis.jackson.serializer.IncludedRelationshipExtractor;
+import io.katharsis.queryParams.QueryParams;
+import io.katharsis.queryParams.params.IncludedFieldsParams;
+import io.katharsis.queryParams.params.TypedParams;
+import io.katharsis.repository.LinksRepository;
+import io.katharsis.repository.MetaRepository;
+import io.katharsis.repository.RepositoryMethodParameterProvider;
+import io.katharsis.repository.ResourceRepository;
+import io.katharsis.repository.VersionRepository;
+import io.katharsis.repository.adapter.ResourceRepositoryAdapter;
+import io.katharsis.request.path.JsonPath;
+import io.katharsis.request.path.ResourcePath;
+import io.katharsis.resource.annotations.JsonApiIncludeByDefault;
+import io.katharsis.resource.field.ResourceField;
+import io.katharsis.resource.information.ResourceInformation;
+import io.katharsis.resource.registry.RegistryEntry;
+import io.katharsis.resource.registry.ResourceRegistry;
+import io.katharsis.response.BaseResponse;
+import io.katharsis.response.Container;
+import io.katharsis.response.LinkageContainer;
+import io.katharsis.utils.ClassUtils;
+import io.katharsis.utils.PropertyUtils;
+import io.katharsis.utils.parser.TypeParser;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Calculates strong entity tags of responses.
+ * <p>
+ * If all of the returned and included resources have a field annotated with
+ * {@link io.katharsis.resource.annotations.JsonApiVersion} and the response has no meta or links information, the tag
+ * is calculated from types, ids and versions of the resources. Otherwise the tag is a digest of the payload,
+ * calculated while the response is written by {@link #write(BaseResponse, ObjectMapper, String, OutputStream)}.
+ * <p>
+ * A media type of the representation is a part of each tag, so the same response encoded e.g. as JSON and Smile has
+ * different tags.
+ */
+public class ETagCalculator {
+
+    private static final String DIGEST_ALGORITHM = "SHA-1";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final ResourceRegistry resourceRegistry;
+    private final ObjectMapper objectMapper;
+    private final String mediaType;
+    private final IncludedRelationshipExtractor includedRelationshipExtractor;
+    private final TypeParser typeParser = new TypeParser();
+
+    /**
+     * @param resourceRegistry registry with all of the resources
+     * @param objectMapper     mapper with registered Katharsis module used to serialize JSON API responses
+     */
+    public ETagCalculator(ResourceRegistry resourceRegistry, ObjectMapper objectMapper) {
+        this(resourceRegistry, objectMapper, JsonApiEncodingNegotiator.JSON_API_MEDIA_TYPE);
+    }
+
+    /**
+     * @param resourceRegistry registry with all of the resources
+     * @param objectMapper     mapper with registered Katharsis module used to serialize responses
+     * @param mediaType        media type of responses written by the mapper
+     */
+    public ETagCalculator(ResourceRegistry resourceRegistry, ObjectMapper objectMapper, String mediaType) {
+        this.resourceRegistry = resourceRegistry;
+        this.objectMapper = objectMapper;
+        this.mediaType = mediaType;
+        this.includedRelationshipExtractor = new IncludedRelationshipExtractor(resourceRegistry);
+    }
+
+    /**
+     * Calculates a tag of a response, preferring versions of the resources. If the response is going to be written
+     * anyway, use {@link #write(BaseResponse, ObjectMapper, String, OutputStream)} instead, which does not serialize
+     * the response twice.
+     *
+     * @param response response to be sent
+     * @return quoted entity tag
+     * @throws IOException if the response cannot be serialized
+     */
+    public String calculate(BaseResponse<?> response) throws IOException {
+        String eTag = calculateFromVersions(response);
+        return eTag != null ? eTag : calculateFromPayload(response);
+    }
+
+    /**
+     * Writes a response and calculates its tag. A tag which cannot be calculated from versions of the resources is a
+     * digest of the written bytes, so the response is serialized only once.
+     *
+     * @param response     response to be sent
+     * @param objectMapper mapper with registered Katharsis module writing the media type
+     * @param mediaType    media type of the representation
+     * @param outputStream stream the response is written to, it is not closed
+     * @return quoted entity tag
+     * @throws IOException if the response cannot be written
+     */
+    public String write(BaseResponse<?> response, ObjectMapper objectMapper, String mediaType,
+                        OutputStream outputStream) throws IOException {
+        String eTag = calculateFromVersions(response, mediaType);
+        if (eTag != null) {
+            writeValue(objectMapper, outputStream, response);
+            return eTag;
+        }
+        MessageDigest messageDigest = newMessageDigest();
+        messageDigest.update(mediaTypeLine(mediaType));
+        writeValue(objectMapper, new DigestOutputStream(outputStream, messageDigest), response);
+        return quote(messageDigest.digest());
+    }
+
+    private static void writeValue(ObjectMapper objectMapper, OutputStream outputStream, BaseResponse<?> response)
+        throws IOException {
+        objectMapper.writer()
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .writeValue(outputStream, response);
+    }
+
+    /**
+     * Calculates a tag from versions of the returned and included resources.
+     *
+     * @param response response to be sent
+     * @return quoted entity tag or null if any resource is not versioned
+     */
+    public String calculateFromVersions(BaseResponse<?> response) {
+        return calculateFromVersions(response, mediaType);
+    }
+
+    /**
+     * Calculates a tag from versions of the returned and included resources.
+     *
+     * @param response  response to be sent
+     * @param mediaType media type of the representation
+     * @return quoted entity tag or null if any resource is not versioned
+     */
+    public String calculateFromVersions(BaseResponse<?> response, String mediaType) {
+        Object data = response.getData();
+        if (data == null || response.getMetaInformation() != null || response.getLinksInformation() != null) {
+            return null;
+        }
+        Iterable<?> resources = data instanceof Iterable ? (Iterable<?>) data : Collections.singletonList(data);
+
+        List<String> resourceVersions = new LinkedList<>();
+        SortedSet<String> includedVersions = new TreeSet<>();
+        for (Object resource : resources) {
+            String resourceVersion = versionOf(resource);
+            if (resourceVersion == null) {
+                return null;
+            }
+            resourceVersions.add(resourceVersion);
+            for (Object included : includedRelationshipExtractor.extractIncludedResources(resource, response)) {
+                String includedVersion = versionOf(((Container) included).getData());
+                if (includedVersion == null) {
+                    return null;
+                }
+                includedVersions.add(includedVersion);
+            }
+        }
+        return digest(mediaType, response.getQueryParams(), resourceVersions, includedVersions);
+    }
+
+    /**
+     * Calculates a tag of a single resource request using {@link VersionRepository}, before the resource is loaded.
+     * The tag is equal to the one returned by {@link #calculateFromVersions(BaseResponse)} for the loaded response.
+     *
+     * @param jsonPath          path of the request
+     * @param queryParams       parameters of the request
+     * @param parameterProvider repository method parameter provider
+     * @return quoted entity tag or null if it cannot be calculated without loading the resource
+     */
+    public String calculateBeforeLoading(JsonPath jsonPath, QueryParams queryParams,
+                                         RepositoryMethodParameterProvider parameterProvider) {
+        return calculateBeforeLoading(jsonPath, queryParams, parameterProvider, mediaType);
+    }
+
+    /**
+     * Calculates a tag of a single resource request using {@link VersionRepository}, before the resource is loaded.
+     * The tag is equal to the one returned by {@link #calculateFromVersions(BaseResponse, String)} for the loaded
+     * response.
+     *
+     * @param jsonPath          path of the request
+     * @param queryParams       parameters of the request
+     * @param parameterProvider repository method parameter provider
+     * @param mediaType         media type of the representation
+     * @return quoted entity tag or null if it cannot be calculated without loading the resource
+     */
+    @SuppressWarnings("unchecked")
+    public String calculateBeforeLoading(JsonPath jsonPath, QueryParams queryParams,
+                                         RepositoryMethodParameterProvider parameterProvider, String mediaType) {
+        if (!(jsonPath instanceof ResourcePath) || jsonPath.getIds() == null
+            || jsonPath.getIds().getIds().size() != 1 || hasInclusions(queryParams)) {
+            return null;
+        }
+        RegistryEntry registryEntry = resourceRegistry.getEntry(jsonPath.getElementName());
+        if (registryEntry == null || hasDefaultInclusions(registryEntry.getResourceInformation())) {
+            return null;
+        }
+        ResourceRepository resourceRepository = registryEntry.getResourceRepository(parameterProvider);
+        if (!providesVersionOnly(resourceRepository)) {
+            return null;
+        }
+
+        ResourceInformation resourceInformation = registryEntry.getResourceInformation();
+        Class<? extends Serializable> idType = (Class<? extends Serializable>) resourceInformation.getIdField()
+            .getType();
+        Serializable id = typeParser.parse(jsonPath.getIds().getIds().get(0), idType);
+        Object version = ((VersionRepository) resourceRepository).findVersion(id, queryParams);
+        if (version == null) {
+            return null;
+        }
+        String resourceType = resourceRegistry.getResourceType(resourceInformation.getResourceClass());
+        return digest(mediaType, queryParams, Collections.singletonList(entry(resourceType, id, version)),
+            Collections.emptySortedSet());
+    }
+
+    /**
+     * Serializes a response into a digest, discarding the payload.
+     *
+     * @param response response to be sent
+     * @return quoted entity tag
+     * @throws IOException if the response cannot be serialized
+     */
+    public String calculateFromPayload(BaseResponse<?> response) throws IOException {
+        MessageDigest messageDigest = newMessageDigest();
+        messageDigest.update(mediaTypeLine(mediaType));
+        writeValue(objectMapper, new DigestOutputStream(new DiscardingOutputStream(), messageDigest), response);
+        return quote(messageDigest.digest());
+    }
+
+    /**
+     * Checks if a value of <i>If-None-Match</i> header matches a tag using weak comparison.
+     *
+     * @param ifNoneMatch value of the header, can be null
+     * @param eTag        quoted entity tag of the current representation
+     * @return true if the client holds the current representation
+     */
+    public static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || eTag == null) {
+            return false;
+        }
+        String expected = stripWeakPrefix(eTag.trim());
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if ("*".equals(trimmed) || stripWeakPrefix(trimmed).equals(expected)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeakPrefix(String eTag) {
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
+
+    private static boolean hasInclusions(QueryParams queryParams) {
+        return queryParams != null && queryParams.getIncludedRelations() != null
+            && !queryParams.getIncludedRelations().getParams().isEmpty();
+    }
+
+    private static boolean hasDefaultInclusions(ResourceInformation resourceInformation) {
+        for (ResourceField relationshipField : resourceInformation.getRelationshipFields()) {
+            if (relationshipField.isAnnotationPresent(JsonApiIncludeByDefault.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A version is sufficient only if the response would not contain meta or links information.
+     */
+    private static boolean providesVersionOnly(ResourceRepository resourceRepository) {
+        if (resourceRepository instanceof ResourceRepositoryAdapter) {
+            ResourceRepositoryAdapter adapter = (ResourceRepositoryAdapter) resourceRepository;
+            return adapter.versionRepositoryAvailable() && !adapter.metaRepositoryAvailable()
+                && !adapter.linksRepositoryAvailable();
+        }
+        return resourceRepository instanceof VersionRepository && !(resourceRepository instanceof MetaRepository)
+            && !(resourceRepository instanceof LinksRepository);
+    }
+
+    private String versionOf(Object resource) {
+        if (resource == null || resource instanceof LinkageContainer) {
+            return null;
+        }
+        Class<?> resourceClass = ClassUtils.getJsonApiResourceClass(resource);
+        ResourceInformation resourceInformation = resourceRegistry.getEntry(resourceClass).getResourceInformation();
+        ResourceField versionField = resourceInformation.getVersionField();
+        if (versionField == null) {
+            return null;
+        }
+        Object version = PropertyUtils.getProperty(resource, versionField.getName());
+        if (version == null) {
+            return null;
+        }
+        Object id = PropertyUtils.getProperty(resource, resourceInformation.getIdField().getName());
+        return entry(resourceRegistry.getResourceType(resourceClass), id, version);
+    }
+
+    private static String entry(String resourceType, Object id, Object version) {
+        return resourceType + ':' + id + ':' + version;
+    }
+
+    /**
+     * Sparse field sets change the representation, so they are a part of the digest, sorted by type and field name.
+     */
+    private static String digest(String mediaType, QueryParams queryParams, List<String> resourceVersions,
+                                 SortedSet<String> includedVersions) {
+        StringBuilder builder = new StringBuilder();
+        builder.append(mediaType).append('\n');
+        appendIncludedFields(builder, queryParams != null ? queryParams.getIncludedFields() : null);
+        builder.append('\n');
+        for (String resourceVersion : resourceVersions) {
+            builder.append(resourceVersion).append('\n');
+        }
+        builder.append('\n');
+        for (String includedVersion : includedVersions) {
+            builder.append(includedVersion).append('\n');
+        }
+        return quote(newMessageDigest().digest(builder.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static void appendIncludedFields(StringBuilder builder, TypedParams<IncludedFieldsParams> includedFields) {
+        if (includedFields == null || includedFields.getParams() == null) {
+            return;
+        }
+        for (Map.Entry<String, IncludedFieldsParams> fields : new TreeMap<>(includedFields.getParams()).entrySet()) {
+            builder.append(fields.getKey()).append('=');
+            if (fields.getValue() != null && fields.getValue().getParams() != null) {
+                for (String field : new TreeSet<>(fields.getValue().getParams())) {
+                    builder.append(field).append(',');
+                }
+            }
+            builder.append(';');
+        }
+    }
+
+    private static byte[] mediaTypeLine(String mediaType) {
+        return (mediaType + '\n').getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static MessageDigest newMessageDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String quote(byte[] digest) {
+        char[] chars = new char[digest.length * 2 + 2];
+        chars[0] = '"';
+        for (int i = 0; i < digest.length; i++) {
+            chars[1 + i * 2] = HEX_DIGITS[(digest[i] >> 4) & 0xF];
+            chars[2 + i * 2] = HEX_DIGITS[digest[i] & 0xF];
+        }
+        chars[chars.length - 1] = '"';
+        return new String(chars);
+    }
+
+    private static final class DiscardingOutputStream extends OutputStream {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
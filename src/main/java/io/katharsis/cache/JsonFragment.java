@@ -0,0 +1,127 @@
+package io.katharsis.cache;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A pre-encoded UTF-8 JSON value which can be written using
+ * {@link com.fasterxml.jackson.core.JsonGenerator#writeRawValue(SerializableString)}. Byte based generators copy the
+ * stored bytes as they are, character based ones decode them on each write.
+ */
+public final class JsonFragment implements SerializableString {
+
+    private final byte[] utf8;
+
+    public JsonFragment(byte[] utf8) {
+        this.utf8 = utf8;
+    }
+
+    /**
+     * @return number of bytes of the encoded value
+     */
+    public int byteLength() {
+        return utf8.length;
+    }
+
+    @Override
+    public String getValue() {
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int charLength() {
+        return getValue().length();
+    }
+
+    @Override
+    public char[] asQuotedChars() {
+        return JsonStringEncoder.getInstance().quoteAsString(getValue());
+    }
+
+    @Override
+    public byte[] asUnquotedUTF8() {
+        return utf8;
+    }
+
+    @Override
+    public byte[] asQuotedUTF8() {
+        return JsonStringEncoder.getInstance().quoteAsUTF8(getValue());
+    }
+
+    @Override
+    public int appendQuotedUTF8(byte[] buffer, int offset) {
+        return append(asQuotedUTF8(), buffer, offset);
+    }
+
+    @Override
+    public int appendQuoted(char[] buffer, int offset) {
+        return append(asQuotedChars(), buffer, offset);
+    }
+
+    @Override
+    public int appendUnquotedUTF8(byte[] buffer, int offset) {
+        return append(utf8, buffer, offset);
+    }
+
+    @Override
+    public int appendUnquoted(char[] buffer, int offset) {
+        return append(getValue().toCharArray(), buffer, offset);
+    }
+
+    @Override
+    public int writeQuotedUTF8(OutputStream out) throws IOException {
+        byte[] quoted = asQuotedUTF8();
+        out.write(quoted);
+        return quoted.length;
+    }
+
+    @Override
+    public int writeUnquotedUTF8(OutputStream out) throws IOException {
+        out.write(utf8);
+        return utf8.length;
+    }
+
+    @Override
+    public int putQuotedUTF8(ByteBuffer buffer) throws IOException {
+        return put(asQuotedUTF8(), buffer);
+    }
+
+    @Override
+    public int putUnquotedUTF8(ByteBuffer buffer) throws IOException {
+        return put(utf8, buffer);
+    }
+
+    private static int append(byte[] source, byte[] buffer, int offset) {
+        if (offset + source.length > buffer.length) {
+            return -1;
+        }
+        System.arraycopy(source, 0, buffer, offset, source.length);
+        return source.length;
+    }
+
+    private static int append(char[] source, char[] buffer, int offset) {
+        if (offset + source.length > buffer.length) {
+            return -1;
+        }
+        System.arraycopy(source, 0, buffer, offset, source.length);
+        return source.length;
+    }
+
+    private static int put(byte[] source, ByteBuffer buffer) {
+        if (source.length > buffer.remaining()) {
+            return -1;
+        }
+        buffer.put(source);
+        return source.length;
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
+    }
+}
@@ -0,0 +1,401 @@
+package io.katharsis.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.katharsis.response.BaseResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Stores serialized responses outside of the Java heap, either in direct memory or in a memory-mapped file. The
+ * storage is divided into slots of a fixed size and each entry occupies one slot, so entries which do not fit into a
+ * slot are not stored. When there are no free slots, an entry is evicted using the clock algorithm.
+ * <p>
+ * Each slot starts with a header containing the lengths of the key and payload, which allows the index to be rebuilt
+ * when a cache is opened on an existing file, e.g. after a restart. The header is written after the data, so an entry
+ * interrupted by a crash is never loaded.
+ * <p>
+ * Hits can be copied directly from the storage to an output channel using
+ * {@link #transferTo(String, WritableByteChannel)}. The cache does not know which resources a response contains, so
+ * entries have to be removed by the owner on writes, see {@link io.katharsis.dispatcher.SerializedResponseCache}.
+ */
+public class OffHeapResponseCache implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(OffHeapResponseCache.class);
+
+    private static final int FILE_MAGIC = 0x4B415448;
+    private static final int FILE_FORMAT_VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 16;
+    private static final int ENTRY_MAGIC = 0x454E5452;
+    private static final int SLOT_HEADER_SIZE = 12;
+
+    private final ByteBuffer storage;
+    private final FileChannel fileChannel;
+    private final int slotCount;
+    private final int slotSize;
+
+    private final Map<String, Integer> index = new HashMap<>();
+    private final String[] slotKeys;
+    private final boolean[] referenced;
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int clockHand;
+
+    /**
+     * Creates a cache in direct memory.
+     *
+     * @param slotCount number of slots
+     * @param slotSize  size of a slot in bytes, including the key and a 12 byte header
+     */
+    public OffHeapResponseCache(int slotCount, int slotSize) {
+        this.slotCount = slotCount;
+        this.slotSize = slotSize;
+        this.slotKeys = new String[slotCount];
+        this.referenced = new boolean[slotCount];
+        this.fileChannel = null;
+        this.storage = ByteBuffer.allocateDirect(storageSize(slotCount, slotSize));
+        initialize(false);
+    }
+
+    /**
+     * Creates a cache backed by a memory-mapped file. If the file already contains a cache with the same slot layout,
+     * its entries are loaded.
+     *
+     * @param file      file used as a storage
+     * @param slotCount number of slots
+     * @param slotSize  size of a slot in bytes, including the key and a 12 byte header
+     * @throws IOException if the file cannot be mapped
+     */
+    public OffHeapResponseCache(Path file, int slotCount, int slotSize) throws IOException {
+        this.slotCount = slotCount;
+        this.slotSize = slotSize;
+        this.slotKeys = new String[slotCount];
+        this.referenced = new boolean[slotCount];
+        this.fileChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        this.storage = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, storageSize(slotCount, slotSize));
+        initialize(true);
+    }
+
+    private static int storageSize(int slotCount, int slotSize) {
+        long size = FILE_HEADER_SIZE + (long) slotCount * slotSize;
+        if (slotCount <= 0 || slotSize <= SLOT_HEADER_SIZE || size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format("Invalid cache layout: %d slots of %d bytes",
+                slotCount, slotSize));
+        }
+        return (int) size;
+    }
+
+    private void initialize(boolean loadEntries) {
+        boolean sameLayout = storage.getInt(0) == FILE_MAGIC
+            && storage.getInt(4) == FILE_FORMAT_VERSION
+            && storage.getInt(8) == slotCount
+            && storage.getInt(12) == slotSize;
+        if (!loadEntries || !sameLayout) {
+            for (int slot = 0; slot < slotCount; slot++) {
+                storage.putInt(slotOffset(slot), 0);
+            }
+            storage.putInt(0, FILE_MAGIC);
+            storage.putInt(4, FILE_FORMAT_VERSION);
+            storage.putInt(8, slotCount);
+            storage.putInt(12, slotSize);
+        }
+        for (int slot = 0; slot < slotCount; slot++) {
+            String key = readKey(slot);
+            if (key != null && !index.containsKey(key)) {
+                index.put(key, slot);
+                slotKeys[slot] = key;
+            } else {
+                storage.putInt(slotOffset(slot), 0);
+                freeSlots.add(slot);
+            }
+        }
+        if (!index.isEmpty()) {
+            log.debug("Loaded {} cached responses", index.size());
+        }
+    }
+
+    private String readKey(int slot) {
+        int offset = slotOffset(slot);
+        if (storage.getInt(offset) != ENTRY_MAGIC) {
+            return null;
+        }
+        int keyLength = storage.getInt(offset + 4);
+        int payloadLength = storage.getInt(offset + 8);
+        if (keyLength < 0 || payloadLength < 0 || (long) SLOT_HEADER_SIZE + keyLength + payloadLength > slotSize) {
+            return null;
+        }
+        byte[] key = new byte[keyLength];
+        ByteBuffer buffer = storage.duplicate();
+        buffer.position(offset + SLOT_HEADER_SIZE);
+        buffer.get(key);
+        return new String(key, StandardCharsets.UTF_8);
+    }
+
+    private int slotOffset(int slot) {
+        return FILE_HEADER_SIZE + slot * slotSize;
+    }
+
+    /**
+     * Serializes a response and stores it.
+     *
+     * @param key          key of the response, e.g. a request path with query parameters
+     * @param objectMapper mapper with registered Katharsis module
+     * @param response     response to be stored
+     * @return true if the response has been stored
+     * @throws JsonProcessingException if the response cannot be serialized
+     */
+    public boolean put(String key, ObjectMapper objectMapper, BaseResponse<?> response) throws JsonProcessingException {
+        return put(key, objectMapper.writeValueAsBytes(response));
+    }
+
+    /**
+     * Stores a serialized response.
+     *
+     * @param key     key of the response
+     * @param payload serialized response
+     * @return true if the payload has been stored, false if it does not fit into a slot, in which case a previously
+     * stored payload of the key is removed
+     */
+    public boolean put(String key, byte[] payload) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if ((long) SLOT_HEADER_SIZE + keyBytes.length + payload.length > slotSize) {
+            remove(key);
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer slot = index.remove(key);
+            if (slot == null) {
+                slot = allocateSlot();
+            }
+            int offset = slotOffset(slot);
+            storage.putInt(offset, 0);
+            ByteBuffer buffer = storage.duplicate();
+            buffer.position(offset + SLOT_HEADER_SIZE);
+            buffer.put(keyBytes);
+            buffer.put(payload);
+            storage.putInt(offset + 4, keyBytes.length);
+            storage.putInt(offset + 8, payload.length);
+            storage.putInt(offset, ENTRY_MAGIC);
+
+            index.put(key, slot);
+            slotKeys[slot] = key;
+            referenced[slot] = true;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int allocateSlot() {
+        Integer freeSlot = freeSlots.poll();
+        if (freeSlot != null) {
+            return freeSlot;
+        }
+        while (referenced[clockHand]) {
+            referenced[clockHand] = false;
+            clockHand = (clockHand + 1) % slotCount;
+        }
+        int slot = clockHand;
+        clockHand = (clockHand + 1) % slotCount;
+        index.remove(slotKeys[slot]);
+        slotKeys[slot] = null;
+        return slot;
+    }
+
+    /**
+     * Returns a read-only view of a stored payload. The view must not be used after the entry has been replaced or
+     * evicted, use {@link #transferTo(String, WritableByteChannel)} to write a payload safely.
+     *
+     * @param key key of the response
+     * @return stored payload or null
+     */
+    public ByteBuffer get(String key) {
+        lock.readLock().lock();
+        try {
+            Integer slot = index.get(key);
+            return slot == null ? null : payload(slot);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads a stored payload. The view passed to the reader is valid only during the call, so the reader should copy
+     * whatever it needs.
+     *
+     * @param key    key of the response
+     * @param reader function reading a read-only view of the payload
+     * @param <T>    type of the result
+     * @return result of the reader or null if the payload has not been found
+     */
+    public <T> T read(String key, Function<ByteBuffer, T> reader) {
+        lock.readLock().lock();
+        try {
+            Integer slot = index.get(key);
+            return slot == null ? null : reader.apply(payload(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes a stored payload to a channel without copying it to the heap.
+     *
+     * @param key     key of the response
+     * @param channel output channel
+     * @return true if the payload has been found and written
+     * @throws IOException if writing to the channel fails
+     */
+    public boolean transferTo(String key, WritableByteChannel channel) throws IOException {
+        return transferTo(key, payload -> {
+            while (payload.hasRemaining()) {
+                channel.write(payload);
+            }
+        });
+    }
+
+    /**
+     * Passes a stored payload to a transfer without copying it to the heap. The view passed to the transfer is valid
+     * only during the call and the entry cannot be replaced or evicted meanwhile, so the transfer can write headers
+     * stored in the payload before writing the rest of it.
+     *
+     * @param key      key of the response
+     * @param transfer transfer reading a read-only view of the payload
+     * @return true if the payload has been found and passed to the transfer
+     * @throws IOException if the transfer fails
+     */
+    public boolean transferTo(String key, PayloadTransfer transfer) throws IOException {
+        lock.readLock().lock();
+        try {
+            Integer slot = index.get(key);
+            if (slot == null) {
+                return false;
+            }
+            transfer.transfer(payload(slot));
+            return true;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private ByteBuffer payload(int slot) {
+        referenced[slot] = true;
+        int offset = slotOffset(slot);
+        int keyLength = storage.getInt(offset + 4);
+        int payloadLength = storage.getInt(offset + 8);
+        ByteBuffer buffer = storage.asReadOnlyBuffer();
+        buffer.position(offset + SLOT_HEADER_SIZE + keyLength);
+        buffer.limit(offset + SLOT_HEADER_SIZE + keyLength + payloadLength);
+        return buffer.slice();
+    }
+
+    /**
+     * @param key key of the response
+     */
+    public void remove(String key) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = index.remove(key);
+            if (slot != null) {
+                freeSlot(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes all entries whose keys match the filter, e.g. all responses of a resource type.
+     *
+     * @param keyFilter filter of keys to be removed
+     */
+    public void removeIf(Predicate<String> keyFilter) {
+        lock.writeLock().lock();
+        try {
+            Iterator<Map.Entry<String, Integer>> iterator = index.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, Integer> entry = iterator.next();
+                if (keyFilter.test(entry.getKey())) {
+                    freeSlot(entry.getValue());
+                    iterator.remove();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void freeSlot(int slot) {
+        storage.putInt(slotOffset(slot), 0);
+        slotKeys[slot] = null;
+        referenced[slot] = false;
+        freeSlots.add(slot);
+    }
+
+    public void clear() {
+        removeIf(key -> true);
+    }
+
+    /**
+     * @return number of stored entries
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Flushes a memory-mapped storage to the disk and closes the file.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (fileChannel != null) {
+            lock.writeLock().lock();
+            try {
+                ((MappedByteBuffer) storage).force();
+                fileChannel.close();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Writes a payload stored in the cache, see {@link #transferTo(String, PayloadTransfer)}.
+     */
+    public interface PayloadTransfer {
+
+        /**
+         * @param payload read-only view of the payload
+         * @throws IOException if writing the payload fails
+         */
+        void transfer(ByteBuffer payload) throws IOException;
+    }
+}
@@ -0,0 +1,107 @@
+package io.katharsis.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Holds serialized JSON representations of single resources. An entry is identified by a resource type, id, value of
+ * the field annotated with {@link io.katharsis.resource.annotations.JsonApiVersion} and a set of fields included in
+ * the representation, so a modified resource is never served from the cache as long as its version changes.
+ * <p>
+ * The cache is bounded by the total number of bytes of stored fragments. The least recently used fragments are
+ * evicted first and fragments larger than the whole capacity are not stored.
+ */
+public class ResourceFragmentCache {
+
+    private final long maximumBytes;
+    private final Map<FragmentKey, JsonFragment> fragments = new LinkedHashMap<>(16, 0.75f, true);
+    private long currentBytes;
+
+    /**
+     * @param maximumBytes maximum number of bytes of all stored fragments
+     */
+    public ResourceFragmentCache(long maximumBytes) {
+        this.maximumBytes = maximumBytes;
+    }
+
+    /**
+     * @param resourceType   type of the resource
+     * @param id             id of the resource
+     * @param version        version of the resource
+     * @param includedFields fields included in the representation, null or empty if all fields are included
+     * @return stored fragment or null
+     */
+    public synchronized JsonFragment get(String resourceType, Object id, Object version, Set<String> includedFields) {
+        return fragments.get(new FragmentKey(resourceType, id, version, includedFields));
+    }
+
+    /**
+     * @param resourceType   type of the resource
+     * @param id             id of the resource
+     * @param version        version of the resource
+     * @param includedFields fields included in the representation, null or empty if all fields are included
+     * @param fragment       serialized resource
+     */
+    public synchronized void put(String resourceType, Object id, Object version, Set<String> includedFields,
+                                 JsonFragment fragment) {
+        if (fragment.byteLength() > maximumBytes) {
+            return;
+        }
+        JsonFragment previous = fragments.put(new FragmentKey(resourceType, id, version, includedFields), fragment);
+        if (previous != null) {
+            currentBytes -= previous.byteLength();
+        }
+        currentBytes += fragment.byteLength();
+
+        Iterator<JsonFragment> iterator = fragments.values().iterator();
+        while (currentBytes > maximumBytes && iterator.hasNext()) {
+            currentBytes -= iterator.next().byteLength();
+            iterator.remove();
+        }
+    }
+
+    public synchronized void clear() {
+        fragments.clear();
+        currentBytes = 0;
+    }
+
+    /**
+     * @return number of bytes of all stored fragments
+     */
+    public synchronized long size() {
+        return currentBytes;
+    }
+
+    private static final class FragmentKey {
+        private final String resourceType;
+        private final Object id;
+        private final Object version;
+        private final Set<String> includedFields;
+
+        FragmentKey(String resourceType, Object id, Object version, Set<String> includedFields) {
+            this.resourceType = resourceType;
+            this.id = id;
+            this.version = version;
+            this.includedFields = includedFields == null || includedFields.isEmpty() ? null : includedFields;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            FragmentKey that = (FragmentKey) o;
+            return Objects.equals(resourceType, that.resourceType) &&
+                Objects.equals(id, that.id) &&
+                Objects.equals(version, that.version) &&
+                Objects.equals(includedFields, that.includedFields);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(resourceType, id, version, includedFields);
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package io.katharsis.dispatcher;
+
+import io.katharsis.dispatcher.controller.HttpMethod;
+import io.katharsis.errorhandling.ErrorResponse;
+import io.katharsis.queryParams.QueryParams;
+import io.katharsis.queryParams.QueryParamsBuilder;
+import io.katharsis.repository.RepositoryMethodParameterProvider;
+import io.katharsis.request.dto.DataBody;
+import io.katharsis.request.dto.LinkageData;
+import io.katharsis.request.dto.Operation;
+import io.katharsis.request.dto.RequestBody;
+import io.katharsis.request.path.JsonPath;
+import io.katharsis.request.path.PathBuilder;
+import io.katharsis.resource.exception.RequestBodyException;
+import io.katharsis.resource.registry.ResourceRegistry;
+import io.katharsis.response.BaseResponse;
+import io.katharsis.response.HttpStatus;
+import io.katharsis.response.OperationsResponse;
+import io.katharsis.utils.ClassUtils;
+import io.katharsis.utils.PropertyUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Dispatches an ordered list of operations, each being a regular JSON API request, received in a single request of a
+ * client. Every operation is dispatched by {@link RequestDispatcher}, so it is handled by the same controllers and
+ * exception mappers as a separate request would be.
+ * <p>
+ * Operations are executed in order and the execution stops at the first operation which returns an error status. A
+ * run of consecutive GET operations can be executed in parallel if an executor is provided, in which case results
+ * after the first failed read of the run are discarded. GET operations cannot declare local ids, so reads of a run
+ * never depend on each other. Katharsis does not manage transactions, so operations executed before a failed one are
+ * not rolled back.
+ *
+ * @see Operation
+ */
+public class OperationsDispatcher {
+
+    private final RequestDispatcher requestDispatcher;
+    private final ResourceRegistry resourceRegistry;
+    private final PathBuilder pathBuilder;
+    private final QueryParamsBuilder queryParamsBuilder = new QueryParamsBuilder();
+    private final ExecutorService readExecutor;
+
+    public OperationsDispatcher(RequestDispatcher requestDispatcher, ResourceRegistry resourceRegistry) {
+        this(requestDispatcher, resourceRegistry, null);
+    }
+
+    /**
+     * @param readExecutor executor of independent read operations, can be null to execute all of the operations in
+     *                     the calling thread. Repositories and the parameter provider must be thread-safe if set.
+     */
+    public OperationsDispatcher(RequestDispatcher requestDispatcher, ResourceRegistry resourceRegistry,
+                                ExecutorService readExecutor) {
+        this.requestDispatcher = requestDispatcher;
+        this.resourceRegistry = resourceRegistry;
+        this.pathBuilder = new PathBuilder(resourceRegistry);
+        this.readExecutor = readExecutor;
+    }
+
+    /**
+     * Dispatches operations of a client request. References to local ids are checked before any operation is
+     * executed.
+     *
+     * @param operations        operations in order of execution
+     * @param parameterProvider repository method parameter provider
+     * @return results of the executed operations
+     * @throws Exception exception thrown while processing an operation and not mapped to an error response
+     */
+    public OperationsResponse dispatch(List<Operation> operations, RepositoryMethodParameterProvider parameterProvider)
+        throws Exception {
+        verifyLocalIds(operations);
+
+        Map<String, String> localIds = new HashMap<>();
+        List<OperationsResponse.Result> results = new ArrayList<>(operations.size());
+        int index = 0;
+        while (index < operations.size()) {
+            int readsEnd = readExecutor != null ? findReadsEnd(operations, index) : index;
+            List<OperationsResponse.Result> runResults;
+            if (readsEnd - index > 1) {
+                runResults = dispatchReads(operations.subList(index, readsEnd), localIds, parameterProvider);
+                index = readsEnd;
+            } else {
+                Operation operation = operations.get(index);
+                OperationsResponse.Result result = dispatch(operation, localIds, parameterProvider);
+                if (operation.getLid() != null && !isError(result)) {
+                    result = storeLocalId(operation, result, localIds);
+                }
+                runResults = Collections.singletonList(result);
+                index++;
+            }
+            for (OperationsResponse.Result result : runResults) {
+                results.add(result);
+                if (isError(result)) {
+                    return new OperationsResponse(results);
+                }
+            }
+        }
+        return new OperationsResponse(results);
+    }
+
+    private OperationsResponse.Result dispatch(Operation operation, Map<String, String> localIds,
+                                               RepositoryMethodParameterProvider parameterProvider) throws Exception {
+        String method = operation.getMethod().toUpperCase();
+        JsonPath jsonPath = pathBuilder.buildPath(resolvePath(operation.getPath(), localIds));
+        Map<String, Set<String>> query = operation.getQuery() != null
+            ? operation.getQuery()
+            : Collections.emptyMap();
+        QueryParams queryParams = queryParamsBuilder.buildQueryParams(query);
+        RequestBody requestBody = operation.getBody();
+        resolveBody(requestBody, localIds);
+
+        BaseResponse<?> response = requestDispatcher.dispatchRequest(jsonPath, method, queryParams, parameterProvider,
+            requestBody);
+        int status = response != null ? response.getHttpStatus() : HttpStatus.NO_CONTENT_204;
+        return new OperationsResponse.Result(status, response);
+    }
+
+    /**
+     * Consecutive GET operations do not depend on each other, since GET operations cannot declare local ids.
+     *
+     * @return index of the first operation after a run of GET operations starting at the index
+     */
+    private static int findReadsEnd(List<Operation> operations, int index) {
+        int end = index;
+        while (end < operations.size() && HttpMethod.GET.name().equalsIgnoreCase(operations.get(end).getMethod())) {
+            end++;
+        }
+        return end;
+    }
+
+    private List<OperationsResponse.Result> dispatchReads(List<Operation> reads, Map<String, String> localIds,
+                                                          RepositoryMethodParameterProvider parameterProvider)
+        throws Exception {
+        List<Future<OperationsResponse.Result>> futures = new ArrayList<>(reads.size());
+        for (Operation read : reads) {
+            futures.add(readExecutor.submit(() -> dispatch(read, localIds, parameterProvider)));
+        }
+        List<OperationsResponse.Result> results = new ArrayList<>(reads.size());
+        for (Future<OperationsResponse.Result> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Exception) {
+                    throw (Exception) e.getCause();
+                }
+                throw e;
+            }
+        }
+        return results;
+    }
+
+    private static boolean isError(OperationsResponse.Result result) {
+        return result.getStatus() >= 400;
+    }
+
+    private static void verifyLocalIds(List<Operation> operations) {
+        Set<String> declaredLocalIds = new HashSet<>();
+        for (Operation operation : operations) {
+            if (operation.getMethod() == null || operation.getPath() == null) {
+                throw new RequestBodyException(HttpMethod.POST, String.valueOf(operation.getPath()),
+                    "Operation without method or path");
+            }
+            for (String localId : findLocalIdReferences(operation)) {
+                if (!declaredLocalIds.contains(localId)) {
+                    throw new RequestBodyException(HttpMethod.POST, operation.getPath(),
+                        "Reference to undefined local id " + localId);
+                }
+            }
+            if (operation.getLid() != null && HttpMethod.GET.name().equalsIgnoreCase(operation.getMethod())) {
+                throw new RequestBodyException(HttpMethod.POST, operation.getPath(),
+                    "Local id " + operation.getLid() + " declared by a GET operation");
+            }
+            if (operation.getLid() != null && !declaredLocalIds.add(operation.getLid())) {
+                throw new RequestBodyException(HttpMethod.POST, operation.getPath(),
+                    "Duplicate local id " + operation.getLid());
+            }
+        }
+    }
+
+    private static Set<String> findLocalIdReferences(Operation operation) {
+        Set<String> references = new HashSet<>();
+        for (String segment : operation.getPath().split("[/,]")) {
+            addReference(references, segment);
+        }
+        for (DataBody dataBody : getDataBodies(operation.getBody())) {
+            if (dataBody == null) {
+                continue;
+            }
+            addReference(references, dataBody.getId());
+            for (LinkageData linkageData : getLinkages(dataBody)) {
+                addReference(references, linkageData.getId());
+            }
+        }
+        return references;
+    }
+
+    private static void addReference(Set<String> references, String value) {
+        if (isLocalIdReference(value)) {
+            references.add(value.substring(Operation.LOCAL_ID_PREFIX.length()));
+        }
+    }
+
+    private static boolean isLocalIdReference(String value) {
+        return value != null && value.startsWith(Operation.LOCAL_ID_PREFIX);
+    }
+
+    private static String resolve(String value, Map<String, String> localIds) {
+        return isLocalIdReference(value) ? localIds.get(value.substring(Operation.LOCAL_ID_PREFIX.length())) : value;
+    }
+
+    private static String resolvePath(String path, Map<String, String> localIds) {
+        if (!path.contains(Operation.LOCAL_ID_PREFIX)) {
+            return path;
+        }
+        StringBuilder resolvedPath = new StringBuilder(path.length());
+        StringBuilder segment = new StringBuilder();
+        for (char character : path.toCharArray()) {
+            if (character == '/' || character == ',') {
+                resolvedPath.append(resolve(segment.toString(), localIds)).append(character);
+                segment.setLength(0);
+            } else {
+                segment.append(character);
+            }
+        }
+        return resolvedPath.append(resolve(segment.toString(), localIds)).toString();
+    }
+
+    private static void resolveBody(RequestBody requestBody, Map<String, String> localIds) {
+        for (DataBody dataBody : getDataBodies(requestBody)) {
+            if (dataBody == null) {
+                continue;
+            }
+            dataBody.setId(resolve(dataBody.getId(), localIds));
+            for (LinkageData linkageData : getLinkages(dataBody)) {
+                linkageData.setId(resolve(linkageData.getId(), localIds));
+            }
+        }
+    }
+
+    private static Iterable<DataBody> getDataBodies(RequestBody requestBody) {
+        if (requestBody == null || requestBody.getData() == null) {
+            return Collections.emptyList();
+        }
+        return requestBody.isMultiple()
+            ? requestBody.getMultipleData()
+            : Collections.singletonList(requestBody.getSingleData());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<LinkageData> getLinkages(DataBody dataBody) {
+        if (dataBody == null || dataBody.getRelationships() == null) {
+            return Collections.emptyList();
+        }
+        List<LinkageData> linkages = new ArrayList<>();
+        for (Object value : dataBody.getRelationships().getAdditionalProperties().values()) {
+            if (value instanceof Iterable) {
+                ((Iterable<LinkageData>) value).forEach(linkages::add);
+            } else if (value != null) {
+                linkages.add((LinkageData) value);
+            }
+        }
+        return linkages;
+    }
+
+    /**
+     * Stores the id of the resource returned by an operation declaring a local id. The operation has already been
+     * executed, so if it did not return a single resource, its result is replaced with an error which stops the
+     * execution and results of the previous operations are kept.
+     *
+     * @return result of the operation or an error result
+     */
+    private OperationsResponse.Result storeLocalId(Operation operation, OperationsResponse.Result result,
+                                                   Map<String, String> localIds) {
+        String resourceId = result.getDocument() != null ? getResourceId(result.getDocument()) : null;
+        if (resourceId == null) {
+            RequestBodyException exception = new RequestBodyException(HttpMethod.POST, operation.getPath(),
+                "Operation with local id " + operation.getLid() + " did not return a single resource");
+            ErrorResponse errorResponse = ErrorResponse.builder()
+                .setStatus(exception.getHttpStatus())
+                .setSingleErrorData(exception.getErrorData())
+                .build();
+            return new OperationsResponse.Result(errorResponse.getHttpStatus(), errorResponse);
+        }
+        localIds.put(operation.getLid(), resourceId);
+        return result;
+    }
+
+    private String getResourceId(BaseResponse<?> response) {
+        Object resource = response.getData();
+        if (resource == null || resource instanceof Iterable) {
+            return null;
+        }
+        Class<?> resourceClass = ClassUtils.getJsonApiResourceClass(resource);
+        if (resourceClass == null) {
+            return null;
+        }
+        String idFieldName = resourceRegistry.getEntry(resourceClass).getResourceInformation().getIdField().getName();
+        return String.valueOf(PropertyUtils.getProperty(resource, idFieldName));
+    }
+}
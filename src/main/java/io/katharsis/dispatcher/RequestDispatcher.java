@@ -1,14 +1,24 @@
 package io.katharsis.dispatcher;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.katharsis.cache.CollectionQueryCache;
+import io.katharsis.cache.ETagCalculator;
+import io.katharsis.dispatcher.controller.BaseController;
+import io.katharsis.dispatcher.controller.HttpMethod;
 import io.katharsis.dispatcher.registry.ControllerRegistry;
 import io.katharsis.errorhandling.mapper.ExceptionMapperRegistry;
 import io.katharsis.errorhandling.mapper.JsonApiExceptionMapper;
+import io.katharsis.jackson.JsonApiEncodingNegotiator;
 import io.katharsis.repository.RepositoryMethodParameterProvider;
 import io.katharsis.queryParams.QueryParams;
 import io.katharsis.request.dto.RequestBody;
 import io.katharsis.request.path.JsonPath;
 import io.katharsis.response.BaseResponse;
+import io.katharsis.response.HttpStatus;
+import io.katharsis.response.ResourceResponse;
 
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.util.Optional;
 
 /**
@@ -19,10 +29,27 @@ public class RequestDispatcher {
 
     private final ControllerRegistry controllerRegistry;
     private final ExceptionMapperRegistry exceptionMapperRegistry;
+    private final CollectionQueryCache collectionQueryCache;
+    private final ETagCalculator eTagCalculator;
+    private final JsonApiEncodingNegotiator encodingNegotiator;
+    private final SerializedResponseCache responseCache;
 
     public RequestDispatcher(ControllerRegistry controllerRegistry, ExceptionMapperRegistry exceptionMapperRegistry) {
+        this(controllerRegistry, exceptionMapperRegistry, null, null, null, null);
+    }
+
+    /**
+     * Use {@link RequestDispatcherBuilder} to create a dispatcher with optional components.
+     */
+    RequestDispatcher(ControllerRegistry controllerRegistry, ExceptionMapperRegistry exceptionMapperRegistry,
+                      CollectionQueryCache collectionQueryCache, ETagCalculator eTagCalculator,
+                      JsonApiEncodingNegotiator encodingNegotiator, SerializedResponseCache responseCache) {
         this.controllerRegistry = controllerRegistry;
         this.exceptionMapperRegistry = exceptionMapperRegistry;
+        this.collectionQueryCache = collectionQueryCache;
+        this.eTagCalculator = eTagCalculator;
+        this.encodingNegotiator = encodingNegotiator;
+        this.responseCache = responseCache;
     }
 
     /**
@@ -40,9 +67,17 @@ public class RequestDispatcher {
                                            @SuppressWarnings("SameParameterValue") RequestBody requestBody) throws Exception {
 
         try {
-        return controllerRegistry
-                .getController(jsonPath, requestType)
+            BaseResponse<?> response = getController(jsonPath, requestType, requestBody)
                 .handle(jsonPath, queryParams, parameterProvider, requestBody);
+            if (!HttpMethod.GET.name().equals(requestType)) {
+                if (collectionQueryCache != null) {
+                    collectionQueryCache.invalidate(jsonPath);
+                }
+                if (responseCache != null) {
+                    responseCache.invalidate(jsonPath);
+                }
+            }
+            return response;
         } catch (Exception e) {
             Optional<JsonApiExceptionMapper> exceptionMapper = exceptionMapperRegistry.findMapperFor(e.getClass());
             if (exceptionMapper.isPresent()) {
@@ -53,4 +88,217 @@ public class RequestDispatcher {
             }
         }
     }
+
+    /**
+     * Only bodies containing an array of resources are handled by different controllers than single bodies, e.g. by
+     * {@link io.katharsis.dispatcher.controller.resource.BulkResourcePost}.
+     */
+    private BaseController getController(JsonPath jsonPath, String requestType, RequestBody requestBody) {
+        if (requestBody != null && requestBody.isMultiple()) {
+            return controllerRegistry.getController(jsonPath, requestType, requestBody);
+        }
+        return controllerRegistry.getController(jsonPath, requestType);
+    }
+
+    /**
+     * Dispatch a conditional request from a client. If the request is a GET request and the representation held by
+     * the client is current, a response with {@link HttpStatus#NOT_MODIFIED_304} status and no data is returned. When
+     * the repository provides versions of resources, single resources are not loaded at all in such a case.
+     * <p>
+     * Only tags calculated from versions of resources are compared, since a tag of a payload would require the
+     * response to be serialized. Use {@link #dispatchSerializedRequest} to compare tags of any response, calculated
+     * while the response is written.
+     *
+     * @param jsonPath built {@link JsonPath} instance which represents the URI sent in the request
+     * @param requestType type of the request e.g. POST, GET, PATCH
+     * @param queryParams built object containing query parameters of the request
+     * @param parameterProvider repository method parameter provider
+     * @param requestBody deserialized body of the client request
+     * @param ifNoneMatch value of <i>If-None-Match</i> header, can be null
+     * @return the response form the Katharsis
+     * @throws Exception exception thrown while processing the request
+     */
+    public BaseResponse<?> dispatchRequest(JsonPath jsonPath, String requestType, QueryParams queryParams,
+                                           RepositoryMethodParameterProvider parameterProvider,
+                                           RequestBody requestBody, String ifNoneMatch) throws Exception {
+        if (eTagCalculator == null || ifNoneMatch == null || !HttpMethod.GET.name().equals(requestType)) {
+            return dispatchRequest(jsonPath, requestType, queryParams, parameterProvider, requestBody);
+        }
+
+        try {
+            String eTag = eTagCalculator.calculateBeforeLoading(jsonPath, queryParams, parameterProvider);
+            if (ETagCalculator.matches(ifNoneMatch, eTag)) {
+                return notModified(jsonPath, queryParams);
+            }
+        } catch (Exception e) {
+            Optional<JsonApiExceptionMapper> exceptionMapper = exceptionMapperRegistry.findMapperFor(e.getClass());
+            if (exceptionMapper.isPresent()) {
+                //noinspection unchecked
+                return exceptionMapper.get().toErrorResponse(e);
+            } else {
+                throw e;
+            }
+        }
+
+        BaseResponse<?> response = dispatchRequest(jsonPath, requestType, queryParams, parameterProvider, requestBody);
+        if (response != null && response.getHttpStatus() == HttpStatus.OK_200
+            && ETagCalculator.matches(ifNoneMatch, eTagCalculator.calculateFromVersions(response))) {
+            return notModified(jsonPath, queryParams);
+        }
+        return response;
+    }
+
+    /**
+     * Dispatch a request from a client and serialize the response. A tag of a successful GET response is calculated
+     * while the response is serialized, so the response is written only once. If the representation held by the
+     * client is current, a response with {@link HttpStatus#NOT_MODIFIED_304} status and no body is returned.
+     *
+     * @param jsonPath built {@link JsonPath} instance which represents the URI sent in the request
+     * @param requestType type of the request e.g. POST, GET, PATCH
+     * @param queryParams built object containing query parameters of the request
+     * @param parameterProvider repository method parameter provider
+     * @param requestBody deserialized body of the client request
+     * @param ifNoneMatch value of <i>If-None-Match</i> header, can be null
+     * @param objectMapper mapper with registered Katharsis module writing the media type
+     * @param mediaType media type of the response
+     * @return the serialized response with its tag, the tag is null if no {@link ETagCalculator} has been provided
+     * @throws Exception exception thrown while processing the request
+     */
+    public SerializedResponse dispatchSerializedRequest(JsonPath jsonPath, String requestType, QueryParams queryParams,
+                                                        RepositoryMethodParameterProvider parameterProvider,
+                                                        RequestBody requestBody, String ifNoneMatch,
+                                                        ObjectMapper objectMapper, String mediaType)
+        throws Exception {
+        boolean conditional = eTagCalculator != null && HttpMethod.GET.name().equals(requestType);
+        if (conditional && ifNoneMatch != null) {
+            try {
+                String eTag = eTagCalculator.calculateBeforeLoading(jsonPath, queryParams, parameterProvider,
+                    mediaType);
+                if (ETagCalculator.matches(ifNoneMatch, eTag)) {
+                    return new SerializedResponse(HttpStatus.NOT_MODIFIED_304, mediaType, eTag, null);
+                }
+            } catch (Exception e) {
+                Optional<JsonApiExceptionMapper> exceptionMapper = exceptionMapperRegistry.findMapperFor(e.getClass());
+                if (exceptionMapper.isPresent()) {
+                    //noinspection unchecked
+                    return serialize(exceptionMapper.get().toErrorResponse(e), objectMapper, mediaType);
+                } else {
+                    throw e;
+                }
+            }
+        }
+
+        BaseResponse<?> response = dispatchRequest(jsonPath, requestType, queryParams, parameterProvider, requestBody);
+        if (response == null) {
+            return new SerializedResponse(HttpStatus.NO_CONTENT_204, mediaType, null, null);
+        }
+        if (!conditional || response.getHttpStatus() != HttpStatus.OK_200) {
+            return serialize(response, objectMapper, mediaType);
+        }
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        String eTag = eTagCalculator.write(response, objectMapper, mediaType, body);
+        if (ETagCalculator.matches(ifNoneMatch, eTag)) {
+            return new SerializedResponse(HttpStatus.NOT_MODIFIED_304, mediaType, eTag, null);
+        }
+        return new SerializedResponse(HttpStatus.OK_200, mediaType, eTag, body.toByteArray());
+    }
+
+    /**
+     * Dispatch a request from a client, reading its body and writing the response in encodings negotiated by the
+     * {@link JsonApiEncodingNegotiator} of the dispatcher. A body of an unsupported media type is answered
+     * with {@link HttpStatus#UNSUPPORTED_MEDIA_TYPE_415} status.
+     *
+     * @param jsonPath built {@link JsonPath} instance which represents the URI sent in the request
+     * @param requestType type of the request e.g. POST, GET, PATCH
+     * @param queryParams built object containing query parameters of the request
+     * @param parameterProvider repository method parameter provider
+     * @param contentType value of <i>Content-Type</i> header, can be null
+     * @param requestBody stream of the request body or null if the request has no body
+     * @param accept value of <i>Accept</i> header, can be null
+     * @param ifNoneMatch value of <i>If-None-Match</i> header, can be null
+     * @return the serialized response with its tag, the tag is null if no {@link ETagCalculator} has been provided
+     * @throws Exception exception thrown while processing the request
+     */
+    public SerializedResponse dispatchSerializedRequest(JsonPath jsonPath, String requestType, QueryParams queryParams,
+                                                        RepositoryMethodParameterProvider parameterProvider,
+                                                        String contentType, InputStream requestBody, String accept,
+                                                        String ifNoneMatch) throws Exception {
+        if (encodingNegotiator == null) {
+            throw new IllegalStateException("No encoding negotiator has been provided");
+        }
+        String mediaType = encodingNegotiator.negotiate(accept);
+        ObjectMapper objectMapper = encodingNegotiator.getObjectMapper(mediaType);
+        RequestBody body;
+        try {
+            body = requestBody != null ? encodingNegotiator.readRequestBody(contentType, requestBody) : null;
+        } catch (Exception e) {
+            Optional<JsonApiExceptionMapper> exceptionMapper = exceptionMapperRegistry.findMapperFor(e.getClass());
+            if (exceptionMapper.isPresent()) {
+                //noinspection unchecked
+                return serialize(exceptionMapper.get().toErrorResponse(e), objectMapper, mediaType);
+            } else {
+                throw e;
+            }
+        }
+        return dispatchSerializedRequest(jsonPath, requestType, queryParams, parameterProvider, body, ifNoneMatch,
+            objectMapper, mediaType);
+    }
+
+    /**
+     * Dispatch a request from a client like
+     * {@link #dispatchSerializedRequest(JsonPath, String, QueryParams, RepositoryMethodParameterProvider, String,
+     * InputStream, String, String)} and write the response. Successful GET responses are stored in the
+     * {@link SerializedResponseCache} of the dispatcher under the key of the request and the negotiated media
+     * type. Later requests with the same key are answered from the cache without calling the repositories, and the
+     * cached body is written to the channel of the writer without being copied to the heap.
+     *
+     * @param jsonPath built {@link JsonPath} instance which represents the URI sent in the request
+     * @param requestType type of the request e.g. POST, GET, PATCH
+     * @param queryParams built object containing query parameters of the request
+     * @param parameterProvider repository method parameter provider
+     * @param contentType value of <i>Content-Type</i> header, can be null
+     * @param requestBody stream of the request body or null if the request has no body
+     * @param accept value of <i>Accept</i> header, can be null
+     * @param ifNoneMatch value of <i>If-None-Match</i> header, can be null
+     * @param requestKey key identifying the requested representation, e.g. the request URI with its query string,
+     *                   null if the response should not be cached
+     * @param responseWriter writer of the response
+     * @throws Exception exception thrown while processing the request
+     */
+    public void dispatchSerializedRequest(JsonPath jsonPath, String requestType, QueryParams queryParams,
+                                          RepositoryMethodParameterProvider parameterProvider, String contentType,
+                                          InputStream requestBody, String accept, String ifNoneMatch,
+                                          String requestKey, SerializedResponseWriter responseWriter)
+        throws Exception {
+        if (encodingNegotiator == null) {
+            throw new IllegalStateException("No encoding negotiator has been provided");
+        }
+        boolean cacheable = responseCache != null && requestKey != null
+            && HttpMethod.GET.name().equals(requestType);
+        if (!cacheable) {
+            dispatchSerializedRequest(jsonPath, requestType, queryParams, parameterProvider, contentType, requestBody,
+                accept, ifNoneMatch).writeTo(responseWriter);
+            return;
+        }
+
+        String mediaType = encodingNegotiator.negotiate(accept);
+        long generation = responseCache.currentGeneration();
+        if (responseCache.transferTo(jsonPath, mediaType, requestKey, ifNoneMatch, responseWriter)) {
+            return;
+        }
+        SerializedResponse response = dispatchSerializedRequest(jsonPath, requestType, queryParams, parameterProvider,
+            contentType, requestBody, accept, ifNoneMatch);
+        responseCache.put(jsonPath, mediaType, requestKey, generation, response);
+        response.writeTo(responseWriter);
+    }
+
+    private static SerializedResponse serialize(BaseResponse<?> response, ObjectMapper objectMapper,
+                                                String mediaType) throws Exception {
+        return new SerializedResponse(response.getHttpStatus(), mediaType, null,
+            objectMapper.writeValueAsBytes(response));
+    }
+
+    private static BaseResponse<?> notModified(JsonPath jsonPath, QueryParams queryParams) {
+        return new ResourceResponse(null, jsonPath, queryParams, null, null, HttpStatus.NOT_MODIFIED_304);
+    }
 }
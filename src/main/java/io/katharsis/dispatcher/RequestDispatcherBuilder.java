@@ -0,0 +1,70 @@
+package io.katharsis.dispatcher;
+
+import io.katharsis.cache.CollectionQueryCache;
+import io.katharsis.cache.ETagCalculator;
+import io.katharsis.dispatcher.registry.ControllerRegistry;
+import io.katharsis.errorhandling.mapper.ExceptionMapperRegistry;
+import io.katharsis.jackson.JsonApiEncodingNegotiator;
+
+/**
+ * Creates a {@link RequestDispatcher} with optional caches and encodings. All of the optional components are
+ * disabled by default.
+ */
+public class RequestDispatcherBuilder {
+
+    private final ControllerRegistry controllerRegistry;
+    private final ExceptionMapperRegistry exceptionMapperRegistry;
+    private CollectionQueryCache collectionQueryCache;
+    private ETagCalculator eTagCalculator;
+    private JsonApiEncodingNegotiator encodingNegotiator;
+    private SerializedResponseCache responseCache;
+
+    public RequestDispatcherBuilder(ControllerRegistry controllerRegistry,
+                                    ExceptionMapperRegistry exceptionMapperRegistry) {
+        this.controllerRegistry = controllerRegistry;
+        this.exceptionMapperRegistry = exceptionMapperRegistry;
+    }
+
+    /**
+     * @param collectionQueryCache cache shared with the collection controller, invalidated after each successful
+     *                             write request
+     * @return builder instance
+     */
+    public RequestDispatcherBuilder setCollectionQueryCache(CollectionQueryCache collectionQueryCache) {
+        this.collectionQueryCache = collectionQueryCache;
+        return this;
+    }
+
+    /**
+     * @param eTagCalculator calculator used to answer conditional GET requests
+     * @return builder instance
+     */
+    public RequestDispatcherBuilder setETagCalculator(ETagCalculator eTagCalculator) {
+        this.eTagCalculator = eTagCalculator;
+        return this;
+    }
+
+    /**
+     * @param encodingNegotiator negotiator used to read request bodies and write responses in encodings other than
+     *                           text JSON
+     * @return builder instance
+     */
+    public RequestDispatcherBuilder setEncodingNegotiator(JsonApiEncodingNegotiator encodingNegotiator) {
+        this.encodingNegotiator = encodingNegotiator;
+        return this;
+    }
+
+    /**
+     * @param responseCache cache of serialized GET responses, invalidated after each successful write request
+     * @return builder instance
+     */
+    public RequestDispatcherBuilder setResponseCache(SerializedResponseCache responseCache) {
+        this.responseCache = responseCache;
+        return this;
+    }
+
+    public RequestDispatcher build() {
+        return new RequestDispatcher(controllerRegistry, exceptionMapperRegistry, collectionQueryCache,
+            eTagCalculator, encodingNegotiator, responseCache);
+    }
+}
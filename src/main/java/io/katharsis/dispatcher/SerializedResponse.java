@@ -0,0 +1,77 @@
+package io.katharsis.dispatcher;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A response serialized by {@link RequestDispatcher} together with values of its headers, so an integration can set
+ * the headers and write the body without serializing the response again.
+ */
+public final class SerializedResponse {
+
+    private final int httpStatus;
+    private final String mediaType;
+    private final String eTag;
+    private final byte[] body;
+
+    /**
+     * @param httpStatus status of the response
+     * @param mediaType  value of <i>Content-Type</i> header
+     * @param eTag       quoted entity tag or null
+     * @param body       serialized body or null if the response has no body
+     */
+    public SerializedResponse(int httpStatus, String mediaType, String eTag, byte[] body) {
+        this.httpStatus = httpStatus;
+        this.mediaType = mediaType;
+        this.eTag = eTag;
+        this.body = body;
+    }
+
+    public int getHttpStatus() {
+        return httpStatus;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * @return value of <i>ETag</i> header or null if the tag has not been calculated
+     */
+    public String getETag() {
+        return eTag;
+    }
+
+    /**
+     * @return serialized body or null if the response has no body
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * @param outputStream stream the body is written to, it is not closed
+     * @throws IOException if writing fails
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        if (body != null) {
+            outputStream.write(body);
+        }
+    }
+
+    /**
+     * @param responseWriter writer the status, headers and body are written to
+     * @throws IOException if writing fails
+     */
+    public void writeTo(SerializedResponseWriter responseWriter) throws IOException {
+        WritableByteChannel channel = responseWriter.writeHead(httpStatus, mediaType, eTag);
+        if (body != null) {
+            ByteBuffer buffer = ByteBuffer.wrap(body);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+}
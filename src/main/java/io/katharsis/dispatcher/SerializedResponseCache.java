@@ -0,0 +1,219 @@
+package io.katharsis.dispatcher;
+
+import io.katharsis.cache.ETagCalculator;
+import io.katharsis.cache.OffHeapResponseCache;
+import io.katharsis.request.path.FieldPath;
+import io.katharsis.request.path.JsonPath;
+import io.katharsis.resource.field.ResourceField;
+import io.katharsis.resource.registry.RegistryEntry;
+import io.katharsis.resource.registry.ResourceRegistry;
+import io.katharsis.response.HttpStatus;
+import io.katharsis.utils.Generics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches serialized GET responses of {@link RequestDispatcher} in an {@link OffHeapResponseCache}, so a hit is written
+ * to the transport directly from the stored bytes instead of loading and serializing the resources again. An entry is
+ * keyed by the resource type of a request path, a version of the data, a media type and a key of the request provided
+ * by an integration, e.g. the request URI with its query string.
+ * <p>
+ * A response may contain resources of any type reachable by relationships from the requested type, since they can be
+ * included. A write request therefore removes responses of all types from which the written type, its parent types
+ * or, for relationship paths, the type of the relationship target can be reached. A response loaded concurrently
+ * with a write is not stored.
+ * <p>
+ * Entries of a memory-mapped storage survive a restart, but the data could have been modified in the meantime. They
+ * are kept only if the cache is created with the same data version as the run which stored them, otherwise they are
+ * removed when the cache is created.
+ */
+public class SerializedResponseCache {
+
+    private final ResourceRegistry resourceRegistry;
+    private final OffHeapResponseCache storage;
+    private final String dataVersion;
+    private final ConcurrentMap<String, Set<String>> reachableTypes = new ConcurrentHashMap<>();
+    private long generation;
+
+    /**
+     * Creates a cache which removes all entries already contained in the storage.
+     *
+     * @param resourceRegistry registry used to resolve types affected by a write request
+     * @param storage          storage of the serialized responses
+     */
+    public SerializedResponseCache(ResourceRegistry resourceRegistry, OffHeapResponseCache storage) {
+        this(resourceRegistry, storage, "");
+    }
+
+    /**
+     * Creates a cache which keeps entries already contained in the storage only if they have been stored with the
+     * same data version, e.g. a revision of the database which is changed by every write outside of the application.
+     *
+     * @param resourceRegistry registry used to resolve types affected by a write request
+     * @param storage          storage of the serialized responses
+     * @param dataVersion      version of the data, must not contain spaces
+     */
+    public SerializedResponseCache(ResourceRegistry resourceRegistry, OffHeapResponseCache storage,
+                                   String dataVersion) {
+        if (dataVersion.indexOf(' ') >= 0) {
+            throw new IllegalArgumentException("Data version must not contain spaces: " + dataVersion);
+        }
+        this.resourceRegistry = resourceRegistry;
+        this.storage = storage;
+        this.dataVersion = dataVersion;
+        if (dataVersion.isEmpty()) {
+            storage.clear();
+        } else {
+            storage.removeIf(key -> !dataVersion.equals(key.split(" ", 3)[1]));
+        }
+    }
+
+    /**
+     * Returns the current generation of the cache. It should be read before a request is dispatched and passed to
+     * {@link #put(JsonPath, String, String, long, SerializedResponse)}, so that a response loaded concurrently with
+     * a write is not stored.
+     *
+     * @return current generation
+     */
+    public synchronized long currentGeneration() {
+        return generation;
+    }
+
+    /**
+     * Writes a cached response without copying its body to the heap. If the representation held by the client is
+     * current, a response with {@link HttpStatus#NOT_MODIFIED_304} status and no body is written. The entry cannot be
+     * evicted until the body has been written.
+     *
+     * @param jsonPath       path of the request
+     * @param mediaType      media type of the response
+     * @param requestKey     key of the request
+     * @param ifNoneMatch    value of <i>If-None-Match</i> header, can be null
+     * @param responseWriter writer of the response
+     * @return true if the response has been found and written
+     * @throws IOException if the response cannot be written
+     */
+    public boolean transferTo(JsonPath jsonPath, String mediaType, String requestKey, String ifNoneMatch,
+                              SerializedResponseWriter responseWriter) throws IOException {
+        return storage.transferTo(key(jsonPath, mediaType, requestKey), payload -> {
+            byte[] eTagBytes = new byte[payload.getInt()];
+            payload.get(eTagBytes);
+            String eTag = eTagBytes.length > 0 ? new String(eTagBytes, StandardCharsets.US_ASCII) : null;
+            if (ETagCalculator.matches(ifNoneMatch, eTag)) {
+                responseWriter.writeHead(HttpStatus.NOT_MODIFIED_304, mediaType, eTag);
+                return;
+            }
+            WritableByteChannel channel = responseWriter.writeHead(HttpStatus.OK_200, mediaType, eTag);
+            while (payload.hasRemaining()) {
+                channel.write(payload);
+            }
+        });
+    }
+
+    /**
+     * Stores a successful response with a body, unless the cache has been invalidated since the generation was read.
+     *
+     * @param jsonPath   path of the request
+     * @param mediaType  media type of the response
+     * @param requestKey key of the request
+     * @param generation generation of the cache read before the request was dispatched
+     * @param response   serialized response
+     * @return true if the response has been stored
+     */
+    public synchronized boolean put(JsonPath jsonPath, String mediaType, String requestKey, long generation,
+                                    SerializedResponse response) {
+        if (generation != this.generation || response.getHttpStatus() != HttpStatus.OK_200
+            || response.getBody() == null) {
+            return false;
+        }
+        byte[] eTag = response.getETag() != null
+            ? response.getETag().getBytes(StandardCharsets.US_ASCII)
+            : new byte[0];
+        ByteBuffer payload = ByteBuffer.allocate(4 + eTag.length + response.getBody().length);
+        payload.putInt(eTag.length).put(eTag).put(response.getBody());
+        return storage.put(key(jsonPath, mediaType, requestKey), payload.array());
+    }
+
+    /**
+     * Removes responses which might contain resources modified by a write request to the path.
+     *
+     * @param jsonPath path of a write request
+     */
+    public synchronized void invalidate(JsonPath jsonPath) {
+        generation++;
+        Set<String> writtenTypes = writtenTypes(jsonPath);
+        storage.removeIf(key -> isAffected(key.substring(0, key.indexOf(' ')), writtenTypes));
+    }
+
+    private boolean isAffected(String resourceType, Set<String> writtenTypes) {
+        if (writtenTypes.contains(resourceType)) {
+            return true;
+        }
+        Set<String> reachable = reachableTypes.computeIfAbsent(resourceType, this::findReachableTypes);
+        return !Collections.disjoint(reachable, writtenTypes);
+    }
+
+    /**
+     * Removes all responses.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        storage.clear();
+    }
+
+    private String key(JsonPath jsonPath, String mediaType, String requestKey) {
+        return jsonPath.getResourceName() + ' ' + dataVersion + ' ' + mediaType + ' ' + requestKey;
+    }
+
+    private Set<String> writtenTypes(JsonPath jsonPath) {
+        String resourceType = jsonPath.getResourceName();
+        RegistryEntry registryEntry = resourceRegistry.getEntry(resourceType);
+        if (registryEntry == null) {
+            return Collections.singleton(resourceType);
+        }
+        Set<String> writtenTypes = new HashSet<>();
+        for (RegistryEntry entry = registryEntry; entry != null; entry = entry.getParentRegistryEntry()) {
+            writtenTypes.add(resourceRegistry.getResourceType(entry.getResourceInformation().getResourceClass()));
+        }
+        if (jsonPath instanceof FieldPath) {
+            ResourceField relationshipField = registryEntry.getResourceInformation()
+                .findRelationshipFieldByName(jsonPath.getElementName());
+            if (relationshipField != null) {
+                writtenTypes.add(resourceRegistry.getResourceType(targetClass(relationshipField)));
+            }
+        }
+        return writtenTypes;
+    }
+
+    private Set<String> findReachableTypes(String resourceType) {
+        Set<String> reachable = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>();
+        pending.add(resourceType);
+        while (!pending.isEmpty()) {
+            RegistryEntry registryEntry = resourceRegistry.getEntry(pending.poll());
+            if (registryEntry == null) {
+                continue;
+            }
+            for (ResourceField relationshipField : registryEntry.getResourceInformation().getRelationshipFields()) {
+                String targetType = resourceRegistry.getResourceType(targetClass(relationshipField));
+                if (targetType != null && reachable.add(targetType)) {
+                    pending.add(targetType);
+                }
+            }
+        }
+        return Collections.unmodifiableSet(reachable);
+    }
+
+    private static Class<?> targetClass(ResourceField relationshipField) {
+        return Generics.getResourceClass(relationshipField.getGenericType(), relationshipField.getType());
+    }
+}
@@ -0,0 +1,22 @@
+package io.katharsis.dispatcher;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes a response of {@link RequestDispatcher} to a transport, e.g. a servlet response. A body stored in a
+ * {@link SerializedResponseCache} is written to the returned channel directly from the cache storage.
+ */
+public interface SerializedResponseWriter {
+
+    /**
+     * Sets the status and headers of the response. It is called once, before the body is written.
+     *
+     * @param httpStatus status of the response
+     * @param mediaType  value of <i>Content-Type</i> header
+     * @param eTag       quoted entity tag or null
+     * @return channel the body is written to
+     * @throws IOException if the response cannot be written
+     */
+    WritableByteChannel writeHead(int httpStatus, String mediaType, String eTag) throws IOException;
+}
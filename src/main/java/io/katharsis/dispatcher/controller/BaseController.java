@@ -30,6 +30,19 @@ public interface BaseController {
      */
     boolean isAcceptable(JsonPath jsonPath, String requestType);
 
+    /**
+     * Checks if requested resource method is acceptable for the body of the request. Controllers whose acceptance
+     * does not depend on the body do not have to override it.
+     *
+     * @param jsonPath    Requested resource path
+     * @param requestType HTTP request type
+     * @param requestBody Top-level JSON object from method's body of the request, can be null
+     * @return Acceptance result in boolean
+     */
+    default boolean isAcceptable(JsonPath jsonPath, String requestType, RequestBody requestBody) {
+        return isAcceptable(jsonPath, requestType);
+    }
+
     /**
      * Passes the request to controller method.
      *
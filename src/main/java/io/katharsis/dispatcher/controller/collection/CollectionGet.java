@@ -1,10 +1,15 @@
 package io.katharsis.dispatcher.controller.collection;
 
+import io.katharsis.cache.CachedCollection;
+import io.katharsis.cache.CollectionQueryCache;
 import io.katharsis.dispatcher.controller.HttpMethod;
 import io.katharsis.dispatcher.controller.resource.ResourceIncludeField;
+import io.katharsis.repository.LongIdRepository;
 import io.katharsis.repository.RepositoryMethodParameterProvider;
 import io.katharsis.queryParams.QueryParams;
+import io.katharsis.queryParams.QueryParamsBuilder;
 import io.katharsis.repository.ResourceRepository;
+import io.katharsis.repository.adapter.ResourceRepositoryAdapter;
 import io.katharsis.request.dto.RequestBody;
 import io.katharsis.request.path.JsonPath;
 import io.katharsis.request.path.ResourcePath;
@@ -16,21 +21,36 @@ import io.katharsis.response.BaseResponse;
 import io.katharsis.response.CollectionResponse;
 import io.katharsis.response.LinksInformation;
 import io.katharsis.response.MetaInformation;
+import io.katharsis.utils.PropertyUtils;
 import io.katharsis.utils.parser.TypeParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.*;
 
 public class CollectionGet extends ResourceIncludeField {
 
     private static final transient Logger log = LoggerFactory.getLogger(CollectionGet.class);
 
+    /**
+     * Query parameters passed to a repository when resources of a cached query are fetched by their ids. Filtering,
+     * sorting and paging have already been applied by the original query.
+     */
+    private static final QueryParams HYDRATION_QUERY_PARAMS = new QueryParamsBuilder()
+        .buildQueryParams(Collections.emptyMap());
+
+    private final CollectionQueryCache collectionQueryCache;
+
     public CollectionGet(ResourceRegistry resourceRegistry, TypeParser typeParser, IncludeLookupSetter fieldSetter) {
+        this(resourceRegistry, typeParser, fieldSetter, null);
+    }
+
+    public CollectionGet(ResourceRegistry resourceRegistry, TypeParser typeParser, IncludeLookupSetter fieldSetter,
+                         CollectionQueryCache collectionQueryCache) {
         super(resourceRegistry, typeParser, fieldSetter);
+        this.collectionQueryCache = collectionQueryCache;
     }
 
     /**
@@ -53,25 +73,118 @@ public class CollectionGet extends ResourceIncludeField {
         if (registryEntry == null) {
             throw new ResourceNotFoundException(resourceName);
         }
-        Iterable<?> resources;
         ResourceRepository resourceRepository = registryEntry.getResourceRepository(parameterProvider);
         if (jsonPath.getIds() == null || jsonPath.getIds().getIds().isEmpty()) {
-            resources = resourceRepository.findAll(queryParams);
+            if (isCacheable(resourceName, resourceRepository)) {
+                return findAllCached(jsonPath, queryParams, parameterProvider, registryEntry, resourceRepository);
+            }
+            Iterable<?> resources = resourceRepository.findAll(queryParams);
+            return buildResponse(jsonPath, queryParams, parameterProvider, resourceRepository, resources);
         } else {
             Class<? extends Serializable> idType = (Class<? extends Serializable>)registryEntry
                 .getResourceInformation().getIdField().getType();
-            Iterable<? extends Serializable> parsedIds = typeParser.parse((Iterable<String>) jsonPath.getIds().getIds(),
-                idType);
-            resources = resourceRepository.findAll(parsedIds, queryParams);
+            Iterable<?> resources;
+            if (resourceRepository instanceof LongIdRepository && TypeParser.isLongType(idType)) {
+                resources = ((LongIdRepository) resourceRepository)
+                    .findAll(typeParser.parseLongs(jsonPath.getIds().getIds()), queryParams);
+            } else {
+                Iterable<? extends Serializable> parsedIds = typeParser
+                    .parse((Iterable<String>) jsonPath.getIds().getIds(), idType);
+                resources = resourceRepository.findAll(parsedIds, queryParams);
+            }
+            return buildResponse(jsonPath, queryParams, parameterProvider, resourceRepository, resources);
         }
+    }
+
+    private boolean isCacheable(String resourceName, ResourceRepository resourceRepository) {
+        return collectionQueryCache != null && collectionQueryCache.isCacheable(resourceName)
+            && (!(resourceRepository instanceof ResourceRepositoryAdapter)
+            || ((ResourceRepositoryAdapter) resourceRepository).findAllWithIdsAvailable());
+    }
+
+    @SuppressWarnings("unchecked")
+    private BaseResponse<?> findAllCached(JsonPath jsonPath, QueryParams queryParams,
+                                          RepositoryMethodParameterProvider parameterProvider,
+                                          RegistryEntry registryEntry, ResourceRepository resourceRepository)
+            throws NoSuchMethodException, NoSuchFieldException, IllegalAccessException, InvocationTargetException {
+        String resourceName = jsonPath.getElementName();
+        CachedCollection cachedCollection = collectionQueryCache.get(resourceName, queryParams);
+        if (cachedCollection == null) {
+            Iterable<?> resources = loadIntoCache(resourceName, queryParams, registryEntry, resourceRepository);
+            return buildResponse(jsonPath, queryParams, parameterProvider, resourceRepository, resources);
+        }
+        collectionQueryCache.refreshIfStale(cachedCollection,
+            () -> loadIntoCache(resourceName, queryParams, registryEntry, resourceRepository));
 
         List containers = new LinkedList();
-        if (resources != null) {
+        if (!cachedCollection.getIds().isEmpty()) {
+            Iterable<?> resources = hydrate(registryEntry, resourceRepository, cachedCollection.getIds());
             includeFieldSetter.setIncludedElements(resourceName, resources, queryParams, parameterProvider);
             for (Object element : resources) {
                 containers.add(element);
             }
         }
+        return new CollectionResponse(containers, jsonPath, queryParams, cachedCollection.getMetaInformation(),
+            cachedCollection.getLinksInformation());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Iterable<?> loadIntoCache(String resourceName, QueryParams queryParams, RegistryEntry registryEntry,
+                                      ResourceRepository resourceRepository) {
+        long generation = collectionQueryCache.currentGeneration(resourceName);
+        Iterable<?> resources = resourceRepository.findAll(queryParams);
+
+        String idFieldName = registryEntry.getResourceInformation().getIdField().getName();
+        List<Serializable> ids = new ArrayList<>();
+        if (resources != null) {
+            for (Object resource : resources) {
+                ids.add((Serializable) PropertyUtils.getProperty(resource, idFieldName));
+            }
+        }
+        MetaInformation metaInformation = getMetaInformation(resourceRepository, resources, queryParams);
+        LinksInformation linksInformation = getLinksInformation(resourceRepository, resources, queryParams);
+        collectionQueryCache.put(resourceName, queryParams, generation, ids, metaInformation, linksInformation);
+        return resources;
+    }
+
+    /**
+     * Fetches resources of a cached query and restores the order of the original query. Resources removed since the
+     * query has been cached are skipped.
+     */
+    @SuppressWarnings("unchecked")
+    private Iterable<?> hydrate(RegistryEntry registryEntry, ResourceRepository resourceRepository,
+                                List<Serializable> ids) {
+        Iterable<?> found = resourceRepository.findAll(ids, HYDRATION_QUERY_PARAMS);
+        if (found == null) {
+            return Collections.emptyList();
+        }
+        String idFieldName = registryEntry.getResourceInformation().getIdField().getName();
+        Map<Object, Object> resourcesById = new HashMap<>();
+        for (Object resource : found) {
+            resourcesById.put(PropertyUtils.getProperty(resource, idFieldName), resource);
+        }
+        List<Object> resources = new ArrayList<>(ids.size());
+        for (Serializable id : ids) {
+            Object resource = resourcesById.get(id);
+            if (resource != null) {
+                resources.add(resource);
+            }
+        }
+        return resources;
+    }
+
+    @SuppressWarnings("unchecked")
+    private BaseResponse<?> buildResponse(JsonPath jsonPath, QueryParams queryParams,
+                                          RepositoryMethodParameterProvider parameterProvider,
+                                          ResourceRepository resourceRepository, Iterable<?> resources)
+            throws NoSuchMethodException, NoSuchFieldException, IllegalAccessException, InvocationTargetException {
+        List containers = new LinkedList();
+        if (resources != null) {
+            includeFieldSetter.setIncludedElements(jsonPath.getElementName(), resources, queryParams, parameterProvider);
+            for (Object element : resources) {
+                containers.add(element);
+            }
+        }
         MetaInformation metaInformation = getMetaInformation(resourceRepository, resources, queryParams);
         LinksInformation linksInformation = getLinksInformation(resourceRepository, resources, queryParams);
 
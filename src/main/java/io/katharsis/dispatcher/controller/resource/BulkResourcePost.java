@@ -0,0 +1,123 @@
+package io.katharsis.dispatcher.controller.resource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.katharsis.dispatcher.controller.HttpMethod;
+import io.katharsis.queryParams.QueryParams;
+import io.katharsis.repository.RepositoryMethodParameterProvider;
+import io.katharsis.repository.ResourceRepository;
+import io.katharsis.request.dto.DataBody;
+import io.katharsis.request.dto.RequestBody;
+import io.katharsis.request.path.JsonPath;
+import io.katharsis.request.path.ResourcePath;
+import io.katharsis.resource.exception.RequestBodyException;
+import io.katharsis.resource.exception.RequestBodyNotFoundException;
+import io.katharsis.resource.exception.ResourceNotFoundException;
+import io.katharsis.resource.registry.RegistryEntry;
+import io.katharsis.resource.registry.ResourceRegistry;
+import io.katharsis.response.CollectionResponse;
+import io.katharsis.response.HttpStatus;
+import io.katharsis.response.LinksInformation;
+import io.katharsis.response.MetaInformation;
+import io.katharsis.utils.parser.TypeParser;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates many resources sent as an array in the body of a single POST request, e.g. for {@code POST /tasks}. Bodies
+ * containing a single resource are handled by {@link ResourcePost}.
+ */
+public class BulkResourcePost extends ResourceUpsert {
+
+    public BulkResourcePost(ResourceRegistry resourceRegistry, TypeParser typeParser, ObjectMapper objectMapper) {
+        super(resourceRegistry, typeParser, objectMapper);
+    }
+
+    /**
+     * @param bulkChunkSize number of resources of a bulk request saved together
+     */
+    public BulkResourcePost(ResourceRegistry resourceRegistry, TypeParser typeParser, ObjectMapper objectMapper,
+                            int bulkChunkSize) {
+        super(resourceRegistry, typeParser, objectMapper, bulkChunkSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A bulk request can be recognized only by its body, so no request is accepted without it.
+     */
+    @Override
+    public boolean isAcceptable(JsonPath jsonPath, String requestType) {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Check if it is a POST request for a resource with an array of resources in the body.
+     */
+    @Override
+    public boolean isAcceptable(JsonPath jsonPath, String requestType, RequestBody requestBody) {
+        return jsonPath.isCollection() &&
+                jsonPath instanceof ResourcePath &&
+                HttpMethod.POST.name().equals(requestType) &&
+                requestBody != null && requestBody.isMultiple();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Resources are created in chunks of {@link #bulkChunkSize} resources, each saved with a single repository call
+     * if the repository provides {@link io.katharsis.repository.SaveAllRepository}. Resources referenced by
+     * relationships of a chunk are looked up together. Saved resources are returned as they are returned by the
+     * repository, without loading them again.
+     */
+    @Override
+    public CollectionResponse handle(JsonPath jsonPath, QueryParams queryParams,
+                                     RepositoryMethodParameterProvider parameterProvider, RequestBody requestBody)
+        throws IllegalAccessException, InstantiationException, NoSuchMethodException, InvocationTargetException,
+        IOException {
+        String resourceEndpointName = jsonPath.getResourceName();
+        RegistryEntry endpointRegistryEntry = resourceRegistry.getEntry(resourceEndpointName);
+        if (endpointRegistryEntry == null) {
+            throw new ResourceNotFoundException(resourceEndpointName);
+        }
+        if (requestBody == null) {
+            throw new RequestBodyNotFoundException(HttpMethod.POST, resourceEndpointName);
+        }
+        if (!requestBody.isMultiple()) {
+            throw new RequestBodyException(HttpMethod.POST, resourceEndpointName, "Single data in body");
+        }
+
+        ResourceRepository resourceRepository = endpointRegistryEntry.getResourceRepository(parameterProvider);
+        RelatedResourceLookup relatedResourceLookup = new RelatedResourceLookup(queryParams, parameterProvider);
+        List<Object> savedResources = new ArrayList<>();
+        for (List<DataBody> chunk : chunk(requestBody.getMultipleData())) {
+            for (DataBody dataBody : chunk) {
+                if (dataBody == null) {
+                    throw new RequestBodyException(HttpMethod.POST, resourceEndpointName, "Empty data in the body.");
+                }
+                verifyTypes(HttpMethod.POST, resourceEndpointName, endpointRegistryEntry,
+                    resourceRegistry.getEntry(dataBody.getType()));
+            }
+            loadRelatedResources(chunk, relatedResourceLookup);
+
+            List<Object> newResources = new ArrayList<>(chunk.size());
+            for (DataBody dataBody : chunk) {
+                RegistryEntry bodyRegistryEntry = resourceRegistry.getEntry(dataBody.getType());
+                Object newResource = bodyRegistryEntry.getResourceInformation().getResourceClass().newInstance();
+                setAttributes(dataBody, newResource, bodyRegistryEntry.getResourceInformation());
+                setRelations(newResource, bodyRegistryEntry, dataBody, relatedResourceLookup);
+                newResources.add(newResource);
+            }
+            savedResources.addAll(saveAll(resourceRepository, newResources));
+        }
+
+        MetaInformation metaInformation = getMetaInformation(resourceRepository, savedResources, queryParams);
+        LinksInformation linksInformation = getLinksInformation(resourceRepository, savedResources, queryParams);
+        return new CollectionResponse(savedResources, jsonPath, queryParams, metaInformation, linksInformation,
+            HttpStatus.CREATED_201);
+    }
+}
@@ -3,6 +3,7 @@ package io.katharsis.dispatcher.controller.resource;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.katharsis.dispatcher.controller.HttpMethod;
 import io.katharsis.queryParams.QueryParams;
+import io.katharsis.repository.CreateRepository;
 import io.katharsis.repository.RelationshipRepository;
 import io.katharsis.repository.RepositoryMethodParameterProvider;
 import io.katharsis.repository.ResourceRepository;
@@ -84,14 +85,26 @@ public class FieldResourcePost extends ResourceUpsert {
         Object resource = buildNewResource(relationshipRegistryEntry, dataBody, relationshipResourceType);
         setAttributes(dataBody, resource, relationshipRegistryEntry.getResourceInformation());
         ResourceRepository resourceRepository = relationshipRegistryEntry.getResourceRepository(parameterProvider);
-        Object savedResource = resourceRepository.save(resource);
-        saveRelations(savedResource, relationshipRegistryEntry, dataBody, parameterProvider);
+        Object savedResourceWithRelations;
+        Serializable resourceId;
+        if (createAvailable(resourceRepository)) {
+            @SuppressWarnings("unchecked")
+            Object createdResource = ((CreateRepository) resourceRepository)
+                .create(resource, getRelationshipIds(relationshipRegistryEntry, dataBody));
+            savedResourceWithRelations = createdResource;
+            resourceId = (Serializable) PropertyUtils.getProperty(savedResourceWithRelations,
+                relationshipRegistryEntry.getResourceInformation().getIdField().getName());
+        } else {
+            Object savedResource = resourceRepository.save(resource);
+            saveRelations(savedResource, relationshipRegistryEntry, dataBody, parameterProvider);
 
-        Serializable resourceId = (Serializable) PropertyUtils
-            .getProperty(savedResource, relationshipRegistryEntry.getResourceInformation().getIdField().getName());
+            resourceId = (Serializable) PropertyUtils
+                .getProperty(savedResource, relationshipRegistryEntry.getResourceInformation().getIdField().getName());
 
-        @SuppressWarnings("unchecked")
-        Object savedResourceWithRelations = resourceRepository.findOne(resourceId, queryParams);
+            @SuppressWarnings("unchecked")
+            Object foundResource = resourceRepository.findOne(resourceId, queryParams);
+            savedResourceWithRelations = foundResource;
+        }
 
         RelationshipRepository relationshipRepositoryForClass = endpointRegistryEntry
             .getRelationshipRepositoryForClass(relationshipFieldClass, parameterProvider);
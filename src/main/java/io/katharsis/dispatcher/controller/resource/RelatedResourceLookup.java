@@ -0,0 +1,126 @@
+package io.katharsis.dispatcher.controller.resource;
+
+import io.katharsis.queryParams.QueryParams;
+import io.katharsis.repository.ReferenceRepository;
+import io.katharsis.repository.RepositoryMethodParameterProvider;
+import io.katharsis.repository.ResourceRepository;
+import io.katharsis.repository.adapter.ResourceRepositoryAdapter;
+import io.katharsis.resource.registry.RegistryEntry;
+import io.katharsis.utils.PropertyUtils;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds resources referenced by relationship linkage of a request body. Found resources are remembered for the
+ * duration of a request, so a resource referenced by many resources of a bulk request is loaded once. Many resources
+ * of a type are loaded with a single {@link ResourceRepository#findAll(Iterable, QueryParams)} call if the repository
+ * provides it. If the repository provides {@link ReferenceRepository}, references are used instead of loaded resources.
+ */
+final class RelatedResourceLookup {
+
+    private final QueryParams queryParams;
+    private final RepositoryMethodParameterProvider parameterProvider;
+    private final Map<Class<?>, Map<Serializable, Object>> foundResources = new HashMap<>();
+    private final Map<Class<?>, ResourceRepository> resourceRepositories = new HashMap<>();
+
+    RelatedResourceLookup(QueryParams queryParams, RepositoryMethodParameterProvider parameterProvider) {
+        this.queryParams = queryParams;
+        this.parameterProvider = parameterProvider;
+    }
+
+    /**
+     * @param registryEntry entry of the resource type
+     * @param id            identifier of the resource
+     * @return found resource
+     */
+    @SuppressWarnings("unchecked")
+    Object findOne(RegistryEntry registryEntry, Serializable id) {
+        Map<Serializable, Object> resources = resourcesOf(registryEntry);
+        if (resources.containsKey(id)) {
+            return resources.get(id);
+        }
+        ResourceRepository resourceRepository = repositoryOf(registryEntry);
+        Object resource = getReferenceAvailable(resourceRepository)
+            ? ((ReferenceRepository) resourceRepository).getReference(id)
+            : resourceRepository.findOne(id, queryParams);
+        resources.put(id, resource);
+        return resource;
+    }
+
+    /**
+     * @param registryEntry entry of the resource type
+     * @param ids           identifiers of the resources
+     * @return found resources in the order of the identifiers
+     */
+    List<Object> findAll(RegistryEntry registryEntry, Collection<Serializable> ids) {
+        load(registryEntry, ids);
+        List<Object> result = new ArrayList<>(ids.size());
+        for (Serializable id : ids) {
+            result.add(findOne(registryEntry, id));
+        }
+        return result;
+    }
+
+    /**
+     * Loads resources which have not been found yet with a single call. Resources missing in the result, or all of
+     * them if the repository cannot find resources by identifiers or provides references, are left to
+     * {@link #findOne}.
+     *
+     * @param registryEntry entry of the resource type
+     * @param ids           identifiers of the resources
+     */
+    @SuppressWarnings("unchecked")
+    void load(RegistryEntry registryEntry, Collection<Serializable> ids) {
+        Map<Serializable, Object> resources = resourcesOf(registryEntry);
+        Set<Serializable> missingIds = new LinkedHashSet<>();
+        for (Serializable id : ids) {
+            if (!resources.containsKey(id)) {
+                missingIds.add(id);
+            }
+        }
+        ResourceRepository resourceRepository = repositoryOf(registryEntry);
+        if (missingIds.size() < 2 || getReferenceAvailable(resourceRepository)
+            || !findAllWithIdsAvailable(resourceRepository)) {
+            return;
+        }
+        Iterable<?> loadedResources = resourceRepository.findAll(missingIds, queryParams);
+        if (loadedResources != null) {
+            String idFieldName = registryEntry.getResourceInformation().getIdField().getName();
+            for (Object loadedResource : loadedResources) {
+                resources.put((Serializable) PropertyUtils.getProperty(loadedResource, idFieldName), loadedResource);
+            }
+        }
+    }
+
+    private Map<Serializable, Object> resourcesOf(RegistryEntry registryEntry) {
+        return foundResources.computeIfAbsent(registryEntry.getResourceInformation().getResourceClass(),
+            resourceClass -> new HashMap<>());
+    }
+
+    /**
+     * Annotated repositories are built on each call, so a repository is built once per type.
+     */
+    private ResourceRepository repositoryOf(RegistryEntry registryEntry) {
+        return resourceRepositories.computeIfAbsent(registryEntry.getResourceInformation().getResourceClass(),
+            resourceClass -> registryEntry.getResourceRepository(parameterProvider));
+    }
+
+    private static boolean getReferenceAvailable(ResourceRepository resourceRepository) {
+        if (resourceRepository instanceof ResourceRepositoryAdapter) {
+            return ((ResourceRepositoryAdapter) resourceRepository).getReferenceAvailable();
+        }
+        return resourceRepository instanceof ReferenceRepository;
+    }
+
+    static boolean findAllWithIdsAvailable(ResourceRepository resourceRepository) {
+        return !(resourceRepository instanceof ResourceRepositoryAdapter)
+            || ((ResourceRepositoryAdapter) resourceRepository).findAllWithIdsAvailable();
+    }
+}
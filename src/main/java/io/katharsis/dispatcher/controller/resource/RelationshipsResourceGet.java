@@ -2,10 +2,16 @@ package io.katharsis.dispatcher.controller.resource;
 
 import io.katharsis.dispatcher.controller.HttpMethod;
 import io.katharsis.queryParams.QueryParams;
+import io.katharsis.queryParams.RestrictedPaginationKeys;
+import io.katharsis.repository.LinksRepository;
+import io.katharsis.repository.MetaRepository;
+import io.katharsis.repository.RelationshipIdsRepository;
 import io.katharsis.repository.RelationshipRepository;
 import io.katharsis.repository.RepositoryMethodParameterProvider;
+import io.katharsis.repository.adapter.RelationshipRepositoryAdapter;
 import io.katharsis.request.dto.RequestBody;
 import io.katharsis.request.path.JsonPath;
+import io.katharsis.request.path.PathBuilder;
 import io.katharsis.request.path.PathIds;
 import io.katharsis.request.path.RelationshipsPath;
 import io.katharsis.resource.field.ResourceField;
@@ -19,9 +25,10 @@ import io.katharsis.utils.parser.TypeParser;
 
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 public class RelationshipsResourceGet extends ResourceIncludeField  {
 
@@ -59,23 +66,55 @@ public class RelationshipsResourceGet extends ResourceIncludeField  {
             .getRelationshipRepositoryForClass(relationshipFieldClass, parameterProvider);
         RegistryEntry relationshipFieldEntry = resourceRegistry.getEntry(relationshipFieldClass);
         BaseResponse target;
-        if (Iterable.class.isAssignableFrom(baseRelationshipFieldClass)) {
-            List<LinkageContainer> dataList = new LinkedList<>();
-
+        boolean toMany = Iterable.class.isAssignableFrom(baseRelationshipFieldClass);
+        boolean paged = toMany && isPaged(queryParams, relationshipField);
+        int offset = paged ? getPageOffset(queryParams) : 0;
+        int limit = paged ? getPageLimit(queryParams, relationshipField) : -1;
+        QueryParams repositoryQueryParams = paged && limit >= 0
+            ? (queryParams != null ? queryParams : new QueryParams()).withPagination(offset, limit + 1)
+            : queryParams;
+        if (targetIdsAvailable(relationshipRepositoryForClass, toMany, queryParams)) {
+            RelationshipIdsRepository relationshipIdsRepository = (RelationshipIdsRepository) relationshipRepositoryForClass;
+            if (toMany) {
+                @SuppressWarnings("unchecked")
+                List<Serializable> targetIds = readMembers(relationshipIdsRepository
+                    .findManyTargetIds(castedResourceId, elementName, repositoryQueryParams), limit);
+                boolean hasNextPage = limit >= 0 && targetIds.size() > limit;
+                List<LinkageContainer> dataList = new ArrayList<>();
+                for (Serializable targetId : hasNextPage ? targetIds.subList(0, limit) : targetIds) {
+                    dataList.add(LinkageContainer.ofId(targetId, relationshipFieldClass, relationshipFieldEntry));
+                }
+                target = toManyResponse(dataList, jsonPath, queryParams, null, null, paged, offset, limit,
+                    hasNextPage);
+            } else {
+                @SuppressWarnings("unchecked")
+                Serializable targetId = relationshipIdsRepository
+                    .findOneTargetId(castedResourceId, elementName, queryParams);
+                LinkageContainer linkageContainer = targetId != null
+                    ? LinkageContainer.ofId(targetId, relationshipFieldClass, relationshipFieldEntry)
+                    : null;
+                target = new ResourceResponse(linkageContainer, jsonPath, queryParams, null, null);
+            }
+        } else if (toMany) {
             @SuppressWarnings("unchecked")
             Iterable<?> targetObjects = relationshipRepositoryForClass
-                .findManyTargets(castedResourceId, elementName, queryParams);
+                .findManyTargets(castedResourceId, elementName, repositoryQueryParams);
             MetaInformation metaInformation =
-                getMetaInformation(relationshipRepositoryForClass, targetObjects, queryParams);
+                getMetaInformation(relationshipRepositoryForClass, targetObjects, repositoryQueryParams);
             LinksInformation linksInformation =
-                getLinksInformation(relationshipRepositoryForClass, targetObjects, queryParams);
+                getLinksInformation(relationshipRepositoryForClass, targetObjects, repositoryQueryParams);
+            List<?> members = readMembers(targetObjects, limit);
+            boolean hasNextPage = limit >= 0 && members.size() > limit;
+            List<?> page = hasNextPage ? members.subList(0, limit) : members;
+            List<LinkageContainer> dataList = new ArrayList<>(page.size());
             if (targetObjects != null) {
-                includeFieldSetter.setIncludedElements(resourceName, targetObjects, queryParams, parameterProvider);
-                for (Object targetObject : targetObjects) {
+                includeFieldSetter.setIncludedElements(resourceName, page, queryParams, parameterProvider);
+                for (Object targetObject : page) {
                     dataList.add(new LinkageContainer(targetObject, relationshipFieldClass, relationshipFieldEntry));
                 }
             }
-            target = new CollectionResponse(dataList, jsonPath, queryParams, metaInformation, linksInformation);
+            target = toManyResponse(dataList, jsonPath, queryParams, metaInformation, linksInformation, paged, offset,
+                limit, hasNextPage);
         } else {
             @SuppressWarnings("unchecked")
             Object targetObject = relationshipRepositoryForClass.findOneTarget(castedResourceId, elementName,
@@ -96,6 +135,96 @@ public class RelationshipsResourceGet extends ResourceIncludeField  {
         return target;
     }
 
+    /**
+     * Linkage of a to-many relationship is paged when page parameters are requested or the relationship has a
+     * {@link ResourceField#getLinkageLimit()}.
+     */
+    private static boolean isPaged(QueryParams queryParams, ResourceField relationshipField) {
+        Map<RestrictedPaginationKeys, Integer> pagination = queryParams != null ? queryParams.getPagination() : null;
+        return (pagination != null && !pagination.isEmpty()) || relationshipField.getLinkageLimit() >= 0;
+    }
+
+    private static int getPageOffset(QueryParams queryParams) {
+        Integer offset = queryParams != null && queryParams.getPagination() != null
+            ? queryParams.getPagination().get(RestrictedPaginationKeys.offset)
+            : null;
+        return offset != null ? Math.max(offset, 0) : 0;
+    }
+
+    /**
+     * The page limit defaults to {@link ResourceField#getLinkageLimit()}.
+     */
+    private static int getPageLimit(QueryParams queryParams, ResourceField relationshipField) {
+        Integer limit = queryParams != null && queryParams.getPagination() != null
+            ? queryParams.getPagination().get(RestrictedPaginationKeys.limit)
+            : null;
+        return limit != null ? Math.max(limit, 0) : relationshipField.getLinkageLimit();
+    }
+
+    /**
+     * Reads members returned by a repository. A repository of a paged relationship receives the requested offset and
+     * a limit one larger than the page, so at most one member more than the page is read to find out whether there is
+     * a next page.
+     */
+    private static <T> List<T> readMembers(Iterable<T> members, int limit) {
+        List<T> result = new ArrayList<>();
+        if (members != null) {
+            for (T member : members) {
+                if (limit >= 0 && result.size() > limit) {
+                    break;
+                }
+                result.add(member);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Builds a page of linkage of a to-many relationship. Links information with the next page link is added if the
+     * repository returned more members than the page. Meta information with the total number of members is added
+     * once the last page is reached, since the total is known only then. Meta and links information provided by the
+     * repository take precedence.
+     */
+    private BaseResponse toManyResponse(List<LinkageContainer> dataList, JsonPath jsonPath, QueryParams queryParams,
+                                        MetaInformation metaInformation, LinksInformation linksInformation,
+                                        boolean paged, int offset, int limit, boolean hasNextPage) {
+        if (paged) {
+            if (metaInformation == null && !hasNextPage && (!dataList.isEmpty() || offset == 0)) {
+                metaInformation = new LinkageMetaInformation(offset + dataList.size());
+            }
+            if (linksInformation == null && hasNextPage) {
+                linksInformation = LinkageLinksInformation.ofNextPage(getSelfLink(jsonPath), offset + limit, limit);
+            }
+        }
+        return new CollectionResponse(dataList, jsonPath, queryParams, metaInformation, linksInformation);
+    }
+
+    private String getSelfLink(JsonPath jsonPath) {
+        RegistryEntry<?> registryEntry = resourceRegistry.getEntry(jsonPath.getResourceName());
+        return resourceRegistry.getResourceUrl(registryEntry.getResourceInformation().getResourceClass()) + "/"
+            + jsonPath.getIds().getIds().get(0) + "/" + PathBuilder.RELATIONSHIP_MARK + "/" + jsonPath.getElementName();
+    }
+
+    /**
+     * Identifiers of related resources are enough if the repository provides them, related resources are not
+     * included and meta or links information, which are computed from the resources, are not provided.
+     */
+    private static boolean targetIdsAvailable(RelationshipRepository relationshipRepository, boolean toMany,
+                                              QueryParams queryParams) {
+        if (queryParams != null && queryParams.getIncludedRelations() != null
+            && !queryParams.getIncludedRelations().getParams().isEmpty()) {
+            return false;
+        }
+        if (relationshipRepository instanceof RelationshipRepositoryAdapter) {
+            RelationshipRepositoryAdapter adapter = (RelationshipRepositoryAdapter) relationshipRepository;
+            return (toMany ? adapter.findManyTargetIdsAvailable() : adapter.findOneTargetIdAvailable())
+                && !adapter.metaRepositoryAvailable() && !adapter.linksRepositoryAvailable();
+        }
+        return relationshipRepository instanceof RelationshipIdsRepository
+            && !(relationshipRepository instanceof MetaRepository)
+            && !(relationshipRepository instanceof LinksRepository);
+    }
+
     private Serializable getResourceId(PathIds resourceIds, RegistryEntry<?> registryEntry) {
         String resourceId = resourceIds.getIds().get(0);
         @SuppressWarnings("unchecked") Class<? extends Serializable> idClass = (Class<? extends Serializable>) registryEntry
@@ -3,7 +3,11 @@ package io.katharsis.dispatcher.controller.resource;
 import io.katharsis.dispatcher.controller.BaseController;
 import io.katharsis.dispatcher.controller.HttpMethod;
 import io.katharsis.queryParams.QueryParams;
+import io.katharsis.repository.DeleteAllRepository;
+import io.katharsis.repository.LongIdRepository;
 import io.katharsis.repository.RepositoryMethodParameterProvider;
+import io.katharsis.repository.ResourceRepository;
+import io.katharsis.repository.adapter.ResourceRepositoryAdapter;
 import io.katharsis.request.dto.RequestBody;
 import io.katharsis.request.path.JsonPath;
 import io.katharsis.request.path.PathIds;
@@ -16,6 +20,8 @@ import io.katharsis.utils.parser.TypeParser;
 
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
 
 public class ResourceDelete implements BaseController {
 
@@ -50,17 +56,37 @@ public class ResourceDelete implements BaseController {
             //TODO: Add JsonPath toString and provide to exception?
             throw new ResourceNotFoundException(resourceName);
         }
+        @SuppressWarnings("unchecked") Class<? extends Serializable> idClass = (Class<? extends Serializable>) registryEntry
+                .getResourceInformation()
+                .getIdField()
+                .getType();
+        ResourceRepository resourceRepository = registryEntry.getResourceRepository(parameterProvider);
+        if (resourceRepository instanceof LongIdRepository && TypeParser.isLongType(idClass)) {
+            ((LongIdRepository) resourceRepository).deleteAll(typeParser.parseLongs(resourceIds.getIds()));
+            return null;
+        }
+        List<Serializable> castedIds = new ArrayList<>(resourceIds.getIds().size());
         for (String id : resourceIds.getIds()) {
-            @SuppressWarnings("unchecked") Class<? extends Serializable> idClass = (Class<? extends Serializable>) registryEntry
-                    .getResourceInformation()
-                    .getIdField()
-                    .getType();
-            Serializable castedId = typeParser.parse(id, idClass);
+            castedIds.add(typeParser.parse(id, idClass));
+        }
+        if (castedIds.size() > 1 && deleteAllAvailable(resourceRepository)) {
             //noinspection unchecked
-            registryEntry.getResourceRepository(parameterProvider).delete(castedId);
+            ((DeleteAllRepository) resourceRepository).deleteAll(castedIds);
+        } else {
+            for (Serializable castedId : castedIds) {
+                //noinspection unchecked
+                resourceRepository.delete(castedId);
+            }
         }
 
         //TODO: Avoid nulls - use optional
         return null;
     }
+
+    private static boolean deleteAllAvailable(ResourceRepository resourceRepository) {
+        if (resourceRepository instanceof ResourceRepositoryAdapter) {
+            return ((ResourceRepositoryAdapter) resourceRepository).deleteAllAvailable();
+        }
+        return resourceRepository instanceof DeleteAllRepository;
+    }
 }
@@ -1,6 +1,7 @@
 package io.katharsis.dispatcher.controller.resource;
 
 import io.katharsis.dispatcher.controller.HttpMethod;
+import io.katharsis.repository.LongIdRepository;
 import io.katharsis.repository.RepositoryMethodParameterProvider;
 import io.katharsis.queryParams.QueryParams;
 import io.katharsis.repository.ResourceRepository;
@@ -61,10 +62,16 @@ public class ResourceGet extends ResourceIncludeField {
                 .getResourceInformation()
                 .getIdField()
                 .getType();
-        Serializable castedId = typeParser.parse(id, idClass);
         ResourceRepository resourceRepository = registryEntry.getResourceRepository(parameterProvider);
-        @SuppressWarnings("unchecked")
-        Object entity = resourceRepository.findOne(castedId, queryParams);
+        Object entity;
+        if (resourceRepository instanceof LongIdRepository && TypeParser.isLongType(idClass)) {
+            entity = ((LongIdRepository) resourceRepository).findOne(typeParser.parseLong(id), queryParams);
+        } else {
+            Serializable castedId = typeParser.parse(id, idClass);
+            @SuppressWarnings("unchecked")
+            Object foundEntity = resourceRepository.findOne(castedId, queryParams);
+            entity = foundEntity;
+        }
         MetaInformation metaInformation =
             getMetaInformation(resourceRepository, Collections.singletonList(entity), queryParams);
         LinksInformation linksInformation =
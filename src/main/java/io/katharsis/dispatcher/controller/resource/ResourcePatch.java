@@ -3,8 +3,11 @@ package io.katharsis.dispatcher.controller.resource;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.katharsis.dispatcher.controller.HttpMethod;
 import io.katharsis.queryParams.QueryParams;
+import io.katharsis.repository.PatchRepository;
 import io.katharsis.repository.RepositoryMethodParameterProvider;
+import io.katharsis.repository.ResourceChanges;
 import io.katharsis.repository.ResourceRepository;
+import io.katharsis.repository.adapter.ResourceRepositoryAdapter;
 import io.katharsis.request.dto.DataBody;
 import io.katharsis.request.dto.RequestBody;
 import io.katharsis.request.path.JsonPath;
@@ -15,13 +18,20 @@ import io.katharsis.resource.exception.ResourceNotFoundException;
 import io.katharsis.resource.registry.RegistryEntry;
 import io.katharsis.resource.registry.ResourceRegistry;
 import io.katharsis.response.BaseResponse;
+import io.katharsis.response.CollectionResponse;
 import io.katharsis.response.LinksInformation;
 import io.katharsis.response.MetaInformation;
 import io.katharsis.response.ResourceResponse;
+import io.katharsis.utils.PropertyUtils;
 import io.katharsis.utils.parser.TypeParser;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 public class ResourcePatch extends ResourceUpsert {
 
@@ -29,6 +39,14 @@ public class ResourcePatch extends ResourceUpsert {
         super(resourceRegistry, typeParser, objectMapper);
     }
 
+    /**
+     * @param bulkChunkSize number of resources of a bulk request saved together
+     */
+    public ResourcePatch(ResourceRegistry resourceRegistry, TypeParser typeParser, ObjectMapper objectMapper,
+                         int bulkChunkSize) {
+        super(resourceRegistry, typeParser, objectMapper, bulkChunkSize);
+    }
+
     @Override
     public boolean isAcceptable(JsonPath jsonPath, String requestType) {
         return !jsonPath.isCollection() &&
@@ -36,6 +54,22 @@ public class ResourcePatch extends ResourceUpsert {
                 HttpMethod.PATCH.name().equals(requestType);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only attributes and relationships whose values differ from the stored resource are set. If nothing changes,
+     * the resource is not saved. Otherwise the changes are passed to {@link PatchRepository} if the repository
+     * provides it, or the whole resource is saved. Relationships passed to {@link PatchRepository} are neither compared
+     * with the stored resource nor looked up, so lazily loaded relationships are not initialized and only the
+     * identifiers of related resources are passed.
+     * <p>
+     * If the body contains an array of resources, e.g. for {@code PATCH /tasks/1,2,3}, they are updated in chunks of {@link #bulkChunkSize} resources.
+     * Resources of a chunk are loaded with a single repository call if the repository can find resources by
+     * identifiers and saved with a single call if the repository provides
+     * {@link io.katharsis.repository.SaveAllRepository}, skipping resources which are not changed. If the repository
+     * provides {@link PatchRepository}, changes of each resource are passed to it instead. A collection of the
+     * saved resources is returned. If any of the resources does not exist, {@link ResourceNotFoundException} is thrown.
+     */
     @Override
     public BaseResponse<?> handle(JsonPath jsonPath, QueryParams queryParams,
                                   RepositoryMethodParameterProvider parameterProvider, RequestBody requestBody) throws Exception {
@@ -49,7 +83,8 @@ public class ResourcePatch extends ResourceUpsert {
             throw new RequestBodyNotFoundException(HttpMethod.PATCH, resourceEndpointName);
         }
         if (requestBody.isMultiple()) {
-            throw new RequestBodyException(HttpMethod.PATCH, resourceEndpointName, "Multiple data in body");
+            return handleMultiple(jsonPath, queryParams, parameterProvider, endpointRegistryEntry,
+                requestBody.getMultipleData());
         }
 
         String idString = jsonPath.getIds().getIds().get(0);
@@ -72,9 +107,19 @@ public class ResourcePatch extends ResourceUpsert {
         Object resource = resourceRepository.findOne(resourceId, queryParams);
 
 
-        setAttributes(dataBody, resource, bodyRegistryEntry.getResourceInformation());
-        setRelations(resource, bodyRegistryEntry, dataBody, queryParams, parameterProvider);
-        Object savedResource = resourceRepository.save(resource);
+        boolean patchAvailable = patchAvailable(resourceRepository);
+        ResourceChanges changes = applyChanges(resource, bodyRegistryEntry, dataBody,
+            new RelatedResourceLookup(queryParams, parameterProvider), !patchAvailable);
+        Object savedResource;
+        if (changes.isEmpty()) {
+            savedResource = resource;
+        } else if (patchAvailable) {
+            @SuppressWarnings("unchecked")
+            Object patchedResource = ((PatchRepository) resourceRepository).patch(resourceId, changes);
+            savedResource = patchedResource;
+        } else {
+            savedResource = resourceRepository.save(resource);
+        }
 
         MetaInformation metaInformation =
             getMetaInformation(resourceRepository, Collections.singletonList(savedResource), queryParams);
@@ -83,4 +128,112 @@ public class ResourcePatch extends ResourceUpsert {
 
         return new ResourceResponse(savedResource, jsonPath, queryParams, metaInformation, linksInformation);
     }
+
+    private CollectionResponse handleMultiple(JsonPath jsonPath, QueryParams queryParams,
+                                              RepositoryMethodParameterProvider parameterProvider,
+                                              RegistryEntry endpointRegistryEntry, Iterable<DataBody> dataBodies)
+        throws Exception {
+        String resourceEndpointName = jsonPath.getResourceName();
+        ResourceRepository resourceRepository = endpointRegistryEntry.getResourceRepository(parameterProvider);
+        RelatedResourceLookup relatedResourceLookup = new RelatedResourceLookup(queryParams, parameterProvider);
+        boolean patchAvailable = patchAvailable(resourceRepository);
+        List<Object> savedResources = new ArrayList<>();
+        for (List<DataBody> chunk : chunk(dataBodies)) {
+            List<Serializable> resourceIds = new ArrayList<>(chunk.size());
+            for (DataBody dataBody : chunk) {
+                if (dataBody == null || dataBody.getId() == null) {
+                    throw new RequestBodyException(HttpMethod.PATCH, resourceEndpointName, "No id of data in the body.");
+                }
+                if (!jsonPath.getIds().getIds().contains(dataBody.getId())) {
+                    throw new RequestBodyException(HttpMethod.PATCH, resourceEndpointName,
+                        "Id of data in the body not in the path: " + dataBody.getId());
+                }
+                RegistryEntry bodyRegistryEntry = resourceRegistry.getEntry(dataBody.getType());
+                verifyTypes(HttpMethod.PATCH, resourceEndpointName, endpointRegistryEntry, bodyRegistryEntry);
+                @SuppressWarnings("unchecked")
+                Class<? extends Serializable> idType = (Class<? extends Serializable>) bodyRegistryEntry
+                    .getResourceInformation()
+                    .getIdField()
+                    .getType();
+                resourceIds.add(typeParser.parse(dataBody.getId(), idType));
+            }
+            List<Object> resources = findResources(resourceRepository, endpointRegistryEntry, resourceIds,
+                queryParams);
+            for (int i = 0; i < resources.size(); i++) {
+                if (resources.get(i) == null) {
+                    throw new ResourceNotFoundException(resourceEndpointName + "/" + chunk.get(i).getId());
+                }
+            }
+            if (!patchAvailable) {
+                loadRelatedResources(chunk, relatedResourceLookup);
+            }
+
+            List<Object> changedResources = new ArrayList<>(chunk.size());
+            boolean[] changed = new boolean[chunk.size()];
+            for (int i = 0; i < chunk.size(); i++) {
+                DataBody dataBody = chunk.get(i);
+                RegistryEntry bodyRegistryEntry = resourceRegistry.getEntry(dataBody.getType());
+                ResourceChanges changes = applyChanges(resources.get(i), bodyRegistryEntry, dataBody,
+                    relatedResourceLookup, !patchAvailable);
+                if (changes.isEmpty()) {
+                    continue;
+                }
+                if (patchAvailable) {
+                    @SuppressWarnings("unchecked")
+                    Object patchedResource = ((PatchRepository) resourceRepository).patch(resourceIds.get(i), changes);
+                    resources.set(i, patchedResource);
+                } else {
+                    changedResources.add(resources.get(i));
+                    changed[i] = true;
+                }
+            }
+            Iterator<Object> changedSavedResources = changedResources.isEmpty()
+                ? Collections.emptyIterator()
+                : saveAll(resourceRepository, changedResources).iterator();
+            for (int i = 0; i < chunk.size(); i++) {
+                savedResources.add(changed[i] ? changedSavedResources.next() : resources.get(i));
+            }
+        }
+
+        MetaInformation metaInformation = getMetaInformation(resourceRepository, savedResources, queryParams);
+        LinksInformation linksInformation = getLinksInformation(resourceRepository, savedResources, queryParams);
+        return new CollectionResponse(savedResources, jsonPath, queryParams, metaInformation, linksInformation);
+    }
+
+    /**
+     * Loads resources to be updated with a single {@link ResourceRepository#findAll(Iterable, QueryParams)} call if
+     * the repository provides it and with {@link ResourceRepository#findOne(Serializable, QueryParams)} otherwise.
+     * References provided by {@link io.katharsis.repository.ReferenceRepository} are not used, since all fields of
+     * the resources are saved.
+     *
+     * @return found resources in the order of the identifiers, null for resources which have not been found
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Object> findResources(ResourceRepository resourceRepository, RegistryEntry registryEntry,
+                                              List<Serializable> ids, QueryParams queryParams) {
+        Map<Serializable, Object> foundResources = new HashMap<>();
+        if (ids.size() > 1 && RelatedResourceLookup.findAllWithIdsAvailable(resourceRepository)) {
+            Iterable<?> loadedResources = resourceRepository.findAll(ids, queryParams);
+            if (loadedResources != null) {
+                String idFieldName = registryEntry.getResourceInformation().getIdField().getName();
+                for (Object loadedResource : loadedResources) {
+                    foundResources.put((Serializable) PropertyUtils.getProperty(loadedResource, idFieldName),
+                        loadedResource);
+                }
+            }
+        }
+        List<Object> resources = new ArrayList<>(ids.size());
+        for (Serializable id : ids) {
+            Object resource = foundResources.get(id);
+            resources.add(resource != null ? resource : resourceRepository.findOne(id, queryParams));
+        }
+        return resources;
+    }
+
+    private static boolean patchAvailable(ResourceRepository resourceRepository) {
+        if (resourceRepository instanceof ResourceRepositoryAdapter) {
+            return ((ResourceRepositoryAdapter) resourceRepository).patchAvailable();
+        }
+        return resourceRepository instanceof PatchRepository;
+    }
 }
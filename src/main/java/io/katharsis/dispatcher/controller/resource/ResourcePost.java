@@ -3,6 +3,7 @@ package io.katharsis.dispatcher.controller.resource;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.katharsis.dispatcher.controller.HttpMethod;
 import io.katharsis.queryParams.QueryParams;
+import io.katharsis.repository.CreateRepository;
 import io.katharsis.repository.RepositoryMethodParameterProvider;
 import io.katharsis.repository.ResourceRepository;
 import io.katharsis.request.dto.DataBody;
@@ -44,6 +45,23 @@ public class ResourcePost extends ResourceUpsert {
                 HttpMethod.POST.name().equals(requestType);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Bodies containing an array of resources are handled by {@link BulkResourcePost}.
+     */
+    @Override
+    public boolean isAcceptable(JsonPath jsonPath, String requestType, RequestBody requestBody) {
+        return isAcceptable(jsonPath, requestType) && (requestBody == null || !requestBody.isMultiple());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the repository provides {@link CreateRepository}, a resource is created with a single repository call and
+     * returned without loading it again. Otherwise related resources are looked up, the resource is saved and then
+     * loaded with its relationships.
+     */
     @Override
     public ResourceResponse handle(JsonPath jsonPath, QueryParams queryParams,
                                    RepositoryMethodParameterProvider parameterProvider, RequestBody requestBody)
@@ -71,14 +89,23 @@ public class ResourcePost extends ResourceUpsert {
 
         setAttributes(dataBody, newResource, bodyRegistryEntry.getResourceInformation());
         ResourceRepository resourceRepository = endpointRegistryEntry.getResourceRepository(parameterProvider);
-        setRelations(newResource, bodyRegistryEntry, dataBody, queryParams, parameterProvider);
-        Object savedResource = resourceRepository.save(newResource);
+        Object savedResourceWithRelations;
+        if (createAvailable(resourceRepository)) {
+            @SuppressWarnings("unchecked")
+            Object createdResource = ((CreateRepository) resourceRepository)
+                .create(newResource, getRelationshipIds(bodyRegistryEntry, dataBody));
+            savedResourceWithRelations = createdResource;
+        } else {
+            setRelations(newResource, bodyRegistryEntry, dataBody, queryParams, parameterProvider);
+            Object savedResource = resourceRepository.save(newResource);
 
-        Serializable resourceId = (Serializable) PropertyUtils
-            .getProperty(savedResource, bodyRegistryEntry.getResourceInformation().getIdField().getName());
+            Serializable resourceId = (Serializable) PropertyUtils
+                .getProperty(savedResource, bodyRegistryEntry.getResourceInformation().getIdField().getName());
 
-        @SuppressWarnings("unchecked")
-        Object savedResourceWithRelations = resourceRepository.findOne(resourceId, queryParams);
+            @SuppressWarnings("unchecked")
+            Object foundResource = resourceRepository.findOne(resourceId, queryParams);
+            savedResourceWithRelations = foundResource;
+        }
         MetaInformation metaInformation =
             getMetaInformation(resourceRepository, Collections.singletonList(savedResourceWithRelations), queryParams);
         LinksInformation linksInformation =
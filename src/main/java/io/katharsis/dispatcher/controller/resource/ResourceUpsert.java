@@ -4,8 +4,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import io.katharsis.dispatcher.controller.BaseController;
 import io.katharsis.queryParams.QueryParams;
+import io.katharsis.repository.CreateRepository;
 import io.katharsis.repository.RelationshipRepository;
 import io.katharsis.repository.RepositoryMethodParameterProvider;
+import io.katharsis.repository.ResourceChanges;
+import io.katharsis.repository.ResourceRepository;
+import io.katharsis.repository.SaveAllRepository;
+import io.katharsis.repository.adapter.ResourceRepositoryAdapter;
+import io.katharsis.repository.exception.RepositoryMethodException;
 import io.katharsis.request.dto.DataBody;
 import io.katharsis.request.dto.LinkageData;
 import io.katharsis.resource.exception.ResourceException;
@@ -24,14 +30,33 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.*;
 
 public abstract class ResourceUpsert implements BaseController {
+
+    /**
+     * Number of resources of a bulk request saved with a single repository call by default.
+     */
+    public static final int DEFAULT_BULK_CHUNK_SIZE = 100;
+
     final ResourceRegistry resourceRegistry;
     final TypeParser typeParser;
     private final ObjectMapper objectMapper;
+    final int bulkChunkSize;
 
     public ResourceUpsert(ResourceRegistry resourceRegistry, TypeParser typeParser, ObjectMapper objectMapper) {
+        this(resourceRegistry, typeParser, objectMapper, DEFAULT_BULK_CHUNK_SIZE);
+    }
+
+    /**
+     * @param bulkChunkSize number of resources of a bulk request processed and saved together
+     */
+    public ResourceUpsert(ResourceRegistry resourceRegistry, TypeParser typeParser, ObjectMapper objectMapper,
+                          int bulkChunkSize) {
+        if (bulkChunkSize < 1) {
+            throw new IllegalArgumentException("Bulk chunk size must be positive: " + bulkChunkSize);
+        }
         this.resourceRegistry = resourceRegistry;
         this.typeParser = typeParser;
         this.objectMapper = objectMapper;
+        this.bulkChunkSize = bulkChunkSize;
     }
 
     void setAttributes(DataBody dataBody, Object instance, ResourceInformation resourceInformation)
@@ -50,6 +75,76 @@ public abstract class ResourceUpsert implements BaseController {
         }
     }
 
+    /**
+     * Sets attributes and relationships sent in a request body whose values differ from the values of a resource.
+     * Reading a current relationship may load it lazily, so if relationships are not compared, all relationships of
+     * the body are returned with the requested identifiers without looking up the related resources or setting them
+     * on the resource.
+     *
+     * @param compareRelationships true if relationships should be compared with the current values and set
+     * @return changed attributes and relationships
+     */
+    @SuppressWarnings("unchecked")
+    ResourceChanges applyChanges(Object resource, RegistryEntry registryEntry, DataBody dataBody,
+                                 RelatedResourceLookup relatedResourceLookup, boolean compareRelationships)
+        throws IOException {
+        ResourceInformation resourceInformation = registryEntry.getResourceInformation();
+        Map<String, Object> changedAttributes = new LinkedHashMap<>();
+        if (dataBody.getAttributes() != null) {
+            ObjectReader reader = objectMapper.reader(resource.getClass());
+            Object instanceWithNewFields = reader.readValue(dataBody.getAttributes());
+            Iterator<String> propertyNameIterator = dataBody.getAttributes().fieldNames();
+            while (propertyNameIterator.hasNext()) {
+                ResourceField attributeField = resourceInformation.findAttributeFieldByName(propertyNameIterator.next());
+                Object newValue = PropertyUtils.getProperty(instanceWithNewFields, attributeField.getName());
+                if (!Objects.deepEquals(PropertyUtils.getProperty(resource, attributeField.getName()), newValue)) {
+                    PropertyUtils.setProperty(resource, attributeField.getName(), newValue);
+                    changedAttributes.put(attributeField.getName(), newValue);
+                }
+            }
+        }
+
+        Map<String, Object> changedRelationshipIds = new LinkedHashMap<>();
+        if (dataBody.getRelationships() != null) {
+            Map<String, Object> relationshipIds = getRelationshipIds(registryEntry, dataBody);
+            if (!compareRelationships) {
+                return new ResourceChanges(changedAttributes, relationshipIds);
+            }
+            for (Map.Entry<String, Object> property : dataBody.getRelationships().getAdditionalProperties().entrySet()) {
+                String fieldName = resourceInformation.findRelationshipFieldByName(property.getKey()).getName();
+                Object newIds = relationshipIds.get(fieldName);
+                if (Objects.equals(getCurrentRelationshipIds(resource, registryEntry, fieldName), newIds)) {
+                    continue;
+                }
+                if (property.getValue() != null && Iterable.class.isAssignableFrom(property.getValue().getClass())) {
+                    setRelationsField(resource, registryEntry, (Map.Entry) property, relatedResourceLookup);
+                } else {
+                    setRelationField(resource, registryEntry, (Map.Entry) property, relatedResourceLookup);
+                }
+                changedRelationshipIds.put(fieldName, newIds);
+            }
+        }
+        return new ResourceChanges(changedAttributes, changedRelationshipIds);
+    }
+
+    private Object getCurrentRelationshipIds(Object resource, RegistryEntry registryEntry, String fieldName) {
+        Object value = PropertyUtils.getProperty(resource, fieldName);
+        if (value == null) {
+            return null;
+        }
+        String idFieldName = getRelationshipFieldEntry(registryEntry, fieldName).getResourceInformation()
+            .getIdField()
+            .getName();
+        if (value instanceof Iterable) {
+            List<Object> ids = new ArrayList<>();
+            for (Object relatedResource : (Iterable<?>) value) {
+                ids.add(PropertyUtils.getProperty(relatedResource, idFieldName));
+            }
+            return ids;
+        }
+        return PropertyUtils.getProperty(value, idFieldName);
+    }
+
     protected void saveRelations(Object savedResource, RegistryEntry registryEntry, DataBody dataBody,
                                  RepositoryMethodParameterProvider parameterProvider)
         throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException {
@@ -157,15 +252,20 @@ public abstract class ResourceUpsert implements BaseController {
     protected void setRelations(Object newResource, RegistryEntry registryEntry, DataBody dataBody, QueryParams queryParams, 
                                 RepositoryMethodParameterProvider parameterProvider)
         throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException {
+        setRelations(newResource, registryEntry, dataBody, new RelatedResourceLookup(queryParams, parameterProvider));
+    }
+
+    void setRelations(Object newResource, RegistryEntry registryEntry, DataBody dataBody,
+                      RelatedResourceLookup relatedResourceLookup) {
         if (dataBody.getRelationships() != null) {
             Map<String, Object> additionalProperties = dataBody.getRelationships().getAdditionalProperties();
             for (Map.Entry<String, Object> property : additionalProperties.entrySet()) {
                 if (property.getValue() != null && Iterable.class.isAssignableFrom(property.getValue().getClass())) {
                     //noinspection unchecked
-                    setRelationsField(newResource, registryEntry, (Map.Entry) property, queryParams, parameterProvider);
+                    setRelationsField(newResource, registryEntry, (Map.Entry) property, relatedResourceLookup);
                 } else {
                     //noinspection unchecked
-                    setRelationField(newResource, registryEntry, (Map.Entry) property, queryParams, parameterProvider);
+                    setRelationField(newResource, registryEntry, (Map.Entry) property, relatedResourceLookup);
                 }
 
             }
@@ -173,36 +273,26 @@ public abstract class ResourceUpsert implements BaseController {
     }
 
     private void setRelationsField(Object newResource, RegistryEntry registryEntry,
-                                   Map.Entry<String, Iterable<LinkageData>> property, QueryParams queryParams, 
-                                   RepositoryMethodParameterProvider parameterProvider) {
+                                   Map.Entry<String, Iterable<LinkageData>> property,
+                                   RelatedResourceLookup relatedResourceLookup) {
         String propertyName = property.getKey();
-        ResourceField relationshipField = registryEntry.getResourceInformation().findRelationshipFieldByName(propertyName);
-        Class<?> relationshipFieldClass = Generics.getResourceClass(relationshipField.getGenericType(), 
-            relationshipField.getType());
-        RegistryEntry entry = resourceRegistry.getEntry(relationshipFieldClass);
-        Class idFieldType = entry.getResourceInformation().getIdField().getType();
-
-        List relationships = new LinkedList<>();
-        for (LinkageData linkageData : property.getValue()) {
-            Serializable castedRelationshipId = typeParser.parse(linkageData.getId(), idFieldType);
-            Object relationObject = entry.getResourceRepository(parameterProvider).findOne(castedRelationshipId, queryParams);
-            relationships.add(relationObject);
-        }
+        RegistryEntry entry = getRelationshipFieldEntry(registryEntry, propertyName);
+        List<Serializable> relationshipIds = parseRelationshipIds(entry, property.getValue());
+        List relationships = new LinkedList<>(relatedResourceLookup.findAll(entry, relationshipIds));
         PropertyUtils.setProperty(newResource, propertyName, relationships);
     }
 
     private void setRelationField(Object newResource, RegistryEntry registryEntry,
-                                  Map.Entry<String, LinkageData> property, QueryParams queryParams, 
-                                  RepositoryMethodParameterProvider parameterProvider) {
+                                  Map.Entry<String, LinkageData> property,
+                                  RelatedResourceLookup relatedResourceLookup) {
         String propertyName = property.getKey();
 
         Object relationObject;
         if (property.getValue() != null) {
-            ResourceField relationshipFieldByName = registryEntry.getResourceInformation().findRelationshipFieldByName(propertyName);
-            RegistryEntry entry = resourceRegistry.getEntry(relationshipFieldByName.getType());
+            RegistryEntry entry = getRelationshipFieldEntry(registryEntry, propertyName);
             Class idFieldType = entry.getResourceInformation().getIdField().getType();
             Serializable castedRelationshipId = typeParser.parse(property.getValue().getId(), idFieldType);
-            relationObject = entry.getResourceRepository(parameterProvider).findOne(castedRelationshipId, queryParams);
+            relationObject = relatedResourceLookup.findOne(entry, castedRelationshipId);
         } else {
             relationObject = null;
         }
@@ -210,4 +300,144 @@ public abstract class ResourceUpsert implements BaseController {
 
         PropertyUtils.setProperty(newResource, propertyName, relationObject);
     }
+
+    private RegistryEntry getRelationshipFieldEntry(RegistryEntry registryEntry, String propertyName) {
+        ResourceField relationshipField = registryEntry.getResourceInformation()
+            .findRelationshipFieldByName(propertyName);
+        Class<?> relationshipFieldClass = Generics.getResourceClass(relationshipField.getGenericType(),
+            relationshipField.getType());
+        return resourceRegistry.getEntry(relationshipFieldClass);
+    }
+
+    private List<Serializable> parseRelationshipIds(RegistryEntry entry, Iterable<LinkageData> linkages) {
+        @SuppressWarnings("unchecked")
+        Class<? extends Serializable> idFieldType = (Class<? extends Serializable>) entry.getResourceInformation()
+            .getIdField()
+            .getType();
+        List<Serializable> relationshipIds = new ArrayList<>();
+        for (LinkageData linkageData : linkages) {
+            relationshipIds.add(typeParser.parse(linkageData.getId(), idFieldType));
+        }
+        return relationshipIds;
+    }
+
+    /**
+     * Collects identifiers of related resources sent in a request body, by the relationship field name.
+     *
+     * @see CreateRepository#create(Object, Map)
+     */
+    @SuppressWarnings("unchecked")
+    Map<String, Object> getRelationshipIds(RegistryEntry registryEntry, DataBody dataBody) {
+        Map<String, Object> relationshipIds = new LinkedHashMap<>();
+        if (dataBody.getRelationships() == null) {
+            return relationshipIds;
+        }
+        for (Map.Entry<String, Object> property : dataBody.getRelationships().getAdditionalProperties().entrySet()) {
+            String fieldName = registryEntry.getResourceInformation()
+                .findRelationshipFieldByName(property.getKey())
+                .getName();
+            RegistryEntry entry = getRelationshipFieldEntry(registryEntry, property.getKey());
+            if (property.getValue() == null) {
+                relationshipIds.put(fieldName, null);
+            } else if (property.getValue() instanceof Iterable) {
+                relationshipIds.put(fieldName, parseRelationshipIds(entry, (Iterable<LinkageData>) property.getValue()));
+            } else {
+                relationshipIds.put(fieldName,
+                    parseRelationshipIds(entry, Collections.singletonList((LinkageData) property.getValue())).get(0));
+            }
+        }
+        return relationshipIds;
+    }
+
+    static boolean createAvailable(ResourceRepository resourceRepository) {
+        if (resourceRepository instanceof ResourceRepositoryAdapter) {
+            return ((ResourceRepositoryAdapter) resourceRepository).createAvailable();
+        }
+        return resourceRepository instanceof CreateRepository;
+    }
+
+    /**
+     * Loads resources referenced by relationships of many request bodies at once, one call per type of the related
+     * resources.
+     */
+    @SuppressWarnings("unchecked")
+    void loadRelatedResources(List<DataBody> dataBodies, RelatedResourceLookup relatedResourceLookup) {
+        Map<Class<?>, RegistryEntry> entries = new HashMap<>();
+        Map<Class<?>, Set<Serializable>> relationshipIds = new HashMap<>();
+        for (DataBody dataBody : dataBodies) {
+            if (dataBody.getRelationships() == null) {
+                continue;
+            }
+            RegistryEntry registryEntry = resourceRegistry.getEntry(dataBody.getType());
+            for (Map.Entry<String, Object> property : dataBody.getRelationships().getAdditionalProperties().entrySet()) {
+                if (property.getValue() == null) {
+                    continue;
+                }
+                RegistryEntry entry = getRelationshipFieldEntry(registryEntry, property.getKey());
+                Class<?> relationshipClass = entry.getResourceInformation().getResourceClass();
+                entries.put(relationshipClass, entry);
+                Iterable<LinkageData> linkages = property.getValue() instanceof Iterable
+                    ? (Iterable<LinkageData>) property.getValue()
+                    : Collections.singletonList((LinkageData) property.getValue());
+                relationshipIds.computeIfAbsent(relationshipClass, key -> new LinkedHashSet<>())
+                    .addAll(parseRelationshipIds(entry, linkages));
+            }
+        }
+        for (Map.Entry<Class<?>, Set<Serializable>> ids : relationshipIds.entrySet()) {
+            relatedResourceLookup.load(entries.get(ids.getKey()), ids.getValue());
+        }
+    }
+
+    /**
+     * Saves resources with a single repository call if the repository provides {@link SaveAllRepository}, one by one
+     * otherwise.
+     *
+     * @return saved resources in the order of the passed resources
+     * @throws RepositoryMethodException if {@link SaveAllRepository} does not return a resource for each passed one
+     */
+    @SuppressWarnings("unchecked")
+    List<Object> saveAll(ResourceRepository resourceRepository, List<Object> resources) {
+        List<Object> savedResources = new ArrayList<>(resources.size());
+        if (saveAllAvailable(resourceRepository)) {
+            Iterable<Object> result = ((SaveAllRepository) resourceRepository).saveAll(resources);
+            if (result != null) {
+                result.forEach(savedResources::add);
+            }
+            if (savedResources.size() != resources.size()) {
+                throw new RepositoryMethodException("saveAll returned " + savedResources.size()
+                    + " resources for " + resources.size() + " passed resources");
+            }
+        } else {
+            for (Object resource : resources) {
+                savedResources.add(resourceRepository.save(resource));
+            }
+        }
+        return savedResources;
+    }
+
+    private static boolean saveAllAvailable(ResourceRepository resourceRepository) {
+        if (resourceRepository instanceof ResourceRepositoryAdapter) {
+            return ((ResourceRepositoryAdapter) resourceRepository).saveAllAvailable();
+        }
+        return resourceRepository instanceof SaveAllRepository;
+    }
+
+    /**
+     * Splits data of a bulk request into chunks of at most {@link #bulkChunkSize} elements.
+     */
+    List<List<DataBody>> chunk(Iterable<DataBody> dataBodies) {
+        List<List<DataBody>> chunks = new ArrayList<>();
+        List<DataBody> chunk = new ArrayList<>(bulkChunkSize);
+        for (DataBody dataBody : dataBodies) {
+            chunk.add(dataBody);
+            if (chunk.size() == bulkChunkSize) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>(bulkChunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
 }
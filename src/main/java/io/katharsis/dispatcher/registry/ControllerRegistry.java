@@ -1,6 +1,7 @@
 package io.katharsis.dispatcher.registry;
 
 import io.katharsis.dispatcher.controller.BaseController;
+import io.katharsis.request.dto.RequestBody;
 import io.katharsis.request.path.JsonPath;
 import io.katharsis.request.path.PathBuilder;
 
@@ -45,4 +46,20 @@ public class ControllerRegistry {
         }
         throw new MethodNotFoundException(PathBuilder.buildPath(jsonPath), requestType);
     }
+
+    /**
+     * Iterate over all registered controllers to get the first one suitable for the body of the request.
+     * @param jsonPath built JsonPath object mad from request path
+     * @param requestType type of a HTTP request
+     * @param requestBody body of the request, can be null
+     * @return suitable controller
+     */
+    public BaseController getController(JsonPath jsonPath, String requestType, RequestBody requestBody) {
+        for (BaseController controller : controllers) {
+            if (controller.isAcceptable(jsonPath, requestType, requestBody)) {
+                return controller;
+            }
+        }
+        throw new MethodNotFoundException(PathBuilder.buildPath(jsonPath), requestType);
+    }
 }
@@ -1,7 +1,9 @@
 package io.katharsis.dispatcher.registry;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.katharsis.cache.CollectionQueryCache;
 import io.katharsis.dispatcher.controller.BaseController;
+import io.katharsis.dispatcher.controller.collection.CollectionGet;
 import io.katharsis.dispatcher.controller.resource.ResourceIncludeField;
 import io.katharsis.dispatcher.controller.resource.ResourceUpsert;
 import io.katharsis.resource.include.IncludeLookupSetter;
@@ -27,13 +29,35 @@ public class ControllerRegistryBuilder {
     private final TypeParser typeParser;
     private final ObjectMapper objectMapper;
     private final IncludeLookupSetter includeFieldSetter;
+    private final CollectionQueryCache collectionQueryCache;
+    private final int bulkChunkSize;
 
     public ControllerRegistryBuilder(@SuppressWarnings("SameParameterValue") ResourceRegistry resourceRegistry, @SuppressWarnings("SameParameterValue") TypeParser typeParser,
                                      @SuppressWarnings("SameParameterValue") ObjectMapper objectMapper) {
+        this(resourceRegistry, typeParser, objectMapper, null);
+    }
+
+    /**
+     * @param collectionQueryCache cache of collection queries used by {@link CollectionGet}, can be null
+     */
+    public ControllerRegistryBuilder(ResourceRegistry resourceRegistry, TypeParser typeParser,
+                                     ObjectMapper objectMapper, CollectionQueryCache collectionQueryCache) {
+        this(resourceRegistry, typeParser, objectMapper, collectionQueryCache, ResourceUpsert.DEFAULT_BULK_CHUNK_SIZE);
+    }
+
+    /**
+     * @param collectionQueryCache cache of collection queries used by {@link CollectionGet}, can be null
+     * @param bulkChunkSize        number of resources of a bulk POST or PATCH request saved together
+     */
+    public ControllerRegistryBuilder(ResourceRegistry resourceRegistry, TypeParser typeParser,
+                                     ObjectMapper objectMapper, CollectionQueryCache collectionQueryCache,
+                                     int bulkChunkSize) {
         this.resourceRegistry = resourceRegistry;
         this.typeParser = typeParser;
         this.objectMapper = objectMapper;
         this.includeFieldSetter = new IncludeLookupSetter(resourceRegistry);
+        this.collectionQueryCache = collectionQueryCache;
+        this.bulkChunkSize = bulkChunkSize;
     }
 
     /**
@@ -65,9 +89,17 @@ public class ControllerRegistryBuilder {
             throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException {
         BaseController controller;
         if (ResourceUpsert.class.isAssignableFrom(controllerClass)) {
-            Constructor<? extends BaseController> declaredConstructor = controllerClass
-                    .getDeclaredConstructor(ResourceRegistry.class, TypeParser.class, ObjectMapper.class);
-            controller = declaredConstructor.newInstance(resourceRegistry, typeParser, objectMapper);
+            Constructor<? extends BaseController> bulkConstructor = findConstructor(controllerClass,
+                    ResourceRegistry.class, TypeParser.class, ObjectMapper.class, int.class);
+            if (bulkConstructor != null) {
+                controller = bulkConstructor.newInstance(resourceRegistry, typeParser, objectMapper, bulkChunkSize);
+            } else {
+                Constructor<? extends BaseController> declaredConstructor = controllerClass
+                        .getDeclaredConstructor(ResourceRegistry.class, TypeParser.class, ObjectMapper.class);
+                controller = declaredConstructor.newInstance(resourceRegistry, typeParser, objectMapper);
+            }
+        } else if (collectionQueryCache != null && CollectionGet.class.equals(controllerClass)) {
+            controller = new CollectionGet(resourceRegistry, typeParser, includeFieldSetter, collectionQueryCache);
         } else if (ResourceIncludeField.class.isAssignableFrom(controllerClass)) {
             Constructor<? extends BaseController> declaredConstructor = controllerClass
                     .getDeclaredConstructor(ResourceRegistry.class, TypeParser.class, IncludeLookupSetter.class);
@@ -79,4 +111,13 @@ public class ControllerRegistryBuilder {
         }
         return controller;
     }
+
+    private static Constructor<? extends BaseController> findConstructor(
+            Class<? extends BaseController> controllerClass, Class<?>... parameterTypes) {
+        try {
+            return controllerClass.getDeclaredConstructor(parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
 }
@@ -8,6 +8,6 @@ import io.katharsis.errorhandling.exception.KatharsisMatchingException;
 class MethodNotFoundException extends KatharsisMatchingException {
 
     public MethodNotFoundException(String uri, String method) {
-        super(String.format("%s: %s", method, uri));
+        super(method + ": " + uri);
     }
 }
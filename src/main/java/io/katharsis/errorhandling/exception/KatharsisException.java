@@ -2,10 +2,32 @@ package io.katharsis.errorhandling.exception;
 
 /**
  * General type for exceptions, which can be thrown during Katharsis request processing.
+ * <p>
+ * These exceptions describe errors of requests, e.g. an unknown resource, so their stack traces are rarely useful.
+ * Capturing of stack traces can be disabled with {@link #setStackTraceEnabled(boolean)} to make high rates of
+ * erroneous requests cheaper.
  */
 public abstract class KatharsisException extends RuntimeException {
 
+    private static volatile boolean stackTraceEnabled = true;
+
     public KatharsisException(String message) {
-        super(message);
+        super(message, null, true, stackTraceEnabled);
+    }
+
+    /**
+     * @return true if exceptions created from now on capture stack traces
+     */
+    public static boolean isStackTraceEnabled() {
+        return stackTraceEnabled;
+    }
+
+    /**
+     * Enables or disables capturing of stack traces of Katharsis exceptions created from now on. Enabled by default.
+     *
+     * @param enabled false if stack traces should not be captured
+     */
+    public static void setStackTraceEnabled(boolean enabled) {
+        stackTraceEnabled = enabled;
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,7 @@
 package io.katharsis.errorhandling.mapper;
 
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Optional;
 import java.util.Set;
 
@@ -7,8 +9,23 @@ public final class ExceptionMapperRegistry {
 
     private final Set<ExceptionMapperType> exceptionMappers;
 
+    /**
+     * Mappers resolved by exception class, including the classes without a mapper. Mapped exception classes are
+     * resolved when the registry is created, other classes on the first use.
+     */
+    private final ClassValue<Optional<JsonApiExceptionMapper>> resolvedMappers =
+        new ClassValue<Optional<JsonApiExceptionMapper>>() {
+            @Override
+            protected Optional<JsonApiExceptionMapper> computeValue(Class<?> exceptionClass) {
+                return resolveMapperFor(exceptionClass);
+            }
+        };
+
     ExceptionMapperRegistry(Set<ExceptionMapperType> exceptionMappers) {
-        this.exceptionMappers = exceptionMappers;
+        this.exceptionMappers = Collections.unmodifiableSet(new LinkedHashSet<>(exceptionMappers));
+        for (ExceptionMapperType mapperType : this.exceptionMappers) {
+            resolvedMappers.get(mapperType.getExceptionClass());
+        }
     }
 
     Set<ExceptionMapperType> getExceptionMappers() {
@@ -16,6 +33,10 @@ public final class ExceptionMapperRegistry {
     }
 
     public Optional<JsonApiExceptionMapper> findMapperFor(Class<? extends Throwable> exceptionClass) {
+        return resolvedMappers.get(exceptionClass);
+    }
+
+    private Optional<JsonApiExceptionMapper> resolveMapperFor(Class<?> exceptionClass) {
         int currentDistance = Integer.MAX_VALUE;
         JsonApiExceptionMapper closestExceptionMapper = null;
         for (ExceptionMapperType mapperType : exceptionMappers) {
@@ -43,4 +64,4 @@ public final class ExceptionMapperRegistry {
         return distance;
     }
 
-}
\ No newline at end of file
+}
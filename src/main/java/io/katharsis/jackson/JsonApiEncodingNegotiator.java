@@ -0,0 +1,165 @@
+package io.katharsis.jackson;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.katharsis.request.dto.RequestBody;
+import io.katharsis.resource.exception.UnsupportedMediaTypeException;
+import io.katharsis.resource.registry.ResourceRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Selects an encoding of JSON API documents based on <i>Accept</i> or <i>Content-Type</i> header of a request. Each
+ * supported media type has its own {@link ObjectMapper} with Katharsis module built by the same
+ * {@link JsonApiModuleBuilder}, so responses can be written and request bodies read in any format supported by a
+ * Jackson {@link JsonFactory} with the same serialization options.
+ * <p>
+ * Text JSON is always supported. Smile and CBOR are registered when <i>jackson-dataformat-smile</i> and
+ * <i>jackson-dataformat-cbor</i> are available on the classpath and are selected only if a client explicitly
+ * accepts them, e.g. an internal service. Request bodies of other types are rejected with
+ * {@link UnsupportedMediaTypeException}, except of <i>application/json</i> which is read as text JSON.
+ * <p>
+ * {@link io.katharsis.dispatcher.RequestDispatcher} uses the negotiator to read request bodies and write responses
+ * when it is passed to its constructor.
+ */
+public class JsonApiEncodingNegotiator {
+
+    public static final String JSON_API_MEDIA_TYPE = "application/vnd.api+json";
+    public static final String SMILE_MEDIA_TYPE = "application/x-jackson-smile";
+    public static final String CBOR_MEDIA_TYPE = "application/cbor";
+    private static final String JSON_MEDIA_TYPE = "application/json";
+
+    private static final String SMILE_FACTORY_CLASS = "com.fasterxml.jackson.dataformat.smile.SmileFactory";
+    private static final String CBOR_FACTORY_CLASS = "com.fasterxml.jackson.dataformat.cbor.CBORFactory";
+
+    private static final Logger log = LoggerFactory.getLogger(JsonApiEncodingNegotiator.class);
+
+    private final ResourceRegistry resourceRegistry;
+    private final JsonApiModuleBuilder moduleBuilder;
+    private final Map<String, ObjectMapper> objectMappers = new LinkedHashMap<>();
+
+    public JsonApiEncodingNegotiator(ResourceRegistry resourceRegistry) {
+        this(resourceRegistry, new JsonApiModuleBuilder());
+    }
+
+    /**
+     * @param resourceRegistry initialized registry with all of the required resources
+     * @param moduleBuilder    configured builder of the Katharsis module registered to the mapper of each media type
+     */
+    public JsonApiEncodingNegotiator(ResourceRegistry resourceRegistry, JsonApiModuleBuilder moduleBuilder) {
+        this.resourceRegistry = resourceRegistry;
+        this.moduleBuilder = moduleBuilder;
+        register(JSON_API_MEDIA_TYPE, new JsonFactory());
+        registerIfAvailable(SMILE_MEDIA_TYPE, SMILE_FACTORY_CLASS);
+        registerIfAvailable(CBOR_MEDIA_TYPE, CBOR_FACTORY_CLASS);
+    }
+
+    /**
+     * Adds support of a media type.
+     *
+     * @param mediaType   media type, e.g. application/x-jackson-smile
+     * @param jsonFactory factory of parsers and generators of the format
+     * @return this instance
+     */
+    public JsonApiEncodingNegotiator register(String mediaType, JsonFactory jsonFactory) {
+        ObjectMapper objectMapper = new ObjectMapper(jsonFactory);
+        objectMapper.registerModule(moduleBuilder.build(resourceRegistry));
+        objectMappers.put(mediaType.toLowerCase(Locale.ROOT), objectMapper);
+        return this;
+    }
+
+    private void registerIfAvailable(String mediaType, String factoryClassName) {
+        try {
+            JsonFactory jsonFactory = (JsonFactory) Class.forName(factoryClassName).newInstance();
+            register(mediaType, jsonFactory);
+        } catch (ClassNotFoundException | LinkageError e) {
+            log.debug("{} not available, {} encoding is not supported", factoryClassName, mediaType);
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Selects the most preferred supported media type from a value of <i>Accept</i> header. Text JSON is selected if
+     * the header is missing or no other supported type is accepted.
+     *
+     * @param accept value of the header, can be null
+     * @return selected media type
+     */
+    public String negotiate(String accept) {
+        if (accept == null) {
+            return JSON_API_MEDIA_TYPE;
+        }
+        String selected = JSON_API_MEDIA_TYPE;
+        double selectedQuality = 0;
+        for (String range : accept.split(",")) {
+            String[] parts = range.split(";");
+            String mediaType = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = parseQuality(parts);
+            if (quality > selectedQuality && objectMappers.containsKey(mediaType)) {
+                selected = mediaType;
+                selectedQuality = quality;
+            }
+        }
+        return selected;
+    }
+
+    private static double parseQuality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Returns a mapper of a media type, e.g. selected by {@link #negotiate(String)} or sent in <i>Content-Type</i>
+     * header. Media type parameters are ignored.
+     *
+     * @param mediaType media type, text JSON mapper is returned if it is null
+     * @return mapper of the media type
+     * @throws UnsupportedMediaTypeException if the type is not supported
+     */
+    public ObjectMapper getObjectMapper(String mediaType) {
+        if (mediaType == null) {
+            return objectMappers.get(JSON_API_MEDIA_TYPE);
+        }
+        String type = mediaType.split(";")[0].trim().toLowerCase(Locale.ROOT);
+        ObjectMapper objectMapper = objectMappers.get(JSON_MEDIA_TYPE.equals(type) ? JSON_API_MEDIA_TYPE : type);
+        if (objectMapper == null) {
+            throw new UnsupportedMediaTypeException(mediaType);
+        }
+        return objectMapper;
+    }
+
+    /**
+     * Reads a request body encoded in a media type sent in <i>Content-Type</i> header.
+     *
+     * @param contentType value of the header, can be null
+     * @param body        stream of the body
+     * @return read body
+     * @throws UnsupportedMediaTypeException if the type is not supported
+     * @throws IOException                   if the body cannot be read
+     */
+    public RequestBody readRequestBody(String contentType, InputStream body) throws IOException {
+        return getObjectMapper(contentType).readValue(body, RequestBody.class);
+    }
+
+    public Set<String> getSupportedMediaTypes() {
+        return Collections.unmodifiableSet(objectMappers.keySet());
+    }
+}
@@ -2,6 +2,7 @@ package io.katharsis.jackson;
 
 import com.fasterxml.jackson.core.Version;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.katharsis.cache.ResourceFragmentCache;
 import io.katharsis.jackson.serializer.*;
 import io.katharsis.resource.registry.ResourceRegistry;
 
@@ -12,8 +13,42 @@ public class JsonApiModuleBuilder {
 
     public static final String JSON_API_MODULE_NAME = "JsonApiModule";
 
+    private ResourceFragmentCache fragmentCache;
+    private boolean generatedGetters;
+    private RelationshipDataMode relationshipDataMode = RelationshipDataMode.ALWAYS;
+
+    /**
+     * @param fragmentCache cache of serialized versioned resources, can be null
+     * @return builder instance
+     */
+    public JsonApiModuleBuilder setFragmentCache(ResourceFragmentCache fragmentCache) {
+        this.fragmentCache = fragmentCache;
+        return this;
+    }
+
+    /**
+     * @param generatedGetters true if getters of resource properties should be called by classes generated at
+     *                         runtime instead of reflection
+     * @return builder instance
+     */
+    public JsonApiModuleBuilder setGeneratedGetters(boolean generatedGetters) {
+        this.generatedGetters = generatedGetters;
+        return this;
+    }
+
+    /**
+     * @param relationshipDataMode defines which relationships are written with data, e.g. only links of
+     *                             relationships which are not included
+     * @return builder instance
+     */
+    public JsonApiModuleBuilder setRelationshipDataMode(RelationshipDataMode relationshipDataMode) {
+        this.relationshipDataMode = relationshipDataMode;
+        return this;
+    }
+
     /**
-     * Creates Katharsis Jackson module with all required serializers
+     * Creates Katharsis Jackson module with all required serializers. A module is created for each call, so the
+     * builder can be used to create modules of several object mappers, e.g. one for each encoding.
      *
      * @param resourceRegistry initialized registry with all of the required resources
      * @return {@link com.fasterxml.jackson.databind.Module} with custom serializers
@@ -22,10 +57,12 @@ public class JsonApiModuleBuilder {
         SimpleModule simpleModule = new SimpleModule(JSON_API_MODULE_NAME,
                 new Version(1, 0, 0, null, null, null));
 
-        simpleModule.addSerializer(new ContainerSerializer(resourceRegistry))
-                .addSerializer(new DataLinksContainerSerializer(resourceRegistry))
-                .addSerializer(new RelationshipContainerSerializer(resourceRegistry))
-                .addSerializer(new LinkageContainerSerializer(resourceRegistry))
+        ResourceSerializationPlans serializationPlans = new ResourceSerializationPlans(resourceRegistry,
+                generatedGetters);
+        simpleModule.addSerializer(new ContainerSerializer(fragmentCache, serializationPlans, relationshipDataMode))
+                .addSerializer(new DataLinksContainerSerializer(serializationPlans))
+                .addSerializer(new RelationshipContainerSerializer(resourceRegistry, serializationPlans))
+                .addSerializer(new LinkageContainerSerializer(serializationPlans))
                 .addSerializer(new BaseResponseSerializer(resourceRegistry))
                 .addSerializer(new ErrorResponseSerializer());
 
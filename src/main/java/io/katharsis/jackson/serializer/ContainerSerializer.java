@@ -1,29 +1,32 @@
 package io.katharsis.jackson.serializer;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
-import io.katharsis.jackson.exception.JsonSerializationException;
+import io.katharsis.cache.JsonFragment;
+import io.katharsis.cache.ResourceFragmentCache;
+import io.katharsis.jackson.serializer.ResourceSerializationPlan.AttributePlan;
+import io.katharsis.jackson.serializer.ResourceSerializationPlan.FieldSelection;
+import io.katharsis.jackson.serializer.ResourceSerializationPlan.RelationshipPlan;
+import io.katharsis.queryParams.include.Inclusion;
 import io.katharsis.queryParams.params.IncludedFieldsParams;
 import io.katharsis.queryParams.params.IncludedRelationsParams;
 import io.katharsis.queryParams.params.TypedParams;
-import io.katharsis.request.dto.Attributes;
 import io.katharsis.resource.field.ResourceField;
-import io.katharsis.resource.information.ResourceInformation;
-import io.katharsis.resource.registry.RegistryEntry;
 import io.katharsis.resource.registry.ResourceRegistry;
+import io.katharsis.response.BaseResponse;
 import io.katharsis.response.Container;
 import io.katharsis.response.DataLinksContainer;
-import io.katharsis.utils.BeanUtils;
-import io.katharsis.utils.ClassUtils;
-import io.katharsis.utils.PropertyUtils;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
-import java.util.List;
-import java.util.Map;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * This class serializes an single resource which can be included in <i>data</i> field of JSON API response.
@@ -32,151 +35,220 @@ import java.util.stream.Collectors;
  */
 public class ContainerSerializer extends JsonSerializer<Container> {
 
-    private static final String TYPE_FIELD_NAME = "type";
-    private static final String ID_FIELD_NAME = "id";
-    private static final String ATTRIBUTES_FIELD_NAME = "attributes";
-    private static final String RELATIONSHIPS_FIELD_NAME = "relationships";
-    private static final String LINKS_FIELD_NAME = "links";
-    private static final String SELF_FIELD_NAME = "self";
+    private static final SerializedString TYPE_FIELD_NAME = new SerializedString("type");
+    private static final SerializedString ID_FIELD_NAME = new SerializedString("id");
+    private static final SerializedString ATTRIBUTES_FIELD_NAME = new SerializedString("attributes");
+    private static final SerializedString RELATIONSHIPS_FIELD_NAME = new SerializedString("relationships");
+    private static final SerializedString LINKS_FIELD_NAME = new SerializedString("links");
+    private static final SerializedString SELF_FIELD_NAME = new SerializedString("self");
 
-    private final ResourceRegistry resourceRegistry;
+    private final ResourceFragmentCache fragmentCache;
+    private final ResourceSerializationPlans serializationPlans;
+    private final RelationshipDataMode relationshipDataMode;
 
     public ContainerSerializer(ResourceRegistry resourceRegistry) {
-        this.resourceRegistry = resourceRegistry;
+        this(resourceRegistry, null);
+    }
+
+    /**
+     * @param resourceRegistry registry with all of the resources
+     * @param fragmentCache    cache of serialized versioned resources, can be null
+     */
+    public ContainerSerializer(ResourceRegistry resourceRegistry, ResourceFragmentCache fragmentCache) {
+        this(fragmentCache, new ResourceSerializationPlans(resourceRegistry));
+    }
+
+    /**
+     * @param fragmentCache      cache of serialized versioned resources, can be null
+     * @param serializationPlans plans of resource types shared with other serializers of the module
+     */
+    public ContainerSerializer(ResourceFragmentCache fragmentCache, ResourceSerializationPlans serializationPlans) {
+        this(fragmentCache, serializationPlans, RelationshipDataMode.ALWAYS);
+    }
+
+    /**
+     * @param fragmentCache        cache of serialized versioned resources, can be null
+     * @param serializationPlans   plans of resource types shared with other serializers of the module
+     * @param relationshipDataMode defines which relationships are written with data
+     */
+    public ContainerSerializer(ResourceFragmentCache fragmentCache, ResourceSerializationPlans serializationPlans,
+                               RelationshipDataMode relationshipDataMode) {
+        this.fragmentCache = fragmentCache;
+        this.serializationPlans = serializationPlans;
+        this.relationshipDataMode = relationshipDataMode;
     }
 
     @Override
     public void serialize(Container value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
 
         if (value != null && value.getData() != null) {
-            gen.writeStartObject();
-
             TypedParams<IncludedFieldsParams> includedFields = value.getResponse()
                 .getQueryParams()
                 .getIncludedFields();
             String elementName = value.getResponse()
                 .getJsonPath()
                 .getElementName();
-            IncludedFieldsParams includedTypeFields = findIncludedFields(includedFields, elementName);
-
-            writeData(gen, value.getData(), includedTypeFields != null ? includedTypeFields.getParams() : null);
-            gen.writeEndObject();
+            IncludedFieldsParams includedTypeFields = includedFields != null
+                ? includedFields.getParams().get(elementName)
+                : null;
+
+            Set<String> fields = includedTypeFields != null ? includedTypeFields.getParams() : null;
+            Object data = value.getData();
+            ResourceSerializationPlan plan = serializationPlans.forResource(data);
+            FieldSelection fieldSelection = plan.selectFields(fields);
+            Set<ResourceField> linksOnlyFields = getLinksOnlyFields(plan, fieldSelection, value.getResponse());
+            if (fragmentCache != null && linksOnlyFields.isEmpty() && canWriteRaw(gen)) {
+                writeCachedData(gen, serializers, plan, fieldSelection, data, fields);
+            } else {
+                gen.writeStartObject();
+                writeData(gen, serializers, plan, fieldSelection, linksOnlyFields, data);
+                gen.writeEndObject();
+            }
         } else {
             gen.writeObject(null);
         }
     }
 
-    private IncludedFieldsParams findIncludedFields(TypedParams<IncludedFieldsParams> includedFields, String
-        elementName) {
-        IncludedFieldsParams includedFieldsParams = null;
-        if (includedFields != null) {
-            for (Map.Entry<String, IncludedFieldsParams> entry : includedFields.getParams()
-                .entrySet()) {
-                if (elementName.equals(entry.getKey())) {
-                    includedFieldsParams = entry.getValue();
+    /**
+     * Returns relationships which should be written without data according to {@link RelationshipDataMode}. A
+     * relationship is included if its name is a part of any inclusion path of the response.
+     */
+    private Set<ResourceField> getLinksOnlyFields(ResourceSerializationPlan plan, FieldSelection fieldSelection,
+                                                  BaseResponse<?> response) {
+        if (relationshipDataMode == RelationshipDataMode.ALWAYS) {
+            return Collections.emptySet();
+        }
+        Set<String> includedRelationships = null;
+        Set<ResourceField> linksOnlyFields = null;
+        for (ResourceField relationshipField : fieldSelection.getRelationshipFields()) {
+            RelationshipPlan relationship = plan.getRelationship(relationshipField.getName());
+            if (relationship.isLinksOnlyUnlessIncluded(relationshipDataMode)) {
+                if (includedRelationships == null) {
+                    includedRelationships = getIncludedRelationships(response);
+                }
+                if (!includedRelationships.contains(relationshipField.getName())) {
+                    if (linksOnlyFields == null) {
+                        linksOnlyFields = new HashSet<>();
+                    }
+                    linksOnlyFields.add(relationshipField);
                 }
             }
         }
-        return includedFieldsParams;
+        return linksOnlyFields != null ? linksOnlyFields : Collections.emptySet();
     }
 
-    /**
-     * Writes a value. Each serialized container must contain type field whose value is string
-     * <a href="http://jsonapi.org/format/#document-structure-resource-types"></a>.
-     */
-    private void writeData(JsonGenerator gen, Object data, Set<String> includedFields) throws IOException {
-        Class<?> dataClass = ClassUtils.getJsonApiResourceClass(data);
-        String resourceType = resourceRegistry.getResourceType(dataClass);
-
-        gen.writeStringField(TYPE_FIELD_NAME, resourceType);
-
-        RegistryEntry entry = resourceRegistry.getEntry(dataClass);
-        ResourceInformation resourceInformation = entry.getResourceInformation();
-        try {
-            writeId(gen, data, resourceInformation.getIdField());
-        } catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
-            throw new JsonSerializationException(
-                "Error writing id field: " + resourceInformation.getIdField().getName());
+    private static Set<String> getIncludedRelationships(BaseResponse<?> response) {
+        TypedParams<IncludedRelationsParams> includedRelations = response.getQueryParams().getIncludedRelations();
+        IncludedRelationsParams includedRelationsParams = includedRelations != null
+            ? includedRelations.getParams().get(response.getJsonPath().getElementName())
+            : null;
+        if (includedRelationsParams == null || includedRelationsParams.getParams() == null) {
+            return Collections.emptySet();
         }
-
-        try {
-            writeAttributes(gen, data, resourceInformation.getAttributeFields(), includedFields);
-        } catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
-            throw new JsonSerializationException("Error writing basic fields: " +
-                resourceInformation.getAttributeFields().stream().map(ResourceField::getName)
-                    .collect(Collectors.toSet()));
+        Set<String> includedRelationships = new HashSet<>();
+        for (Inclusion inclusion : includedRelationsParams.getParams()) {
+            includedRelationships.addAll(inclusion.getPathList());
         }
+        return includedRelationships;
+    }
 
-        Set<ResourceField> relationshipFields = getRelationshipFields(resourceInformation, includedFields);
-        writeRelationshipFields(gen, data, relationshipFields);
-        writeLinksField(gen, data);
+    /**
+     * Raw fragments can be spliced only into plain JSON output, since they have been encoded as compact JSON.
+     */
+    private static boolean canWriteRaw(JsonGenerator gen) {
+        ObjectCodec codec = gen.getCodec();
+        return codec != null
+            && gen.getPrettyPrinter() == null
+            && JsonFactory.FORMAT_NAME_JSON.equals(codec.getFactory().getFormatName());
     }
 
-    private Set<ResourceField> getRelationshipFields(ResourceInformation resourceInformation, Set<String> includedFields) {
-        Set<ResourceField> relationshipFields = resourceInformation.getRelationshipFields();
+    /**
+     * Writes a versioned resource using a fragment from the cache. A missing fragment is serialized using a separate
+     * generator and stored in the cache. Resources without a version are written directly.
+     */
+    private void writeCachedData(JsonGenerator gen, SerializerProvider serializers, ResourceSerializationPlan plan,
+                                 FieldSelection fieldSelection, Object data, Set<String> includedFields)
+        throws IOException {
+        Object version = plan.getVersion(data);
+        if (version == null) {
+            gen.writeStartObject();
+            writeData(gen, serializers, plan, fieldSelection, Collections.emptySet(), data);
+            gen.writeEndObject();
+            return;
+        }
 
-        if (includedFields == null || includedFields.isEmpty()) {
-            return relationshipFields;
-        } else {
-            return relationshipFields
-                .stream()
-                .filter(field -> includedFields.contains(field.getName()))
-                .collect(Collectors.toSet());
+        String resourceType = plan.getResourceType().getValue();
+        Object id = plan.getId(data);
+        JsonFragment fragment = fragmentCache.get(resourceType, id, version, includedFields);
+        if (fragment == null) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            try (JsonGenerator fragmentGenerator = gen.getCodec().getFactory()
+                .createGenerator(outputStream, JsonEncoding.UTF8)) {
+                fragmentGenerator.setCodec(gen.getCodec());
+                fragmentGenerator.writeStartObject();
+                writeData(fragmentGenerator, serializers, plan, fieldSelection, Collections.emptySet(), data);
+                fragmentGenerator.writeEndObject();
+            }
+            fragment = new JsonFragment(outputStream.toByteArray());
+            fragmentCache.put(resourceType, id, version, includedFields, fragment);
         }
+        gen.writeRawValue(fragment);
     }
 
     /**
-     * The id MUST be written as a string
-     * <a href="http://jsonapi.org/format/#document-structure-resource-ids">Resource IDs</a>.
+     * Writes a value. Each serialized container must contain type field whose value is string
+     * <a href="http://jsonapi.org/format/#document-structure-resource-types"></a>.
      */
-    private void writeId(JsonGenerator gen, Object data, ResourceField idField)
-        throws IllegalAccessException, InvocationTargetException, NoSuchMethodException, IOException {
-        String sourceId = BeanUtils.getProperty(data, idField.getName());
-        gen.writeObjectField(ID_FIELD_NAME, sourceId);
+    private void writeData(JsonGenerator gen, SerializerProvider serializers, ResourceSerializationPlan plan,
+                           FieldSelection fieldSelection, Set<ResourceField> linksOnlyFields, Object data)
+        throws IOException {
+        gen.writeFieldName(TYPE_FIELD_NAME);
+        gen.writeString(plan.getResourceType());
+
+        Object id = plan.getId(data);
+        writeId(gen, id);
+        writeAttributes(gen, serializers, fieldSelection, data);
+        writeRelationshipFields(gen, serializers, data, fieldSelection.getRelationshipFields(), linksOnlyFields);
+        writeLinksField(gen, plan, id);
     }
 
-    private void writeAttributes(JsonGenerator gen, Object data, Set<ResourceField> attributeFields,
-                                 Set<String> includedFields)
-        throws IllegalAccessException, InvocationTargetException, NoSuchMethodException, IOException {
-
-        Attributes attributesObject = new Attributes();
-        attributeFields
-            .stream()
-            .filter(attributeField -> isIncluded(includedFields, attributeField))
-            .forEach(attributeField -> {
-                Object basicFieldValue = PropertyUtils.getProperty(data, attributeField.getName());
-                attributesObject.addAttribute(attributeField.getName(), basicFieldValue);
-            });
-        gen.writeObjectField(ATTRIBUTES_FIELD_NAME, attributesObject);
+    /**
+     * The id MUST be written as a string
+     * <a href="http://jsonapi.org/format/#document-structure-resource-ids">Resource IDs</a>.
+     */
+    private void writeId(JsonGenerator gen, Object id) throws IOException {
+        gen.writeFieldName(ID_FIELD_NAME);
+        ResourceIdWriter.writeId(gen, id);
     }
 
-    private boolean isIncluded(Set<String> includedFields, ResourceField attributeField) {
-        return includedFields == null || includedFields.isEmpty() || includedFields.contains(attributeField.getName());
+    private void writeAttributes(JsonGenerator gen, SerializerProvider serializers, FieldSelection fieldSelection,
+                                 Object data) throws IOException {
+        gen.writeFieldName(ATTRIBUTES_FIELD_NAME);
+        gen.writeStartObject();
+        for (int i = fieldSelection.nextAttribute(0); i >= 0; i = fieldSelection.nextAttribute(i + 1)) {
+            AttributePlan attribute = fieldSelection.getAttribute(i);
+            gen.writeFieldName(attribute.getName());
+            serializers.defaultSerializeValue(attribute.getValue(data), gen);
+        }
+        gen.writeEndObject();
     }
 
-    private void writeRelationshipFields(JsonGenerator gen, Object data, Set<ResourceField> relationshipFields)
+    private void writeRelationshipFields(JsonGenerator gen, SerializerProvider serializers, Object data,
+                                         Set<ResourceField> relationshipFields, Set<ResourceField> linksOnlyFields)
         throws IOException {
-        DataLinksContainer dataLinksContainer = new DataLinksContainer(data, relationshipFields);
-        gen.writeObjectField(RELATIONSHIPS_FIELD_NAME, dataLinksContainer);
+        DataLinksContainer dataLinksContainer = new DataLinksContainer(data, relationshipFields, linksOnlyFields);
+        gen.writeFieldName(RELATIONSHIPS_FIELD_NAME);
+        serializers.defaultSerializeValue(dataLinksContainer, gen);
     }
 
-    private void writeLinksField(JsonGenerator gen, Object data) throws IOException {
+    private void writeLinksField(JsonGenerator gen, ResourceSerializationPlan plan, Object id) throws IOException {
         gen.writeFieldName(LINKS_FIELD_NAME);
         gen.writeStartObject();
-        writeSelfLink(gen, data);
+        gen.writeFieldName(SELF_FIELD_NAME);
+        plan.getSelfLink().write(gen, id);
         gen.writeEndObject();
     }
 
-    private void writeSelfLink(JsonGenerator gen, Object data) throws IOException {
-        Class<?> sourceClass = data.getClass();
-        String resourceUrl = resourceRegistry.getResourceUrl(sourceClass);
-        RegistryEntry entry = resourceRegistry.getEntry(sourceClass);
-        ResourceField idField = entry.getResourceInformation().getIdField();
-
-        Object sourceId = PropertyUtils.getProperty(data, idField.getName());
-        gen.writeStringField(SELF_FIELD_NAME, resourceUrl + "/" + sourceId);
-    }
-
     public Class<Container> handledType() {
         return Container.class;
     }
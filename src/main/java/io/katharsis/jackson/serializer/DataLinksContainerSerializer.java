@@ -16,16 +16,28 @@ import java.io.IOException;
  */
 public class DataLinksContainerSerializer extends JsonSerializer<DataLinksContainer> {
 
+    private final ResourceSerializationPlans serializationPlans;
+
     public DataLinksContainerSerializer(ResourceRegistry resourceRegistry) {
+        this(new ResourceSerializationPlans(resourceRegistry));
+    }
+
+    /**
+     * @param serializationPlans plans of resource types shared with other serializers of the module
+     */
+    public DataLinksContainerSerializer(ResourceSerializationPlans serializationPlans) {
+        this.serializationPlans = serializationPlans;
     }
 
     @Override
     public void serialize(DataLinksContainer dataLinksContainer, JsonGenerator gen, SerializerProvider serializers) throws IOException {
         gen.writeStartObject();
 
+        ResourceSerializationPlan plan = serializationPlans.forResource(dataLinksContainer.getData());
         for (ResourceField field : dataLinksContainer.getRelationshipFields()) {
             RelationshipContainer relationshipContainer = new RelationshipContainer(dataLinksContainer, field);
-            gen.writeObjectField(field.getName(), relationshipContainer);
+            gen.writeFieldName(plan.getRelationship(field.getName()).getName());
+            serializers.defaultSerializeValue(relationshipContainer, gen);
         }
 
         gen.writeEndObject();
@@ -1,15 +1,13 @@
 package io.katharsis.jackson.serializer;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
-import io.katharsis.resource.field.ResourceField;
 import io.katharsis.resource.registry.ResourceRegistry;
 import io.katharsis.response.LinkageContainer;
-import io.katharsis.utils.BeanUtils;
 
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
 
 /**
  * Serializes a single linkage object.
@@ -18,39 +16,34 @@ import java.lang.reflect.InvocationTargetException;
  */
 public class LinkageContainerSerializer extends JsonSerializer<LinkageContainer> {
 
-    private static final String TYPE_FIELD_NAME = "type";
-    private static final String ID_FIELD_NAME = "id";
+    private static final SerializedString TYPE_FIELD_NAME = new SerializedString("type");
+    private static final SerializedString ID_FIELD_NAME = new SerializedString("id");
 
-    private final ResourceRegistry resourceRegistry;
+    private final ResourceSerializationPlans serializationPlans;
 
     public LinkageContainerSerializer(ResourceRegistry resourceRegistry) {
-        this.resourceRegistry = resourceRegistry;
+        this(new ResourceSerializationPlans(resourceRegistry));
+    }
+
+    /**
+     * @param serializationPlans plans of resource types shared with other serializers of the module
+     */
+    public LinkageContainerSerializer(ResourceSerializationPlans serializationPlans) {
+        this.serializationPlans = serializationPlans;
     }
 
     @Override
     public void serialize(LinkageContainer linkageContainer, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        ResourceSerializationPlan plan = serializationPlans.forClass(linkageContainer.getRelationshipClass());
         gen.writeStartObject();
-        writeType(gen, linkageContainer.getRelationshipClass());
-        try {
-            writeId(gen, linkageContainer);
-        } catch (IllegalAccessException | NoSuchMethodException | InvocationTargetException e) {
-            e.printStackTrace();
-        }
+        gen.writeFieldName(TYPE_FIELD_NAME);
+        gen.writeString(plan.getResourceType());
+        gen.writeFieldName(ID_FIELD_NAME);
+        Object objectItem = linkageContainer.getObjectItem();
+        ResourceIdWriter.writeId(gen, objectItem != null ? plan.getId(objectItem) : linkageContainer.getTargetId());
         gen.writeEndObject();
     }
 
-    private void writeType(JsonGenerator gen, Class<?> relationshipClass) throws IOException {
-        String resourceType = resourceRegistry.getResourceType(relationshipClass);
-        gen.writeObjectField(TYPE_FIELD_NAME, resourceType);
-    }
-
-    private void writeId(JsonGenerator gen, LinkageContainer linkageContainer)
-            throws IllegalAccessException, InvocationTargetException, NoSuchMethodException, IOException {
-        ResourceField idField = linkageContainer.getRelationshipEntry().getResourceInformation().getIdField();
-        String sourceId = BeanUtils.getProperty(linkageContainer.getObjectItem(), idField.getName());
-        gen.writeObjectField(ID_FIELD_NAME, sourceId);
-    }
-
     public Class<LinkageContainer> handledType() {
         return LinkageContainer.class;
     }
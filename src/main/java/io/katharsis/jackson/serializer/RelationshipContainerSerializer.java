@@ -1,20 +1,20 @@
 package io.katharsis.jackson.serializer;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
-import io.katharsis.jackson.exception.JsonSerializationException;
-import io.katharsis.request.path.PathBuilder;
-import io.katharsis.resource.field.ResourceField;
+import io.katharsis.jackson.serializer.ResourceSerializationPlan.RelationshipPlan;
 import io.katharsis.resource.registry.RegistryEntry;
 import io.katharsis.resource.registry.ResourceRegistry;
 import io.katharsis.response.LinkageContainer;
+import io.katharsis.response.LinkageLinksInformation;
 import io.katharsis.response.RelationshipContainer;
-import io.katharsis.utils.Generics;
-import io.katharsis.utils.PropertyUtils;
 
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Serializes a relationship inside of top-level links object
@@ -24,105 +24,148 @@ import java.lang.reflect.InvocationTargetException;
  */
 public class RelationshipContainerSerializer extends JsonSerializer<RelationshipContainer> {
 
-    private static final String SELF_FIELD_NAME = "self";
-    private static final String RELATED_FIELD_NAME = "related";
-    private static final String DATA_FIELD_NAME = "data";
-    private static final String LINKS_FIELD_NAME = "links";
+    private static final SerializedString SELF_FIELD_NAME = new SerializedString("self");
+    private static final SerializedString RELATED_FIELD_NAME = new SerializedString("related");
+    private static final SerializedString DATA_FIELD_NAME = new SerializedString("data");
+    private static final SerializedString LINKS_FIELD_NAME = new SerializedString("links");
+    private static final SerializedString NEXT_FIELD_NAME = new SerializedString("next");
+    private static final SerializedString META_FIELD_NAME = new SerializedString("meta");
+    private static final SerializedString TOTAL_FIELD_NAME = new SerializedString("total");
 
     private final ResourceRegistry resourceRegistry;
+    private final ResourceSerializationPlans serializationPlans;
 
     public RelationshipContainerSerializer(ResourceRegistry resourceRegistry) {
+        this(resourceRegistry, new ResourceSerializationPlans(resourceRegistry));
+    }
+
+    /**
+     * @param resourceRegistry   registry with all of the resources
+     * @param serializationPlans plans of resource types shared with other serializers of the module
+     */
+    public RelationshipContainerSerializer(ResourceRegistry resourceRegistry,
+                                           ResourceSerializationPlans serializationPlans) {
         this.resourceRegistry = resourceRegistry;
+        this.serializationPlans = serializationPlans;
     }
 
     @Override
     public void serialize(RelationshipContainer relationshipContainer, JsonGenerator gen, SerializerProvider provider)
         throws IOException {
+        Object data = relationshipContainer.getDataLinksContainer().getData();
+        ResourceSerializationPlan plan = serializationPlans.forResource(data);
+        RelationshipPlan relationship = plan.getRelationship(relationshipContainer.getRelationshipField().getName());
+
+        Object sourceId = plan.getId(data);
         gen.writeStartObject();
-        writeLinks(relationshipContainer, gen);
-        writeLinkage(relationshipContainer, gen);
+        if (relationshipContainer.getDataLinksContainer().getLinksOnlyFields()
+            .contains(relationshipContainer.getRelationshipField())) {
+            writeLinks(gen, relationship, sourceId, -1);
+        } else if (relationship.isToMany() && relationship.getLinkageLimit() >= 0) {
+            writeCappedLinkage(gen, provider, relationship, sourceId, relationship.getValue(data));
+        } else {
+            writeLinks(gen, relationship, sourceId, -1);
+            writeLinkage(gen, provider, relationship, data);
+        }
         gen.writeEndObject();
     }
 
-    private void writeLinks(RelationshipContainer relationshipContainer, JsonGenerator gen) throws IOException {
+    /**
+     * @param nextOffset offset of the next page of the linkage or a negative number if there is none
+     */
+    private void writeLinks(JsonGenerator gen, RelationshipPlan relationship, Object sourceId, long nextOffset)
+        throws IOException {
         gen.writeFieldName(LINKS_FIELD_NAME);
         gen.writeStartObject();
-        writeLink(relationshipContainer, gen, SELF_FIELD_NAME, true);
-        writeLink(relationshipContainer, gen, RELATED_FIELD_NAME, false);
+        gen.writeFieldName(SELF_FIELD_NAME);
+        relationship.getSelfLink().write(gen, sourceId);
+        gen.writeFieldName(RELATED_FIELD_NAME);
+        relationship.getRelatedLink().write(gen, sourceId);
+        if (nextOffset >= 0) {
+            gen.writeFieldName(NEXT_FIELD_NAME);
+            gen.writeString(LinkageLinksInformation.nextPageLink(relationship.getSelfLink().toString(sourceId),
+                nextOffset, relationship.getLinkageLimit()));
+        }
         gen.writeEndObject();
     }
 
-    private void writeLink(RelationshipContainer relationshipContainer, JsonGenerator gen, String fieldName,
-                           boolean addLinks) throws IOException {
-        Object data = relationshipContainer.getDataLinksContainer().getData();
-        Class<?> sourceClass = data.getClass();
-        String resourceUrl = resourceRegistry.getResourceUrl(sourceClass);
-        RegistryEntry entry = resourceRegistry.getEntry(sourceClass);
-        ResourceField idField = entry.getResourceInformation().getIdField();
-
-        Object sourceId = PropertyUtils.getProperty(data, idField.getName());
-        String url = resourceUrl + "/" + sourceId + (addLinks ? "/" + PathBuilder.RELATIONSHIP_MARK + "/" : "/")
-            + relationshipContainer.getRelationshipField().getName();
-        gen.writeStringField(fieldName, url);
-    }
-
     /**
-     * Here it is needed to check actual generic type of a class. To achieve that {@code Class::getType} method cannot
-     * be used because of type erasure.
-     *
-     * @param relationshipContainer
-     * @param gen
-     * @throws IOException
+     * Writes at most {@link RelationshipPlan#getLinkageLimit()} identifiers. If the relationship has more members, the
+     * link to the next page of the linkage is added. The total count is written to meta if the relationship is a
+     * collection; other iterables are read only up to the first member after the limit.
      */
-    private void writeLinkage(RelationshipContainer relationshipContainer, JsonGenerator gen) throws IOException {
-        Class baseClass = relationshipContainer.getRelationshipField().getType();
-        Class relationshipClass = Generics
-            .getResourceClass(relationshipContainer.getRelationshipField().getGenericType(), baseClass);
-        RegistryEntry relationshipEntry = resourceRegistry.getEntry(relationshipClass);
+    private void writeCappedLinkage(JsonGenerator gen, SerializerProvider provider, RelationshipPlan relationship,
+                                    Object sourceId, Object targetDataObj) throws IOException {
+        int linkageLimit = relationship.getLinkageLimit();
+        List<Object> linkage = new ArrayList<>();
+        boolean capped = false;
+        if (targetDataObj != null) {
+            for (Object objectItem : (Iterable) targetDataObj) {
+                if (linkage.size() == linkageLimit) {
+                    capped = true;
+                    break;
+                }
+                linkage.add(objectItem);
+            }
+        }
 
+        writeLinks(gen, relationship, sourceId, capped ? linkageLimit : -1);
         gen.writeFieldName(DATA_FIELD_NAME);
-        writeLinkageField(relationshipContainer, gen, baseClass, relationshipClass, relationshipEntry);
+        writeToManyLinkage(gen, provider, linkage, relationship.getTargetClass(), getTargetEntry(relationship));
+        if (capped && targetDataObj instanceof Collection) {
+            gen.writeFieldName(META_FIELD_NAME);
+            gen.writeStartObject();
+            gen.writeFieldName(TOTAL_FIELD_NAME);
+            gen.writeNumber(((Collection) targetDataObj).size());
+            gen.writeEndObject();
+        }
     }
 
-    private void writeLinkageField(RelationshipContainer relationshipContainer, JsonGenerator gen, Class baseClass,
-                                   Class relationshipClass, RegistryEntry relationshipEntry)
-        throws IOException {
-        try {
-            if (Iterable.class.isAssignableFrom(baseClass)) {
-                writeToManyLinkage(relationshipContainer, gen, relationshipClass, relationshipEntry);
-            } else {
-                writeToOneLinkage(relationshipContainer, gen, relationshipClass, relationshipEntry);
-            }
-        } catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
-            throw new JsonSerializationException("Error writing linkage field");
+    private RegistryEntry getTargetEntry(RelationshipPlan relationship) {
+        RegistryEntry relationshipEntry = relationship.getTargetEntry();
+        if (relationshipEntry == null) {
+            relationshipEntry = resourceRegistry.getEntry(relationship.getTargetClass());
         }
+        return relationshipEntry;
     }
 
-    private void writeToManyLinkage(RelationshipContainer relationshipContainer, JsonGenerator gen,
-                                    Class relationshipClass, RegistryEntry relationshipEntry)
-        throws IOException, IllegalAccessException, NoSuchMethodException, InvocationTargetException {
-        ResourceField relationshipField = relationshipContainer.getRelationshipField();
-        Object targetDataObj = PropertyUtils
-            .getProperty(relationshipContainer.getDataLinksContainer().getData(), relationshipField.getName());
+    /**
+     * Here it is needed to check actual generic type of a class. To achieve that {@code Class::getType} method cannot
+     * be used because of type erasure, so the type is resolved once by a {@link RelationshipPlan}.
+     */
+    private void writeLinkage(JsonGenerator gen, SerializerProvider provider, RelationshipPlan relationship,
+                              Object data) throws IOException {
+        Class<?> relationshipClass = relationship.getTargetClass();
+        RegistryEntry relationshipEntry = getTargetEntry(relationship);
+
+        gen.writeFieldName(DATA_FIELD_NAME);
+        Object targetDataObj = relationship.getValue(data);
+        if (relationship.isToMany()) {
+            writeToManyLinkage(gen, provider, targetDataObj, relationshipClass, relationshipEntry);
+        } else {
+            writeToOneLinkage(gen, provider, targetDataObj, relationshipClass, relationshipEntry);
+        }
+    }
 
+    private void writeToManyLinkage(JsonGenerator gen, SerializerProvider provider, Object targetDataObj,
+                                    Class<?> relationshipClass, RegistryEntry relationshipEntry) throws IOException {
         gen.writeStartArray();
         if (targetDataObj != null) {
             for (Object objectItem : (Iterable) targetDataObj) {
-                gen.writeObject(new LinkageContainer(objectItem, relationshipClass, relationshipEntry));
+                provider.defaultSerializeValue(new LinkageContainer(objectItem, relationshipClass, relationshipEntry),
+                    gen);
             }
         }
         gen.writeEndArray();
     }
 
-    private void writeToOneLinkage(RelationshipContainer relationshipContainer, JsonGenerator gen,
-                                   Class<?> relationshipClass, RegistryEntry relationshipEntry)
-        throws IOException, IllegalAccessException, NoSuchMethodException, InvocationTargetException {
-        ResourceField relationshipField = relationshipContainer.getRelationshipField();
-        Object targetDataObj = PropertyUtils.getProperty(relationshipContainer.getDataLinksContainer().getData(), relationshipField.getName());
+    private void writeToOneLinkage(JsonGenerator gen, SerializerProvider provider, Object targetDataObj,
+                                   Class<?> relationshipClass, RegistryEntry relationshipEntry) throws IOException {
         if (targetDataObj == null) {
-            gen.writeObject(null);
+            gen.writeNull();
         } else {
-            gen.writeObject(new LinkageContainer(targetDataObj, relationshipClass, relationshipEntry));
+            provider.defaultSerializeValue(new LinkageContainer(targetDataObj, relationshipClass, relationshipEntry),
+                gen);
         }
     }
 
@@ -0,0 +1,28 @@
+package io.katharsis.jackson.serializer;
+
+/**
+ * Defines which relationships of a resource are written with <i>data</i> field containing resource linkage. A
+ * relationship written without data contains only <i>links</i> and its value is not read from the resource, so e.g. a
+ * lazily loaded ORM association is not initialized.
+ * <p>
+ * Relationships requested using <i>include</i> parameter or annotated with
+ * {@link io.katharsis.resource.annotations.JsonApiIncludeByDefault} are always written with data.
+ */
+public enum RelationshipDataMode {
+
+    /**
+     * All relationships are written with data.
+     */
+    ALWAYS,
+
+    /**
+     * Relationships marked as lazy using {@link io.katharsis.resource.annotations.JsonApiToMany#lazy()} are written
+     * with data only if they are included.
+     */
+    LAZY_AS_LINKS,
+
+    /**
+     * All relationships are written with data only if they are included.
+     */
+    INCLUDED_ONLY
+}
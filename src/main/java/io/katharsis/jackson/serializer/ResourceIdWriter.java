@@ -0,0 +1,66 @@
+package io.katharsis.jackson.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * Writes resource identifiers. The id MUST be written as a string
+ * <a href="http://jsonapi.org/format/#document-structure-resource-ids">Resource IDs</a>, so integral identifiers are
+ * formatted into a reused buffer instead of creating a {@link String} for each of them.
+ */
+final class ResourceIdWriter {
+
+    private static final int MAX_LONG_LENGTH = 20;
+    private static final ThreadLocal<char[]> BUFFERS = ThreadLocal.withInitial(() -> new char[MAX_LONG_LENGTH]);
+
+    private ResourceIdWriter() {
+    }
+
+    static void writeId(JsonGenerator gen, Object id) throws IOException {
+        if (id instanceof Long || id instanceof Integer || id instanceof Short || id instanceof Byte) {
+            writeLong(gen, ((Number) id).longValue());
+        } else {
+            gen.writeString(String.valueOf(id));
+        }
+    }
+
+    static void writeLong(JsonGenerator gen, long id) throws IOException {
+        if (id == Long.MIN_VALUE) {
+            gen.writeString(String.valueOf(id));
+            return;
+        }
+        char[] buffer = BUFFERS.get();
+        int position = format(id, buffer);
+        gen.writeString(buffer, position, buffer.length - position);
+    }
+
+    /**
+     * Writes the digits of an identifier as raw text, e.g. inside a link written by {@link ResourceLinkTemplate}.
+     */
+    static void writeRawLong(JsonGenerator gen, long id) throws IOException {
+        if (id == Long.MIN_VALUE) {
+            gen.writeRaw(String.valueOf(id));
+            return;
+        }
+        char[] buffer = BUFFERS.get();
+        int position = format(id, buffer);
+        gen.writeRaw(buffer, position, buffer.length - position);
+    }
+
+    /**
+     * @return position of the first character of the formatted identifier, which ends at the end of the buffer
+     */
+    private static int format(long id, char[] buffer) {
+        int position = buffer.length;
+        long remainder = Math.abs(id);
+        do {
+            buffer[--position] = (char) ('0' + remainder % 10);
+            remainder /= 10;
+        } while (remainder != 0);
+        if (id < 0) {
+            buffer[--position] = '-';
+        }
+        return position;
+    }
+}
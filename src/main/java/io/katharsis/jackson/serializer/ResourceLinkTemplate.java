@@ -0,0 +1,62 @@
+package io.katharsis.jackson.serializer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+
+/**
+ * Link of a resource consisting of a constant prefix, the id of the resource and a constant suffix. Text JSON
+ * generators get the escaped prefix and suffix as raw values around the id, so no {@link String} is created for each
+ * written link. Other generators, e.g. of binary formats, get the concatenated link.
+ */
+final class ResourceLinkTemplate {
+
+    private final String prefix;
+    private final String suffix;
+    private final String rawPrefix;
+    private final SerializedString rawSuffix;
+
+    ResourceLinkTemplate(String prefix, String suffix) {
+        this.prefix = prefix;
+        this.suffix = suffix;
+        JsonStringEncoder encoder = JsonStringEncoder.getInstance();
+        this.rawPrefix = '"' + new String(encoder.quoteAsString(prefix));
+        this.rawSuffix = new SerializedString(new String(encoder.quoteAsString(suffix)) + '"');
+    }
+
+    String toString(Object id) {
+        return prefix + id + suffix;
+    }
+
+    void write(JsonGenerator gen, Object id) throws IOException {
+        if (!writesRawText(gen)) {
+            gen.writeString(toString(id));
+            return;
+        }
+        gen.writeRawValue(rawPrefix);
+        if (id instanceof Long || id instanceof Integer || id instanceof Short || id instanceof Byte) {
+            ResourceIdWriter.writeRawLong(gen, ((Number) id).longValue());
+        } else {
+            char[] escapedId = JsonStringEncoder.getInstance().quoteAsString(String.valueOf(id));
+            gen.writeRaw(escapedId, 0, escapedId.length);
+        }
+        gen.writeRaw(rawSuffix);
+    }
+
+    /**
+     * Raw text is written the same way as {@link JsonGenerator#writeString(String)} would write it only by text JSON
+     * generators with the default escaping. The format is known only for generators created by an
+     * {@link com.fasterxml.jackson.databind.ObjectMapper}.
+     */
+    private static boolean writesRawText(JsonGenerator gen) {
+        ObjectCodec codec = gen.getCodec();
+        return codec != null
+            && JsonFactory.FORMAT_NAME_JSON.equals(codec.getFactory().getFormatName())
+            && gen.getCharacterEscapes() == null
+            && gen.getHighestEscapedChar() == 0;
+    }
+}
@@ -0,0 +1,342 @@
+package io.katharsis.jackson.serializer;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+import io.katharsis.jackson.exception.JsonSerializationException;
+import io.katharsis.request.path.PathBuilder;
+import io.katharsis.resource.annotations.JsonApiIncludeByDefault;
+import io.katharsis.resource.exception.init.ResourceNotFoundInitializationException;
+import io.katharsis.resource.field.ResourceField;
+import io.katharsis.resource.information.ResourceInformation;
+import io.katharsis.resource.registry.RegistryEntry;
+import io.katharsis.resource.registry.ResourceRegistry;
+import io.katharsis.utils.Generics;
+import io.katharsis.utils.PropertyGetter;
+import io.katharsis.utils.PropertyUtils;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Everything needed to serialize resources of a single type which does not depend on a resource instance: encoded
+ * type and field names, resolved property getters and prefixes of links. A plan is built once per type by
+ * {@link ResourceSerializationPlans}.
+ */
+final class ResourceSerializationPlan {
+
+    /**
+     * Sparse fieldsets are sent by clients, so the number of compiled combinations per type is limited.
+     */
+    private static final int MAX_FIELD_SELECTIONS = 256;
+
+    private final Class<?> resourceClass;
+    private final boolean generatedGetters;
+    private final ResourceInformation resourceInformation;
+    private final SerializedString resourceType;
+    private final PropertyGetter idGetter;
+    private final PropertyGetter versionGetter;
+    private final List<AttributePlan> attributes;
+    private final Map<String, RelationshipPlan> relationships;
+    private final String resourceUrlPrefix;
+    private final ResourceLinkTemplate selfLink;
+    private final FieldSelection allFields;
+    private final ConcurrentMap<Set<String>, FieldSelection> fieldSelections = new ConcurrentHashMap<>();
+    private volatile FieldSelection lastFieldSelection;
+
+    ResourceSerializationPlan(ResourceRegistry resourceRegistry, Class<?> resourceClass, boolean generatedGetters) {
+        RegistryEntry registryEntry = resourceRegistry.getEntry(resourceClass);
+        this.resourceClass = resourceClass;
+        this.generatedGetters = generatedGetters;
+        this.resourceInformation = registryEntry.getResourceInformation();
+        this.resourceType = new SerializedString(resourceRegistry.getResourceType(resourceClass));
+        this.idGetter = getter(resourceInformation.getIdField());
+        this.versionGetter = resourceInformation.getVersionField() != null
+            ? getter(resourceInformation.getVersionField())
+            : null;
+        this.resourceUrlPrefix = resourceRegistry.getResourceUrl(resourceClass) + "/";
+        this.selfLink = new ResourceLinkTemplate(resourceUrlPrefix, "");
+
+        List<AttributePlan> attributes = new ArrayList<>(resourceInformation.getAttributeFields().size());
+        for (ResourceField attributeField : resourceInformation.getAttributeFields()) {
+            attributes.add(new AttributePlan(attributeField, getter(attributeField)));
+        }
+        this.attributes = Collections.unmodifiableList(attributes);
+
+        Map<String, RelationshipPlan> relationships = new HashMap<>();
+        for (ResourceField relationshipField : resourceInformation.getRelationshipFields()) {
+            relationships.put(relationshipField.getName(),
+                new RelationshipPlan(resourceRegistry, relationshipField, getter(relationshipField)));
+        }
+        this.relationships = Collections.unmodifiableMap(relationships);
+
+        BitSet allFieldsMask = new BitSet(attributes.size());
+        allFieldsMask.set(0, attributes.size());
+        this.allFields = new FieldSelection(null, allFieldsMask, resourceInformation.getRelationshipFields());
+    }
+
+    private PropertyGetter getter(ResourceField field) {
+        return PropertyUtils.getPropertyGetter(resourceClass, field.getName(), generatedGetters);
+    }
+
+    Class<?> getResourceClass() {
+        return resourceClass;
+    }
+
+    ResourceInformation getResourceInformation() {
+        return resourceInformation;
+    }
+
+    SerializedString getResourceType() {
+        return resourceType;
+    }
+
+    /**
+     * @throws JsonSerializationException if the id cannot be read
+     */
+    Object getId(Object resource) {
+        try {
+            return idGetter.get(resource);
+        } catch (RuntimeException e) {
+            throw new JsonSerializationException(
+                "Error writing id field: " + resourceInformation.getIdField().getName());
+        }
+    }
+
+    /**
+     * The id MUST be written as a string
+     * <a href="http://jsonapi.org/format/#document-structure-resource-ids">Resource IDs</a>, converted the same way
+     * as {@link io.katharsis.utils.BeanUtils#getProperty(Object, String)} does.
+     */
+    String getStringId(Object resource) {
+        return String.valueOf(getId(resource));
+    }
+
+    /**
+     * @return version of a resource or null if the type is not versioned
+     */
+    Object getVersion(Object resource) {
+        return versionGetter != null ? versionGetter.get(resource) : null;
+    }
+
+    List<AttributePlan> getAttributes() {
+        return attributes;
+    }
+
+    RelationshipPlan getRelationship(String name) {
+        return relationships.get(name);
+    }
+
+    ResourceLinkTemplate getSelfLink() {
+        return selfLink;
+    }
+
+    /**
+     * Returns fields selected by a sparse fieldset. Selections are compiled once per combination of field names and
+     * the last used one is checked first, since all resources of a response share the same set instance.
+     *
+     * @param includedFields names of requested fields, null or empty if all fields are requested
+     * @return selected fields
+     */
+    FieldSelection selectFields(Set<String> includedFields) {
+        if (includedFields == null || includedFields.isEmpty()) {
+            return allFields;
+        }
+        FieldSelection fieldSelection = lastFieldSelection;
+        if (fieldSelection != null && fieldSelection.includedFields == includedFields) {
+            return fieldSelection;
+        }
+        fieldSelection = fieldSelections.get(includedFields);
+        if (fieldSelection == null) {
+            fieldSelection = compileFieldSelection(includedFields);
+            if (fieldSelections.size() < MAX_FIELD_SELECTIONS) {
+                fieldSelections.putIfAbsent(includedFields, fieldSelection);
+            }
+        }
+        lastFieldSelection = fieldSelection;
+        return fieldSelection;
+    }
+
+    private FieldSelection compileFieldSelection(Set<String> includedFields) {
+        BitSet attributeMask = new BitSet(attributes.size());
+        for (int i = 0; i < attributes.size(); i++) {
+            if (includedFields.contains(attributes.get(i).getName().getValue())) {
+                attributeMask.set(i);
+            }
+        }
+        Set<ResourceField> relationshipFields = new LinkedHashSet<>();
+        for (ResourceField relationshipField : resourceInformation.getRelationshipFields()) {
+            if (includedFields.contains(relationshipField.getName())) {
+                relationshipFields.add(relationshipField);
+            }
+        }
+        return new FieldSelection(includedFields, attributeMask, Collections.unmodifiableSet(relationshipFields));
+    }
+
+    /**
+     * Fields of a type selected by a sparse fieldset. Attributes are stored as a mask over the ordered list of
+     * attributes of the type.
+     */
+    final class FieldSelection {
+        private final Set<String> includedFields;
+        private final BitSet attributeMask;
+        private final Set<ResourceField> relationshipFields;
+
+        private FieldSelection(Set<String> includedFields, BitSet attributeMask,
+                               Set<ResourceField> relationshipFields) {
+            this.includedFields = includedFields;
+            this.attributeMask = attributeMask;
+            this.relationshipFields = relationshipFields;
+        }
+
+        /**
+         * @param fromIndex index to start from, inclusive
+         * @return index of the next selected attribute or -1 if there are no more
+         */
+        int nextAttribute(int fromIndex) {
+            return attributeMask.nextSetBit(fromIndex);
+        }
+
+        AttributePlan getAttribute(int index) {
+            return attributes.get(index);
+        }
+
+        Set<ResourceField> getRelationshipFields() {
+            return relationshipFields;
+        }
+    }
+
+    static final class AttributePlan {
+        private final ResourceField field;
+        private final SerializedString name;
+        private final PropertyGetter getter;
+
+        private AttributePlan(ResourceField field, PropertyGetter getter) {
+            this.field = field;
+            this.name = new SerializedString(field.getName());
+            this.getter = getter;
+        }
+
+        ResourceField getField() {
+            return field;
+        }
+
+        SerializedString getName() {
+            return name;
+        }
+
+        /**
+         * @throws JsonSerializationException if the attribute cannot be read
+         */
+        Object getValue(Object resource) {
+            try {
+                return getter.get(resource);
+            } catch (RuntimeException e) {
+                throw new JsonSerializationException("Error writing basic field: " + field.getName());
+            }
+        }
+    }
+
+    final class RelationshipPlan {
+        private final ResourceField field;
+        private final SerializedString name;
+        private final PropertyGetter getter;
+        private final boolean toMany;
+        private final boolean lazy;
+        private final boolean includedByDefault;
+        private final int linkageLimit;
+        private final Class<?> targetClass;
+        private final RegistryEntry targetEntry;
+        private final ResourceLinkTemplate selfLink;
+        private final ResourceLinkTemplate relatedLink;
+
+        private RelationshipPlan(ResourceRegistry resourceRegistry, ResourceField field, PropertyGetter getter) {
+            this.field = field;
+            this.name = new SerializedString(field.getName());
+            this.getter = getter;
+            this.toMany = Iterable.class.isAssignableFrom(field.getType());
+            this.lazy = field.isLazy();
+            this.includedByDefault = field.isAnnotationPresent(JsonApiIncludeByDefault.class);
+            this.linkageLimit = toMany ? field.getLinkageLimit() : -1;
+            this.targetClass = Generics.getResourceClass(field.getGenericType(), field.getType());
+            this.targetEntry = findEntry(resourceRegistry, targetClass);
+            this.selfLink = new ResourceLinkTemplate(resourceUrlPrefix,
+                "/" + PathBuilder.RELATIONSHIP_MARK + "/" + field.getName());
+            this.relatedLink = new ResourceLinkTemplate(resourceUrlPrefix, "/" + field.getName());
+        }
+
+        ResourceField getField() {
+            return field;
+        }
+
+        SerializedString getName() {
+            return name;
+        }
+
+        Object getValue(Object resource) {
+            return getter.get(resource);
+        }
+
+        boolean isToMany() {
+            return toMany;
+        }
+
+        /**
+         * @param relationshipDataMode mode of the serializer
+         * @return true if the relationship should be written without data unless it is included
+         */
+        boolean isLinksOnlyUnlessIncluded(RelationshipDataMode relationshipDataMode) {
+            if (includedByDefault) {
+                return false;
+            }
+            switch (relationshipDataMode) {
+                case INCLUDED_ONLY:
+                    return true;
+                case LAZY_AS_LINKS:
+                    return lazy;
+                default:
+                    return false;
+            }
+        }
+
+        /**
+         * @return maximum number of identifiers written as linkage or a negative number if it is not limited
+         */
+        int getLinkageLimit() {
+            return linkageLimit;
+        }
+
+        Class<?> getTargetClass() {
+            return targetClass;
+        }
+
+        /**
+         * @return entry of the target type or null if the type is not registered
+         */
+        RegistryEntry getTargetEntry() {
+            return targetEntry;
+        }
+
+        ResourceLinkTemplate getSelfLink() {
+            return selfLink;
+        }
+
+        ResourceLinkTemplate getRelatedLink() {
+            return relatedLink;
+        }
+    }
+
+    private static RegistryEntry findEntry(ResourceRegistry resourceRegistry, Class<?> resourceClass) {
+        try {
+            return resourceRegistry.getEntry(resourceClass);
+        } catch (ResourceNotFoundInitializationException e) {
+            return null;
+        }
+    }
+}
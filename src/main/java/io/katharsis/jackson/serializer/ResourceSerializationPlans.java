@@ -0,0 +1,65 @@
+package io.katharsis.jackson.serializer;
+
+import io.katharsis.resource.exception.init.ResourceNotFoundInitializationException;
+import io.katharsis.resource.registry.ResourceRegistry;
+import io.katharsis.utils.ClassUtils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds serialization plans of resource types, built on first use. Plans are looked up by a runtime class of a
+ * resource, so subclasses and proxies of a resource class are resolved only once. A single instance should be shared
+ * by all serializers of a module.
+ * <p>
+ * Optionally, getters of resource properties can be called by classes generated at runtime instead of reflection,
+ * falling back to reflection for each property which cannot be accessed that way.
+ */
+public class ResourceSerializationPlans {
+
+    private final ResourceRegistry resourceRegistry;
+    private final boolean generatedGetters;
+    private final ConcurrentMap<Class<?>, ResourceSerializationPlan> plans = new ConcurrentHashMap<>();
+
+    public ResourceSerializationPlans(ResourceRegistry resourceRegistry) {
+        this(resourceRegistry, false);
+    }
+
+    /**
+     * @param resourceRegistry registry with all of the resources
+     * @param generatedGetters true if getters should be called by generated classes
+     * @see io.katharsis.utils.PropertyUtils#getPropertyGetter(Class, String, boolean)
+     */
+    public ResourceSerializationPlans(ResourceRegistry resourceRegistry, boolean generatedGetters) {
+        this.resourceRegistry = resourceRegistry;
+        this.generatedGetters = generatedGetters;
+    }
+
+    /**
+     * @param resource a resource or its subclass instance
+     * @return plan of the resource's type
+     */
+    ResourceSerializationPlan forResource(Object resource) {
+        return forClass(resource.getClass());
+    }
+
+    /**
+     * @param resourceClass a resource class or its subclass
+     * @return plan of the resource type
+     */
+    ResourceSerializationPlan forClass(Class<?> resourceClass) {
+        ResourceSerializationPlan plan = plans.get(resourceClass);
+        if (plan == null) {
+            plan = plans.computeIfAbsent(resourceClass, this::buildPlan);
+        }
+        return plan;
+    }
+
+    private ResourceSerializationPlan buildPlan(Class<?> candidateClass) {
+        Class<?> resourceClass = ClassUtils.getJsonApiResourceClass(candidateClass);
+        if (resourceClass == null) {
+            throw new ResourceNotFoundInitializationException(candidateClass.getCanonicalName());
+        }
+        return new ResourceSerializationPlan(resourceRegistry, resourceClass, generatedGetters);
+    }
+}
@@ -341,6 +341,50 @@ public class QueryParams {
         this.includedRelations = new TypedParams<>(Collections.unmodifiableMap(decodedInclusions));
     }
 
+    /**
+     * Returns a copy of the parameters with the given page. It is passed to repositories of paged relationships, which
+     * get a limit one larger than the requested page to tell whether there is a next page.
+     *
+     * @param offset index of the first element of the page
+     * @param limit  maximum number of elements of the page
+     * @return copy of the parameters with the given pagination
+     */
+    public QueryParams withPagination(int offset, int limit) {
+        Map<RestrictedPaginationKeys, Integer> pagination = new LinkedHashMap<>();
+        pagination.put(RestrictedPaginationKeys.offset, offset);
+        pagination.put(RestrictedPaginationKeys.limit, limit);
+        QueryParams queryParams = new QueryParams();
+        queryParams.filters = filters;
+        queryParams.sorting = sorting;
+        queryParams.grouping = grouping;
+        queryParams.includedFields = includedFields;
+        queryParams.includedRelations = includedRelations;
+        queryParams.pagination = Collections.unmodifiableMap(pagination);
+        return queryParams;
+    }
+
+    /**
+     * Two instances are equal when they carry the same decoded parameters, regardless of the order in which the
+     * parameters were passed in the request. This makes QueryParams usable as a cache key.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        QueryParams that = (QueryParams) o;
+        return Objects.equals(filters, that.filters) &&
+            Objects.equals(sorting, that.sorting) &&
+            Objects.equals(grouping, that.grouping) &&
+            Objects.equals(includedFields, that.includedFields) &&
+            Objects.equals(includedRelations, that.includedRelations) &&
+            Objects.equals(pagination, that.pagination);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(filters, sorting, grouping, includedFields, includedRelations, pagination);
+    }
+
     private List<String> buildPropertyListFromEntry(Map.Entry<String, Set<String>> entry, String prefix) {
         String entryKey = entry.getKey()
             .substring(prefix.length());
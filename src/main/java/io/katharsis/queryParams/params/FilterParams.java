@@ -2,6 +2,7 @@ package io.katharsis.queryParams.params;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 public class FilterParams {
@@ -14,4 +15,17 @@ public class FilterParams {
     public Map<String, Set<String>> getParams() {
         return params;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FilterParams that = (FilterParams) o;
+        return Objects.equals(params, that.params);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(params);
+    }
 }
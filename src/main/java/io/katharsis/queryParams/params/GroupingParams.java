@@ -1,6 +1,7 @@
 package io.katharsis.queryParams.params;
 
 import java.util.HashSet;
+import java.util.Objects;
 import java.util.Set;
 
 public class GroupingParams {
@@ -13,4 +14,17 @@ public class GroupingParams {
     public Set<String> getParams() {
         return params;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        GroupingParams that = (GroupingParams) o;
+        return Objects.equals(params, that.params);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(params);
+    }
 }
@@ -1,5 +1,6 @@
 package io.katharsis.queryParams.params;
 
+import java.util.Objects;
 import java.util.Set;
 
 public class IncludedFieldsParams {
@@ -12,4 +13,17 @@ public class IncludedFieldsParams {
     public Set<String> getParams() {
         return params;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        IncludedFieldsParams that = (IncludedFieldsParams) o;
+        return Objects.equals(params, that.params);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(params);
+    }
 }
@@ -2,6 +2,7 @@ package io.katharsis.queryParams.params;
 
 import io.katharsis.queryParams.include.Inclusion;
 
+import java.util.Objects;
 import java.util.Set;
 
 public class IncludedRelationsParams {
@@ -14,4 +15,17 @@ public class IncludedRelationsParams {
     public Set<Inclusion> getParams() {
         return params;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        IncludedRelationsParams that = (IncludedRelationsParams) o;
+        return Objects.equals(params, that.params);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(params);
+    }
 }
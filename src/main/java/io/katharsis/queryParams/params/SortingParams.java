@@ -4,6 +4,7 @@ import io.katharsis.queryParams.RestrictedSortingValues;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 public class SortingParams {
     private Map<String, RestrictedSortingValues> params = new HashMap<>();
@@ -15,4 +16,17 @@ public class SortingParams {
     public Map<String, RestrictedSortingValues> getParams() {
         return params;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SortingParams that = (SortingParams) o;
+        return Objects.equals(params, that.params);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(params);
+    }
 }
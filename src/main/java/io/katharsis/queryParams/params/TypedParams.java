@@ -2,6 +2,7 @@ package io.katharsis.queryParams.params;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * Generic query parameter container
@@ -18,4 +19,17 @@ public class TypedParams<T> {
     public Map<String, T> getParams() {
         return params;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TypedParams<?> that = (TypedParams<?>) o;
+        return Objects.equals(params, that.params);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(params);
+    }
 }
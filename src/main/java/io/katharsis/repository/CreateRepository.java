@@ -0,0 +1,26 @@
+package io.katharsis.repository;
+
+import java.util.Map;
+
+/**
+ * An optional interface that can be implemented along with {@link ResourceRepository} to create a resource together
+ * with its relationships, e.g. in a single datastore round trip. If it is available, POST requests neither look up
+ * the related resources nor call {@link RelationshipRepository} and the returned resource is sent to the client
+ * without loading it again.
+ *
+ * @param <T> Type of a resource
+ */
+public interface CreateRepository<T> {
+
+    /**
+     * Creates a resource with its relationships. Relationship identifiers are passed by the relationship field name.
+     * A value is an identifier of a related resource for a to-one relationship, null if the relationship is empty, and
+     * a {@link java.util.List} of identifiers for a to-many relationship.
+     *
+     * @param entity          resource with attributes set
+     * @param relationshipIds identifiers of related resources sent in the request, by the relationship field name
+     * @param <S>             type of the resource
+     * @return created resource with its relationships. Must include the assigned identifier.
+     */
+    <S extends T> S create(S entity, Map<String, Object> relationshipIds);
+}
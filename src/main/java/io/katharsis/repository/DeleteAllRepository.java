@@ -0,0 +1,19 @@
+package io.katharsis.repository;
+
+import java.io.Serializable;
+
+/**
+ * An optional interface that can be implemented along with {@link ResourceRepository} to remove many resources at
+ * once, e.g. in a single datastore round trip. It is used for requests such as {@code DELETE /tasks/1,2,3}.
+ *
+ * @param <ID> Type of the Identifier of a resource
+ */
+public interface DeleteAllRepository<ID extends Serializable> {
+
+    /**
+     * Removes resources identified by ids parameter.
+     *
+     * @param ids identifiers of the resources to be removed
+     */
+    void deleteAll(Iterable<ID> ids);
+}
@@ -0,0 +1,39 @@
+package io.katharsis.repository;
+
+import io.katharsis.queryParams.QueryParams;
+
+/**
+ * An optional interface that can be implemented along with {@link ResourceRepository} by repositories of resources
+ * with {@code long} or {@link Long} identifiers. If it is available, identifiers sent in request paths are parsed
+ * into primitive values and passed to these methods instead of their {@link ResourceRepository} counterparts.
+ *
+ * @param <T> Type of a resource
+ */
+public interface LongIdRepository<T> {
+
+    /**
+     * Search one resource with a given ID. If a resource cannot be found,
+     * {@link io.katharsis.resource.exception.ResourceNotFoundException} exception should be thrown.
+     *
+     * @param id          an identifier of the resource
+     * @param queryParams parameters sent along with the request
+     * @return an instance of the resource
+     */
+    T findOne(long id, QueryParams queryParams);
+
+    /**
+     * Search for resources constrained by a list of identifiers.
+     *
+     * @param ids         identifiers of the resources
+     * @param queryParams parameters sent along with the request
+     * @return a list of found resources
+     */
+    Iterable<T> findAll(long[] ids, QueryParams queryParams);
+
+    /**
+     * Removes resources identified by ids.
+     *
+     * @param ids identifiers of the resources to be removed
+     */
+    void deleteAll(long[] ids);
+}
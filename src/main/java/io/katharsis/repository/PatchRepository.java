@@ -0,0 +1,27 @@
+package io.katharsis.repository;
+
+import java.io.Serializable;
+
+/**
+ * An optional interface that can be implemented along with {@link ResourceRepository} to update only the fields
+ * changed by a PATCH request instead of saving the whole resource. It is not called if a request changes nothing.
+ * <p>
+ * Attributes are compared with the stored resource and only changed ones are passed. Relationships are passed with
+ * the identifiers sent in the request without being compared, since reading them could load lazily initialized
+ * relationships. For a PATCH request with many resources in the body, it is called for each changed resource and
+ * {@link SaveAllRepository} is not used.
+ *
+ * @param <T>  Type of a resource
+ * @param <ID> Type of the resource identifier
+ */
+public interface PatchRepository<T, ID extends Serializable> {
+
+    /**
+     * Updates changed attributes and relationships of a resource.
+     *
+     * @param id      identifier of the resource
+     * @param changes changed attributes and relationships
+     * @return updated resource
+     */
+    T patch(ID id, ResourceChanges changes);
+}
@@ -0,0 +1,23 @@
+package io.katharsis.repository;
+
+import java.io.Serializable;
+
+/**
+ * An optional interface that can be implemented along with {@link ResourceRepository} to provide references to
+ * resources without loading them, e.g. JPA's {@code EntityManager.getReference}. If it is available, resources
+ * linked by relationships of POST and PATCH request bodies are set as references instead of being found.
+ *
+ * @param <T>  Type of a resource
+ * @param <ID> Type of the resource identifier
+ */
+public interface ReferenceRepository<T, ID extends Serializable> {
+
+    /**
+     * Returns a reference to a resource. The reference must have the identifier set, other fields may be not
+     * initialized.
+     *
+     * @param id identifier of the resource
+     * @return reference to the resource
+     */
+    T getReference(ID id);
+}
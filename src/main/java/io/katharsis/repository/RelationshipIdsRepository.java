@@ -0,0 +1,36 @@
+package io.katharsis.repository;
+
+import io.katharsis.queryParams.QueryParams;
+
+import java.io.Serializable;
+
+/**
+ * An optional interface that can be implemented along with {@link RelationshipRepository} to return identifiers of
+ * related resources without loading them, e.g. from a join table. If implemented, it is used to answer requests
+ * to <i>/relationships/</i> endpoints which do not include related resources.
+ *
+ * @param <T_ID> Type of the Identifier of a source resource
+ * @param <D_ID> Type of the Identifier of a target resource
+ */
+public interface RelationshipIdsRepository<T_ID extends Serializable, D_ID extends Serializable> {
+
+    /**
+     * Find an identifier of a resource related by a field. It is used only for To-One relationship.
+     *
+     * @param sourceId    an identifier of a source
+     * @param fieldName   name of target's filed
+     * @param queryParams parameters sent along with the request
+     * @return an identifier of the related resource or null if there is none
+     */
+    D_ID findOneTargetId(T_ID sourceId, String fieldName, QueryParams queryParams);
+
+    /**
+     * Find identifiers of resources related by a field. It is used only for To-Many relationship.
+     *
+     * @param sourceId    an identifier of a source
+     * @param fieldName   name of target's filed
+     * @param queryParams parameters sent along with the request
+     * @return identifiers of the related resources
+     */
+    Iterable<D_ID> findManyTargetIds(T_ID sourceId, String fieldName, QueryParams queryParams);
+}
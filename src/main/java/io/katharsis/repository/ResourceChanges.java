@@ -0,0 +1,53 @@
+package io.katharsis.repository;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Attributes and relationships of a resource changed by a PATCH request. Only the fields sent in the request body
+ * whose values differ from the stored resource are included.
+ */
+public class ResourceChanges {
+
+    private final Map<String, Object> attributes;
+    private final Map<String, Object> relationshipIds;
+
+    /**
+     * @param attributes      new values of changed attributes by the attribute field name
+     * @param relationshipIds identifiers of related resources of changed relationships by the relationship field name
+     */
+    public ResourceChanges(Map<String, Object> attributes, Map<String, Object> relationshipIds) {
+        this.attributes = Collections.unmodifiableMap(new LinkedHashMap<>(attributes));
+        this.relationshipIds = Collections.unmodifiableMap(new LinkedHashMap<>(relationshipIds));
+    }
+
+    /**
+     * @return new values of changed attributes by the attribute field name
+     */
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * A value is an identifier of a related resource for a to-one relationship, null if the relationship has been
+     * cleared, and a {@link java.util.List} of identifiers for a to-many relationship.
+     *
+     * @return identifiers of related resources of changed relationships by the relationship field name
+     */
+    public Map<String, Object> getRelationshipIds() {
+        return relationshipIds;
+    }
+
+    /**
+     * @return true if the request does not change the resource
+     */
+    public boolean isEmpty() {
+        return attributes.isEmpty() && relationshipIds.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "ResourceChanges{attributes=" + attributes + ", relationshipIds=" + relationshipIds + '}';
+    }
+}
@@ -0,0 +1,20 @@
+package io.katharsis.repository;
+
+/**
+ * An optional interface that can be implemented along with {@link ResourceRepository} to save many resources at once,
+ * e.g. in a single datastore round trip. It is used for POST and PATCH requests with many resources in the body.
+ *
+ * @param <T> Type of a resource
+ */
+public interface SaveAllRepository<T> {
+
+    /**
+     * Saves resources. Returning resources must include assigned identifiers and must be returned in the order of
+     * the passed resources.
+     *
+     * @param entities resources to be saved
+     * @param <S>      type of the resources
+     * @return saved resources. Must include set identifiers.
+     */
+    <S extends T> Iterable<S> saveAll(Iterable<S> entities);
+}
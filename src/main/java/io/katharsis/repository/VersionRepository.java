@@ -0,0 +1,24 @@
+package io.katharsis.repository;
+
+import io.katharsis.queryParams.QueryParams;
+
+import java.io.Serializable;
+
+/**
+ * An optional interface that can be implemented along with {@link ResourceRepository} to provide a version of a
+ * resource without loading it. The returned value must be equal to the value of the field annotated with
+ * {@link io.katharsis.resource.annotations.JsonApiVersion} of the resource.
+ *
+ * @param <ID> Type of the Identifier of a resource
+ */
+public interface VersionRepository<ID extends Serializable> {
+
+    /**
+     * Return a version of a resource.
+     *
+     * @param id          an identifier of the resource
+     * @param queryParams parameters sent along with the request
+     * @return version of the resource or null if it is unknown
+     */
+    Object findVersion(ID id, QueryParams queryParams);
+}
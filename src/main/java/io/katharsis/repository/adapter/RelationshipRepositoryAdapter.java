@@ -2,10 +2,10 @@ package io.katharsis.repository.adapter;
 
 import io.katharsis.queryParams.QueryParams;
 import io.katharsis.repository.ParametersFactory;
+import io.katharsis.repository.RelationshipIdsRepository;
 import io.katharsis.repository.RelationshipRepository;
 import io.katharsis.repository.annotations.*;
 import io.katharsis.repository.exception.RepositoryAnnotationNotFoundException;
-import io.katharsis.utils.ClassUtils;
 
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
@@ -14,14 +14,7 @@ import java.lang.reflect.Method;
 
 public class RelationshipRepositoryAdapter<T, T_ID extends Serializable, D, D_ID extends Serializable>
     extends RepositoryAdapter<T>
-    implements RelationshipRepository<T, T_ID, D, D_ID> {
-
-    private Method setRelationMethod;
-    private Method setRelationsMethod;
-    private Method addRelationsMethod;
-    private Method removeRelationsMethod;
-    private Method findOneTargetMethod;
-    private Method findManyTargetsMethod;
+    implements RelationshipRepository<T, T_ID, D, D_ID>, RelationshipIdsRepository<T_ID, D_ID> {
 
     public RelationshipRepositoryAdapter(Object implementationObject, ParametersFactory parametersFactory) {
         super(implementationObject, parametersFactory);
@@ -30,10 +23,7 @@ public class RelationshipRepositoryAdapter<T, T_ID extends Serializable, D, D_ID
     @Override
     public void setRelation(T source, D_ID targetId, String fieldName) {
         Class<JsonApiSetRelation> annotationType = JsonApiSetRelation.class;
-        if (setRelationMethod == null) {
-            setRelationMethod = ClassUtils.findMethodWith(implementationObject, annotationType);
-        }
-        Method method = this.setRelationMethod;
+        Method method = getMethod(annotationType);
         Object[] firstParameters = {source, targetId, fieldName};
         performRelationChangeOperation(annotationType, method, firstParameters);
     }
@@ -41,10 +31,7 @@ public class RelationshipRepositoryAdapter<T, T_ID extends Serializable, D, D_ID
     @Override
     public void setRelations(T source, Iterable<D_ID> targetIds, String fieldName) {
         Class<JsonApiSetRelations> annotationType = JsonApiSetRelations.class;
-        if (setRelationsMethod == null) {
-            setRelationsMethod = ClassUtils.findMethodWith(implementationObject, annotationType);
-        }
-        Method method = this.setRelationsMethod;
+        Method method = getMethod(annotationType);
         Object[] firstParameters = {source, targetIds, fieldName};
         performRelationChangeOperation(annotationType, method, firstParameters);
     }
@@ -52,10 +39,7 @@ public class RelationshipRepositoryAdapter<T, T_ID extends Serializable, D, D_ID
     @Override
     public void addRelations(T source, Iterable<D_ID> targetIds, String fieldName) {
         Class<JsonApiAddRelations> annotationType = JsonApiAddRelations.class;
-        if (addRelationsMethod == null) {
-            addRelationsMethod = ClassUtils.findMethodWith(implementationObject, annotationType);
-        }
-        Method method = this.addRelationsMethod;
+        Method method = getMethod(annotationType);
         Object[] firstParameters = {source, targetIds, fieldName};
         performRelationChangeOperation(annotationType, method, firstParameters);
     }
@@ -63,10 +47,7 @@ public class RelationshipRepositoryAdapter<T, T_ID extends Serializable, D, D_ID
     @Override
     public void removeRelations(T source, Iterable<D_ID> targetIds, String fieldName) {
         Class<JsonApiRemoveRelations> annotationType = JsonApiRemoveRelations.class;
-        if (removeRelationsMethod == null) {
-            removeRelationsMethod = ClassUtils.findMethodWith(implementationObject, annotationType);
-        }
-        Method method = this.removeRelationsMethod;
+        Method method = getMethod(annotationType);
         Object[] firstParameters = {source, targetIds, fieldName};
         performRelationChangeOperation(annotationType, method, firstParameters);
     }
@@ -89,10 +70,7 @@ public class RelationshipRepositoryAdapter<T, T_ID extends Serializable, D, D_ID
     @Override
     public D findOneTarget(T_ID sourceId, String fieldName, QueryParams queryParams) {
         Class<JsonApiFindOneTarget> annotationType = JsonApiFindOneTarget.class;
-        if (findOneTargetMethod == null) {
-            findOneTargetMethod = ClassUtils.findMethodWith(implementationObject, annotationType);
-        }
-        checkIfNotNull(annotationType, findOneTargetMethod);
+        Method findOneTargetMethod = getRequiredMethod(annotationType);
 
         Object[] firstParameters = {sourceId, fieldName};
         Object[] methodParameters = parametersFactory
@@ -110,10 +88,7 @@ public class RelationshipRepositoryAdapter<T, T_ID extends Serializable, D, D_ID
     @Override
     public Iterable<D> findManyTargets(T_ID sourceId, String fieldName, QueryParams queryParams) {
         Class<JsonApiFindManyTargets> annotationType = JsonApiFindManyTargets.class;
-        if (findManyTargetsMethod == null) {
-            findManyTargetsMethod = ClassUtils.findMethodWith(implementationObject, annotationType);
-        }
-        checkIfNotNull(annotationType, findManyTargetsMethod);
+        Method findManyTargetsMethod = getRequiredMethod(annotationType);
 
         Object[] firstParameters = {sourceId, fieldName};
         Object[] methodParameters = parametersFactory
@@ -127,4 +102,49 @@ public class RelationshipRepositoryAdapter<T, T_ID extends Serializable, D, D_ID
             throw (RuntimeException)e.getCause();
         }
     }
+
+    public boolean findOneTargetIdAvailable() {
+        return getMethod(JsonApiFindOneTargetId.class) != null;
+    }
+
+    @Override
+    public D_ID findOneTargetId(T_ID sourceId, String fieldName, QueryParams queryParams) {
+        Class<JsonApiFindOneTargetId> annotationType = JsonApiFindOneTargetId.class;
+        Method findOneTargetIdMethod = getRequiredMethod(annotationType);
+
+        Object[] firstParameters = {sourceId, fieldName};
+        Object[] methodParameters = parametersFactory
+            .buildParameters(firstParameters, findOneTargetIdMethod.getParameters(), queryParams, annotationType);
+
+        try {
+            return (D_ID) findOneTargetIdMethod.invoke(implementationObject, methodParameters);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        } catch (InvocationTargetException e) {
+            throw (RuntimeException)e.getCause();
+        }
+    }
+
+    public boolean findManyTargetIdsAvailable() {
+        return getMethod(JsonApiFindManyTargetIds.class) != null;
+    }
+
+    @Override
+    public Iterable<D_ID> findManyTargetIds(T_ID sourceId, String fieldName, QueryParams queryParams) {
+        Class<JsonApiFindManyTargetIds> annotationType = JsonApiFindManyTargetIds.class;
+        Method findManyTargetIdsMethod = getRequiredMethod(annotationType);
+
+        Object[] firstParameters = {sourceId, fieldName};
+        Object[] methodParameters = parametersFactory
+            .buildParameters(firstParameters, findManyTargetIdsMethod.getParameters(), queryParams, annotationType);
+
+        try {
+            return (Iterable<D_ID>) findManyTargetIdsMethod.invoke(implementationObject, methodParameters);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        } catch (InvocationTargetException e) {
+            throw (RuntimeException)e.getCause();
+        }
+    }
+
 }
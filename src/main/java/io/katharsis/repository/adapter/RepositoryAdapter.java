@@ -9,7 +9,6 @@ import io.katharsis.repository.annotations.JsonApiMeta;
 import io.katharsis.repository.exception.RepositoryAnnotationNotFoundException;
 import io.katharsis.response.LinksInformation;
 import io.katharsis.response.MetaInformation;
-import io.katharsis.utils.ClassUtils;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
@@ -19,25 +18,22 @@ public abstract class RepositoryAdapter<T> implements LinksRepository<T>, MetaRe
 
     protected final Object implementationObject;
     protected final ParametersFactory parametersFactory;
-
-    private Method linksMethod;
-    private Method metaMethod;
+    private final RepositoryMethods methods;
 
     public RepositoryAdapter(Object implementationObject, ParametersFactory parametersFactory) {
         this.implementationObject = implementationObject;
         this.parametersFactory = parametersFactory;
+        this.methods = RepositoryMethods.of(implementationObject.getClass());
     }
 
     public boolean linksRepositoryAvailable() {
-        assignLinksMethod();
-        return linksMethod != null;
+        return getMethod(JsonApiLinks.class) != null;
     }
 
     @Override
     public LinksInformation getLinksInformation(Iterable<T> resources, QueryParams queryParams) {
         Class<JsonApiLinks> annotationType = JsonApiLinks.class;
-        assignLinksMethod();
-        checkIfNotNull(annotationType, linksMethod);
+        Method linksMethod = getRequiredMethod(annotationType);
 
         Object[] methodParameters = parametersFactory
             .buildParameters(new Object[]{resources}, linksMethod.getParameters(), queryParams, annotationType);
@@ -51,22 +47,14 @@ public abstract class RepositoryAdapter<T> implements LinksRepository<T>, MetaRe
         }
     }
 
-    private void assignLinksMethod() {
-        if (linksMethod == null) {
-            linksMethod = ClassUtils.findMethodWith(implementationObject, JsonApiLinks.class);
-        }
-    }
-
     public boolean metaRepositoryAvailable() {
-        assignMetaMethod();
-        return metaMethod != null;
+        return getMethod(JsonApiMeta.class) != null;
     }
 
     @Override
     public MetaInformation getMetaInformation(Iterable<T> resources, QueryParams queryParams) {
         Class<JsonApiMeta> annotationType = JsonApiMeta.class;
-        assignMetaMethod();
-        checkIfNotNull(annotationType, metaMethod);
+        Method metaMethod = getRequiredMethod(annotationType);
 
         Object[] methodParameters = parametersFactory
             .buildParameters(new Object[]{resources}, metaMethod.getParameters(), queryParams, annotationType);
@@ -80,10 +68,23 @@ public abstract class RepositoryAdapter<T> implements LinksRepository<T>, MetaRe
         }
     }
 
-    private void assignMetaMethod() {
-        if (metaMethod == null) {
-            metaMethod = ClassUtils.findMethodWith(implementationObject, JsonApiMeta.class);
-        }
+    /**
+     * @param annotationType annotation of the method
+     * @return method of the repository with the annotation or null if there is none
+     */
+    protected Method getMethod(Class<? extends Annotation> annotationType) {
+        return methods.get(annotationType);
+    }
+
+    /**
+     * @param annotationType annotation of the method
+     * @return method of the repository with the annotation
+     * @throws RepositoryAnnotationNotFoundException if there is no such method
+     */
+    protected Method getRequiredMethod(Class<? extends Annotation> annotationType) {
+        Method method = methods.get(annotationType);
+        checkIfNotNull(annotationType, method);
+        return method;
     }
 
     protected void checkIfNotNull(Class<? extends Annotation> annotationClass, Method foundMethod) {
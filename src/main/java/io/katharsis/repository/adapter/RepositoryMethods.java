@@ -0,0 +1,48 @@
+package io.katharsis.repository.adapter;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Annotated methods of a repository class. They are resolved once per class, including the absent ones, so adapters
+ * created for each request neither scan the class nor keep their own copies of the methods.
+ * <p>
+ * A method annotated in a subclass takes precedence over one annotated in a superclass, like in
+ * {@link io.katharsis.utils.ClassUtils#findMethodWith(Object, Class)}.
+ */
+final class RepositoryMethods {
+
+    private static final ClassValue<RepositoryMethods> METHODS = new ClassValue<RepositoryMethods>() {
+        @Override
+        protected RepositoryMethods computeValue(Class<?> repositoryClass) {
+            return new RepositoryMethods(repositoryClass);
+        }
+    };
+
+    private final Map<Class<? extends Annotation>, Method> methods = new HashMap<>();
+
+    private RepositoryMethods(Class<?> repositoryClass) {
+        for (Class<?> currentClass = repositoryClass; currentClass != null && currentClass != Object.class;
+             currentClass = currentClass.getSuperclass()) {
+            for (Method method : currentClass.getDeclaredMethods()) {
+                for (Annotation annotation : method.getDeclaredAnnotations()) {
+                    methods.putIfAbsent(annotation.annotationType(), method);
+                }
+            }
+        }
+    }
+
+    static RepositoryMethods of(Class<?> repositoryClass) {
+        return METHODS.get(repositoryClass);
+    }
+
+    /**
+     * @param annotationType annotation of the method
+     * @return annotated method or null if there is none
+     */
+    Method get(Class<? extends Annotation> annotationType) {
+        return methods.get(annotationType);
+    }
+}
@@ -1,31 +1,33 @@
 package io.katharsis.repository.adapter;
 
 import io.katharsis.queryParams.QueryParams;
+import io.katharsis.repository.CreateRepository;
+import io.katharsis.repository.DeleteAllRepository;
 import io.katharsis.repository.LinksRepository;
 import io.katharsis.repository.MetaRepository;
 import io.katharsis.repository.ParametersFactory;
+import io.katharsis.repository.PatchRepository;
+import io.katharsis.repository.ReferenceRepository;
+import io.katharsis.repository.ResourceChanges;
 import io.katharsis.repository.ResourceRepository;
+import io.katharsis.repository.SaveAllRepository;
+import io.katharsis.repository.VersionRepository;
 import io.katharsis.repository.annotations.*;
 import io.katharsis.repository.exception.RepositoryAnnotationNotFoundException;
 import io.katharsis.response.LinksInformation;
 import io.katharsis.response.MetaInformation;
-import io.katharsis.utils.ClassUtils;
 
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
+import java.util.Map;
 
 public class ResourceRepositoryAdapter<T, ID extends Serializable>
     extends RepositoryAdapter<T>
-    implements ResourceRepository<T, ID> {
-
-    private Method findOneMethod;
-    private Method findAllMethod;
-    private Method findAllWithIds;
-    private Method saveMethod;
-    private Method deleteMethod;
+    implements ResourceRepository<T, ID>, VersionRepository<ID>, DeleteAllRepository<ID>,
+    SaveAllRepository<T>, CreateRepository<T>, PatchRepository<T, ID>, ReferenceRepository<T, ID> {
 
     public ResourceRepositoryAdapter(Object implementationObject, ParametersFactory parametersFactory) {
         super(implementationObject, parametersFactory);
@@ -34,10 +36,7 @@ public class ResourceRepositoryAdapter<T, ID extends Serializable>
     @Override
     public T findOne(ID id, QueryParams queryParams) {
         Class<JsonApiFindOne> annotationType = JsonApiFindOne.class;
-        if (findOneMethod == null) {
-            findOneMethod = ClassUtils.findMethodWith(implementationObject, annotationType);
-        }
-        checkIfNotNull(annotationType, findOneMethod);
+        Method findOneMethod = getRequiredMethod(annotationType);
 
         Object[] methodParameters = parametersFactory
             .buildParameters(new Object[]{id}, findOneMethod.getParameters(), queryParams, annotationType);
@@ -54,10 +53,7 @@ public class ResourceRepositoryAdapter<T, ID extends Serializable>
     @Override
     public Iterable<T> findAll(QueryParams queryParams) {
         Class<JsonApiFindAll> annotationType = JsonApiFindAll.class;
-        if (findAllMethod == null) {
-            findAllMethod = ClassUtils.findMethodWith(implementationObject, annotationType);
-        }
-        checkIfNotNull(annotationType, findAllMethod);
+        Method findAllMethod = getRequiredMethod(annotationType);
 
         Parameter[] parametersToResolve = findAllMethod.getParameters();
         Object[] methodParameters = parametersFactory.buildParameters(parametersToResolve, queryParams);
@@ -71,13 +67,14 @@ public class ResourceRepositoryAdapter<T, ID extends Serializable>
         }
     }
 
+    public boolean findAllWithIdsAvailable() {
+        return getMethod(JsonApiFindAllWithIds.class) != null;
+    }
+
     @Override
     public Iterable<T> findAll(Iterable<ID> ids, QueryParams queryParams) {
         Class<JsonApiFindAllWithIds> annotationType = JsonApiFindAllWithIds.class;
-        if (findAllWithIds == null) {
-            findAllWithIds = ClassUtils.findMethodWith(implementationObject, annotationType);
-        }
-        checkIfNotNull(annotationType, findAllWithIds);
+        Method findAllWithIds = getRequiredMethod(annotationType);
 
         Object[] methodParameters = parametersFactory
             .buildParameters(new Object[]{ids}, findAllWithIds.getParameters(), queryParams, annotationType);
@@ -94,10 +91,7 @@ public class ResourceRepositoryAdapter<T, ID extends Serializable>
     @Override
     public <S extends T> S save(S entity) {
         Class<JsonApiSave> annotationType = JsonApiSave.class;
-        if (saveMethod == null) {
-            saveMethod = ClassUtils.findMethodWith(implementationObject, annotationType);
-        }
-        checkIfNotNull(annotationType, saveMethod);
+        Method saveMethod = getRequiredMethod(annotationType);
 
         Object[] methodParameters = parametersFactory
             .buildParameters(new Object[]{entity}, saveMethod.getParameters(), annotationType);
@@ -114,10 +108,7 @@ public class ResourceRepositoryAdapter<T, ID extends Serializable>
     @Override
     public void delete(ID id) {
         Class<JsonApiDelete> annotationType = JsonApiDelete.class;
-        if (deleteMethod == null) {
-            deleteMethod = ClassUtils.findMethodWith(implementationObject, annotationType);
-        }
-        checkIfNotNull(annotationType, deleteMethod);
+        Method deleteMethod = getRequiredMethod(annotationType);
 
         Object[] methodParameters = parametersFactory
             .buildParameters(new Object[]{id}, deleteMethod.getParameters(), annotationType);
@@ -130,4 +121,131 @@ public class ResourceRepositoryAdapter<T, ID extends Serializable>
             throw (RuntimeException)e.getCause();
         }
     }
+
+    public boolean saveAllAvailable() {
+        return getMethod(JsonApiSaveAll.class) != null;
+    }
+
+    @Override
+    public <S extends T> Iterable<S> saveAll(Iterable<S> entities) {
+        Class<JsonApiSaveAll> annotationType = JsonApiSaveAll.class;
+        Method saveAllMethod = getRequiredMethod(annotationType);
+
+        Object[] methodParameters = parametersFactory
+            .buildParameters(new Object[]{entities}, saveAllMethod.getParameters(), annotationType);
+
+        try {
+            return (Iterable<S>) saveAllMethod.invoke(implementationObject, methodParameters);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        } catch (InvocationTargetException e) {
+            throw (RuntimeException)e.getCause();
+        }
+    }
+
+    public boolean createAvailable() {
+        return getMethod(JsonApiCreate.class) != null;
+    }
+
+    @Override
+    public <S extends T> S create(S entity, Map<String, Object> relationshipIds) {
+        Class<JsonApiCreate> annotationType = JsonApiCreate.class;
+        Method createMethod = getRequiredMethod(annotationType);
+
+        Object[] methodParameters = parametersFactory
+            .buildParameters(new Object[]{entity, relationshipIds}, createMethod.getParameters(), annotationType);
+
+        try {
+            return (S) createMethod.invoke(implementationObject, methodParameters);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        } catch (InvocationTargetException e) {
+            throw (RuntimeException)e.getCause();
+        }
+    }
+
+    public boolean patchAvailable() {
+        return getMethod(JsonApiPatch.class) != null;
+    }
+
+    @Override
+    public T patch(ID id, ResourceChanges changes) {
+        Class<JsonApiPatch> annotationType = JsonApiPatch.class;
+        Method patchMethod = getRequiredMethod(annotationType);
+
+        Object[] methodParameters = parametersFactory
+            .buildParameters(new Object[]{id, changes}, patchMethod.getParameters(), annotationType);
+
+        try {
+            return (T) patchMethod.invoke(implementationObject, methodParameters);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        } catch (InvocationTargetException e) {
+            throw (RuntimeException)e.getCause();
+        }
+    }
+
+    public boolean getReferenceAvailable() {
+        return getMethod(JsonApiGetReference.class) != null;
+    }
+
+    @Override
+    public T getReference(ID id) {
+        Class<JsonApiGetReference> annotationType = JsonApiGetReference.class;
+        Method getReferenceMethod = getRequiredMethod(annotationType);
+
+        Object[] methodParameters = parametersFactory
+            .buildParameters(new Object[]{id}, getReferenceMethod.getParameters(), annotationType);
+
+        try {
+            return (T) getReferenceMethod.invoke(implementationObject, methodParameters);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        } catch (InvocationTargetException e) {
+            throw (RuntimeException)e.getCause();
+        }
+    }
+
+    public boolean deleteAllAvailable() {
+        return getMethod(JsonApiDeleteAll.class) != null;
+    }
+
+    @Override
+    public void deleteAll(Iterable<ID> ids) {
+        Class<JsonApiDeleteAll> annotationType = JsonApiDeleteAll.class;
+        Method deleteAllMethod = getRequiredMethod(annotationType);
+
+        Object[] methodParameters = parametersFactory
+            .buildParameters(new Object[]{ids}, deleteAllMethod.getParameters(), annotationType);
+
+        try {
+            deleteAllMethod.invoke(implementationObject, methodParameters);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        } catch (InvocationTargetException e) {
+            throw (RuntimeException)e.getCause();
+        }
+    }
+
+    public boolean versionRepositoryAvailable() {
+        return getMethod(JsonApiFindVersion.class) != null;
+    }
+
+    @Override
+    public Object findVersion(ID id, QueryParams queryParams) {
+        Class<JsonApiFindVersion> annotationType = JsonApiFindVersion.class;
+        Method findVersionMethod = getRequiredMethod(annotationType);
+
+        Object[] methodParameters = parametersFactory
+            .buildParameters(new Object[]{id}, findVersionMethod.getParameters(), queryParams, annotationType);
+
+        try {
+            return findVersionMethod.invoke(implementationObject, methodParameters);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        } catch (InvocationTargetException e) {
+            throw (RuntimeException)e.getCause();
+        }
+    }
+
 }
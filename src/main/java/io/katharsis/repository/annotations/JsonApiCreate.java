@@ -0,0 +1,27 @@
+package io.katharsis.repository.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * <p>
+ * Method annotated with this annotation will be used to create a resource together with its relationships. The
+ * method must be defined in a class annotated with {@link JsonApiResourceRepository}.
+ * </p>
+ * <p>
+ * The requirements for the method parameters are as follows:
+ * </p>
+ * <ol>
+ *     <li>A resource to be created</li>
+ *     <li>A {@link java.util.Map} of relationship identifiers by the relationship field name</li>
+ * </ol>
+ * <p>
+ * The method's return value should be the created resource with its relationships.
+ * </p>
+ *
+ * @see io.katharsis.repository.CreateRepository#create(Object, java.util.Map)
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface JsonApiCreate {
+}
@@ -0,0 +1,32 @@
+package io.katharsis.repository.annotations;
+
+import io.katharsis.queryParams.QueryParams;
+
+import java.io.Serializable;
+import java.lang.annotation.*;
+
+/**
+ * <p>
+ * Method annotated with this annotation will be used to find an identifier of a resource related by a field
+ * without loading the related resource. The method must be defined in a class annotated with
+ * {@link JsonApiRelationshipRepository}.
+ * </p>
+ * <p>
+ * The requirements for the method parameters are as follows:
+ * </p>
+ * <ol>
+ *     <li>An identifier of a source resource</li>
+ *     <li>Relationship's field name</li>
+ * </ol>
+ * <p>
+ * The return value must be an identifier of a resource of {@link JsonApiRelationshipRepository#target()} type or
+ * null.
+ * </p>
+ *
+ * @see io.katharsis.repository.RelationshipIdsRepository#findOneTargetId(Serializable, String, QueryParams)
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface JsonApiFindOneTargetId {
+}
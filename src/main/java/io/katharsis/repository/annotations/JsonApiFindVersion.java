@@ -0,0 +1,30 @@
+package io.katharsis.repository.annotations;
+
+import io.katharsis.queryParams.QueryParams;
+
+import java.io.Serializable;
+import java.lang.annotation.*;
+
+/**
+ * <p>
+ * Method annotated with this annotation will be used to find a version of a resource without loading it. The method
+ * must be defined in a class annotated with {@link JsonApiResourceRepository}.
+ * </p>
+ * <p>
+ * The requirements for the method parameters are as follows:
+ * </p>
+ * <ol>
+ *     <li>A resource identifier</li>
+ * </ol>
+ * <p>
+ * The return value must be equal to the value of the field annotated with
+ * {@link io.katharsis.resource.annotations.JsonApiVersion} of the resource.
+ * </p>
+ *
+ * @see io.katharsis.repository.VersionRepository#findVersion(Serializable, QueryParams)
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface JsonApiFindVersion {
+}
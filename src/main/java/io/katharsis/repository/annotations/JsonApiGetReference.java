@@ -0,0 +1,26 @@
+package io.katharsis.repository.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * <p>
+ * Method annotated with this annotation will be used to get a reference to a resource without loading it. The method
+ * must be defined in a class annotated with {@link JsonApiResourceRepository}.
+ * </p>
+ * <p>
+ * The requirements for the method parameters are as follows:
+ * </p>
+ * <ol>
+ *     <li>An identifier of a resource</li>
+ * </ol>
+ * <p>
+ * The method's return value should be a resource with the identifier set.
+ * </p>
+ *
+ * @see io.katharsis.repository.ReferenceRepository#getReference(java.io.Serializable)
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface JsonApiGetReference {
+}
@@ -0,0 +1,27 @@
+package io.katharsis.repository.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * <p>
+ * Method annotated with this annotation will be used to update only the fields of a resource changed by a request.
+ * The method must be defined in a class annotated with {@link JsonApiResourceRepository}.
+ * </p>
+ * <p>
+ * The requirements for the method parameters are as follows:
+ * </p>
+ * <ol>
+ *     <li>An identifier of a resource</li>
+ *     <li>A {@link io.katharsis.repository.ResourceChanges} with changed attributes and relationships</li>
+ * </ol>
+ * <p>
+ * The method's return value should be the updated resource.
+ * </p>
+ *
+ * @see io.katharsis.repository.PatchRepository#patch(java.io.Serializable, io.katharsis.repository.ResourceChanges)
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface JsonApiPatch {
+}
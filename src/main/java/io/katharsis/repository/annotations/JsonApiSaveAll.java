@@ -0,0 +1,26 @@
+package io.katharsis.repository.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * <p>
+ * Method annotated with this annotation will be used to save many resources at once. The method must be defined in a
+ * class annotated with {@link JsonApiResourceRepository}.
+ * </p>
+ * <p>
+ * The requirements for the method parameters are as follows:
+ * </p>
+ * <ol>
+ *     <li>An {@link Iterable} of resources to be saved</li>
+ * </ol>
+ * <p>
+ * The method's return value should be an {@link Iterable} of saved resources, in the order of the passed resources.
+ * </p>
+ *
+ * @see io.katharsis.repository.SaveAllRepository#saveAll(Iterable)
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface JsonApiSaveAll {
+}
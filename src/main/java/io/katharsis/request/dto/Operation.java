@@ -0,0 +1,85 @@
+package io.katharsis.request.dto;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A single request of an operations request, dispatched by {@link io.katharsis.dispatcher.OperationsDispatcher}. The
+ * JSON representation is shown below:
+ * <pre>
+ * {@code
+ * {
+ *   method: "POST",
+ *   path: "/tasks",
+ *   query: { "include": ["project"] },
+ *   body: { data: { type: "tasks", attributes: { name: "sample task" } } },
+ *   lid: "task"
+ * }
+ * }
+ * </pre>
+ * A resource created by an operation with a local id can be referenced by later operations of the same request using
+ * {@value #LOCAL_ID_PREFIX} followed by the local id, e.g. <i>lid:task</i>, in place of the resource identifier in a
+ * path, in an identifier of a body or in relationship linkage.
+ */
+public class Operation {
+
+    public static final String LOCAL_ID_PREFIX = "lid:";
+
+    private String method;
+    private String path;
+    private Map<String, Set<String>> query;
+    private RequestBody body;
+    private String lid;
+
+    public Operation() {
+    }
+
+    public Operation(String method, String path, RequestBody body) {
+        this.method = method;
+        this.path = path;
+        this.body = body;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public Map<String, Set<String>> getQuery() {
+        return query;
+    }
+
+    public void setQuery(Map<String, Set<String>> query) {
+        this.query = query;
+    }
+
+    public RequestBody getBody() {
+        return body;
+    }
+
+    public void setBody(RequestBody body) {
+        this.body = body;
+    }
+
+    /**
+     * @return local id of a resource created by the operation, can be null
+     */
+    public String getLid() {
+        return lid;
+    }
+
+    public void setLid(String lid) {
+        this.lid = lid;
+    }
+}
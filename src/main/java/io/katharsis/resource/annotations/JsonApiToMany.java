@@ -16,4 +16,14 @@ public @interface JsonApiToMany {
      * @return <i>true</i> if lazy, <i>false</i> otherwise
      */
     boolean lazy() default true;
+
+    /**
+     * Defines the maximum number of resource identifiers written as linkage of the relation. A capped linkage carries
+     * meta information with the total number of members and a link to the next page of the linkage. The limit is also
+     * the default page size of the relationship endpoint. Its relationship repository receives the requested offset and
+     * a limit one larger than the page, and should return at most that many members starting at the offset; the extra
+     * member only tells that there is a next page.
+     * @return maximum number of identifiers or a negative number if the linkage is not limited
+     */
+    int linkageLimit() default -1;
 }
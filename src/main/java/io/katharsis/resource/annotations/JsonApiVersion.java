@@ -0,0 +1,18 @@
+package io.katharsis.resource.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Defines a field which holds a version or a last modification time of a resource. The value must change whenever
+ * any attribute or relationship of the resource changes, and its {@link Object#equals(Object)} must be consistent
+ * with that. The field is still serialized as a regular attribute.
+ * <p>
+ * Katharsis uses the value to validate cached representations of a resource, e.g. in
+ * {@link io.katharsis.cache.ResourceFragmentCache}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface JsonApiVersion {
+
+}
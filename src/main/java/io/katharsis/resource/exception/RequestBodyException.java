@@ -13,8 +13,8 @@ public class RequestBodyException extends KatharsisMappableException {
         super(HttpStatus.BAD_REQUEST_400, ErrorData.builder()
                 .setStatus(String.valueOf(HttpStatus.BAD_REQUEST_400))
                 .setTitle(TITLE)
-                .setDetail(String.format("Request body doesn't meet the requirements (%s), %s method, resource name %s",
-                        details, method.name(), resourceName))
+                .setDetail("Request body doesn't meet the requirements (" + details + "), " + method.name()
+                        + " method, resource name " + resourceName)
                 .build());
     }
 }
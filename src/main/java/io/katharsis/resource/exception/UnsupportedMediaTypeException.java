@@ -0,0 +1,18 @@
+package io.katharsis.resource.exception;
+
+import io.katharsis.errorhandling.ErrorData;
+import io.katharsis.errorhandling.exception.KatharsisMappableException;
+import io.katharsis.response.HttpStatus;
+
+public class UnsupportedMediaTypeException extends KatharsisMappableException {
+
+    private static final String TITLE = "Unsupported media type";
+
+    public UnsupportedMediaTypeException(String mediaType) {
+        super(HttpStatus.UNSUPPORTED_MEDIA_TYPE_415, ErrorData.builder()
+            .setStatus(String.valueOf(HttpStatus.UNSUPPORTED_MEDIA_TYPE_415))
+            .setTitle(TITLE)
+            .setDetail("Request body of type " + mediaType + " is not supported")
+            .build());
+    }
+}
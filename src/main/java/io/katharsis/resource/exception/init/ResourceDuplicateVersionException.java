@@ -0,0 +1,13 @@
+package io.katharsis.resource.exception.init;
+
+import io.katharsis.errorhandling.exception.KatharsisInitializationException;
+
+/**
+ * A resource contains more then one field annotated with JsonApiVersion annotation.
+ */
+public final class ResourceDuplicateVersionException extends KatharsisInitializationException {
+
+    public ResourceDuplicateVersionException(String className) {
+        super("Duplicated version field found in class: " + className);
+    }
+}
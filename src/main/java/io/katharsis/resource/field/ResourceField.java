@@ -51,16 +51,33 @@ public class ResourceField {
 
     public boolean isLazy() {
         boolean isLazy = false;
-        Optional<JsonApiToMany> toManyOptional = annotations.stream()
-            .filter(annotation -> annotation.annotationType().equals(JsonApiToMany.class))
-            .map(annotation -> (JsonApiToMany) annotation)
-            .findAny();
+        Optional<JsonApiToMany> toManyOptional = findToMany();
         if (toManyOptional.isPresent()) {
             isLazy = toManyOptional.get().lazy();
         }
         return isLazy;
     }
 
+    /**
+     * @return maximum number of identifiers in the linkage of the field or a negative number if it is not limited
+     * @see JsonApiToMany#linkageLimit()
+     */
+    public int getLinkageLimit() {
+        int linkageLimit = -1;
+        Optional<JsonApiToMany> toManyOptional = findToMany();
+        if (toManyOptional.isPresent()) {
+            linkageLimit = toManyOptional.get().linkageLimit();
+        }
+        return linkageLimit;
+    }
+
+    private Optional<JsonApiToMany> findToMany() {
+        return annotations.stream()
+            .filter(annotation -> annotation.annotationType().equals(JsonApiToMany.class))
+            .map(annotation -> (JsonApiToMany) annotation)
+            .findAny();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o)
@@ -26,12 +26,23 @@ public final class ResourceInformation {
      */
     private final Set<ResourceField> relationshipFields;
 
+    /**
+     * Field marked by JsonApiVersion annotation, null if a resource is not versioned.
+     */
+    private final ResourceField versionField;
+
     public ResourceInformation(Class<?> resourceClass, ResourceField idField, Set<ResourceField> attributeFields,
         Set<ResourceField> relationshipFields) {
+        this(resourceClass, idField, attributeFields, relationshipFields, null);
+    }
+
+    public ResourceInformation(Class<?> resourceClass, ResourceField idField, Set<ResourceField> attributeFields,
+        Set<ResourceField> relationshipFields, ResourceField versionField) {
         this.resourceClass = resourceClass;
         this.idField = idField;
         this.attributeFields = attributeFields;
         this.relationshipFields = relationshipFields;
+        this.versionField = versionField;
     }
 
     public Class<?> getResourceClass() {
@@ -50,6 +61,10 @@ public final class ResourceInformation {
         return relationshipFields;
     }
 
+    public ResourceField getVersionField() {
+        return versionField;
+    }
+
     public ResourceField findAttributeFieldByName(String name) {
         return getField(name, attributeFields);
     }
@@ -79,11 +94,12 @@ public final class ResourceInformation {
         return Objects.equals(resourceClass, that.resourceClass) &&
             Objects.equals(idField, that.idField) &&
             Objects.equals(attributeFields, that.attributeFields) &&
-            Objects.equals(relationshipFields, that.relationshipFields);
+            Objects.equals(relationshipFields, that.relationshipFields) &&
+            Objects.equals(versionField, that.versionField);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(resourceClass, idField, attributeFields, relationshipFields);
+        return Objects.hash(resourceClass, idField, attributeFields, relationshipFields, versionField);
     }
 }
\ No newline at end of file
@@ -4,7 +4,9 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.katharsis.resource.annotations.JsonApiId;
 import io.katharsis.resource.annotations.JsonApiToMany;
 import io.katharsis.resource.annotations.JsonApiToOne;
+import io.katharsis.resource.annotations.JsonApiVersion;
 import io.katharsis.resource.exception.init.ResourceDuplicateIdException;
+import io.katharsis.resource.exception.init.ResourceDuplicateVersionException;
 import io.katharsis.resource.exception.init.ResourceIdNotFoundException;
 import io.katharsis.resource.field.ResourceField;
 import io.katharsis.resource.field.ResourceFieldNameTransformer;
@@ -36,12 +38,14 @@ public final class ResourceInformationBuilder {
         ResourceField idField = getIdField(resourceClass, resourceFields);
         Set<ResourceField> basicFields = getBasicFields(resourceFields, idField);
         Set<ResourceField> relationshipFields = getRelationshipFields(resourceFields, idField);
+        ResourceField versionField = getVersionField(resourceClass, basicFields);
 
         return new ResourceInformation(
             resourceClass,
             idField,
             basicFields,
-            relationshipFields);
+            relationshipFields,
+            versionField);
     }
 
     private List<ResourceField> getResourceFields(Class<?> resourceClass) {
@@ -116,6 +120,17 @@ public final class ResourceInformationBuilder {
         return idFields.get(0);
     }
 
+    private <T> ResourceField getVersionField(Class<T> resourceClass, Set<ResourceField> basicFields) {
+        List<ResourceField> versionFields = basicFields.stream()
+            .filter(field -> field.isAnnotationPresent(JsonApiVersion.class))
+            .collect(Collectors.toList());
+
+        if (versionFields.size() > 1) {
+            throw new ResourceDuplicateVersionException(resourceClass.getCanonicalName());
+        }
+        return versionFields.isEmpty() ? null : versionFields.get(0);
+    }
+
     private Set<ResourceField> getBasicFields(List<ResourceField> classFields, ResourceField idField) {
         return classFields.stream()
             .filter(field -> !field.isAnnotationPresent(JsonApiToMany.class) && !field.isAnnotationPresent
@@ -28,21 +28,29 @@ public class CollectionResponse implements BaseResponse<Iterable> {
 
     private LinksInformation linksInformation;
 
+    private int httpStatus = HttpStatus.OK_200;
+
     public CollectionResponse() {
     }
 
     public CollectionResponse(Iterable data, JsonPath jsonPath, QueryParams queryParams,
         MetaInformation metaInformation, LinksInformation linksInformation) {
+        this(data, jsonPath, queryParams, metaInformation, linksInformation, HttpStatus.OK_200);
+    }
+
+    public CollectionResponse(Iterable data, JsonPath jsonPath, QueryParams queryParams,
+        MetaInformation metaInformation, LinksInformation linksInformation, int httpStatus) {
         this.data = data;
         this.jsonPath = jsonPath;
         this.queryParams = queryParams;
         this.metaInformation = metaInformation;
         this.linksInformation = linksInformation;
+        this.httpStatus = httpStatus;
     }
 
     @Override
     public int getHttpStatus() {
-        return HttpStatus.OK_200;
+        return httpStatus;
     }
 
     @Override
@@ -3,6 +3,7 @@ package io.katharsis.response;
 import io.katharsis.jackson.serializer.DataLinksContainerSerializer;
 import io.katharsis.resource.field.ResourceField;
 
+import java.util.Collections;
 import java.util.Objects;
 import java.util.Set;
 
@@ -23,10 +24,21 @@ import java.util.Set;
 public class DataLinksContainer {
     private final Object data;
     private final Set<ResourceField> relationshipFields;
+    private final Set<ResourceField> linksOnlyFields;
 
     public DataLinksContainer(Object data, Set<ResourceField> relationshipFields) {
+        this(data, relationshipFields, Collections.emptySet());
+    }
+
+    /**
+     * @param data               resource
+     * @param relationshipFields relationships to be written
+     * @param linksOnlyFields    relationships written without data, so their values are not read
+     */
+    public DataLinksContainer(Object data, Set<ResourceField> relationshipFields, Set<ResourceField> linksOnlyFields) {
         this.data = data;
         this.relationshipFields = relationshipFields;
+        this.linksOnlyFields = linksOnlyFields;
     }
 
     public Object getData() {
@@ -37,17 +49,22 @@ public class DataLinksContainer {
         return relationshipFields;
     }
 
+    public Set<ResourceField> getLinksOnlyFields() {
+        return linksOnlyFields;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         DataLinksContainer that = (DataLinksContainer) o;
         return Objects.equals(data, that.data) &&
-                Objects.equals(relationshipFields, that.relationshipFields);
+                Objects.equals(relationshipFields, that.relationshipFields) &&
+                Objects.equals(linksOnlyFields, that.linksOnlyFields);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(data, relationshipFields);
+        return Objects.hash(data, relationshipFields, linksOnlyFields);
     }
 }
@@ -5,10 +5,12 @@ public interface HttpStatus {
     int OK_200 = 200;
     int CREATED_201 = 201;
     int NO_CONTENT_204 = 204;
+    int NOT_MODIFIED_304 = 304;
     int NOT_FOUND_404 = 404;
     int BAD_REQUEST_400 = 400;
     int FORBIDDEN_403 = 403;
     int CONFLICT_409 = 409;
+    int UNSUPPORTED_MEDIA_TYPE_415 = 415;
     int INTERNAL_SERVER_ERROR_500 = 500;
     int NOT_IMPLEMENTED_501 = 501;
     int BAD_GATEWAY_502 = 502;
@@ -3,6 +3,7 @@ package io.katharsis.response;
 import io.katharsis.jackson.serializer.LinkageContainerSerializer;
 import io.katharsis.resource.registry.RegistryEntry;
 
+import java.io.Serializable;
 import java.util.Objects;
 
 /**
@@ -22,19 +23,51 @@ import java.util.Objects;
 public class LinkageContainer {
 
     private final Object objectItem;
+    private final Serializable targetId;
     private final Class relationshipClass;
     private final RegistryEntry relationshipEntry;
 
     public LinkageContainer(Object objectItem, Class relationshipClass, RegistryEntry relationshipEntry) {
+        this(objectItem, null, relationshipClass, relationshipEntry);
+    }
+
+    private LinkageContainer(Object objectItem, Serializable targetId, Class relationshipClass,
+                             RegistryEntry relationshipEntry) {
         this.objectItem = objectItem;
+        this.targetId = targetId;
         this.relationshipClass = relationshipClass;
         this.relationshipEntry = relationshipEntry;
     }
 
+    /**
+     * Creates a linkage of a resource which has not been loaded, e.g. returned by
+     * {@link io.katharsis.repository.RelationshipIdsRepository}.
+     *
+     * @param targetId          identifier of the related resource
+     * @param relationshipClass class of the related resource
+     * @param relationshipEntry registry entry of the related resource
+     * @return linkage of the resource
+     */
+    public static LinkageContainer ofId(Serializable targetId, Class relationshipClass,
+                                        RegistryEntry relationshipEntry) {
+        return new LinkageContainer(null, targetId, relationshipClass, relationshipEntry);
+    }
+
+    /**
+     * @return related resource or null if only its identifier is known
+     */
     public Object getObjectItem() {
         return objectItem;
     }
 
+    /**
+     * @return identifier of the related resource if it has been created using
+     * {@link #ofId(Serializable, Class, RegistryEntry)}, null otherwise
+     */
+    public Serializable getTargetId() {
+        return targetId;
+    }
+
     public Class getRelationshipClass() {
         return relationshipClass;
     }
@@ -49,12 +82,13 @@ public class LinkageContainer {
         if (o == null || getClass() != o.getClass()) return false;
         LinkageContainer that = (LinkageContainer) o;
         return Objects.equals(objectItem, that.objectItem) &&
+                Objects.equals(targetId, that.targetId) &&
                 Objects.equals(relationshipClass, that.relationshipClass) &&
                 Objects.equals(relationshipEntry, that.relationshipEntry);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(objectItem, relationshipClass, relationshipEntry);
+        return Objects.hash(objectItem, targetId, relationshipClass, relationshipEntry);
     }
 }
@@ -0,0 +1,61 @@
+package io.katharsis.response;
+
+import io.katharsis.queryParams.RestrictedPaginationKeys;
+import io.katharsis.resource.RestrictedQueryParamsMembers;
+
+import java.util.Objects;
+
+/**
+ * Links information of a capped to-many relationship linkage, pointing to the next page of the linkage.
+ */
+public class LinkageLinksInformation implements LinksInformation {
+
+    private final String next;
+
+    public LinkageLinksInformation(String next) {
+        this.next = next;
+    }
+
+    /**
+     * @param selfLink relationship link, e.g. http://domain.local/tasks/1/relationships/projects
+     * @param offset   index of the first member of the next page
+     * @param limit    size of a page
+     * @return links information with a link to the page
+     */
+    public static LinkageLinksInformation ofNextPage(String selfLink, long offset, int limit) {
+        return new LinkageLinksInformation(nextPageLink(selfLink, offset, limit));
+    }
+
+    /**
+     * @param selfLink relationship link, e.g. http://domain.local/tasks/1/relationships/projects
+     * @param offset   index of the first member of the page
+     * @param limit    size of a page
+     * @return link to the page of the linkage
+     */
+    public static String nextPageLink(String selfLink, long offset, int limit) {
+        String page = RestrictedQueryParamsMembers.page.name();
+        return selfLink + "?" + page + "[" + RestrictedPaginationKeys.offset + "]=" + offset
+            + "&" + page + "[" + RestrictedPaginationKeys.limit + "]=" + limit;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        LinkageLinksInformation that = (LinkageLinksInformation) o;
+        return Objects.equals(next, that.next);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(next);
+    }
+}
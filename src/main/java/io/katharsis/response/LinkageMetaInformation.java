@@ -0,0 +1,36 @@
+package io.katharsis.response;
+
+import java.util.Objects;
+
+/**
+ * Meta information of a capped to-many relationship linkage, holding the total number of members of the relationship.
+ */
+public class LinkageMetaInformation implements MetaInformation {
+
+    private final long total;
+
+    public LinkageMetaInformation(long total) {
+        this.total = total;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        LinkageMetaInformation that = (LinkageMetaInformation) o;
+        return total == that.total;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(total);
+    }
+}
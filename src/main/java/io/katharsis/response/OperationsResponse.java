@@ -0,0 +1,93 @@
+package io.katharsis.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Results of operations dispatched by {@link io.katharsis.dispatcher.OperationsDispatcher}, in the order of the
+ * operations. The resulting JSON is shown below:
+ * <pre>
+ * {@code
+ * {
+ *   operations: [
+ *     { status: 201, document: { data: { type: "tasks", id: "1" } } },
+ *     { status: 204, document: null }
+ *   ]
+ * }
+ * }
+ * </pre>
+ */
+public class OperationsResponse {
+
+    private final List<Result> operations;
+
+    public OperationsResponse(List<Result> operations) {
+        this.operations = Collections.unmodifiableList(operations);
+    }
+
+    public List<Result> getOperations() {
+        return operations;
+    }
+
+    /**
+     * @return status of the last executed operation, the first failed one if any operation has failed
+     */
+    @JsonIgnore
+    public int getHttpStatus() {
+        return operations.isEmpty() ? HttpStatus.OK_200 : operations.get(operations.size() - 1).getStatus();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OperationsResponse that = (OperationsResponse) o;
+        return Objects.equals(operations, that.operations);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(operations);
+    }
+
+    /**
+     * Result of a single operation.
+     */
+    public static class Result {
+
+        private final int status;
+        private final BaseResponse<?> document;
+
+        public Result(int status, BaseResponse<?> document) {
+            this.status = status;
+            this.document = document;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        /**
+         * @return response of the operation or null if it has no content
+         */
+        public BaseResponse<?> getDocument() {
+            return document;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Result result = (Result) o;
+            return status == result.status && Objects.equals(document, result.document);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(status, document);
+        }
+    }
+}
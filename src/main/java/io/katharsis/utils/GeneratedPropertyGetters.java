@@ -0,0 +1,59 @@
+package io.katharsis.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * Generates implementations of {@link PropertyGetter} which call a getter directly, the same way a lambda expression
+ * does, so calls can be inlined by the JIT compiler.
+ */
+final class GeneratedPropertyGetters {
+
+    private static final Logger log = LoggerFactory.getLogger(GeneratedPropertyGetters.class);
+
+    private static final MethodType GET_METHOD_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType FACTORY_TYPE = MethodType.methodType(PropertyGetter.class);
+
+    private GeneratedPropertyGetters() {
+    }
+
+    /**
+     * @param beanClass class of beans to be accessed
+     * @param getter    getter of a property
+     * @return generated getter or null if it cannot be generated
+     */
+    static PropertyGetter generate(Class<?> beanClass, Method getter) {
+        if (!isVisible(beanClass) || !isVisible(getter.getDeclaringClass())) {
+            return null;
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle getterHandle = lookup.unreflect(getter);
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "get", FACTORY_TYPE, GET_METHOD_TYPE,
+                getterHandle, MethodType.methodType(getter.getReturnType(), beanClass).wrap());
+            return (PropertyGetter) callSite.getTarget().invoke();
+        } catch (Throwable e) {
+            log.debug("Cannot generate a getter for {}, using reflection", getter, e);
+            return null;
+        }
+    }
+
+    /**
+     * A generated class is defined in Katharsis class loader, so it can refer only to classes visible from there.
+     */
+    private static boolean isVisible(Class<?> beanClass) {
+        try {
+            return Class.forName(beanClass.getName(), false, GeneratedPropertyGetters.class.getClassLoader())
+                == beanClass;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package io.katharsis.utils;
+
+/**
+ * Reads a value of a bean's property resolved by {@link PropertyUtils#getPropertyGetter(Class, String)}.
+ */
+@FunctionalInterface
+public interface PropertyGetter {
+
+    /**
+     * @param bean bean to be accessed
+     * @return bean's property value
+     */
+    Object get(Object bean);
+}
@@ -62,16 +62,16 @@ public class PropertyUtils {
     private Object getPropertyValue(Object bean, String fieldName)
         throws NoSuchMethodException, IllegalAccessException, InvocationTargetException {
 
-        Field foundField = findField(bean, fieldName);
+        Field foundField = findField(bean.getClass(), fieldName);
         if (foundField != null) {
             if (!Modifier.isPublic(foundField.getModifiers())) {
-                Method getter = getGetter(bean, foundField.getName());
+                Method getter = getGetter(bean.getClass(), foundField.getName());
                 return getter.invoke(bean);
             } else {
                 return foundField.get(bean);
             }
         } else {
-            Method getter = findGetter(bean, fieldName);
+            Method getter = findGetter(bean.getClass(), fieldName);
             if (getter == null) {
                 throw new RuntimeException(
                     String.format("Cannot find an getter for %s.%s", bean.getClass().getCanonicalName(), fieldName));
@@ -80,8 +80,70 @@ public class PropertyUtils {
         }
     }
 
-    private Method findGetter(Object bean, String fieldName) {
-        List<Method> classGetters = ClassUtils.getClassGetters(bean.getClass());
+    /**
+     * Resolves a getter of bean's property once, so it can be used for many beans of the same class without searching
+     * for a field or a method again. The sequence of searches is the same as in {@link #getProperty(Object, String)}.
+     *
+     * @param beanClass class of beans to be accessed
+     * @param field     bean's fieldName
+     * @return getter of the property
+     */
+    public static PropertyGetter getPropertyGetter(Class<?> beanClass, String field) {
+        return getPropertyGetter(beanClass, field, false);
+    }
+
+    /**
+     * Resolves a getter of bean's property once. If <i>generated</i> is true, the getter is called by a class generated
+     * at runtime using {@link java.lang.invoke.LambdaMetafactory} instead of reflection. Generation is not possible
+     * for public fields, getters which are not accessible from Katharsis and beans which are not visible from
+     * Katharsis class loader, in which case a reflective getter is returned.
+     * <p>
+     * Exceptions thrown by a generated getter are not wrapped.
+     *
+     * @param beanClass class of beans to be accessed
+     * @param field     bean's fieldName
+     * @param generated true if a getter should be generated
+     * @return getter of the property
+     */
+    public static PropertyGetter getPropertyGetter(Class<?> beanClass, String field, boolean generated) {
+        if (beanClass == null) {
+            throw new IllegalArgumentException("No bean class specified");
+        }
+        if (field == null) {
+            throw new IllegalArgumentException(String.format("No field specified for bean: %s", beanClass));
+        }
+
+        try {
+            return INSTANCE.resolvePropertyGetter(beanClass, field, generated);
+        } catch (NoSuchMethodException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private PropertyGetter resolvePropertyGetter(Class<?> beanClass, String fieldName, boolean generated)
+        throws NoSuchMethodException {
+        Field foundField = findField(beanClass, fieldName);
+        if (foundField != null && Modifier.isPublic(foundField.getModifiers())) {
+            return new FieldPropertyGetter(foundField);
+        }
+        Method getter = foundField != null
+            ? getGetter(beanClass, foundField.getName())
+            : findGetter(beanClass, fieldName);
+        if (getter == null) {
+            throw new RuntimeException(
+                String.format("Cannot find an getter for %s.%s", beanClass.getCanonicalName(), fieldName));
+        }
+        if (generated) {
+            PropertyGetter generatedGetter = GeneratedPropertyGetters.generate(beanClass, getter);
+            if (generatedGetter != null) {
+                return generatedGetter;
+            }
+        }
+        return new MethodPropertyGetter(getter);
+    }
+
+    private Method findGetter(Class<?> beanClass, String fieldName) {
+        List<Method> classGetters = ClassUtils.getClassGetters(beanClass);
 
         for (Method getter : classGetters) { // The first loop tries to get name from annotation
             if (getter.isAnnotationPresent(JsonProperty.class)
@@ -110,8 +172,8 @@ public class PropertyUtils {
         return boolean.class.equals(returnType) || Boolean.class.equals(returnType);
     }
 
-    private Field findField(Object bean, String fieldName) {
-        List<Field> classFields = ClassUtils.getClassFields(bean.getClass());
+    private Field findField(Class<?> beanClass, String fieldName) {
+        List<Field> classFields = ClassUtils.getClassFields(beanClass);
         for (Field field : classFields) { // The first loop tries to get name from annotation
             if (field.isAnnotationPresent(JsonProperty.class)
                 && fieldName.equals(field.getAnnotation(JsonProperty.class).value())) {
@@ -126,9 +188,7 @@ public class PropertyUtils {
         return null;
     }
 
-    private Method getGetter(Object bean, String fieldName) throws NoSuchMethodException {
-        Class<?> beanClass = bean.getClass();
-
+    private Method getGetter(Class<?> beanClass, String fieldName) throws NoSuchMethodException {
         String upperCaseName = fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
 
         try {
@@ -173,7 +233,7 @@ public class PropertyUtils {
 
     private void setPropertyValue(Object bean, String fieldName, Object value)
         throws NoSuchMethodException, IllegalAccessException, InvocationTargetException {
-        Field foundField = findField(bean, fieldName);
+        Field foundField = findField(bean.getClass(), fieldName);
 
         if (foundField != null) {
             if ( !Modifier.isPublic(foundField.getModifiers())) {
@@ -183,7 +243,7 @@ public class PropertyUtils {
                 foundField.set(bean, value);
             }
         } else {
-            Method getter = findGetter(bean, fieldName);
+            Method getter = findGetter(bean.getClass(), fieldName);
             if (getter == null) {
                 throw new RuntimeException(
                     String.format("Cannot find an getter for %s.%s", bean.getClass().getCanonicalName(), fieldName));
@@ -201,4 +261,38 @@ public class PropertyUtils {
 
         return beanClass.getMethod("set" + upperCaseName, fieldType);
     }
+
+    private static final class FieldPropertyGetter implements PropertyGetter {
+        private final Field field;
+
+        private FieldPropertyGetter(Field field) {
+            this.field = field;
+        }
+
+        @Override
+        public Object get(Object bean) {
+            try {
+                return field.get(bean);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    private static final class MethodPropertyGetter implements PropertyGetter {
+        private final Method getter;
+
+        private MethodPropertyGetter(Method getter) {
+            this.getter = getter;
+        }
+
+        @Override
+        public Object get(Object bean) {
+            try {
+                return getter.invoke(bean);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
 }
@@ -2,6 +2,7 @@ package io.katharsis.utils.parser;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.time.*;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -43,6 +44,20 @@ public final class StandardTypeParsers {
             return input.charAt(0);
         });
         addType(asList(UUID.class), UUID::fromString);
+        addType(singletonList(Instant.class), Instant::parse);
+        addType(singletonList(LocalDate.class), LocalDate::parse);
+        addType(singletonList(LocalTime.class), LocalTime::parse);
+        addType(singletonList(LocalDateTime.class), LocalDateTime::parse);
+        addType(singletonList(OffsetTime.class), OffsetTime::parse);
+        addType(singletonList(OffsetDateTime.class), OffsetDateTime::parse);
+        addType(singletonList(ZonedDateTime.class), ZonedDateTime::parse);
+        addType(singletonList(Year.class), Year::parse);
+        addType(singletonList(YearMonth.class), YearMonth::parse);
+        addType(singletonList(MonthDay.class), MonthDay::parse);
+        addType(singletonList(Duration.class), Duration::parse);
+        addType(singletonList(Period.class), Period::parse);
+        addType(singletonList(ZoneId.class), ZoneId::of);
+        addType(singletonList(ZoneOffset.class), ZoneOffset::of);
     }
 
     private static void addType(List<Class<?>> classes, StandardTypeParser standardTypeParser) {
@@ -1,12 +1,20 @@
 package io.katharsis.utils.parser;
 
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.util.LinkedList;
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Parses {@link String} into an instance of provided {@link Class}. It support the following classes:
@@ -23,12 +31,26 @@ import java.util.List;
  *     <li>{@link Character} and {@link char}</li>
  *     <li>{@link Boolean} and {@link boolean}</li>
  *     <li>{@link java.util.UUID}</li>
+ *     <li>Dates, times and amounts of time of {@code java.time} package</li>
  *     <li>An {@link Enum}</li>
  *     <li>A class with a {@link String} only constructor</li>
+ *     <li>A class with a static {@code valueOf}, {@code of}, {@code parse} or {@code fromString} method accepting a
+ *     {@link String} or {@link CharSequence} and returning an instance of the class</li>
  * </ol>
+ * A way of parsing is resolved once for each class.
  */
 public class TypeParser {
 
+    private static final String[] FACTORY_METHOD_NAMES = {"valueOf", "of", "parse", "fromString"};
+    private static final MethodType PARSER_TYPE = MethodType.methodType(Object.class, String.class);
+
+    private static final ClassValue<StandardTypeParser<?>> PARSERS = new ClassValue<StandardTypeParser<?>>() {
+        @Override
+        protected StandardTypeParser<?> computeValue(Class<?> clazz) {
+            return resolveParser(clazz);
+        }
+    };
+
     /**
      * Parses an {@link Iterable} of String instances to {@link Iterable} of parsed values.
      * @param inputs list of Strings
@@ -37,7 +59,9 @@ public class TypeParser {
      * @return {@link Iterable} of parsed values
      */
     public <T extends Serializable> Iterable<T> parse(Iterable<String> inputs, Class<T> clazz) {
-        List<T> parsedValues = new LinkedList<>();
+        List<T> parsedValues = inputs instanceof Collection
+            ? new ArrayList<>(((Collection<String>) inputs).size())
+            : new ArrayList<>();
         for (String input : inputs) {
             parsedValues.add(parse(input, clazz));
         }
@@ -52,47 +76,127 @@ public class TypeParser {
      * @param <T> type of class
      * @return instance of parsed value
      */
+    @SuppressWarnings("unchecked")
     public <T extends Serializable> T parse(String input, Class<T> clazz) {
         try {
-            return parseInput(input, clazz);
-        } catch (InvocationTargetException | InstantiationException | IllegalAccessException | NoSuchMethodException |
-                NumberFormatException | ParserException
-                e) {
+            return (T) PARSERS.get(clazz).parse(input);
+        } catch (NumberFormatException | DateTimeException | ParserException e) {
             throw new ParserException(e.getMessage());
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private <T extends Serializable> T parseInput(String input, Class<T> clazz)
-            throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException {
-        T parsedValue;
-        if (String.class.equals(clazz)) {
-            parsedValue = (T) input;
-        } else if (StandardTypeParsers.parsers.containsKey(clazz)) {
-            StandardTypeParser standardTypeParser = StandardTypeParsers.parsers.get(clazz);
+    /**
+     * Parses a {@link String} to a primitive long without boxing it.
+     * @param input String value
+     * @return parsed value
+     */
+    public long parseLong(String input) {
+        try {
+            return Long.parseLong(input);
+        } catch (NumberFormatException e) {
+            throw new ParserException(e.getMessage());
+        }
+    }
 
-            parsedValue = (T) standardTypeParser.parse(input);
-        } else if (isEnum(clazz)) {
-            parsedValue = (T) Enum.valueOf((Class<Enum>)clazz.asSubclass(Enum.class), input.trim());
-        } else if (containsStringConstructor(clazz)) {
-            parsedValue = clazz.getDeclaredConstructor(String.class).newInstance(input);
-        } else {
+    /**
+     * Parses a {@link Collection} of String instances to an array of primitive longs.
+     * @param inputs list of Strings
+     * @return parsed values in the order of the inputs
+     */
+    public long[] parseLongs(Collection<String> inputs) {
+        long[] parsedValues = new long[inputs.size()];
+        int i = 0;
+        for (String input : inputs) {
+            parsedValues[i++] = parseLong(input);
+        }
+        return parsedValues;
+    }
+
+    /**
+     * @param clazz type of an identifier
+     * @return true if values of the type can be parsed with {@link #parseLong(String)}
+     */
+    public static boolean isLongType(Class<?> clazz) {
+        return clazz == long.class || clazz == Long.class;
+    }
+
+    private static StandardTypeParser<?> resolveParser(Class<?> clazz) {
+        if (String.class.equals(clazz)) {
+            return input -> input;
+        }
+        StandardTypeParser<?> standardTypeParser = StandardTypeParsers.parsers.get(clazz);
+        if (standardTypeParser != null) {
+            return standardTypeParser;
+        }
+        if (clazz.isEnum()) {
+            return enumParser(clazz.asSubclass(Enum.class));
+        }
+        MethodHandle factory = findStringConstructor(clazz);
+        if (factory == null) {
+            factory = findFactoryMethod(clazz);
+        }
+        if (factory != null) {
+            return handleParser(factory.asType(PARSER_TYPE));
+        }
+        return input -> {
             throw new ParserException(String.format("Cannot parse to %s : %s", clazz.getName(), input));
+        };
+    }
+
+    private static StandardTypeParser<?> enumParser(Class<? extends Enum> clazz) {
+        Map<String, Enum> constants = new HashMap<>();
+        for (Enum constant : clazz.getEnumConstants()) {
+            constants.put(constant.name(), constant);
         }
-        return parsedValue;
+        return input -> {
+            Enum constant = constants.get(input.trim());
+            if (constant == null) {
+                throw new IllegalArgumentException("No enum constant " + clazz.getCanonicalName() + "." + input);
+            }
+            return constant;
+        };
     }
 
-    private <T extends Serializable> boolean isEnum(Class<T> clazz) {
-        return clazz.isEnum();
+    private static StandardTypeParser<?> handleParser(MethodHandle factory) {
+        return input -> {
+            try {
+                return (Object) factory.invokeExact(input);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new ParserException(e.getMessage());
+            }
+        };
     }
 
-    private boolean containsStringConstructor(Class<?> clazz) throws NoSuchMethodException {
-        boolean result = false;
-        for (Constructor constructor : clazz.getDeclaredConstructors()) {
+    private static MethodHandle findStringConstructor(Class<?> clazz) {
+        for (Constructor<?> constructor : clazz.getDeclaredConstructors()) {
             if (constructor.getParameterCount() == 1 && constructor.getParameterTypes()[0] == String.class) {
-                result = true;
+                try {
+                    constructor.setAccessible(true);
+                    return MethodHandles.lookup().unreflectConstructor(constructor);
+                } catch (IllegalAccessException | SecurityException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static MethodHandle findFactoryMethod(Class<?> clazz) {
+        for (String methodName : FACTORY_METHOD_NAMES) {
+            for (Class<?> parameterType : new Class<?>[]{String.class, CharSequence.class}) {
+                try {
+                    Method method = clazz.getMethod(methodName, parameterType);
+                    if (Modifier.isStatic(method.getModifiers()) && clazz.isAssignableFrom(method.getReturnType())) {
+                        method.setAccessible(true);
+                        return MethodHandles.lookup().unreflect(method);
+                    }
+                } catch (NoSuchMethodException | IllegalAccessException | SecurityException e) {
+                    // try the next candidate
+                }
             }
         }
-        return result;
+        return null;
     }
 }
@@ -0,0 +1,191 @@
+package io.katharsis.cache;
+
+import io.katharsis.locator.SampleJsonServiceLocator;
+import io.katharsis.queryParams.QueryParams;
+import io.katharsis.queryParams.QueryParamsBuilder;
+import io.katharsis.request.path.PathBuilder;
+import io.katharsis.resource.field.ResourceFieldNameTransformer;
+import io.katharsis.resource.information.ResourceInformationBuilder;
+import io.katharsis.resource.registry.ResourceRegistry;
+import io.katharsis.resource.registry.ResourceRegistryBuilder;
+import io.katharsis.resource.registry.ResourceRegistryBuilderTest;
+import io.katharsis.resource.registry.ResourceRegistryTest;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CollectionQueryCacheTest {
+
+    private static final long TTL = 60_000L;
+    private static final Set<String> TYPES = new HashSet<>(Arrays.asList("tasks", "projects", "users"));
+
+    private ResourceRegistry resourceRegistry;
+    private PathBuilder pathBuilder;
+    private QueryParams queryParams;
+
+    @Before
+    public void prepare() {
+        ResourceInformationBuilder resourceInformationBuilder = new ResourceInformationBuilder(
+            new ResourceFieldNameTransformer());
+        ResourceRegistryBuilder registryBuilder = new ResourceRegistryBuilder(new SampleJsonServiceLocator(),
+            resourceInformationBuilder);
+        resourceRegistry = registryBuilder
+            .build(ResourceRegistryBuilderTest.TEST_MODELS_PACKAGE, ResourceRegistryTest.TEST_MODELS_URL);
+        pathBuilder = new PathBuilder(resourceRegistry);
+        queryParams = buildQueryParams("sort[tasks][name]", "asc");
+    }
+
+    @Test
+    public void onPutCacheShouldReturnEntryForEqualQueryParams() {
+        // GIVEN
+        CollectionQueryCache sut = new CollectionQueryCache(resourceRegistry, TYPES, 10, TTL);
+
+        // WHEN
+        sut.put("tasks", queryParams, sut.currentGeneration("tasks"), ids(1L, 2L), null, null);
+
+        // THEN
+        CachedCollection result = sut.get("tasks", buildQueryParams("sort[tasks][name]", "asc"));
+        assertThat(result).isNotNull();
+        assertThat(result.getIds()).containsExactly(1L, 2L);
+        assertThat(sut.get("tasks", buildQueryParams("sort[tasks][name]", "desc"))).isNull();
+        assertThat(sut.get("projects", queryParams)).isNull();
+    }
+
+    @Test
+    public void onTypeNotEnabledCacheShouldNotStoreEntries() {
+        // GIVEN
+        CollectionQueryCache sut = new CollectionQueryCache(resourceRegistry, TYPES, 10, TTL);
+
+        // WHEN
+        sut.put("comments", queryParams, sut.currentGeneration("comments"), ids(1L), null, null);
+
+        // THEN
+        assertThat(sut.isCacheable("comments")).isFalse();
+        assertThat(sut.get("comments", queryParams)).isNull();
+    }
+
+    @Test
+    public void onInvalidateCacheShouldRemoveEntriesOfType() {
+        // GIVEN
+        CollectionQueryCache sut = new CollectionQueryCache(resourceRegistry, TYPES, 10, TTL);
+        sut.put("tasks", queryParams, sut.currentGeneration("tasks"), ids(1L), null, null);
+        sut.put("projects", queryParams, sut.currentGeneration("projects"), ids(2L), null, null);
+
+        // WHEN
+        sut.invalidate("tasks");
+
+        // THEN
+        assertThat(sut.get("tasks", queryParams)).isNull();
+        assertThat(sut.get("projects", queryParams)).isNotNull();
+    }
+
+    @Test
+    public void onWriteDuringLoadCacheShouldNotStoreResult() {
+        // GIVEN
+        CollectionQueryCache sut = new CollectionQueryCache(resourceRegistry, TYPES, 10, TTL);
+        long generation = sut.currentGeneration("tasks");
+
+        // WHEN
+        sut.invalidate("tasks");
+        sut.put("tasks", queryParams, generation, ids(1L), null, null);
+
+        // THEN
+        assertThat(sut.get("tasks", queryParams)).isNull();
+    }
+
+    @Test
+    public void onRelationshipWriteCacheShouldInvalidateTargetType() {
+        // GIVEN
+        CollectionQueryCache sut = new CollectionQueryCache(resourceRegistry, TYPES, 10, TTL);
+        sut.put("tasks", queryParams, sut.currentGeneration("tasks"), ids(1L), null, null);
+        sut.put("projects", queryParams, sut.currentGeneration("projects"), ids(2L), null, null);
+        sut.put("users", queryParams, sut.currentGeneration("users"), ids(3L), null, null);
+
+        // WHEN
+        sut.invalidate(pathBuilder.buildPath("/tasks/1/relationships/project"));
+
+        // THEN
+        assertThat(sut.get("tasks", queryParams)).isNull();
+        assertThat(sut.get("projects", queryParams)).isNull();
+        assertThat(sut.get("users", queryParams)).isNotNull();
+    }
+
+    @Test
+    public void onExceededSizeCacheShouldEvictLeastRecentlyUsedEntry() {
+        // GIVEN
+        CollectionQueryCache sut = new CollectionQueryCache(resourceRegistry, TYPES, 2, TTL);
+        QueryParams otherQueryParams = buildQueryParams("sort[tasks][name]", "desc");
+        QueryParams thirdQueryParams = buildQueryParams("filter[tasks][name]", "John");
+        sut.put("tasks", queryParams, 0, ids(1L), null, null);
+        sut.put("tasks", otherQueryParams, 0, ids(2L), null, null);
+
+        // WHEN
+        sut.get("tasks", queryParams);
+        sut.put("tasks", thirdQueryParams, 0, ids(3L), null, null);
+
+        // THEN
+        assertThat(sut.get("tasks", queryParams)).isNotNull();
+        assertThat(sut.get("tasks", otherQueryParams)).isNull();
+        assertThat(sut.get("tasks", thirdQueryParams)).isNotNull();
+    }
+
+    @Test
+    public void onExpiredEntryCacheShouldReturnNull() {
+        // GIVEN
+        CollectionQueryCache sut = new CollectionQueryCache(resourceRegistry, TYPES, 10, 0);
+
+        // WHEN
+        sut.put("tasks", queryParams, 0, ids(1L), null, null);
+
+        // THEN
+        assertThat(sut.get("tasks", queryParams)).isNull();
+    }
+
+    @Test
+    public void onStaleEntryCacheShouldScheduleSingleRefresh() {
+        // GIVEN
+        List<Runnable> scheduled = new ArrayList<>();
+        CollectionQueryCache sut = new CollectionQueryCache(resourceRegistry, TYPES, 10, TTL, 0, scheduled::add);
+        sut.put("tasks", queryParams, 0, ids(1L), null, null);
+        CachedCollection cachedCollection = sut.get("tasks", queryParams);
+        AtomicInteger loads = new AtomicInteger();
+
+        // WHEN
+        sut.refreshIfStale(cachedCollection, loads::incrementAndGet);
+        sut.refreshIfStale(cachedCollection, loads::incrementAndGet);
+        scheduled.forEach(Runnable::run);
+
+        // THEN
+        assertThat(scheduled).hasSize(1);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void onFreshEntryCacheShouldNotScheduleRefresh() {
+        // GIVEN
+        List<Runnable> scheduled = new ArrayList<>();
+        CollectionQueryCache sut = new CollectionQueryCache(resourceRegistry, TYPES, 10, TTL, TTL, scheduled::add);
+        sut.put("tasks", queryParams, 0, ids(1L), null, null);
+
+        // WHEN
+        sut.refreshIfStale(sut.get("tasks", queryParams), () -> {});
+
+        // THEN
+        assertThat(scheduled).isEmpty();
+    }
+
+    private static List<Serializable> ids(Long... ids) {
+        return new ArrayList<>(Arrays.asList(ids));
+    }
+
+    private static QueryParams buildQueryParams(String key, String value) {
+        Map<String, Set<String>> params = new HashMap<>();
+        params.put(key, Collections.singleton(value));
+        return new QueryParamsBuilder().buildQueryParams(params);
+    }
+}
@@ -0,0 +1,219 @@
+package io.katharsis.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.katharsis.jackson.JsonApiModuleBuilder;
+import io.katharsis.locator.SampleJsonServiceLocator;
+import io.katharsis.queryParams.QueryParams;
+import io.katharsis.queryParams.QueryParamsBuilder;
+import io.katharsis.request.path.JsonPath;
+import io.katharsis.request.path.PathBuilder;
+import io.katharsis.resource.field.ResourceFieldNameTransformer;
+import io.katharsis.resource.information.ResourceInformationBuilder;
+import io.katharsis.resource.mock.models.Comment;
+import io.katharsis.resource.mock.models.Project;
+import io.katharsis.resource.mock.repository.CommentRepository;
+import io.katharsis.resource.registry.ResourceRegistry;
+import io.katharsis.resource.registry.ResourceRegistryBuilder;
+import io.katharsis.resource.registry.ResourceRegistryBuilderTest;
+import io.katharsis.resource.registry.ResourceRegistryTest;
+import io.katharsis.response.CollectionResponse;
+import io.katharsis.response.ResourceResponse;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+
+import static io.katharsis.jackson.JsonApiEncodingNegotiator.JSON_API_MEDIA_TYPE;
+import static io.katharsis.jackson.JsonApiEncodingNegotiator.SMILE_MEDIA_TYPE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ETagCalculatorTest {
+
+    private ResourceRegistry resourceRegistry;
+    private PathBuilder pathBuilder;
+    private QueryParams queryParams;
+    private ObjectMapper objectMapper;
+    private ETagCalculator sut;
+
+    @Before
+    public void prepare() {
+        ResourceInformationBuilder resourceInformationBuilder = new ResourceInformationBuilder(
+            new ResourceFieldNameTransformer());
+        ResourceRegistryBuilder registryBuilder = new ResourceRegistryBuilder(new SampleJsonServiceLocator(),
+            resourceInformationBuilder);
+        resourceRegistry = registryBuilder
+            .build(ResourceRegistryBuilderTest.TEST_MODELS_PACKAGE, ResourceRegistryTest.TEST_MODELS_URL);
+        pathBuilder = new PathBuilder(resourceRegistry);
+        queryParams = new QueryParamsBuilder().buildQueryParams(Collections.emptyMap());
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JsonApiModuleBuilder().build(resourceRegistry));
+        sut = new ETagCalculator(resourceRegistry, objectMapper);
+        CommentRepository.clear();
+    }
+
+    @Test
+    public void onSameVersionsCalculatorShouldReturnSameTag() {
+        // GIVEN
+        Comment comment = new Comment().setId(1L).setContent("content").setVersion(1L);
+
+        // WHEN
+        String first = sut.calculateFromVersions(commentResponse(comment));
+        comment.setContent("changed");
+        String second = sut.calculateFromVersions(commentResponse(comment));
+        comment.setVersion(2L);
+        String third = sut.calculateFromVersions(commentResponse(comment));
+
+        // THEN
+        assertThat(first).startsWith("\"").endsWith("\"");
+        assertThat(second).isEqualTo(first);
+        assertThat(third).isNotEqualTo(first);
+    }
+
+    @Test
+    public void onCollectionCalculatorShouldDependOnResourceOrder() {
+        // GIVEN
+        Comment first = new Comment().setId(1L).setVersion(1L);
+        Comment second = new Comment().setId(2L).setVersion(1L);
+        JsonPath jsonPath = pathBuilder.buildPath("/comments");
+
+        // WHEN
+        String result = sut.calculateFromVersions(new CollectionResponse(Arrays.asList(first, second), jsonPath,
+            queryParams, null, null));
+        String reversed = sut.calculateFromVersions(new CollectionResponse(Arrays.asList(second, first), jsonPath,
+            queryParams, null, null));
+
+        // THEN
+        assertThat(result).isNotNull().isNotEqualTo(reversed);
+    }
+
+    @Test
+    public void onNotVersionedResourceCalculatorShouldHashPayload() throws Exception {
+        // GIVEN
+        Project project = new Project().setId(1L);
+        project.setName("name");
+        ResourceResponse response = new ResourceResponse(project, pathBuilder.buildPath("/projects/1"), queryParams,
+            null, null);
+
+        // WHEN
+        String result = sut.calculate(response);
+        String repeated = sut.calculate(response);
+        project.setName("other name");
+        String changed = sut.calculate(response);
+
+        // THEN
+        assertThat(sut.calculateFromVersions(response)).isNull();
+        assertThat(repeated).isEqualTo(result);
+        assertThat(changed).isNotEqualTo(result);
+    }
+
+    @Test
+    public void onVersionRepositoryCalculatorShouldReturnTagOfLoadedResponseBeforeLoading() {
+        // GIVEN
+        Comment comment = new Comment().setId(1L).setContent("content").setVersion(3L);
+        new CommentRepository().save(comment);
+        JsonPath jsonPath = pathBuilder.buildPath("/comments/1");
+
+        // WHEN
+        String result = sut.calculateBeforeLoading(jsonPath, queryParams, null);
+
+        // THEN
+        assertThat(result).isEqualTo(sut.calculateFromVersions(commentResponse(comment)));
+    }
+
+    @Test
+    public void onRepositoryWithoutVersionsCalculatorShouldNotReturnTagBeforeLoading() {
+        // WHEN
+        String result = sut.calculateBeforeLoading(pathBuilder.buildPath("/projects/1"), queryParams, null);
+
+        // THEN
+        assertThat(result).isNull();
+    }
+
+    @Test
+    public void onDifferentMediaTypesCalculatorShouldReturnDifferentTags() throws Exception {
+        // GIVEN
+        Comment comment = new Comment().setId(1L).setContent("content").setVersion(1L);
+        Project project = new Project().setId(1L);
+        ResourceResponse projectResponse = new ResourceResponse(project, pathBuilder.buildPath("/projects/1"),
+            queryParams, null, null);
+
+        // WHEN
+        String jsonTag = sut.calculateFromVersions(commentResponse(comment), JSON_API_MEDIA_TYPE);
+        String smileTag = sut.calculateFromVersions(commentResponse(comment), SMILE_MEDIA_TYPE);
+        String jsonPayloadTag = sut.write(projectResponse, objectMapper, JSON_API_MEDIA_TYPE,
+            new ByteArrayOutputStream());
+        String smilePayloadTag = sut.write(projectResponse, objectMapper, SMILE_MEDIA_TYPE,
+            new ByteArrayOutputStream());
+
+        // THEN
+        assertThat(jsonTag).isEqualTo(sut.calculateFromVersions(commentResponse(comment)));
+        assertThat(smileTag).isNotEqualTo(jsonTag);
+        assertThat(jsonPayloadTag).isEqualTo(sut.calculate(projectResponse));
+        assertThat(smilePayloadTag).isNotEqualTo(jsonPayloadTag);
+    }
+
+    @Test
+    public void onWriteCalculatorShouldWriteResponseOnceWithoutClosingStream() throws Exception {
+        // GIVEN
+        Project project = new Project().setId(1L);
+        project.setName("name");
+        ResourceResponse response = new ResourceResponse(project, pathBuilder.buildPath("/projects/1"), queryParams,
+            null, null);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                throw new IllegalStateException("closed");
+            }
+        };
+
+        // WHEN
+        String result = sut.write(response, objectMapper, JSON_API_MEDIA_TYPE, outputStream);
+
+        // THEN
+        assertThat(outputStream.toByteArray()).isEqualTo(objectMapper.writeValueAsBytes(response));
+        assertThat(result).isEqualTo(sut.calculateFromPayload(response));
+    }
+
+    @Test
+    public void onSparseFieldsetsCalculatorShouldDigestFieldNames() {
+        // GIVEN
+        Comment comment = new Comment().setId(1L).setContent("content").setVersion(1L);
+        JsonPath jsonPath = pathBuilder.buildPath("/comments/1");
+        QueryParams contentFields = new QueryParamsBuilder().buildQueryParams(
+            Collections.singletonMap("fields[comments]", new LinkedHashSet<>(Arrays.asList("content", "task"))));
+        QueryParams reorderedFields = new QueryParamsBuilder().buildQueryParams(
+            Collections.singletonMap("fields[comments]", new LinkedHashSet<>(Arrays.asList("task", "content"))));
+        QueryParams otherFields = new QueryParamsBuilder().buildQueryParams(
+            Collections.singletonMap("fields[comments]", Collections.singleton("task")));
+
+        // WHEN
+        String result = sut.calculateFromVersions(new ResourceResponse(comment, jsonPath, contentFields, null, null));
+        String reordered = sut.calculateFromVersions(new ResourceResponse(comment, jsonPath, reorderedFields, null,
+            null));
+        String other = sut.calculateFromVersions(new ResourceResponse(comment, jsonPath, otherFields, null, null));
+
+        // THEN
+        assertThat(reordered).isEqualTo(result);
+        assertThat(other).isNotEqualTo(result);
+        assertThat(result).isNotEqualTo(sut.calculateFromVersions(commentResponse(comment)));
+    }
+
+    @Test
+    public void onIfNoneMatchCalculatorShouldUseWeakComparison() {
+        assertThat(ETagCalculator.matches("\"a\"", "\"a\"")).isTrue();
+        assertThat(ETagCalculator.matches("W/\"a\"", "\"a\"")).isTrue();
+        assertThat(ETagCalculator.matches("\"b\", \"a\"", "\"a\"")).isTrue();
+        assertThat(ETagCalculator.matches("*", "\"a\"")).isTrue();
+        assertThat(ETagCalculator.matches("\"b\"", "\"a\"")).isFalse();
+        assertThat(ETagCalculator.matches(null, "\"a\"")).isFalse();
+        assertThat(ETagCalculator.matches("\"a\"", null)).isFalse();
+    }
+
+    private ResourceResponse commentResponse(Comment comment) {
+        return new ResourceResponse(comment, pathBuilder.buildPath("/comments/" + comment.getId()), queryParams,
+            null, null);
+    }
+}
@@ -0,0 +1,203 @@
+package io.katharsis.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.katharsis.jackson.JsonApiModuleBuilder;
+import io.katharsis.locator.SampleJsonServiceLocator;
+import io.katharsis.queryParams.QueryParams;
+import io.katharsis.request.path.PathBuilder;
+import io.katharsis.resource.field.ResourceFieldNameTransformer;
+import io.katharsis.resource.information.ResourceInformationBuilder;
+import io.katharsis.resource.mock.models.Project;
+import io.katharsis.resource.registry.ResourceRegistry;
+import io.katharsis.resource.registry.ResourceRegistryBuilder;
+import io.katharsis.resource.registry.ResourceRegistryBuilderTest;
+import io.katharsis.resource.registry.ResourceRegistryTest;
+import io.katharsis.response.ResourceResponse;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static net.javacrumbs.jsonunit.fluent.JsonFluentAssert.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OffHeapResponseCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void onPutCacheShouldTransferPayloadToChannel() throws Exception {
+        // GIVEN
+        OffHeapResponseCache sut = new OffHeapResponseCache(4, 128);
+        sut.put("/tasks/1", bytes("{\"data\":null}"));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // WHEN
+        boolean result = sut.transferTo("/tasks/1", Channels.newChannel(outputStream));
+
+        // THEN
+        assertThat(result).isTrue();
+        assertThat(outputStream.toString("UTF-8")).isEqualTo("{\"data\":null}");
+        assertThat(sut.transferTo("/tasks/2", Channels.newChannel(outputStream))).isFalse();
+    }
+
+    @Test
+    public void onPutExistingKeyCacheShouldReplacePayload() {
+        // GIVEN
+        OffHeapResponseCache sut = new OffHeapResponseCache(4, 128);
+        sut.put("/tasks/1", bytes("first"));
+
+        // WHEN
+        sut.put("/tasks/1", bytes("second"));
+
+        // THEN
+        assertThat(string(sut.get("/tasks/1"))).isEqualTo("second");
+        assertThat(sut.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void onPayloadLargerThanSlotCacheShouldNotStoreIt() {
+        // GIVEN
+        OffHeapResponseCache sut = new OffHeapResponseCache(4, 32);
+
+        // WHEN
+        boolean result = sut.put("/tasks/1", new byte[32]);
+
+        // THEN
+        assertThat(result).isFalse();
+        assertThat(sut.get("/tasks/1")).isNull();
+    }
+
+    @Test
+    public void onPayloadLargerThanSlotForCachedKeyCacheShouldRemoveOldPayload() {
+        // GIVEN
+        OffHeapResponseCache sut = new OffHeapResponseCache(4, 32);
+        sut.put("/tasks/1", "first".getBytes(StandardCharsets.UTF_8));
+
+        // WHEN
+        boolean result = sut.put("/tasks/1", new byte[32]);
+
+        // THEN
+        assertThat(result).isFalse();
+        assertThat(sut.get("/tasks/1")).isNull();
+        assertThat(sut.size()).isZero();
+    }
+
+    @Test
+    public void onReadCacheShouldPassPayloadToReader() {
+        // GIVEN
+        OffHeapResponseCache sut = new OffHeapResponseCache(4, 64);
+        sut.put("/tasks/1", "payload".getBytes(StandardCharsets.UTF_8));
+
+        // WHEN
+        String result = sut.read("/tasks/1", OffHeapResponseCacheTest::string);
+
+        // THEN
+        assertThat(result).isEqualTo("payload");
+        assertThat(sut.read("/tasks/2", OffHeapResponseCacheTest::string)).isNull();
+    }
+
+    @Test
+    public void onFullCacheShouldEvictNotReferencedEntry() {
+        // GIVEN
+        OffHeapResponseCache sut = new OffHeapResponseCache(2, 64);
+        sut.put("a", bytes("1"));
+        sut.put("b", bytes("2"));
+
+        // WHEN
+        sut.put("c", bytes("3"));
+        sut.get("c");
+        sut.put("d", bytes("4"));
+
+        // THEN
+        assertThat(sut.size()).isEqualTo(2);
+        assertThat(sut.get("c")).isNotNull();
+        assertThat(sut.get("d")).isNotNull();
+    }
+
+    @Test
+    public void onRemoveIfCacheShouldRemoveMatchingEntries() {
+        // GIVEN
+        OffHeapResponseCache sut = new OffHeapResponseCache(4, 64);
+        sut.put("/tasks/1", bytes("1"));
+        sut.put("/projects/1", bytes("2"));
+
+        // WHEN
+        sut.removeIf(key -> key.startsWith("/tasks"));
+
+        // THEN
+        assertThat(sut.get("/tasks/1")).isNull();
+        assertThat(sut.get("/projects/1")).isNotNull();
+    }
+
+    @Test
+    public void onReopenedFileCacheShouldLoadStoredEntries() throws Exception {
+        // GIVEN
+        Path file = temporaryFolder.newFile().toPath();
+        OffHeapResponseCache cache = new OffHeapResponseCache(file, 8, 256);
+        cache.put("/tasks/1", bytes("{\"data\":1}"));
+        cache.put("/tasks/2", bytes("{\"data\":2}"));
+        cache.remove("/tasks/2");
+        cache.close();
+
+        // WHEN
+        OffHeapResponseCache sut = new OffHeapResponseCache(file, 8, 256);
+
+        // THEN
+        assertThat(sut.size()).isEqualTo(1);
+        assertThat(string(sut.get("/tasks/1"))).isEqualTo("{\"data\":1}");
+        assertThat(sut.get("/tasks/2")).isNull();
+        sut.close();
+    }
+
+    @Test
+    public void onReopenedFileWithDifferentLayoutCacheShouldStartEmpty() throws Exception {
+        // GIVEN
+        Path file = temporaryFolder.newFile().toPath();
+        OffHeapResponseCache cache = new OffHeapResponseCache(file, 8, 256);
+        cache.put("/tasks/1", bytes("{\"data\":1}"));
+        cache.close();
+
+        // WHEN
+        OffHeapResponseCache sut = new OffHeapResponseCache(file, 4, 128);
+
+        // THEN
+        assertThat(sut.size()).isEqualTo(0);
+        sut.close();
+    }
+
+    @Test
+    public void onPutResponseCacheShouldStoreSerializedResponse() throws Exception {
+        // GIVEN
+        ResourceRegistry resourceRegistry = new ResourceRegistryBuilder(new SampleJsonServiceLocator(),
+            new ResourceInformationBuilder(new ResourceFieldNameTransformer()))
+            .build(ResourceRegistryBuilderTest.TEST_MODELS_PACKAGE, ResourceRegistryTest.TEST_MODELS_URL);
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JsonApiModuleBuilder().build(resourceRegistry));
+        ResourceResponse response = new ResourceResponse(new Project().setId(1L),
+            new PathBuilder(resourceRegistry).buildPath("/projects/1"), new QueryParams(), null, null);
+        OffHeapResponseCache sut = new OffHeapResponseCache(4, 1024);
+
+        // WHEN
+        sut.put("/projects/1", objectMapper, response);
+
+        // THEN
+        assertThatJson(string(sut.get("/projects/1"))).node("data.id").isEqualTo("\"1\"");
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
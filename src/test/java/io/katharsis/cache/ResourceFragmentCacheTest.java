@@ -0,0 +1,61 @@
+package io.katharsis.cache;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResourceFragmentCacheTest {
+
+    @Test
+    public void onPutCacheShouldReturnFragmentForSameVersion() {
+        // GIVEN
+        ResourceFragmentCache sut = new ResourceFragmentCache(1024);
+        JsonFragment fragment = fragment("{\"id\":\"1\"}");
+
+        // WHEN
+        sut.put("tasks", 1L, 1L, null, fragment);
+
+        // THEN
+        assertThat(sut.get("tasks", 1L, 1L, Collections.emptySet())).isSameAs(fragment);
+        assertThat(sut.get("tasks", 1L, 2L, null)).isNull();
+        assertThat(sut.get("tasks", 1L, 1L, Collections.singleton("name"))).isNull();
+    }
+
+    @Test
+    public void onExceededCapacityCacheShouldEvictLeastRecentlyUsedFragments() {
+        // GIVEN
+        ResourceFragmentCache sut = new ResourceFragmentCache(20);
+        sut.put("tasks", 1L, 1L, null, fragment("{\"id\":\"1\"}"));
+        sut.put("tasks", 2L, 1L, null, fragment("{\"id\":\"2\"}"));
+
+        // WHEN
+        sut.get("tasks", 1L, 1L, null);
+        sut.put("tasks", 3L, 1L, null, fragment("{\"id\":\"3\"}"));
+
+        // THEN
+        assertThat(sut.get("tasks", 1L, 1L, null)).isNotNull();
+        assertThat(sut.get("tasks", 2L, 1L, null)).isNull();
+        assertThat(sut.get("tasks", 3L, 1L, null)).isNotNull();
+        assertThat(sut.size()).isEqualTo(20);
+    }
+
+    @Test
+    public void onFragmentLargerThanCapacityCacheShouldNotStoreIt() {
+        // GIVEN
+        ResourceFragmentCache sut = new ResourceFragmentCache(4);
+
+        // WHEN
+        sut.put("tasks", 1L, 1L, null, fragment("{\"id\":\"1\"}"));
+
+        // THEN
+        assertThat(sut.get("tasks", 1L, 1L, null)).isNull();
+        assertThat(sut.size()).isEqualTo(0);
+    }
+
+    private static JsonFragment fragment(String json) {
+        return new JsonFragment(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,68 @@
+package io.katharsis.concurrency;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs an action from many threads at once. Threads are started first and released together, so the action is
+ * executed concurrently as often as possible. The first failure of any thread is rethrown.
+ */
+final class ConcurrentRunner {
+
+    static final int THREADS = Math.max(8, 2 * Runtime.getRuntime().availableProcessors());
+
+    private ConcurrentRunner() {
+    }
+
+    /**
+     * @param threads    number of threads
+     * @param iterations number of executions of the action by each thread
+     * @param action     action getting the index of a thread and of an iteration
+     * @throws Exception the first failure of the action
+     */
+    static void run(int threads, int iterations, Action action) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch ready = new CountDownLatch(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Void>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                int thread = i;
+                futures.add(executor.submit((Callable<Void>) () -> {
+                    ready.countDown();
+                    start.await();
+                    for (int iteration = 0; iteration < iterations; iteration++) {
+                        action.run(thread, iteration);
+                    }
+                    return null;
+                }));
+            }
+            ready.await();
+            start.countDown();
+            for (Future<Void> future : futures) {
+                try {
+                    future.get(1, TimeUnit.MINUTES);
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof Error) {
+                        throw (Error) e.getCause();
+                    }
+                    throw (Exception) e.getCause();
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    interface Action {
+        void run(int thread, int iteration) throws Exception;
+    }
+}
@@ -0,0 +1,107 @@
+package io.katharsis.concurrency;
+
+import io.katharsis.dispatcher.controller.BaseControllerTest;
+import io.katharsis.queryParams.QueryParams;
+import io.katharsis.queryParams.QueryParamsBuilder;
+import io.katharsis.repository.mock.NewInstanceRepositoryMethodParameterProvider;
+import io.katharsis.resource.mock.models.Task;
+import io.katharsis.resource.mock.repository.TaskToProjectRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Automatically included relationships of a collection are looked up in parallel and a single response can be
+ * resolved by many request threads at once, so the same resources are written by several threads.
+ */
+public class IncludeLookupSetterStressTest extends BaseControllerTest {
+
+    private static final String FIELD_NAME = "includedProject";
+    private static final long FIRST_TASK_ID = 870_000L;
+    private static final long PROJECT_ID_OFFSET = 10_000L;
+    private static final int TASKS = 64;
+
+    private final TaskToProjectRepository taskToProjectRepository = new TaskToProjectRepository();
+    private List<Task> storedTasks;
+    private QueryParams queryParams;
+
+    @Before
+    public void setUpRelations() {
+        storedTasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            Task task = task(i);
+            taskToProjectRepository.addRelations(task, Collections.singleton(task.getId() + PROJECT_ID_OFFSET),
+                FIELD_NAME);
+            storedTasks.add(task);
+        }
+        queryParams = new QueryParamsBuilder().buildQueryParams(
+            Collections.singletonMap("include[tasks]", Collections.singleton(FIELD_NAME)));
+    }
+
+    @After
+    public void removeRelations() {
+        for (Task task : storedTasks) {
+            taskToProjectRepository.removeRelations(task,
+                Collections.singleton(task.getId() + PROJECT_ID_OFFSET), FIELD_NAME);
+        }
+    }
+
+    @Test
+    public void onConcurrentRequestsShouldIncludeRelationshipOfEachResource() throws Exception {
+        // GIVEN
+        int threads = ConcurrentRunner.THREADS;
+
+        // WHEN
+        ConcurrentRunner.run(threads, 20, (thread, iteration) -> {
+            List<Task> tasks = tasks();
+            includeFieldSetter.setIncludedElements("tasks", tasks, queryParams,
+                new NewInstanceRepositoryMethodParameterProvider());
+
+            // THEN
+            assertIncluded(tasks);
+        });
+    }
+
+    @Test
+    public void onConcurrentRequestsSharingResourcesShouldIncludeRelationshipOfEachResource() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            // GIVEN
+            List<Task> sharedTasks = tasks();
+
+            // WHEN
+            ConcurrentRunner.run(ConcurrentRunner.THREADS, 1, (thread, iteration) ->
+                includeFieldSetter.setIncludedElements("tasks", sharedTasks, queryParams,
+                    new NewInstanceRepositoryMethodParameterProvider()));
+
+            // THEN
+            assertIncluded(sharedTasks);
+        }
+    }
+
+    private static List<Task> tasks() {
+        List<Task> tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(task(i));
+        }
+        return tasks;
+    }
+
+    private static Task task(int index) {
+        Task task = new Task();
+        task.setId(FIRST_TASK_ID + index);
+        return task;
+    }
+
+    private static void assertIncluded(List<Task> tasks) {
+        for (Task task : tasks) {
+            assertThat(task.getIncludedProject()).isNotNull();
+            assertThat(task.getIncludedProject().getId()).isEqualTo(task.getId() + PROJECT_ID_OFFSET);
+        }
+    }
+}
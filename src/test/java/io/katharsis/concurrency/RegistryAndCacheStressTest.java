@@ -0,0 +1,212 @@
+package io.katharsis.concurrency;
+
+import io.katharsis.cache.CachedCollection;
+import io.katharsis.cache.CollectionQueryCache;
+import io.katharsis.cache.JsonFragment;
+import io.katharsis.cache.ResourceFragmentCache;
+import io.katharsis.dispatcher.controller.HttpMethod;
+import io.katharsis.errorhandling.ErrorResponse;
+import io.katharsis.errorhandling.mapper.ExceptionMapperRegistry;
+import io.katharsis.errorhandling.mapper.ExceptionMapperRegistryBuilder;
+import io.katharsis.errorhandling.mapper.JsonApiExceptionMapper;
+import io.katharsis.errorhandling.mapper.KatharsisExceptionMapper;
+import io.katharsis.locator.SampleJsonServiceLocator;
+import io.katharsis.queryParams.QueryParams;
+import io.katharsis.queryParams.QueryParamsBuilder;
+import io.katharsis.resource.exception.RequestBodyException;
+import io.katharsis.resource.exception.RequestBodyNotFoundException;
+import io.katharsis.resource.field.ResourceFieldNameTransformer;
+import io.katharsis.resource.information.ResourceInformationBuilder;
+import io.katharsis.resource.mock.models.Project;
+import io.katharsis.resource.mock.models.Task;
+import io.katharsis.resource.registry.ResourceRegistry;
+import io.katharsis.resource.registry.ResourceRegistryBuilder;
+import io.katharsis.resource.registry.ResourceRegistryBuilderTest;
+import io.katharsis.resource.registry.ResourceRegistryTest;
+import io.katharsis.response.HttpStatus;
+import io.katharsis.utils.parser.TypeParser;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Registries and caches are shared by all request threads. Lookups resolved on first use are raced by creating
+ * fresh instances, while caches are read and modified concurrently.
+ */
+public class RegistryAndCacheStressTest {
+
+    private static final int ITERATIONS = 2_000;
+
+    @Test
+    public void onConcurrentLookupsResourceRegistryShouldReturnSameEntries() throws Exception {
+        // GIVEN
+        ResourceRegistry sut = new ResourceRegistryBuilder(new SampleJsonServiceLocator(),
+            new ResourceInformationBuilder(new ResourceFieldNameTransformer()))
+            .build(ResourceRegistryBuilderTest.TEST_MODELS_PACKAGE, ResourceRegistryTest.TEST_MODELS_URL);
+        Object tasksEntry = sut.getEntry(Task.class);
+        Object projectsEntry = sut.getEntry(Project.class);
+
+        // WHEN
+        ConcurrentRunner.run(ConcurrentRunner.THREADS, ITERATIONS, (thread, iteration) -> {
+            // THEN
+            assertThat(sut.getEntry("tasks")).isSameAs(tasksEntry);
+            assertThat(sut.getEntry(Project.class)).isSameAs(projectsEntry);
+            assertThat(sut.getResourceType(Task.class)).isEqualTo("tasks");
+            assertThat(sut.getResourceUrl(Project.class)).isEqualTo(ResourceRegistryTest.TEST_MODELS_URL + "/projects");
+        });
+    }
+
+    @Test
+    public void onConcurrentFirstLookupsExceptionMapperRegistryShouldFindSameMappers() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            // GIVEN
+            ExceptionMapperRegistry sut = new ExceptionMapperRegistryBuilder().build("io.katharsis.errorhandling.handlers");
+
+            // WHEN
+            ConcurrentRunner.run(ConcurrentRunner.THREADS, 10, (thread, iteration) -> {
+                Optional<JsonApiExceptionMapper> requestBodyMapper = sut.findMapperFor(RequestBodyException.class);
+                Optional<JsonApiExceptionMapper> notFoundMapper = sut.findMapperFor(RequestBodyNotFoundException.class);
+
+                // THEN
+                assertThat(requestBodyMapper.isPresent()).isTrue();
+                assertThat(requestBodyMapper.get()).isExactlyInstanceOf(KatharsisExceptionMapper.class);
+                assertThat(notFoundMapper.get()).isSameAs(requestBodyMapper.get());
+                assertThat(sut.findMapperFor(ArithmeticException.class).isPresent()).isFalse();
+            });
+        }
+    }
+
+    @Test
+    public void onConcurrentMappingKatharsisExceptionMapperShouldReturnMatchingResponses() throws Exception {
+        // GIVEN
+        KatharsisExceptionMapper sut = new KatharsisExceptionMapper();
+
+        // WHEN
+        ConcurrentRunner.run(ConcurrentRunner.THREADS, ITERATIONS, (thread, iteration) -> {
+            String resourceName = "resource" + (iteration % 16);
+            ErrorResponse bodyError = sut.toErrorResponse(new RequestBodyException(HttpMethod.POST, resourceName,
+                "details"));
+            ErrorResponse missingBody = sut.toErrorResponse(new RequestBodyNotFoundException(HttpMethod.PATCH,
+                resourceName));
+
+            // THEN
+            assertThat(bodyError.getHttpStatus()).isEqualTo(HttpStatus.BAD_REQUEST_400);
+            assertThat(bodyError.getData().iterator().next().getDetail()).endsWith(resourceName);
+            assertThat(missingBody.getData().iterator().next().getDetail()).doesNotContain("details");
+            assertThat(missingBody.getData().iterator().next().getDetail()).contains(resourceName);
+        });
+    }
+
+    @Test
+    public void onConcurrentFirstParsesTypeParserShouldParseEachType() throws Exception {
+        // GIVEN
+        TypeParser sut = new TypeParser();
+
+        // WHEN
+        ConcurrentRunner.run(ConcurrentRunner.THREADS, ITERATIONS, (thread, iteration) -> {
+            String input = String.valueOf(iteration);
+
+            // THEN
+            assertThat(sut.parse(input, ConstructedValue.class).value).isEqualTo(input);
+            assertThat(sut.parse(input, FactoryValue.class).value).isEqualTo(input);
+            assertThat(sut.parse(iteration % 2 == 0 ? "EVEN" : "ODD", Parity.class).ordinal())
+                .isEqualTo(iteration % 2);
+            assertThat(sut.parse(input, Long.class)).isEqualTo((long) iteration);
+        });
+    }
+
+    @Test
+    public void onConcurrentWritesCollectionQueryCacheShouldNotReturnEntriesOlderThanLastWrite() throws Exception {
+        // GIVEN
+        CollectionQueryCache sut = new CollectionQueryCache(null, Collections.singleton("tasks"), 64, 60_000L);
+        List<QueryParams> queries = Arrays.asList(queryParams("sort[tasks][name]", "asc"),
+            queryParams("sort[tasks][name]", "desc"), queryParams("filter[tasks][name]", "a"));
+
+        // WHEN
+        ConcurrentRunner.run(ConcurrentRunner.THREADS, ITERATIONS, (thread, iteration) -> {
+            QueryParams queryParams = queries.get(iteration % queries.size());
+            if (thread == 0 && iteration % 10 == 0) {
+                sut.invalidate("tasks");
+            }
+            long generation = sut.currentGeneration("tasks");
+            CachedCollection cachedCollection = sut.get("tasks", queryParams);
+            if (cachedCollection == null) {
+                sut.put("tasks", queryParams, generation, Collections.<Serializable>singletonList(generation),
+                    null, null);
+            } else {
+                // THEN
+                assertThat((Long) cachedCollection.getIds().get(0)).isGreaterThanOrEqualTo(generation);
+            }
+        });
+    }
+
+    @Test
+    public void onConcurrentWritesResourceFragmentCacheShouldStayWithinItsCapacity() throws Exception {
+        // GIVEN
+        long maximumBytes = 4_096;
+        ResourceFragmentCache sut = new ResourceFragmentCache(maximumBytes);
+
+        // WHEN
+        ConcurrentRunner.run(ConcurrentRunner.THREADS, ITERATIONS, (thread, iteration) -> {
+            int id = iteration % 200;
+            long version = iteration % 3;
+            JsonFragment fragment = sut.get("tasks", id, version, null);
+            if (fragment == null) {
+                sut.put("tasks", id, version, null, fragment(id, version));
+            } else {
+                // THEN
+                assertThat(fragment.getValue()).isEqualTo(fragment(id, version).getValue());
+            }
+            assertThat(sut.size()).isBetween(0L, maximumBytes);
+        });
+
+        // THEN
+        assertThat(sut.size()).isBetween(0L, maximumBytes);
+        sut.clear();
+        assertThat(sut.size()).isZero();
+    }
+
+    private static QueryParams queryParams(String name, String value) {
+        return new QueryParamsBuilder().buildQueryParams(Collections.singletonMap(name, Collections.singleton(value)));
+    }
+
+    private static JsonFragment fragment(int id, long version) {
+        StringBuilder json = new StringBuilder("{\"id\":\"").append(id).append("\",\"version\":").append(version)
+            .append(",\"padding\":\"");
+        for (int i = 0; i < id % 50; i++) {
+            json.append('x');
+        }
+        return new JsonFragment(json.append("\"}").toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static final class ConstructedValue implements Serializable {
+        private final String value;
+
+        public ConstructedValue(String value) {
+            this.value = value;
+        }
+    }
+
+    public static final class FactoryValue implements Serializable {
+        private final String value;
+
+        private FactoryValue(String value, boolean factory) {
+            this.value = value;
+        }
+
+        public static FactoryValue fromString(String value) {
+            return new FactoryValue(value, true);
+        }
+    }
+
+    public enum Parity {
+        EVEN, ODD
+    }
+}
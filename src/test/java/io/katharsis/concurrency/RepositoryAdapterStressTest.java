@@ -0,0 +1,142 @@
+package io.katharsis.concurrency;
+
+import io.katharsis.queryParams.QueryParams;
+import io.katharsis.repository.ParametersFactory;
+import io.katharsis.repository.adapter.RelationshipRepositoryAdapter;
+import io.katharsis.repository.adapter.ResourceRepositoryAdapter;
+import io.katharsis.repository.annotations.JsonApiDelete;
+import io.katharsis.repository.annotations.JsonApiFindAllWithIds;
+import io.katharsis.repository.annotations.JsonApiFindManyTargets;
+import io.katharsis.repository.annotations.JsonApiFindOne;
+import io.katharsis.repository.annotations.JsonApiFindOneTarget;
+import io.katharsis.repository.annotations.JsonApiRelationshipRepository;
+import io.katharsis.repository.annotations.JsonApiResourceRepository;
+import io.katharsis.repository.annotations.JsonApiSave;
+import io.katharsis.repository.mock.NewInstanceRepositoryMethodParameterProvider;
+import io.katharsis.resource.mock.models.Project;
+import io.katharsis.resource.mock.models.Task;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Adapters of annotated repositories share the methods resolved once for each repository class. Every round uses new
+ * adapters, so the first resolution races between threads.
+ */
+public class RepositoryAdapterStressTest {
+
+    private static final int ROUNDS = 100;
+
+    private ParametersFactory parametersFactory;
+    private CountingProjectRepository projectRepository;
+    private CountingTaskToProjectRepository taskToProjectRepository;
+
+    @Before
+    public void setUp() {
+        parametersFactory = new ParametersFactory(new NewInstanceRepositoryMethodParameterProvider());
+        projectRepository = new CountingProjectRepository();
+        taskToProjectRepository = new CountingTaskToProjectRepository();
+    }
+
+    @Test
+    public void onConcurrentFirstCallsResourceAdapterShouldInvokeRepositoryEachTime() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            // GIVEN
+            ResourceRepositoryAdapter<Project, Long> sut =
+                new ResourceRepositoryAdapter<>(projectRepository, parametersFactory);
+
+            // WHEN
+            ConcurrentRunner.run(ConcurrentRunner.THREADS, 1, (thread, iteration) -> {
+                long id = thread;
+                assertThat(sut.findOne(id, new QueryParams()).getId()).isEqualTo(id);
+                assertThat(sut.findAllWithIdsAvailable()).isTrue();
+                assertThat(sut.findAll(Collections.singletonList(id), new QueryParams()))
+                    .extracting("id").containsExactly(id);
+                assertThat(sut.save(new Project().setId(id)).getId()).isEqualTo(id);
+                assertThat(sut.deleteAllAvailable()).isFalse();
+                sut.delete(id);
+            });
+        }
+
+        // THEN
+        int calls = ROUNDS * ConcurrentRunner.THREADS;
+        assertThat(projectRepository.findOneCalls.get()).isEqualTo(calls);
+        assertThat(projectRepository.findAllCalls.get()).isEqualTo(calls);
+        assertThat(projectRepository.saveCalls.get()).isEqualTo(calls);
+        assertThat(projectRepository.deleteCalls.get()).isEqualTo(calls);
+    }
+
+    @Test
+    public void onConcurrentFirstCallsRelationshipAdapterShouldInvokeRepositoryEachTime() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            // GIVEN
+            RelationshipRepositoryAdapter<Task, Long, Project, Long> sut =
+                new RelationshipRepositoryAdapter<>(taskToProjectRepository, parametersFactory);
+
+            // WHEN
+            ConcurrentRunner.run(ConcurrentRunner.THREADS, 1, (thread, iteration) -> {
+                long id = thread;
+                assertThat(sut.findOneTarget(id, "project", new QueryParams()).getId()).isEqualTo(id);
+                assertThat(sut.findManyTargets(id, "projects", new QueryParams())).extracting("id")
+                    .containsExactly(id);
+                assertThat(sut.findOneTargetIdAvailable()).isFalse();
+            });
+        }
+
+        // THEN
+        assertThat(taskToProjectRepository.calls.get()).isEqualTo(2 * ROUNDS * ConcurrentRunner.THREADS);
+    }
+
+    @JsonApiResourceRepository(Project.class)
+    public static class CountingProjectRepository {
+        private final AtomicInteger findOneCalls = new AtomicInteger();
+        private final AtomicInteger findAllCalls = new AtomicInteger();
+        private final AtomicInteger saveCalls = new AtomicInteger();
+        private final AtomicInteger deleteCalls = new AtomicInteger();
+
+        @JsonApiFindOne
+        public Project findOne(Long id, QueryParams queryParams) {
+            findOneCalls.incrementAndGet();
+            return new Project().setId(id);
+        }
+
+        @JsonApiFindAllWithIds
+        public Iterable<Project> findAll(Iterable<Long> ids, QueryParams queryParams) {
+            findAllCalls.incrementAndGet();
+            return Collections.singletonList(new Project().setId(ids.iterator().next()));
+        }
+
+        @JsonApiSave
+        public Project save(Project project) {
+            saveCalls.incrementAndGet();
+            return project;
+        }
+
+        @JsonApiDelete
+        public void delete(Long id) {
+            deleteCalls.incrementAndGet();
+        }
+    }
+
+    @JsonApiRelationshipRepository(source = Task.class, target = Project.class)
+    public static class CountingTaskToProjectRepository {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @JsonApiFindOneTarget
+        public Project findOneTarget(Long id, String fieldName, QueryParams queryParams) {
+            calls.incrementAndGet();
+            return new Project().setId(id);
+        }
+
+        @JsonApiFindManyTargets
+        public List<Project> findManyTargets(Long id, String fieldName, QueryParams queryParams) {
+            calls.incrementAndGet();
+            return Collections.singletonList(new Project().setId(id));
+        }
+    }
+}
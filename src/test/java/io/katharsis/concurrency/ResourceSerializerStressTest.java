@@ -0,0 +1,97 @@
+package io.katharsis.concurrency;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.katharsis.jackson.JsonApiModuleBuilder;
+import io.katharsis.locator.SampleJsonServiceLocator;
+import io.katharsis.queryParams.QueryParams;
+import io.katharsis.queryParams.QueryParamsBuilder;
+import io.katharsis.request.path.JsonPath;
+import io.katharsis.request.path.PathBuilder;
+import io.katharsis.resource.field.ResourceFieldNameTransformer;
+import io.katharsis.resource.information.ResourceInformationBuilder;
+import io.katharsis.resource.mock.models.Project;
+import io.katharsis.resource.registry.ResourceRegistry;
+import io.katharsis.resource.registry.ResourceRegistryBuilder;
+import io.katharsis.resource.registry.ResourceRegistryBuilderTest;
+import io.katharsis.resource.registry.ResourceRegistryTest;
+import io.katharsis.response.Container;
+import io.katharsis.response.ResourceResponse;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Serialization plans and compiled sparse fieldsets are built on first use and shared by all threads. Each round uses
+ * a new object mapper, so the plans are built while other threads already serialize.
+ */
+public class ResourceSerializerStressTest {
+
+    private static final List<Set<String>> FIELD_SETS = Arrays.asList(
+        fields("name"), fields("description"), fields("name", "description"), fields("data"),
+        fields("name", "data"));
+
+    @Test
+    public void onConcurrentSparseFieldsetsShouldSerializeOnlyRequestedFields() throws Exception {
+        // GIVEN
+        ResourceRegistry resourceRegistry = new ResourceRegistryBuilder(new SampleJsonServiceLocator(),
+            new ResourceInformationBuilder(new ResourceFieldNameTransformer()))
+            .build(ResourceRegistryBuilderTest.TEST_MODELS_PACKAGE, ResourceRegistryTest.TEST_MODELS_URL);
+        JsonPath jsonPath = new PathBuilder(resourceRegistry).buildPath("/projects");
+        List<ResourceResponse> responses = new ArrayList<>(FIELD_SETS.size() + 1);
+        responses.add(new ResourceResponse(null, jsonPath, new QueryParams(), null, null));
+        for (Set<String> fieldSet : FIELD_SETS) {
+            QueryParams queryParams = new QueryParamsBuilder().buildQueryParams(
+                Collections.singletonMap("fields[projects]", fieldSet));
+            responses.add(new ResourceResponse(null, jsonPath, queryParams, null, null));
+        }
+
+        for (int round = 0; round < 20; round++) {
+            ObjectMapper sut = new ObjectMapper();
+            sut.registerModule(new JsonApiModuleBuilder().build(resourceRegistry));
+
+            // WHEN
+            ConcurrentRunner.run(ConcurrentRunner.THREADS, 50, (thread, iteration) -> {
+                int responseIndex = (thread + iteration) % responses.size();
+                Project project = new Project();
+                project.setId((long) iteration);
+                project.setName("name " + iteration);
+                project.setDescription("description " + iteration);
+                JsonNode result = sut.readTree(sut.writeValueAsString(
+                    new Container(project, responses.get(responseIndex))));
+
+                // THEN
+                assertThat(result.get("id").asText()).isEqualTo(String.valueOf(iteration));
+                Set<String> attributes = fieldNames(result.get("attributes"));
+                if (responseIndex == 0) {
+                    assertThat(attributes).containsOnly("name", "description", "data");
+                } else {
+                    assertThat(attributes).isEqualTo(FIELD_SETS.get(responseIndex - 1));
+                }
+                if (attributes.contains("name")) {
+                    assertThat(result.get("attributes").get("name").asText()).isEqualTo("name " + iteration);
+                }
+            });
+        }
+    }
+
+    private static Set<String> fields(String... names) {
+        return new HashSet<>(Arrays.asList(names));
+    }
+
+    private static Set<String> fieldNames(JsonNode node) {
+        Set<String> names = new HashSet<>();
+        for (Iterator<String> iterator = node.fieldNames(); iterator.hasNext(); ) {
+            names.add(iterator.next());
+        }
+        return names;
+    }
+}
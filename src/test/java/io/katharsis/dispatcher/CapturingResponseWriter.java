@@ -0,0 +1,38 @@
+package io.katharsis.dispatcher;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+public class CapturingResponseWriter implements SerializedResponseWriter {
+
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    private int httpStatus;
+    private String mediaType;
+    private String eTag;
+
+    @Override
+    public WritableByteChannel writeHead(int httpStatus, String mediaType, String eTag) {
+        this.httpStatus = httpStatus;
+        this.mediaType = mediaType;
+        this.eTag = eTag;
+        return Channels.newChannel(body);
+    }
+
+    public int getHttpStatus() {
+        return httpStatus;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public String getBody() {
+        return new String(body.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,248 @@
+package io.katharsis.dispatcher;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.katharsis.dispatcher.registry.ControllerRegistry;
+import io.katharsis.dispatcher.registry.ControllerRegistryBuilder;
+import io.katharsis.errorhandling.ErrorData;
+import io.katharsis.errorhandling.ErrorResponse;
+import io.katharsis.errorhandling.mapper.ExceptionMapperRegistryTest;
+import io.katharsis.jackson.JsonApiModuleBuilder;
+import io.katharsis.locator.SampleJsonServiceLocator;
+import io.katharsis.request.dto.DataBody;
+import io.katharsis.request.dto.LinkageData;
+import io.katharsis.request.dto.Operation;
+import io.katharsis.request.dto.RequestBody;
+import io.katharsis.request.dto.ResourceRelationships;
+import io.katharsis.request.path.JsonPath;
+import io.katharsis.resource.exception.RequestBodyException;
+import io.katharsis.resource.field.ResourceFieldNameTransformer;
+import io.katharsis.resource.information.ResourceInformationBuilder;
+import io.katharsis.resource.mock.models.Project;
+import io.katharsis.resource.mock.models.Task;
+import io.katharsis.resource.registry.ResourceRegistry;
+import io.katharsis.resource.registry.ResourceRegistryBuilder;
+import io.katharsis.resource.registry.ResourceRegistryBuilderTest;
+import io.katharsis.resource.registry.ResourceRegistryTest;
+import io.katharsis.response.CollectionResponse;
+import io.katharsis.response.HttpStatus;
+import io.katharsis.response.OperationsResponse;
+import io.katharsis.utils.parser.TypeParser;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static net.javacrumbs.jsonunit.fluent.JsonFluentAssert.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class OperationsDispatcherTest {
+
+    private ResourceRegistry resourceRegistry;
+    private ObjectMapper objectMapper;
+    private RequestDispatcher requestDispatcher;
+    private ExecutorService executorService;
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Before
+    public void prepare() throws Exception {
+        ResourceInformationBuilder resourceInformationBuilder = new ResourceInformationBuilder(
+            new ResourceFieldNameTransformer());
+        ResourceRegistryBuilder registryBuilder = new ResourceRegistryBuilder(new SampleJsonServiceLocator(),
+            resourceInformationBuilder);
+        resourceRegistry = registryBuilder
+            .build(ResourceRegistryBuilderTest.TEST_MODELS_PACKAGE, ResourceRegistryTest.TEST_MODELS_URL);
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JsonApiModuleBuilder().build(resourceRegistry));
+        ControllerRegistry controllerRegistry = new ControllerRegistryBuilder(resourceRegistry, new TypeParser(),
+            objectMapper).build();
+        requestDispatcher = new RequestDispatcher(controllerRegistry,
+            ExceptionMapperRegistryTest.exceptionMapperRegistry);
+        executorService = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void shutdown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void onLocalIdReferencesShouldResolveCreatedResources() throws Exception {
+        // GIVEN
+        Operation createProject = new Operation("POST", "/projects", body("projects", null));
+        createProject.setLid("project");
+        RequestBody taskBody = body("tasks", null);
+        taskBody.getSingleData().getRelationships()
+            .setAdditionalProperty("project", new LinkageData("projects", "lid:project"));
+        Operation createTask = new Operation("POST", "/tasks", taskBody);
+        createTask.setLid("task");
+        Operation getTask = new Operation("GET", "/tasks/lid:task", null);
+        OperationsDispatcher sut = new OperationsDispatcher(requestDispatcher, resourceRegistry);
+
+        // WHEN
+        OperationsResponse response = sut.dispatch(Arrays.asList(createProject, createTask, getTask), null);
+
+        // THEN
+        assertThat(response.getOperations()).extracting("status")
+            .containsExactly(HttpStatus.CREATED_201, HttpStatus.CREATED_201, HttpStatus.OK_200);
+        Project project = (Project) response.getOperations().get(0).getDocument().getData();
+        Task task = (Task) response.getOperations().get(2).getDocument().getData();
+        assertThat(task.getId()).isEqualTo(((Task) response.getOperations().get(1).getDocument().getData()).getId());
+        assertThat(task.getProject().getId()).isEqualTo(project.getId());
+
+        String json = objectMapper.writeValueAsString(response);
+        assertThatJson(json).node("operations[2].status").isEqualTo(200);
+        assertThatJson(json).node("operations[2].document.data.id").isStringEqualTo(task.getId().toString());
+    }
+
+    @Test
+    public void onUndefinedLocalIdShouldNotExecuteAnyOperation() throws Exception {
+        // GIVEN
+        RequestDispatcher requestDispatcher = mock(RequestDispatcher.class);
+        Operation getProjects = new Operation("GET", "/projects", null);
+        Operation getTask = new Operation("GET", "/tasks/lid:task", null);
+        OperationsDispatcher sut = new OperationsDispatcher(requestDispatcher, resourceRegistry);
+
+        // THEN
+        expectedException.expect(RequestBodyException.class);
+
+        // WHEN
+        try {
+            sut.dispatch(Arrays.asList(getProjects, getTask), null);
+        } finally {
+            verify(requestDispatcher, times(0)).dispatchRequest(any(), anyString(), any(), any(), any());
+        }
+    }
+
+    @Test
+    public void onFailedOperationShouldStopExecution() throws Exception {
+        // GIVEN
+        RequestDispatcher requestDispatcher = mock(RequestDispatcher.class);
+        ErrorResponse errorResponse = new ErrorResponse(Collections.singletonList(ErrorData.builder().build()),
+            HttpStatus.BAD_REQUEST_400);
+        doReturn(errorResponse).when(requestDispatcher).dispatchRequest(any(), anyString(), any(), any(), any());
+        Operation first = new Operation("DELETE", "/tasks/1", null);
+        Operation second = new Operation("DELETE", "/tasks/2", null);
+        OperationsDispatcher sut = new OperationsDispatcher(requestDispatcher, resourceRegistry);
+
+        // WHEN
+        OperationsResponse response = sut.dispatch(Arrays.asList(first, second), null);
+
+        // THEN
+        assertThat(response.getOperations()).hasSize(1);
+        assertThat(response.getHttpStatus()).isEqualTo(HttpStatus.BAD_REQUEST_400);
+        verify(requestDispatcher, times(1)).dispatchRequest(any(), anyString(), any(), any(), any());
+    }
+
+    @Test
+    public void onConsecutiveReadsShouldReturnResultsInOrder() throws Exception {
+        // GIVEN
+        Operation createProject = new Operation("POST", "/projects", body("projects", null));
+        createProject.setLid("project");
+        Operation getProject = new Operation("GET", "/projects/lid:project", null);
+        Operation getProjects = new Operation("GET", "/projects", null);
+        Operation getTasks = new Operation("GET", "/tasks", null);
+        OperationsDispatcher sut = new OperationsDispatcher(requestDispatcher, resourceRegistry, executorService);
+
+        // WHEN
+        OperationsResponse response = sut.dispatch(Arrays.asList(createProject, getProject, getProjects, getTasks),
+            null);
+
+        // THEN
+        assertThat(response.getOperations()).hasSize(4);
+        assertThat(response.getOperations().get(1).getDocument().getData())
+            .isEqualTo(response.getOperations().get(0).getDocument().getData());
+        assertThat(response.getOperations().get(2).getDocument().getData()).isInstanceOf(Iterable.class);
+        assertThat(response.getOperations().get(3).getDocument().getJsonPath().getElementName()).isEqualTo("tasks");
+    }
+
+    @Test
+    public void onFailedParallelReadShouldStopAtFirstError() throws Exception {
+        // GIVEN
+        RequestDispatcher requestDispatcher = mock(RequestDispatcher.class);
+        ErrorResponse errorResponse = new ErrorResponse(Collections.singletonList(ErrorData.builder().build()),
+            HttpStatus.NOT_FOUND_404);
+        CollectionResponse tasksResponse = new CollectionResponse(Collections.emptyList(), null, null, null, null);
+        doAnswer(invocation -> ((JsonPath) invocation.getArguments()[0]).isCollection() ? tasksResponse : errorResponse)
+            .when(requestDispatcher).dispatchRequest(any(), anyString(), any(), any(), any());
+        Operation getTask = new Operation("GET", "/tasks/1", null);
+        Operation getTasks = new Operation("GET", "/tasks", null);
+        Operation deleteTask = new Operation("DELETE", "/tasks/1", null);
+        OperationsDispatcher sut = new OperationsDispatcher(requestDispatcher, resourceRegistry, executorService);
+
+        // WHEN
+        OperationsResponse response = sut.dispatch(Arrays.asList(getTask, getTasks, deleteTask), null);
+
+        // THEN
+        assertThat(response.getOperations()).extracting("status").containsExactly(HttpStatus.NOT_FOUND_404);
+        assertThat(response.getHttpStatus()).isEqualTo(HttpStatus.NOT_FOUND_404);
+        verify(requestDispatcher, times(0)).dispatchRequest(any(), eq("DELETE"), any(), any(), any());
+    }
+
+    @Test
+    public void onLocalIdOfGetOperationShouldNotExecuteAnyOperation() throws Exception {
+        // GIVEN
+        RequestDispatcher requestDispatcher = mock(RequestDispatcher.class);
+        Operation createProject = new Operation("POST", "/projects", body("projects", null));
+        Operation getProject = new Operation("GET", "/projects/1", null);
+        getProject.setLid("project");
+        Operation updateProject = new Operation("PATCH", "/projects/lid:project", body("projects", "lid:project"));
+        OperationsDispatcher sut = new OperationsDispatcher(requestDispatcher, resourceRegistry, executorService);
+
+        // THEN
+        expectedException.expect(RequestBodyException.class);
+
+        // WHEN
+        try {
+            sut.dispatch(Arrays.asList(createProject, getProject, updateProject), null);
+        } finally {
+            verify(requestDispatcher, times(0)).dispatchRequest(any(), anyString(), any(), any(), any());
+        }
+    }
+
+    @Test
+    public void onLocalIdOfOperationWithoutSingleResourceShouldReturnError() throws Exception {
+        // GIVEN
+        RequestDispatcher requestDispatcher = mock(RequestDispatcher.class);
+        Operation deleteProject = new Operation("DELETE", "/projects/1", null);
+        Operation deleteTask = new Operation("DELETE", "/tasks/1", null);
+        deleteTask.setLid("task");
+        Operation getTask = new Operation("GET", "/tasks/lid:task", null);
+        OperationsDispatcher sut = new OperationsDispatcher(requestDispatcher, resourceRegistry);
+
+        // WHEN
+        OperationsResponse response = sut.dispatch(Arrays.asList(deleteProject, deleteTask, getTask), null);
+
+        // THEN
+        assertThat(response.getOperations()).extracting("status")
+            .containsExactly(HttpStatus.NO_CONTENT_204, HttpStatus.BAD_REQUEST_400);
+        assertThat(response.getOperations().get(1).getDocument()).isInstanceOf(ErrorResponse.class);
+        verify(requestDispatcher, times(2)).dispatchRequest(any(), anyString(), any(), any(), any());
+        verify(requestDispatcher, times(0)).dispatchRequest(any(), eq("GET"), any(), any(), any());
+    }
+
+    private static RequestBody body(String type, String id) {
+        DataBody data = new DataBody();
+        data.setType(type);
+        data.setId(id);
+        data.setRelationships(new ResourceRelationships());
+        RequestBody requestBody = new RequestBody();
+        requestBody.setData(data);
+        return requestBody;
+    }
+}
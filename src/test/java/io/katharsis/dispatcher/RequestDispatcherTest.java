@@ -1,34 +1,57 @@
 package io.katharsis.dispatcher;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.katharsis.cache.ETagCalculator;
+import io.katharsis.cache.OffHeapResponseCache;
 import io.katharsis.dispatcher.controller.collection.CollectionGet;
 import io.katharsis.dispatcher.registry.ControllerRegistry;
+import io.katharsis.dispatcher.registry.ControllerRegistryBuilder;
 import io.katharsis.errorhandling.ErrorResponse;
+import io.katharsis.errorhandling.mapper.ExceptionMapperRegistryBuilder;
 import io.katharsis.errorhandling.mapper.ExceptionMapperRegistryTest;
+import io.katharsis.jackson.JsonApiEncodingNegotiator;
+import io.katharsis.jackson.JsonApiModuleBuilder;
 import io.katharsis.locator.SampleJsonServiceLocator;
 import io.katharsis.repository.RepositoryMethodParameterProvider;
 import io.katharsis.queryParams.QueryParams;
+import io.katharsis.request.dto.DataBody;
+import io.katharsis.request.dto.RequestBody;
 import io.katharsis.request.path.JsonPath;
 import io.katharsis.request.path.PathBuilder;
 import io.katharsis.resource.field.ResourceFieldNameTransformer;
 import io.katharsis.resource.information.ResourceInformationBuilder;
+import io.katharsis.resource.mock.models.Comment;
+import io.katharsis.resource.mock.models.Project;
+import io.katharsis.resource.mock.repository.CommentRepository;
+import io.katharsis.resource.mock.repository.ProjectRepository;
 import io.katharsis.resource.registry.ResourceRegistry;
 import io.katharsis.resource.registry.ResourceRegistryBuilder;
 import io.katharsis.resource.registry.ResourceRegistryBuilderTest;
 import io.katharsis.resource.registry.ResourceRegistryTest;
 import io.katharsis.response.BaseResponse;
+import io.katharsis.response.CollectionResponse;
 import io.katharsis.response.HttpStatus;
+import io.katharsis.response.ResourceResponse;
+import io.katharsis.utils.parser.TypeParser;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import static io.katharsis.jackson.JsonApiEncodingNegotiator.JSON_API_MEDIA_TYPE;
+import static io.katharsis.jackson.JsonApiEncodingNegotiator.SMILE_MEDIA_TYPE;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 public class RequestDispatcherTest {
 
     private ResourceRegistry resourceRegistry;
+    private ETagCalculator eTagCalculator;
+    private ObjectMapper objectMapper;
 
     @Rule
     public ExpectedException expectedException = ExpectedException.none();
@@ -97,4 +120,273 @@ public class RequestDispatcherTest {
 
         BaseResponse<?> response = requestDispatcher.dispatchRequest(null, null, null, null, null);
     }
+
+    @Test
+    public void onMatchingIfNoneMatchDispatcherShouldReturnNotModifiedWithoutLoadingResource() throws Exception {
+        // GIVEN
+        RequestDispatcher sut = buildConditionalDispatcher();
+        new CommentRepository().save(new Comment().setId(1L).setContent("content").setVersion(1L));
+        JsonPath jsonPath = new PathBuilder(resourceRegistry).buildPath("/comments/1");
+        BaseResponse<?> response = sut.dispatchRequest(jsonPath, "GET", new QueryParams(), null, null, null);
+        String eTag = eTagCalculator.calculate(response);
+        int findOneCalls = CommentRepository.getFindOneCalls();
+
+        // WHEN
+        BaseResponse<?> result = sut.dispatchRequest(jsonPath, "GET", new QueryParams(), null, null, eTag);
+
+        // THEN
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.NOT_MODIFIED_304);
+        assertThat(result.getData()).isNull();
+        assertThat(CommentRepository.getFindOneCalls()).isEqualTo(findOneCalls);
+    }
+
+    @Test
+    public void onOutdatedIfNoneMatchDispatcherShouldReturnResource() throws Exception {
+        // GIVEN
+        RequestDispatcher sut = buildConditionalDispatcher();
+        Comment comment = new Comment().setId(2L).setContent("content").setVersion(1L);
+        new CommentRepository().save(comment);
+        JsonPath jsonPath = new PathBuilder(resourceRegistry).buildPath("/comments/2");
+        String eTag = eTagCalculator.calculate(sut.dispatchRequest(jsonPath, "GET", new QueryParams(), null, null,
+            null));
+        comment.setVersion(2L);
+
+        // WHEN
+        BaseResponse<?> result = sut.dispatchRequest(jsonPath, "GET", new QueryParams(), null, null, eTag);
+
+        // THEN
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.OK_200);
+        assertThat(result.getData()).isSameAs(comment);
+    }
+
+    @Test
+    public void onMatchingIfNoneMatchForNotVersionedCollectionDispatcherShouldReturnNotModified() throws Exception {
+        // GIVEN
+        RequestDispatcher sut = buildConditionalDispatcher();
+        JsonPath jsonPath = new PathBuilder(resourceRegistry).buildPath("/projects");
+        String eTag = sut.dispatchSerializedRequest(jsonPath, "GET", new QueryParams(), null, null, null,
+            objectMapper, JSON_API_MEDIA_TYPE).getETag();
+
+        // WHEN
+        SerializedResponse result = sut.dispatchSerializedRequest(jsonPath, "GET", new QueryParams(), null, null,
+            eTag, objectMapper, JSON_API_MEDIA_TYPE);
+
+        // THEN
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.NOT_MODIFIED_304);
+        assertThat(result.getBody()).isNull();
+        assertThat(result.getETag()).isEqualTo(eTag);
+    }
+
+    @Test
+    public void onSerializedRequestDispatcherShouldReturnTagOfWrittenBody() throws Exception {
+        // GIVEN
+        RequestDispatcher sut = buildConditionalDispatcher();
+        JsonPath jsonPath = new PathBuilder(resourceRegistry).buildPath("/projects");
+        BaseResponse<?> response = sut.dispatchRequest(jsonPath, "GET", new QueryParams(), null, null);
+
+        // WHEN
+        SerializedResponse result = sut.dispatchSerializedRequest(jsonPath, "GET", new QueryParams(), null, null,
+            "\"outdated\"", objectMapper, JSON_API_MEDIA_TYPE);
+
+        // THEN
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.OK_200);
+        assertThat(result.getMediaType()).isEqualTo(JSON_API_MEDIA_TYPE);
+        assertThat(result.getBody()).isEqualTo(objectMapper.writeValueAsBytes(response));
+        assertThat(result.getETag()).isEqualTo(eTagCalculator.calculate(response));
+    }
+
+    @Test
+    public void onNotVersionedResourceDispatcherShouldNotSerializeResponseToCompareTags() throws Exception {
+        // GIVEN
+        RequestDispatcher sut = buildConditionalDispatcher();
+        Project project = new ProjectRepository().save(new Project());
+        JsonPath jsonPath = new PathBuilder(resourceRegistry).buildPath("/projects/" + project.getId());
+        String eTag = eTagCalculator.calculate(sut.dispatchRequest(jsonPath, "GET", new QueryParams(), null, null));
+
+        // WHEN
+        BaseResponse<?> result = sut.dispatchRequest(jsonPath, "GET", new QueryParams(), null, null, eTag);
+
+        // THEN
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.OK_200);
+    }
+
+    @Test
+    public void onMatchingIfNoneMatchSerializedRequestShouldNotLoadVersionedResource() throws Exception {
+        // GIVEN
+        RequestDispatcher sut = buildConditionalDispatcher();
+        new CommentRepository().save(new Comment().setId(3L).setContent("content").setVersion(1L));
+        JsonPath jsonPath = new PathBuilder(resourceRegistry).buildPath("/comments/3");
+        String eTag = sut.dispatchSerializedRequest(jsonPath, "GET", new QueryParams(), null, null, null,
+            objectMapper, JSON_API_MEDIA_TYPE).getETag();
+        int findOneCalls = CommentRepository.getFindOneCalls();
+
+        // WHEN
+        SerializedResponse result = sut.dispatchSerializedRequest(jsonPath, "GET", new QueryParams(), null, null,
+            eTag, objectMapper, JSON_API_MEDIA_TYPE);
+
+        // THEN
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.NOT_MODIFIED_304);
+        assertThat(CommentRepository.getFindOneCalls()).isEqualTo(findOneCalls);
+    }
+
+    @Test
+    public void onAcceptedSmileDispatcherShouldWriteSmileResponse() throws Exception {
+        // GIVEN
+        JsonApiEncodingNegotiator negotiator = new JsonApiEncodingNegotiator(resourceRegistry);
+        RequestDispatcher sut = buildNegotiatingDispatcher(negotiator);
+        JsonPath jsonPath = new PathBuilder(resourceRegistry).buildPath("/projects");
+        BaseResponse<?> response = sut.dispatchRequest(jsonPath, "GET", new QueryParams(), null, null);
+
+        // WHEN
+        SerializedResponse result = sut.dispatchSerializedRequest(jsonPath, "GET", new QueryParams(), null, null,
+            null, SMILE_MEDIA_TYPE, null);
+
+        // THEN
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.OK_200);
+        assertThat(result.getMediaType()).isEqualTo(SMILE_MEDIA_TYPE);
+        assertThat(negotiator.getObjectMapper(SMILE_MEDIA_TYPE).readTree(result.getBody()))
+            .isEqualTo(objectMapper.readTree(objectMapper.writeValueAsBytes(response)));
+        assertThat(result.getETag()).isNotEqualTo(sut.dispatchSerializedRequest(jsonPath, "GET", new QueryParams(),
+            null, null, null, JSON_API_MEDIA_TYPE, null).getETag());
+    }
+
+    @Test
+    public void onUnsupportedContentTypeDispatcherShouldReturnUnsupportedMediaType() throws Exception {
+        // GIVEN
+        RequestDispatcher sut = buildNegotiatingDispatcher(new JsonApiEncodingNegotiator(resourceRegistry));
+        JsonPath jsonPath = new PathBuilder(resourceRegistry).buildPath("/projects");
+        byte[] body = "{\"data\": {\"type\": \"projects\"}}".getBytes(StandardCharsets.UTF_8);
+
+        // WHEN
+        SerializedResponse result = sut.dispatchSerializedRequest(jsonPath, "POST", new QueryParams(), null,
+            "application/x-protobuf", new ByteArrayInputStream(body), null, null);
+
+        // THEN
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.UNSUPPORTED_MEDIA_TYPE_415);
+        assertThat(objectMapper.readTree(result.getBody()).get("errors").get(0).get("status").asText())
+            .isEqualTo("415");
+    }
+
+    @Test
+    public void onCachedResponseDispatcherShouldNotLoadResourceUntilWriteRequest() throws Exception {
+        // GIVEN
+        Project project = new ProjectRepository().save(new Project());
+        project.setName("cached");
+        SerializedResponseCache responseCache = new SerializedResponseCache(resourceRegistry,
+            new OffHeapResponseCache(8, 4096));
+        RequestDispatcher sut = buildNegotiatingDispatcher(new JsonApiEncodingNegotiator(resourceRegistry),
+            responseCache);
+        PathBuilder pathBuilder = new PathBuilder(resourceRegistry);
+        String requestKey = "/projects/" + project.getId();
+        JsonPath jsonPath = pathBuilder.buildPath(requestKey);
+        CapturingResponseWriter first = new CapturingResponseWriter();
+        sut.dispatchSerializedRequest(jsonPath, "GET", new QueryParams(), null, null, null, null, null, requestKey,
+            first);
+        project.setName("modified");
+
+        // WHEN
+        CapturingResponseWriter cached = new CapturingResponseWriter();
+        sut.dispatchSerializedRequest(jsonPath, "GET", new QueryParams(), null, null, null, null, first.getETag(),
+            requestKey, cached);
+        CapturingResponseWriter notCached = new CapturingResponseWriter();
+        sut.dispatchSerializedRequest(jsonPath, "GET", new QueryParams(), null, null, null, null, null, requestKey,
+            notCached);
+        sut.dispatchRequest(pathBuilder.buildPath("/projects/" + Long.MAX_VALUE), "DELETE", new QueryParams(), null,
+            null);
+        CapturingResponseWriter reloaded = new CapturingResponseWriter();
+        sut.dispatchSerializedRequest(jsonPath, "GET", new QueryParams(), null, null, null, null, null, requestKey,
+            reloaded);
+
+        // THEN
+        assertThat(first.getBody()).contains("cached");
+        assertThat(cached.getHttpStatus()).isEqualTo(HttpStatus.NOT_MODIFIED_304);
+        assertThat(notCached.getBody()).isEqualTo(first.getBody());
+        assertThat(notCached.getETag()).isEqualTo(first.getETag());
+        assertThat(reloaded.getBody()).contains("modified");
+    }
+
+    @Test
+    public void onRequestWithoutKeyDispatcherShouldNotCacheResponse() throws Exception {
+        // GIVEN
+        Project project = new ProjectRepository().save(new Project());
+        project.setName("first");
+        SerializedResponseCache responseCache = new SerializedResponseCache(resourceRegistry,
+            new OffHeapResponseCache(8, 4096));
+        RequestDispatcher sut = buildNegotiatingDispatcher(new JsonApiEncodingNegotiator(resourceRegistry),
+            responseCache);
+        String requestKey = "/projects/" + project.getId();
+        JsonPath jsonPath = new PathBuilder(resourceRegistry).buildPath(requestKey);
+        sut.dispatchSerializedRequest(jsonPath, "GET", new QueryParams(), null, null, null, JSON_API_MEDIA_TYPE, null,
+            null, new CapturingResponseWriter());
+        project.setName("second");
+
+        // WHEN
+        CapturingResponseWriter result = new CapturingResponseWriter();
+        sut.dispatchSerializedRequest(jsonPath, "GET", new QueryParams(), null, null, null, JSON_API_MEDIA_TYPE, null,
+            null, result);
+
+        // THEN
+        assertThat(result.getBody()).contains("second");
+        assertThat(responseCache.transferTo(jsonPath, JSON_API_MEDIA_TYPE, requestKey, null,
+            new CapturingResponseWriter())).isFalse();
+    }
+
+    @Test
+    public void onPostWithMultipleDataDispatcherShouldCreateAllResources() throws Exception {
+        // GIVEN
+        RequestDispatcher sut = buildConditionalDispatcher();
+        JsonPath jsonPath = new PathBuilder(resourceRegistry).buildPath("/projects");
+        RequestBody singleBody = new RequestBody();
+        singleBody.setData(projectData("single project"));
+        RequestBody multipleBody = new RequestBody();
+        multipleBody.setData(Arrays.asList(projectData("first project"), projectData("second project")));
+
+        // WHEN
+        BaseResponse<?> singleResponse = sut.dispatchRequest(jsonPath, "POST", new QueryParams(), null, singleBody);
+        BaseResponse<?> multipleResponse = sut.dispatchRequest(jsonPath, "POST", new QueryParams(), null,
+            multipleBody);
+
+        // THEN
+        assertThat(singleResponse).isExactlyInstanceOf(ResourceResponse.class);
+        assertThat(multipleResponse).isExactlyInstanceOf(CollectionResponse.class);
+        assertThat(multipleResponse.getHttpStatus()).isEqualTo(HttpStatus.CREATED_201);
+        assertThat((Iterable<?>) multipleResponse.getData()).extracting("name")
+            .containsExactly("first project", "second project");
+    }
+
+    private DataBody projectData(String name) {
+        DataBody data = new DataBody();
+        data.setType("projects");
+        data.setAttributes(objectMapper.createObjectNode().put("name", name));
+        return data;
+    }
+
+    private RequestDispatcher buildNegotiatingDispatcher(JsonApiEncodingNegotiator negotiator) throws Exception {
+        return buildNegotiatingDispatcher(negotiator, null);
+    }
+
+    private RequestDispatcher buildNegotiatingDispatcher(JsonApiEncodingNegotiator negotiator,
+                                                         SerializedResponseCache responseCache) throws Exception {
+        objectMapper = negotiator.getObjectMapper(JSON_API_MEDIA_TYPE);
+        eTagCalculator = new ETagCalculator(resourceRegistry, objectMapper);
+        ControllerRegistry controllerRegistry = new ControllerRegistryBuilder(resourceRegistry, new TypeParser(),
+            objectMapper).build();
+        return new RequestDispatcherBuilder(controllerRegistry,
+            new ExceptionMapperRegistryBuilder().build(ResourceRegistryBuilderTest.TEST_MODELS_PACKAGE))
+            .setETagCalculator(eTagCalculator)
+            .setEncodingNegotiator(negotiator)
+            .setResponseCache(responseCache)
+            .build();
+    }
+
+    private RequestDispatcher buildConditionalDispatcher() throws Exception {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JsonApiModuleBuilder().build(resourceRegistry));
+        eTagCalculator = new ETagCalculator(resourceRegistry, objectMapper);
+        ControllerRegistry controllerRegistry = new ControllerRegistryBuilder(resourceRegistry, new TypeParser(),
+            objectMapper).build();
+        return new RequestDispatcherBuilder(controllerRegistry, ExceptionMapperRegistryTest.exceptionMapperRegistry)
+            .setETagCalculator(eTagCalculator)
+            .build();
+    }
 }
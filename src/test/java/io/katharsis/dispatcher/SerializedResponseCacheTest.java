@@ -0,0 +1,175 @@
+package io.katharsis.dispatcher;
+
+import io.katharsis.cache.OffHeapResponseCache;
+import io.katharsis.locator.SampleJsonServiceLocator;
+import io.katharsis.request.path.JsonPath;
+import io.katharsis.request.path.PathBuilder;
+import io.katharsis.resource.field.ResourceFieldNameTransformer;
+import io.katharsis.resource.information.ResourceInformationBuilder;
+import io.katharsis.resource.registry.ResourceRegistry;
+import io.katharsis.resource.registry.ResourceRegistryBuilder;
+import io.katharsis.resource.registry.ResourceRegistryBuilderTest;
+import io.katharsis.resource.registry.ResourceRegistryTest;
+import io.katharsis.response.HttpStatus;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static io.katharsis.jackson.JsonApiEncodingNegotiator.JSON_API_MEDIA_TYPE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SerializedResponseCacheTest {
+
+    private ResourceRegistry resourceRegistry;
+    private PathBuilder pathBuilder;
+    private SerializedResponseCache sut;
+
+    @Before
+    public void prepare() {
+        ResourceRegistryBuilder registryBuilder = new ResourceRegistryBuilder(new SampleJsonServiceLocator(),
+            new ResourceInformationBuilder(new ResourceFieldNameTransformer()));
+        resourceRegistry = registryBuilder
+            .build(ResourceRegistryBuilderTest.TEST_MODELS_PACKAGE, ResourceRegistryTest.TEST_MODELS_URL);
+        pathBuilder = new PathBuilder(resourceRegistry);
+        sut = new SerializedResponseCache(resourceRegistry, new OffHeapResponseCache(8, 256));
+    }
+
+    @Test
+    public void onPutCacheShouldWriteResponseWithTag() throws Exception {
+        // GIVEN
+        JsonPath jsonPath = pathBuilder.buildPath("/tasks/1");
+
+        // WHEN
+        boolean stored = sut.put(jsonPath, JSON_API_MEDIA_TYPE, "/tasks/1", sut.currentGeneration(),
+            response("\"1\"", "{\"data\":null}"));
+
+        // THEN
+        assertThat(stored).isTrue();
+        CapturingResponseWriter result = new CapturingResponseWriter();
+        assertThat(sut.transferTo(jsonPath, JSON_API_MEDIA_TYPE, "/tasks/1", null, result)).isTrue();
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.OK_200);
+        assertThat(result.getMediaType()).isEqualTo(JSON_API_MEDIA_TYPE);
+        assertThat(result.getETag()).isEqualTo("\"1\"");
+        assertThat(result.getBody()).isEqualTo("{\"data\":null}");
+        assertThat(sut.transferTo(jsonPath, "application/vnd.api+smile", "/tasks/1", null,
+            new CapturingResponseWriter())).isFalse();
+    }
+
+    @Test
+    public void onMatchingTagCacheShouldWriteNotModifiedResponse() throws Exception {
+        // GIVEN
+        JsonPath jsonPath = pathBuilder.buildPath("/tasks/1");
+        sut.put(jsonPath, JSON_API_MEDIA_TYPE, "/tasks/1", sut.currentGeneration(), response("\"1\"", "{}"));
+
+        // WHEN
+        CapturingResponseWriter result = new CapturingResponseWriter();
+        sut.transferTo(jsonPath, JSON_API_MEDIA_TYPE, "/tasks/1", "\"1\"", result);
+
+        // THEN
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.NOT_MODIFIED_304);
+        assertThat(result.getETag()).isEqualTo("\"1\"");
+        assertThat(result.getBody()).isEmpty();
+    }
+
+    @Test
+    public void onStorageOfPreviousRunCacheShouldKeepOnlyEntriesOfSameDataVersion() throws Exception {
+        // GIVEN
+        OffHeapResponseCache storage = new OffHeapResponseCache(8, 256);
+        new SerializedResponseCache(resourceRegistry, storage, "1")
+            .put(pathBuilder.buildPath("/tasks/1"), JSON_API_MEDIA_TYPE, "/tasks/1", 0, response(null, "{}"));
+
+        // WHEN
+        SerializedResponseCache sameVersion = new SerializedResponseCache(resourceRegistry, storage, "1");
+        boolean sameVersionHit = sameVersion.transferTo(pathBuilder.buildPath("/tasks/1"), JSON_API_MEDIA_TYPE,
+            "/tasks/1", null, new CapturingResponseWriter());
+        new SerializedResponseCache(resourceRegistry, storage, "2");
+
+        // THEN
+        assertThat(sameVersionHit).isTrue();
+        assertThat(storage.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void onStorageOfPreviousRunCacheWithoutDataVersionShouldRemoveEntries() {
+        // GIVEN
+        OffHeapResponseCache storage = new OffHeapResponseCache(8, 256);
+        storage.put("tasks  " + JSON_API_MEDIA_TYPE + " /tasks/1", new byte[]{0, 0, 0, 0});
+
+        // WHEN
+        new SerializedResponseCache(resourceRegistry, storage);
+
+        // THEN
+        assertThat(storage.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void onWriteToRelatedTypeCacheShouldRemoveResponsesReachingIt() throws Exception {
+        // GIVEN
+        put("/tasks/1");
+        put("/projects/1");
+        put("/comments/1");
+
+        // WHEN
+        sut.invalidate(pathBuilder.buildPath("/projects/2"));
+
+        // THEN
+        assertThat(isCached("/tasks/1")).isFalse();
+        assertThat(isCached("/projects/1")).isFalse();
+        assertThat(isCached("/comments/1")).isTrue();
+    }
+
+    @Test
+    public void onWriteToRelationshipCacheShouldRemoveResponsesOfTargetType() throws Exception {
+        // GIVEN
+        put("/projects/1");
+        put("/comments/1");
+
+        // WHEN
+        sut.invalidate(pathBuilder.buildPath("/tasks/1/relationships/project"));
+
+        // THEN
+        assertThat(isCached("/projects/1")).isFalse();
+        assertThat(isCached("/comments/1")).isTrue();
+    }
+
+    @Test
+    public void onPutAfterWriteCacheShouldRejectResponseLoadedBeforeIt() throws Exception {
+        // GIVEN
+        long generation = sut.currentGeneration();
+        sut.invalidate(pathBuilder.buildPath("/comments/2"));
+
+        // WHEN
+        boolean stored = sut.put(pathBuilder.buildPath("/tasks/1"), JSON_API_MEDIA_TYPE, "/tasks/1", generation,
+            response(null, "{}"));
+
+        // THEN
+        assertThat(stored).isFalse();
+        assertThat(isCached("/tasks/1")).isFalse();
+    }
+
+    @Test
+    public void onErrorResponseCacheShouldNotStoreIt() {
+        // WHEN
+        boolean stored = sut.put(pathBuilder.buildPath("/tasks/1"), JSON_API_MEDIA_TYPE, "/tasks/1",
+            sut.currentGeneration(), new SerializedResponse(HttpStatus.NOT_FOUND_404, JSON_API_MEDIA_TYPE, null,
+                "{}".getBytes(StandardCharsets.UTF_8)));
+
+        // THEN
+        assertThat(stored).isFalse();
+    }
+
+    private void put(String path) {
+        sut.put(pathBuilder.buildPath(path), JSON_API_MEDIA_TYPE, path, sut.currentGeneration(), response(null, "{}"));
+    }
+
+    private boolean isCached(String path) throws Exception {
+        return sut.transferTo(pathBuilder.buildPath(path), JSON_API_MEDIA_TYPE, path, null,
+            new CapturingResponseWriter());
+    }
+
+    private static SerializedResponse response(String eTag, String body) {
+        return new SerializedResponse(HttpStatus.OK_200, JSON_API_MEDIA_TYPE, eTag,
+            body.getBytes(StandardCharsets.UTF_8));
+    }
+}
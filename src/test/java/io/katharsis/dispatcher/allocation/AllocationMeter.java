@@ -0,0 +1,66 @@
+package io.katharsis.dispatcher.allocation;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures bytes allocated by the current thread using {@link com.sun.management.ThreadMXBean}. An operation is
+ * warmed up first and then measured in several rounds, the lowest result is taken, since class loading or a garbage
+ * collection may add allocations to a single round.
+ */
+final class AllocationMeter {
+
+    private static final int WARMUP_OPERATIONS = 300;
+    private static final int ROUNDS = 5;
+    private static final int OPERATIONS_PER_ROUND = 50;
+
+    private final com.sun.management.ThreadMXBean threadMXBean;
+
+    AllocationMeter() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean
+            && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            threadMXBean = (com.sun.management.ThreadMXBean) bean;
+            threadMXBean.setThreadAllocatedMemoryEnabled(true);
+        } else {
+            threadMXBean = null;
+        }
+    }
+
+    /**
+     * @return true if allocations can be measured by the running JVM
+     */
+    boolean isSupported() {
+        return threadMXBean != null;
+    }
+
+    /**
+     * @param operation operation to be measured
+     * @return number of bytes allocated by a single run of the operation
+     * @throws Exception thrown by the operation
+     */
+    long bytesPerOperation(Operation operation) throws Exception {
+        for (int i = 0; i < WARMUP_OPERATIONS; i++) {
+            operation.run();
+        }
+        long overhead = measure(() -> { });
+        long bytes = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            bytes = Math.min(bytes, measure(operation));
+        }
+        return Math.max(0, bytes - overhead) / OPERATIONS_PER_ROUND;
+    }
+
+    private long measure(Operation operation) throws Exception {
+        long threadId = Thread.currentThread().getId();
+        long start = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < OPERATIONS_PER_ROUND; i++) {
+            operation.run();
+        }
+        return threadMXBean.getThreadAllocatedBytes(threadId) - start;
+    }
+
+    @FunctionalInterface
+    interface Operation {
+        void run() throws Exception;
+    }
+}
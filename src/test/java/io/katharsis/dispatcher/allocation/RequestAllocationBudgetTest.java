@@ -0,0 +1,226 @@
+package io.katharsis.dispatcher.allocation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.katharsis.dispatcher.RequestDispatcher;
+import io.katharsis.dispatcher.registry.ControllerRegistryBuilder;
+import io.katharsis.errorhandling.mapper.ExceptionMapperRegistryBuilder;
+import io.katharsis.jackson.JsonApiModuleBuilder;
+import io.katharsis.locator.SampleJsonServiceLocator;
+import io.katharsis.queryParams.QueryParams;
+import io.katharsis.queryParams.QueryParamsBuilder;
+import io.katharsis.request.dto.RequestBody;
+import io.katharsis.request.path.JsonPath;
+import io.katharsis.request.path.PathBuilder;
+import io.katharsis.resource.field.ResourceFieldNameTransformer;
+import io.katharsis.resource.information.ResourceInformationBuilder;
+import io.katharsis.resource.mock.models.Project;
+import io.katharsis.resource.mock.models.Task;
+import io.katharsis.resource.mock.repository.ProjectRepository;
+import io.katharsis.resource.mock.repository.TaskRepository;
+import io.katharsis.resource.registry.ResourceRegistry;
+import io.katharsis.resource.registry.ResourceRegistryBuilder;
+import io.katharsis.resource.registry.ResourceRegistryBuilderTest;
+import io.katharsis.resource.registry.ResourceRegistryTest;
+import io.katharsis.response.BaseResponse;
+import io.katharsis.utils.parser.TypeParser;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks bytes allocated by handling a request, including reading its body and writing the response, against the
+ * budgets in {@code allocation-budgets.properties}. When a change lowers allocations, lower the budget as well; when
+ * it raises them on purpose, raise the budget in the same change.
+ */
+public class RequestAllocationBudgetTest {
+
+    private static final String BUDGETS = "/allocation-budgets.properties";
+    private static final long FIRST_TASK_ID = 10_001L;
+    private static final int TASKS = 20;
+    private static final int PROJECTS = 5;
+
+    private static Properties budgets;
+
+    private final AllocationMeter allocationMeter = new AllocationMeter();
+    private PathBuilder pathBuilder;
+    private ObjectMapper objectMapper;
+    private RequestDispatcher requestDispatcher;
+    private ByteArrayOutputStream output;
+    private List<Long> projectIds;
+
+    @BeforeClass
+    public static void loadBudgets() throws Exception {
+        budgets = new Properties();
+        try (InputStream input = RequestAllocationBudgetTest.class.getResourceAsStream(BUDGETS)) {
+            budgets.load(input);
+        }
+    }
+
+    @Before
+    public void prepare() throws Exception {
+        Assume.assumeTrue(allocationMeter.isSupported());
+        ResourceRegistry resourceRegistry = new ResourceRegistryBuilder(new SampleJsonServiceLocator(),
+            new ResourceInformationBuilder(new ResourceFieldNameTransformer()))
+            .build(ResourceRegistryBuilderTest.TEST_MODELS_PACKAGE, ResourceRegistryTest.TEST_MODELS_URL);
+        pathBuilder = new PathBuilder(resourceRegistry);
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JsonApiModuleBuilder().build(resourceRegistry));
+        requestDispatcher = new RequestDispatcher(
+            new ControllerRegistryBuilder(resourceRegistry, new TypeParser(), objectMapper).build(),
+            new ExceptionMapperRegistryBuilder().build(ResourceRegistryBuilderTest.TEST_MODELS_PACKAGE));
+        output = new ByteArrayOutputStream(1 << 16);
+        populate();
+    }
+
+    /**
+     * Saves tasks with ids out of the range generated for other tests, so the requested resources do not depend on
+     * the order of tests sharing the mock repositories.
+     */
+    private void populate() {
+        ProjectRepository projectRepository = new ProjectRepository();
+        List<Project> projects = new ArrayList<>(PROJECTS);
+        for (int i = 0; i < PROJECTS; i++) {
+            Project project = new Project();
+            project.setName("Project " + i);
+            projects.add(projectRepository.save(project));
+        }
+        projectIds = projects.stream().map(Project::getId).collect(Collectors.toList());
+        TaskRepository taskRepository = new TaskRepository();
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task().setId(FIRST_TASK_ID + i);
+            task.setName("Task " + i);
+            task.setProject(projects.get(i % PROJECTS));
+            task.setProjects(projects);
+            taskRepository.save(task);
+        }
+    }
+
+    @Test
+    public void onCollectionGetWithIncludesShouldStayWithinBudget() throws Exception {
+        // GIVEN
+        String ids = LongStream.range(FIRST_TASK_ID, FIRST_TASK_ID + TASKS)
+            .mapToObj(Long::toString)
+            .collect(Collectors.joining(","));
+        JsonPath jsonPath = pathBuilder.buildPath("/tasks/" + ids);
+        QueryParams queryParams = new QueryParamsBuilder().buildQueryParams(Collections.singletonMap(
+            "include[tasks]", new HashSet<>(asList("project", "projects"))));
+
+        // THEN
+        assertWithinBudget("collectionGetWithIncludes", () -> request(jsonPath, "GET", queryParams, null));
+    }
+
+    @Test
+    public void onResourceGetShouldStayWithinBudget() throws Exception {
+        // GIVEN
+        JsonPath jsonPath = pathBuilder.buildPath("/tasks/" + FIRST_TASK_ID);
+
+        // THEN
+        assertWithinBudget("resourceGet", () -> request(jsonPath, "GET", new QueryParams(), null));
+    }
+
+    @Test
+    public void onResourcePostShouldStayWithinBudget() throws Exception {
+        // GIVEN
+        JsonPath jsonPath = pathBuilder.buildPath("/projects");
+        byte[] body = json("{'data': {'type': 'projects', 'attributes': {'name': 'New project'}}}");
+
+        // THEN
+        assertWithinBudget("resourcePost", () -> request(jsonPath, "POST", new QueryParams(), body));
+    }
+
+    @Test
+    public void onResourcePatchShouldStayWithinBudget() throws Exception {
+        // GIVEN
+        Long projectId = projectIds.get(0);
+        JsonPath jsonPath = pathBuilder.buildPath("/projects/" + projectId);
+        byte[][] bodies = {
+            json("{'data': {'type': 'projects', 'id': '" + projectId + "', 'attributes': {'name': 'First name'}}}"),
+            json("{'data': {'type': 'projects', 'id': '" + projectId + "', 'attributes': {'name': 'Second name'}}}")
+        };
+
+        // THEN
+        assertWithinBudget("resourcePatch", alternating(jsonPath, bodies));
+    }
+
+    @Test
+    public void onToOneRelationshipPatchShouldStayWithinBudget() throws Exception {
+        // GIVEN
+        JsonPath jsonPath = pathBuilder.buildPath("/tasks/" + FIRST_TASK_ID + "/relationships/project");
+        byte[][] bodies = {
+            json("{'data': " + linkage(projectIds.get(0)) + "}"),
+            json("{'data': " + linkage(projectIds.get(1)) + "}")
+        };
+
+        // THEN
+        assertWithinBudget("toOneRelationshipPatch", alternating(jsonPath, bodies));
+    }
+
+    @Test
+    public void onToManyRelationshipPatchShouldStayWithinBudget() throws Exception {
+        // GIVEN
+        JsonPath jsonPath = pathBuilder.buildPath("/tasks/" + (FIRST_TASK_ID + 1) + "/relationships/projects");
+        byte[][] bodies = {
+            json("{'data': [" + linkage(projectIds.get(0)) + ", " + linkage(projectIds.get(1)) + "]}"),
+            json("{'data': [" + linkage(projectIds.get(2)) + ", " + linkage(projectIds.get(3)) + "]}")
+        };
+
+        // THEN
+        assertWithinBudget("toManyRelationshipPatch", alternating(jsonPath, bodies));
+    }
+
+    /**
+     * Alternates between bodies, since a PATCH which does not change a resource is not saved.
+     */
+    private AllocationMeter.Operation alternating(JsonPath jsonPath, byte[][] bodies) {
+        int[] count = new int[1];
+        return () -> request(jsonPath, "PATCH", new QueryParams(), bodies[count[0]++ & 1]);
+    }
+
+    private void assertWithinBudget(String flow, AllocationMeter.Operation operation) throws Exception {
+        long budget = Long.parseLong(budgets.getProperty(flow));
+
+        // WHEN
+        long allocatedBytes = allocationMeter.bytesPerOperation(operation);
+
+        // THEN
+        assertThat(allocatedBytes)
+            .as("bytes allocated by %s request, budget %d", flow, budget)
+            .isLessThanOrEqualTo(budget);
+    }
+
+    private void request(JsonPath jsonPath, String method, QueryParams queryParams, byte[] body) throws Exception {
+        RequestBody requestBody = body != null ? objectMapper.readValue(body, RequestBody.class) : null;
+        BaseResponse<?> response = requestDispatcher.dispatchRequest(jsonPath, method, queryParams, null,
+            requestBody);
+        if (response != null) {
+            if (response.getHttpStatus() >= 400) {
+                throw new IllegalStateException(method + " request failed with " + response.getHttpStatus());
+            }
+            output.reset();
+            objectMapper.writeValue(output, response);
+        }
+    }
+
+    private static String linkage(Long projectId) {
+        return "{'type': 'projects', 'id': '" + projectId + "'}";
+    }
+
+    private static byte[] json(String json) {
+        return json.replace('\'', '"').getBytes(StandardCharsets.UTF_8);
+    }
+}
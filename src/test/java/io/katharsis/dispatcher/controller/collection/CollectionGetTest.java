@@ -1,5 +1,7 @@
 package io.katharsis.dispatcher.controller.collection;
 
+import io.katharsis.cache.CachedCollection;
+import io.katharsis.cache.CollectionQueryCache;
 import io.katharsis.dispatcher.controller.BaseControllerTest;
 import io.katharsis.dispatcher.controller.resource.RelationshipsResourcePost;
 import io.katharsis.dispatcher.controller.resource.ResourceGet;
@@ -15,15 +17,13 @@ import io.katharsis.resource.mock.models.Project;
 import io.katharsis.resource.mock.models.Task;
 import io.katharsis.resource.mock.repository.TaskToProjectRepository;
 import io.katharsis.response.BaseResponse;
+import io.katharsis.response.CollectionResponse;
 import io.katharsis.response.ResourceResponse;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.lang.reflect.InvocationTargetException;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -88,6 +88,37 @@ public class CollectionGetTest extends BaseControllerTest {
         Assert.assertNotNull(response);
     }
 
+    @Test
+    public void onGivenCacheCollectionGetShouldServeRepeatedQueryFromCachedIds() throws Exception {
+        // GIVEN
+        RequestBody newTaskBody = new RequestBody();
+        DataBody data = new DataBody();
+        newTaskBody.setData(data);
+        data.setType("tasks");
+        data.setAttributes(objectMapper.createObjectNode().put("name", "cached task"));
+        data.setRelationships(new ResourceRelationships());
+        ResourcePost resourcePost = new ResourcePost(resourceRegistry, typeParser, objectMapper);
+        BaseResponse taskResponse = resourcePost.handle(pathBuilder.buildPath("/tasks"), new QueryParams(), null,
+            newTaskBody);
+        Long taskId = ((Task) (taskResponse.getData())).getId();
+
+        CollectionQueryCache cache = new CollectionQueryCache(resourceRegistry, Collections.singleton("tasks"), 10,
+            60_000L);
+        JsonPath jsonPath = pathBuilder.buildPath("/tasks/");
+        QueryParams queryParams = new QueryParamsBuilder().buildQueryParams(Collections.emptyMap());
+        CollectionGet sut = new CollectionGet(resourceRegistry, typeParser, includeFieldSetter, cache);
+
+        // WHEN
+        CollectionResponse firstResponse = (CollectionResponse) sut.handle(jsonPath, queryParams, null, null);
+        CachedCollection cachedCollection = cache.get("tasks", queryParams);
+        CollectionResponse secondResponse = (CollectionResponse) sut.handle(jsonPath, queryParams, null, null);
+
+        // THEN
+        assertThat(cachedCollection).isNotNull();
+        assertThat(cachedCollection.getIds()).contains(taskId);
+        assertThat(secondResponse.getData()).containsExactlyElementsOf(firstResponse.getData());
+    }
+
     @Test
     public void onGivenRequestResourceShouldLoadAutoIncludeFields() throws Exception {
         // GIVEN
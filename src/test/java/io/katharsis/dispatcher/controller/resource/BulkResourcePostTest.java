@@ -0,0 +1,96 @@
+package io.katharsis.dispatcher.controller.resource;
+
+import io.katharsis.dispatcher.controller.BaseControllerTest;
+import io.katharsis.queryParams.QueryParams;
+import io.katharsis.request.dto.DataBody;
+import io.katharsis.request.dto.LinkageData;
+import io.katharsis.request.dto.RequestBody;
+import io.katharsis.request.dto.ResourceRelationships;
+import io.katharsis.request.path.JsonPath;
+import io.katharsis.resource.mock.models.Project;
+import io.katharsis.resource.mock.models.Task;
+import io.katharsis.resource.mock.repository.ProjectRepository;
+import io.katharsis.resource.mock.repository.TaskRepository;
+import io.katharsis.response.CollectionResponse;
+import io.katharsis.response.HttpStatus;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BulkResourcePostTest extends BaseControllerTest {
+
+    private static final String REQUEST_TYPE = "POST";
+
+    @Test
+    public void onGivenRequestWithMultipleDataShouldAcceptIt() {
+        // GIVEN
+        JsonPath jsonPath = pathBuilder.buildPath("/tasks/");
+        RequestBody requestBody = new RequestBody();
+        requestBody.setData(new LinkedList<>());
+        BulkResourcePost sut = new BulkResourcePost(resourceRegistry, typeParser, objectMapper);
+        ResourcePost resourcePost = new ResourcePost(resourceRegistry, typeParser, objectMapper);
+
+        // WHEN
+        boolean result = sut.isAcceptable(jsonPath, REQUEST_TYPE, requestBody);
+
+        // THEN
+        Assert.assertEquals(result, true);
+        Assert.assertEquals(resourcePost.isAcceptable(jsonPath, REQUEST_TYPE, requestBody), false);
+    }
+
+    @Test
+    public void onGivenRequestWithSingleDataShouldDenyIt() {
+        // GIVEN
+        JsonPath jsonPath = pathBuilder.buildPath("/tasks/");
+        RequestBody requestBody = new RequestBody();
+        requestBody.setData(new DataBody());
+        BulkResourcePost sut = new BulkResourcePost(resourceRegistry, typeParser, objectMapper);
+
+        // WHEN
+        boolean result = sut.isAcceptable(jsonPath, REQUEST_TYPE, requestBody);
+
+        // THEN
+        Assert.assertEquals(result, false);
+        Assert.assertEquals(sut.isAcceptable(jsonPath, REQUEST_TYPE), false);
+    }
+
+    @Test
+    public void onMultipleDataShouldPersistAllResourcesInChunks() throws Exception {
+        // GIVEN
+        Project project = new ProjectRepository().save(new Project());
+        List<DataBody> dataBodies = new LinkedList<>();
+        for (int i = 0; i < 3; i++) {
+            DataBody data = new DataBody();
+            data.setType("tasks");
+            data.setAttributes(objectMapper.createObjectNode().put("name", "bulk task " + i));
+            data.setRelationships(new ResourceRelationships());
+            data.getRelationships()
+                .setAdditionalProperty("project", new LinkageData("projects", project.getId().toString()));
+            dataBodies.add(data);
+        }
+        RequestBody newTasksBody = new RequestBody();
+        newTasksBody.setData(dataBodies);
+
+        JsonPath taskPath = pathBuilder.buildPath("/tasks");
+        BulkResourcePost sut = new BulkResourcePost(resourceRegistry, typeParser, objectMapper, 2);
+
+        // WHEN
+        CollectionResponse response = sut.handle(taskPath, new QueryParams(), null, newTasksBody);
+
+        // THEN
+        assertThat(response.getHttpStatus()).isEqualTo(HttpStatus.CREATED_201);
+        List<Task> tasks = new LinkedList<>();
+        response.getData().forEach(task -> tasks.add((Task) task));
+        assertThat(tasks).extracting("name").containsExactly("bulk task 0", "bulk task 1", "bulk task 2");
+
+        TaskRepository taskRepository = new TaskRepository();
+        for (Task task : tasks) {
+            Task persistedTask = taskRepository.findOne(task.getId(), null);
+            assertThat(persistedTask.getProject().getId()).isEqualTo(project.getId());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package io.katharsis.dispatcher.controller.resource;
+
+import io.katharsis.dispatcher.controller.BaseControllerTest;
+import io.katharsis.queryParams.QueryParams;
+import io.katharsis.repository.ReferenceRepository;
+import io.katharsis.repository.ResourceRepository;
+import io.katharsis.resource.mock.models.Project;
+import io.katharsis.resource.registry.RegistryEntry;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class RelatedResourceLookupTest extends BaseControllerTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void onManyIdsShouldFindResourcesWithSingleCall() throws Exception {
+        // GIVEN
+        ResourceRepository<Project, Long> repository = mock(ResourceRepository.class);
+        when(repository.findAll(any(Iterable.class), any(QueryParams.class)))
+            .thenReturn(Arrays.asList(new Project().setId(2L), new Project().setId(1L)));
+        RegistryEntry registryEntry = projectsEntry(repository);
+        QueryParams queryParams = new QueryParams();
+        RelatedResourceLookup sut = new RelatedResourceLookup(queryParams, null);
+
+        // WHEN
+        List<Object> result = sut.findAll(registryEntry, Arrays.<Serializable>asList(1L, 2L));
+
+        // THEN
+        assertThat(result).extracting("id").containsExactly(1L, 2L);
+        verify(repository, times(1)).findAll(any(Iterable.class), any(QueryParams.class));
+        verify(repository, never()).findOne(anyLong(), any(QueryParams.class));
+        verify(registryEntry, times(1)).getResourceRepository(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void onRepositoryWithReferencesShouldNotLoadResources() throws Exception {
+        // GIVEN
+        ResourceRepository<Project, Long> repository = mock(ResourceRepository.class,
+            withSettings().extraInterfaces(ReferenceRepository.class));
+        when(((ReferenceRepository<Project, Long>) repository).getReference(anyLong()))
+            .thenAnswer(invocation -> new Project().setId((Long) invocation.getArguments()[0]));
+        RegistryEntry registryEntry = projectsEntry(repository);
+        RelatedResourceLookup sut = new RelatedResourceLookup(new QueryParams(), null);
+
+        // WHEN
+        List<Object> result = sut.findAll(registryEntry, Arrays.<Serializable>asList(1L, 2L, 3L));
+
+        // THEN
+        assertThat(result).extracting("id").containsExactly(1L, 2L, 3L);
+        verify(repository, never()).findAll(any(Iterable.class), any(QueryParams.class));
+        verify(repository, never()).findOne(anyLong(), any(QueryParams.class));
+        verify(registryEntry, times(1)).getResourceRepository(any());
+    }
+
+    private RegistryEntry projectsEntry(ResourceRepository<Project, Long> repository) {
+        RegistryEntry registryEntry = mock(RegistryEntry.class);
+        when(registryEntry.getResourceInformation())
+            .thenReturn(resourceRegistry.getEntry("projects").getResourceInformation());
+        when(registryEntry.getResourceRepository(any())).thenReturn(repository);
+        return registryEntry;
+    }
+}
@@ -3,10 +3,16 @@ package io.katharsis.dispatcher.controller.resource;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.katharsis.dispatcher.controller.BaseControllerTest;
 import io.katharsis.queryParams.QueryParams;
+import io.katharsis.queryParams.QueryParamsBuilder;
+import io.katharsis.queryParams.RestrictedPaginationKeys;
 import io.katharsis.request.path.JsonPath;
 import io.katharsis.request.path.ResourcePath;
 import io.katharsis.resource.mock.models.Task;
+import io.katharsis.resource.mock.models.Team;
+import io.katharsis.resource.mock.models.User;
 import io.katharsis.resource.mock.repository.TaskToProjectRepository;
+import io.katharsis.resource.mock.repository.TeamToProjectRepository;
+import io.katharsis.resource.mock.repository.UserToProjectRepository;
 import io.katharsis.resource.mock.repository.util.Relation;
 import io.katharsis.resource.registry.ResourceRegistry;
 import io.katharsis.response.BaseResponse;
@@ -15,7 +21,11 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 
 import static net.javacrumbs.jsonunit.fluent.JsonFluentAssert.assertThatJson;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -123,4 +133,96 @@ public class RelationshipsResourceGetTest extends BaseControllerTest {
         Assert.assertNotNull(response);
         assertThat(response.getHttpStatus()).isEqualTo(HttpStatus.OK_200);
     }
+
+    @Test
+    public void onRepositoryWithTargetIdsShouldReturnLinkageWithoutLoadingResources() throws Exception {
+        // GIVEN
+        JsonPath jsonPath = pathBuilder.buildPath("/users/1/relationships/assignedProjects");
+        RelationshipsResourceGet sut = new RelationshipsResourceGet(resourceRegistry, typeParser, includeFieldSetter);
+        UserToProjectRepository userToProjectRepository = new UserToProjectRepository();
+        User user = new User();
+        user.setId(1L);
+        userToProjectRepository.setRelations(user, Collections.singletonList(42L), "assignedProjects");
+
+        // WHEN
+        BaseResponse<?> response = sut.handle(jsonPath, REQUEST_PARAMS, null, null);
+
+        // THEN
+        String resultJson = objectMapper.writeValueAsString(response);
+        assertThatJson(resultJson).node("data[0].id").isStringEqualTo("42");
+        assertThatJson(resultJson).node("data[0].type").isEqualTo("projects");
+        userToProjectRepository.removeRelations("assignedProjects");
+    }
+
+    @Test
+    public void onToManyRelationshipOverLinkageLimitShouldReturnPageWithNextLink() throws Exception {
+        // GIVEN
+        JsonPath jsonPath = pathBuilder.buildPath("/teams/1/relationships/projects");
+        RelationshipsResourceGet sut = new RelationshipsResourceGet(resourceRegistry, typeParser, includeFieldSetter);
+        TeamToProjectRepository teamToProjectRepository = new TeamToProjectRepository();
+        teamToProjectRepository.setRelations(new Team().setId(1L), Arrays.asList(1L, 2L, 3L), "projects");
+
+        // WHEN
+        BaseResponse<?> response = sut.handle(jsonPath, REQUEST_PARAMS, null, null);
+
+        // THEN
+        String resultJson = objectMapper.writeValueAsString(response);
+        assertThatJson(resultJson).node("data").isArray().ofLength(2);
+        assertThatJson(resultJson).node("meta").isAbsent();
+        assertThatJson(resultJson).node("links.next")
+            .isEqualTo("https://service.local/teams/1/relationships/projects?page[offset]=2&page[limit]=2");
+        assertThat(teamToProjectRepository.getLastQueryParams().getPagination())
+            .containsEntry(RestrictedPaginationKeys.offset, 0)
+            .containsEntry(RestrictedPaginationKeys.limit, 3);
+        teamToProjectRepository.clear();
+    }
+
+    @Test
+    public void onPageParamsShouldReturnRequestedPageOfLinkage() throws Exception {
+        // GIVEN
+        JsonPath jsonPath = pathBuilder.buildPath("/teams/1/relationships/projects");
+        RelationshipsResourceGet sut = new RelationshipsResourceGet(resourceRegistry, typeParser, includeFieldSetter);
+        TeamToProjectRepository teamToProjectRepository = new TeamToProjectRepository();
+        teamToProjectRepository.setRelations(new Team().setId(1L), Arrays.asList(1L, 2L, 3L), "projects");
+        Map<String, Set<String>> queryParams = new HashMap<>();
+        queryParams.put("page[offset]", Collections.singleton("2"));
+        queryParams.put("page[limit]", Collections.singleton("2"));
+
+        // WHEN
+        BaseResponse<?> response = sut.handle(jsonPath, new QueryParamsBuilder().buildQueryParams(queryParams), null,
+            null);
+
+        // THEN
+        String resultJson = objectMapper.writeValueAsString(response);
+        assertThatJson(resultJson).node("data").isArray().ofLength(1);
+        assertThatJson(resultJson).node("meta.total").isEqualTo(3);
+        assertThatJson(resultJson).node("links").isAbsent();
+        teamToProjectRepository.clear();
+    }
+
+    @Test
+    public void onPageLargerThanRemainingMembersShouldApplyOffsetOnce() throws Exception {
+        // GIVEN
+        JsonPath jsonPath = pathBuilder.buildPath("/teams/1/relationships/projects");
+        RelationshipsResourceGet sut = new RelationshipsResourceGet(resourceRegistry, typeParser, includeFieldSetter);
+        TeamToProjectRepository teamToProjectRepository = new TeamToProjectRepository();
+        teamToProjectRepository.setRelations(new Team().setId(1L), Arrays.asList(1L, 2L, 3L), "projects");
+        Map<String, Set<String>> queryParams = new HashMap<>();
+        queryParams.put("page[offset]", Collections.singleton("2"));
+        queryParams.put("page[limit]", Collections.singleton("5"));
+
+        // WHEN
+        BaseResponse<?> response = sut.handle(jsonPath, new QueryParamsBuilder().buildQueryParams(queryParams), null,
+            null);
+
+        // THEN
+        String resultJson = objectMapper.writeValueAsString(response);
+        assertThatJson(resultJson).node("data").isArray().ofLength(1);
+        assertThatJson(resultJson).node("data[0].id").isStringEqualTo("3");
+        assertThatJson(resultJson).node("meta.total").isEqualTo(3);
+        assertThat(teamToProjectRepository.getLastQueryParams().getPagination())
+            .containsEntry(RestrictedPaginationKeys.offset, 2)
+            .containsEntry(RestrictedPaginationKeys.limit, 6);
+        teamToProjectRepository.clear();
+    }
 }
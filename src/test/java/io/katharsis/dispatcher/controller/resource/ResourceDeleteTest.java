@@ -5,10 +5,14 @@ import io.katharsis.dispatcher.controller.BaseControllerTest;
 import io.katharsis.queryParams.QueryParams;
 import io.katharsis.request.path.JsonPath;
 import io.katharsis.request.path.ResourcePath;
+import io.katharsis.resource.mock.models.Task;
+import io.katharsis.resource.mock.repository.TaskRepository;
 import io.katharsis.resource.registry.ResourceRegistry;
 import io.katharsis.response.BaseResponse;
 import org.junit.Test;
 
+import java.util.Arrays;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 
@@ -57,4 +61,20 @@ public class ResourceDeleteTest extends BaseControllerTest {
         // THEN
         assertThat(response).isNull();
     }
+
+    @Test
+    public void onManyIdsShouldDeleteAllResources() throws Exception {
+        // GIVEN
+        TaskRepository taskRepository = new TaskRepository();
+        Long firstId = taskRepository.save(new Task()).getId();
+        Long secondId = taskRepository.save(new Task()).getId();
+        JsonPath jsonPath = pathBuilder.buildPath("/tasks/" + firstId + "," + secondId);
+        ResourceDelete sut = new ResourceDelete(resourceRegistry, typeParser);
+
+        // WHEN
+        sut.handle(jsonPath, new QueryParams(), null, null);
+
+        // THEN
+        assertThat(taskRepository.findAll(Arrays.asList(firstId, secondId), new QueryParams())).isEmpty();
+    }
 }
@@ -10,8 +10,10 @@ import io.katharsis.request.dto.RequestBody;
 import io.katharsis.request.dto.ResourceRelationships;
 import io.katharsis.request.path.JsonPath;
 import io.katharsis.resource.RestrictedQueryParamsMembers;
+import io.katharsis.resource.mock.models.Comment;
 import io.katharsis.resource.mock.models.Project;
 import io.katharsis.resource.mock.models.Task;
+import io.katharsis.resource.mock.repository.CommentRepository;
 import io.katharsis.resource.mock.repository.TaskToProjectRepository;
 import io.katharsis.response.BaseResponse;
 import io.katharsis.response.ResourceResponse;
@@ -268,4 +270,19 @@ public class ResourceGetTest extends BaseControllerTest {
         assertThat(((Task)(taskResponse.getData())).getProject()).isNull();
     }
 
+    @Test
+    public void onLongIdRepositoryShouldFindResourceByPrimitiveId() throws Exception {
+        // GIVEN
+        new CommentRepository().save(new Comment().setId(4601L).setContent("sample comment"));
+        int longIdCalls = CommentRepository.getLongIdCalls();
+        JsonPath jsonPath = pathBuilder.buildPath("/comments/4601");
+        ResourceGet sut = new ResourceGet(resourceRegistry, typeParser, includeFieldSetter);
+
+        // WHEN
+        BaseResponse<?> response = sut.handle(jsonPath, new QueryParams(), null, null);
+
+        // THEN
+        assertThat(((Comment) response.getData()).getContent()).isEqualTo("sample comment");
+        assertThat(CommentRepository.getLongIdCalls()).isEqualTo(longIdCalls + 1);
+    }
 }
@@ -3,19 +3,36 @@ package io.katharsis.dispatcher.controller.resource;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.katharsis.dispatcher.controller.BaseControllerTest;
 import io.katharsis.queryParams.QueryParams;
+import io.katharsis.repository.ResourceChanges;
+import io.katharsis.repository.exception.RepositoryMethodException;
 import io.katharsis.request.dto.DataBody;
+import io.katharsis.request.dto.LinkageData;
 import io.katharsis.request.dto.RequestBody;
 import io.katharsis.request.dto.ResourceRelationships;
 import io.katharsis.request.path.JsonPath;
 import io.katharsis.request.path.ResourcePath;
+import io.katharsis.resource.mock.models.Comment;
 import io.katharsis.resource.mock.models.Memorandum;
+import io.katharsis.resource.mock.models.Project;
+import io.katharsis.resource.exception.RequestBodyException;
+import io.katharsis.resource.exception.ResourceNotFoundException;
 import io.katharsis.resource.mock.models.Task;
+import io.katharsis.resource.mock.repository.CommentRepository;
+import io.katharsis.resource.mock.repository.ProjectRepository;
+import io.katharsis.resource.mock.repository.TaskRepository;
 import io.katharsis.response.BaseResponse;
+import io.katharsis.response.CollectionResponse;
 import io.katharsis.response.ResourceResponse;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 
 public class ResourcePatchTest extends BaseControllerTest {
 
@@ -186,4 +203,248 @@ public class ResourcePatchTest extends BaseControllerTest {
         assertThat(((Task) (response.getData())).getName()).isEqualTo("task updated");
         assertThat(((Task) (response.getData())).getProject()).isNull();
     }
+
+    @Test
+    public void onChangedFieldsShouldPatchOnlyThoseFields() throws Exception {
+        // GIVEN
+        Project project = new ProjectRepository().save(new Project());
+        Project newProject = new ProjectRepository().save(new Project());
+        Task task = new Task();
+        task.setName("old name");
+        task.setProject(project);
+        Long taskId = new TaskRepository().save(task).getId();
+
+        RequestBody taskPatch = new RequestBody();
+        DataBody data = new DataBody();
+        taskPatch.setData(data);
+        data.setType("tasks");
+        data.setAttributes(objectMapper.createObjectNode()
+            .put("name", "new name"));
+        data.setRelationships(new ResourceRelationships());
+        data.getRelationships()
+            .setAdditionalProperty("project", new LinkageData("projects", project.getId().toString()));
+        data.getRelationships()
+            .setAdditionalProperty("includedProject", new LinkageData("projects", newProject.getId().toString()));
+        JsonPath jsonPath = pathBuilder.buildPath("/tasks/" + taskId);
+        ResourcePatch sut = new ResourcePatch(resourceRegistry, typeParser, objectMapper);
+
+        // WHEN
+        BaseResponse<?> response = sut.handle(jsonPath, new QueryParams(), null, taskPatch);
+
+        // THEN
+        ResourceChanges changes = TaskRepository.getLastChanges();
+        assertThat(changes.getAttributes()).containsOnlyKeys("name").containsEntry("name", "new name");
+        assertThat(changes.getRelationshipIds()).containsOnlyKeys("project", "includedProject")
+            .containsEntry("project", project.getId())
+            .containsEntry("includedProject", newProject.getId());
+        assertThat(((Task) response.getData()).getName()).isEqualTo("new name");
+        assertThat(((Task) response.getData()).getIncludedProject().getId()).isEqualTo(newProject.getId());
+    }
+
+    @Test
+    public void onPatchRepositoryShouldNotSetRelationshipsOfStoredResource() throws Exception {
+        // GIVEN
+        Project project = new ProjectRepository().save(new Project());
+        Long taskId = new TaskRepository().save(new Task()).getId();
+
+        RequestBody taskPatch = new RequestBody();
+        DataBody data = new DataBody();
+        taskPatch.setData(data);
+        data.setType("tasks");
+        data.setRelationships(new ResourceRelationships());
+        data.getRelationships().setAdditionalProperty("projects",
+            Collections.singletonList(new LinkageData("projects", project.getId().toString())));
+        JsonPath jsonPath = pathBuilder.buildPath("/tasks/" + taskId);
+        ResourcePatch sut = new ResourcePatch(resourceRegistry, typeParser, objectMapper);
+
+        // WHEN
+        BaseResponse<?> response = sut.handle(jsonPath, new QueryParams(), null, taskPatch);
+
+        // THEN
+        assertThat(TaskRepository.getLastChanges().getRelationshipIds())
+            .containsOnly(entry("projects", Collections.singletonList(project.getId())));
+        assertThat(((Task) response.getData()).getProjects()).isNull();
+    }
+
+    @Test
+    public void onUnchangedResourceShouldNotSaveIt() throws Exception {
+        // GIVEN
+        Task task = new Task();
+        task.setName("unchanged name");
+        Long taskId = new TaskRepository().save(task).getId();
+
+        RequestBody taskPatch = new RequestBody();
+        DataBody data = new DataBody();
+        taskPatch.setData(data);
+        data.setType("tasks");
+        data.setAttributes(objectMapper.createObjectNode()
+            .put("name", "unchanged name"));
+        JsonPath jsonPath = pathBuilder.buildPath("/tasks/" + taskId);
+        ResourcePatch sut = new ResourcePatch(resourceRegistry, typeParser, objectMapper);
+        ResourceChanges lastChanges = TaskRepository.getLastChanges();
+
+        // WHEN
+        BaseResponse<?> response = sut.handle(jsonPath, new QueryParams(), null, taskPatch);
+
+        // THEN
+        assertThat(TaskRepository.getLastChanges()).isSameAs(lastChanges);
+        assertThat(response.getData()).isSameAs(task);
+    }
+
+    @Test
+    public void onMultipleDataShouldUpdateAllResources() throws Exception {
+        // GIVEN
+        TaskRepository taskRepository = new TaskRepository();
+        Long firstId = taskRepository.save(new Task()).getId();
+        Long secondId = taskRepository.save(new Task()).getId();
+        List<DataBody> dataBodies = new LinkedList<>();
+        for (Long id : Arrays.asList(firstId, secondId)) {
+            DataBody data = new DataBody();
+            data.setType("tasks");
+            data.setId(id.toString());
+            data.setAttributes(objectMapper.createObjectNode().put("name", "task updated " + id));
+            dataBodies.add(data);
+        }
+        RequestBody tasksPatch = new RequestBody();
+        tasksPatch.setData(dataBodies);
+        JsonPath jsonPath = pathBuilder.buildPath("/tasks/" + firstId + "," + secondId);
+        ResourcePatch sut = new ResourcePatch(resourceRegistry, typeParser, objectMapper, 1);
+
+        // WHEN
+        BaseResponse<?> response = sut.handle(jsonPath, new QueryParams(), null, tasksPatch);
+
+        // THEN
+        assertThat(response).isExactlyInstanceOf(CollectionResponse.class);
+        assertThat((Iterable<?>) response.getData()).hasSize(2);
+        assertThat(taskRepository.findOne(firstId, null).getName()).isEqualTo("task updated " + firstId);
+        assertThat(taskRepository.findOne(secondId, null).getName()).isEqualTo("task updated " + secondId);
+    }
+
+    @Test
+    public void onMultipleDataOfPatchRepositoryShouldPatchChangedResources() throws Exception {
+        // GIVEN
+        TaskRepository taskRepository = new TaskRepository();
+        Task task = new Task();
+        task.setName("unchanged name");
+        Long unchangedId = taskRepository.save(task).getId();
+        Long changedId = taskRepository.save(new Task()).getId();
+        List<DataBody> dataBodies = new LinkedList<>();
+        for (Long id : Arrays.asList(unchangedId, changedId)) {
+            DataBody data = new DataBody();
+            data.setType("tasks");
+            data.setId(id.toString());
+            data.setAttributes(objectMapper.createObjectNode().put("name", id.equals(unchangedId)
+                ? "unchanged name"
+                : "patched name"));
+            dataBodies.add(data);
+        }
+        RequestBody tasksPatch = new RequestBody();
+        tasksPatch.setData(dataBodies);
+        JsonPath jsonPath = pathBuilder.buildPath("/tasks/" + unchangedId + "," + changedId);
+        ResourcePatch sut = new ResourcePatch(resourceRegistry, typeParser, objectMapper);
+
+        // WHEN
+        BaseResponse<?> response = sut.handle(jsonPath, new QueryParams(), null, tasksPatch);
+
+        // THEN
+        assertThat(TaskRepository.getLastChanges().getAttributes()).containsOnly(entry("name", "patched name"));
+        assertThat(taskRepository.findOne(changedId, null).getName()).isEqualTo("patched name");
+        assertThat((Iterable<?>) response.getData()).containsExactly(task, taskRepository.findOne(changedId, null));
+    }
+
+    @Test
+    public void onMultipleDataWithIdNotInPathShouldThrowException() throws Exception {
+        // GIVEN
+        DataBody data = new DataBody();
+        data.setType("tasks");
+        data.setId("2");
+        RequestBody tasksPatch = new RequestBody();
+        tasksPatch.setData(Collections.singletonList(data));
+        JsonPath jsonPath = pathBuilder.buildPath("/tasks/1");
+        ResourcePatch sut = new ResourcePatch(resourceRegistry, typeParser, objectMapper);
+
+        // THEN
+        expectedException.expect(RequestBodyException.class);
+
+        // WHEN
+        sut.handle(jsonPath, new QueryParams(), null, tasksPatch);
+    }
+
+    @Test
+    public void onMultipleDataWithMissingResourceShouldThrowException() throws Exception {
+        // GIVEN
+        CommentRepository.clear();
+        new CommentRepository().save(new Comment().setId(1L));
+        RequestBody commentsPatch = commentsPatch(Arrays.asList(1L, 2L));
+        JsonPath jsonPath = pathBuilder.buildPath("/comments/1,2");
+        ResourcePatch sut = new ResourcePatch(resourceRegistry, typeParser, objectMapper);
+
+        // THEN
+        expectedException.expect(ResourceNotFoundException.class);
+
+        // WHEN
+        sut.handle(jsonPath, new QueryParams(), null, commentsPatch);
+    }
+
+    @Test
+    public void onSaveAllReturningFewerResourcesShouldThrowException() throws Exception {
+        // GIVEN
+        CommentRepository.clear();
+        CommentRepository commentRepository = new CommentRepository();
+        commentRepository.save(new Comment().setId(1L));
+        commentRepository.save(new Comment().setId(2L));
+        CommentRepository.setSaveAllResultLimit(1);
+        RequestBody commentsPatch = commentsPatch(Arrays.asList(1L, 2L));
+        JsonPath jsonPath = pathBuilder.buildPath("/comments/1,2");
+        ResourcePatch sut = new ResourcePatch(resourceRegistry, typeParser, objectMapper);
+
+        // THEN
+        expectedException.expect(RepositoryMethodException.class);
+
+        // WHEN
+        try {
+            sut.handle(jsonPath, new QueryParams(), null, commentsPatch);
+        } finally {
+            CommentRepository.clear();
+        }
+    }
+
+    @Test
+    public void onMultipleDataOfReferenceRepositoryShouldUpdateLoadedResources() throws Exception {
+        // GIVEN
+        CommentRepository.clear();
+        CommentRepository commentRepository = new CommentRepository();
+        List<Long> ids = Arrays.asList(1L, 2L);
+        for (Long id : ids) {
+            commentRepository.save(new Comment().setId(id).setContent("old content").setVersion(7L));
+        }
+        RequestBody commentsPatch = commentsPatch(ids);
+        JsonPath jsonPath = pathBuilder.buildPath("/comments/1,2");
+        ResourcePatch sut = new ResourcePatch(resourceRegistry, typeParser, objectMapper);
+
+        // WHEN
+        sut.handle(jsonPath, new QueryParams(), null, commentsPatch);
+
+        // THEN
+        for (Long id : ids) {
+            Comment comment = commentRepository.findOne(id, null);
+            assertThat(comment.getContent()).isEqualTo("comment " + id);
+            assertThat(comment.getVersion()).isEqualTo(7L);
+        }
+        CommentRepository.clear();
+    }
+
+    private RequestBody commentsPatch(List<Long> ids) {
+        List<DataBody> dataBodies = new LinkedList<>();
+        for (Long id : ids) {
+            DataBody data = new DataBody();
+            data.setType("comments");
+            data.setId(id.toString());
+            data.setAttributes(objectMapper.createObjectNode().put("content", "comment " + id));
+            dataBodies.add(data);
+        }
+        RequestBody requestBody = new RequestBody();
+        requestBody.setData(dataBodies);
+        return requestBody;
+    }
 }
@@ -12,8 +12,10 @@ import io.katharsis.request.path.JsonPath;
 import io.katharsis.request.path.ResourcePath;
 import io.katharsis.resource.exception.ResourceNotFoundException;
 import io.katharsis.resource.mock.models.*;
+import io.katharsis.resource.mock.repository.ProjectRepository;
 import io.katharsis.resource.mock.repository.TaskRepository;
 import io.katharsis.resource.mock.repository.TaskToProjectRepository;
+import io.katharsis.resource.mock.repository.UserRepository;
 import io.katharsis.response.HttpStatus;
 import io.katharsis.response.ResourceResponse;
 import org.junit.Assert;
@@ -205,6 +207,35 @@ public class ResourcePostTest extends BaseControllerTest {
         assertThat(((User) (taskResponse.getData())).getAssignedProjects().get(0).getId()).isEqualTo(projectId);
     }
 
+    @Test
+    public void onRepositoryWithCreateShouldCreateResourceWithRelationshipsInSingleCall() throws Exception {
+        // GIVEN
+        Project project = new ProjectRepository().save(new Project());
+        RequestBody newUserBody = new RequestBody();
+        DataBody data = new DataBody();
+        newUserBody.setData(data);
+        data.setType("users");
+        data.setAttributes(objectMapper.createObjectNode().put("name", "created user"));
+        data.setRelationships(new ResourceRelationships());
+        data.getRelationships().setAdditionalProperty("assignedProjects",
+            Collections.singletonList(new LinkageData("projects", project.getId().toString())));
+
+        JsonPath userPath = pathBuilder.buildPath("/users");
+        ResourcePost sut = new ResourcePost(resourceRegistry, typeParser, objectMapper);
+        int createCalls = UserRepository.getCreateCalls();
+
+        // WHEN
+        ResourceResponse response = sut.handle(userPath, new QueryParams(), null, newUserBody);
+
+        // THEN
+        assertThat(UserRepository.getCreateCalls()).isEqualTo(createCalls + 1);
+        assertThat(response.getHttpStatus()).isEqualTo(HttpStatus.CREATED_201);
+        User user = (User) response.getData();
+        assertThat(user.getId()).isNotNull();
+        assertThat(user.getName()).isEqualTo("created user");
+        assertThat(user.getAssignedProjects()).extracting("id").containsExactly(project.getId());
+    }
+
     @Test
     public void onNewInheritedResourceShouldPersistThisResource() throws Exception {
         // GIVEN
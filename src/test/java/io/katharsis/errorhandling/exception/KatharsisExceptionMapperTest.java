@@ -26,6 +26,17 @@ public class KatharsisExceptionMapperTest {
                 .containsExactly(tuple(TITLE1, DETAIL1));
     }
 
+    @Test
+    public void shouldNotCaptureStackTraceIfDisabled() throws Exception {
+        try {
+            KatharsisException.setStackTraceEnabled(false);
+            assertThat(new SampleKatharsisException().getStackTrace()).isEmpty();
+        } finally {
+            KatharsisException.setStackTraceEnabled(true);
+        }
+        assertThat(new SampleKatharsisException().getStackTrace()).isNotEmpty();
+    }
+
     private static class SampleKatharsisException extends KatharsisMappableException {
 
         SampleKatharsisException() {
@@ -54,6 +54,22 @@ public class ExceptionMapperRegistryTest {
         assertThat(mapper.get()).isExactlyInstanceOf(IllegalStateExceptionMapper.class);
     }
 
+    @Test
+    public void shouldReturnSameResultForRepeatedLookups() throws Exception {
+        Optional<JsonApiExceptionMapper> first = exceptionMapperRegistry.findMapperFor(ClosedFileSystemException.class);
+        Optional<JsonApiExceptionMapper> second = exceptionMapperRegistry.findMapperFor(ClosedFileSystemException.class);
+        assertThat(second).isSameAs(first);
+        assertThat(exceptionMapperRegistry.findMapperFor(SomeException.class).isPresent()).isFalse();
+    }
+
+    @Test
+    public void shouldNotBeAffectedByChangesOfMapperSetAfterCreation() throws Exception {
+        Set<ExceptionMapperType> types = exceptionMapperTypeSet();
+        ExceptionMapperRegistry registry = new ExceptionMapperRegistry(types);
+        types.clear();
+        assertThat(registry.findMapperFor(IllegalStateException.class).isPresent()).isTrue();
+    }
+
     private static class SomeException extends Exception {
     }
 
@@ -1,19 +1,25 @@
 package io.katharsis.jackson;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.katharsis.cache.ResourceFragmentCache;
 import io.katharsis.queryParams.QueryParams;
+import io.katharsis.jackson.serializer.RelationshipDataMode;
 import io.katharsis.queryParams.QueryParamsBuilder;
 import io.katharsis.request.path.JsonPath;
 import io.katharsis.request.path.PathBuilder;
 import io.katharsis.resource.RestrictedQueryParamsMembers;
+import io.katharsis.resource.mock.models.Comment;
 import io.katharsis.resource.mock.models.Project;
+import io.katharsis.resource.mock.models.Task;
 import io.katharsis.response.Container;
 import io.katharsis.response.ResourceResponse;
 import org.junit.Test;
 
 import java.util.Collections;
+import java.util.List;
 
 import static net.javacrumbs.jsonunit.fluent.JsonFluentAssert.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
 
 public class ContainerSerializerTest extends BaseSerializerTest {
 
@@ -75,4 +81,125 @@ public class ContainerSerializerTest extends BaseSerializerTest {
         assertThatJson(result).node("attributes.name").isEqualTo("name");
         assertThatJson(result).node("attributes.description").isAbsent();
     }
+
+    @Test
+    public void onFragmentCacheShouldReuseSerializedResourceOfSameVersion() throws Exception {
+        // GIVEN
+        ResourceFragmentCache fragmentCache = new ResourceFragmentCache(1024 * 1024);
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JsonApiModuleBuilder()
+            .setFragmentCache(fragmentCache)
+            .build(resourceRegistry));
+        Comment comment = new Comment().setId(1L).setContent("first").setVersion(1L);
+        String uncached = sut.writeValueAsString(new Container(comment, testResponse));
+
+        // WHEN
+        String first = objectMapper.writeValueAsString(new Container(comment, testResponse));
+        comment.setContent("changed without a new version");
+        String second = objectMapper.writeValueAsString(new Container(comment, testResponse));
+        comment.setVersion(2L);
+        String third = objectMapper.writeValueAsString(new Container(comment, testResponse));
+
+        // THEN
+        assertThat(first).isEqualTo(uncached);
+        assertThat(second).isEqualTo(first);
+        assertThatJson(third).node("attributes.content").isEqualTo("changed without a new version");
+        assertThat(fragmentCache.size()).isGreaterThan(0);
+    }
+
+    @Test
+    public void onFragmentCacheShouldNotCacheResourceWithoutVersion() throws Exception {
+        // GIVEN
+        ResourceFragmentCache fragmentCache = new ResourceFragmentCache(1024 * 1024);
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JsonApiModuleBuilder()
+            .setFragmentCache(fragmentCache)
+            .build(resourceRegistry));
+        Project project = new Project();
+        project.setId(1L);
+        project.setName("name");
+
+        // WHEN
+        String result = objectMapper.writeValueAsString(new Container(project, testResponse));
+
+        // THEN
+        assertThatJson(result).node("attributes.name").isEqualTo("name");
+        assertThat(fragmentCache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void onGeneratedGettersShouldWriteSameResource() throws Exception {
+        // GIVEN
+        Project project = new Project();
+        project.setId(1L);
+        project.setName("name");
+        ObjectMapper generatedGettersMapper = new ObjectMapper();
+        generatedGettersMapper.registerModule(new JsonApiModuleBuilder()
+            .setGeneratedGetters(true)
+            .build(resourceRegistry));
+
+        // WHEN
+        String result = generatedGettersMapper.writeValueAsString(new Container(project, testResponse));
+
+        // THEN
+        assertThatJson(result).isEqualTo(sut.writeValueAsString(new Container(project, testResponse)));
+    }
+
+    @Test
+    public void onLazyAsLinksModeShouldNotReadLazyRelationship() throws Exception {
+        // GIVEN
+        Task task = new UnreadableLazyRelationshipTask();
+        task.setId(1L);
+        JsonPath jsonPath = new PathBuilder(resourceRegistry).buildPath("/tasks");
+        ResourceResponse response = new ResourceResponse(null, jsonPath, new QueryParams(), null, null);
+
+        // WHEN
+        String result = mapperWithRelationshipDataMode(RelationshipDataMode.LAZY_AS_LINKS)
+            .writeValueAsString(new Container(task, response));
+
+        // THEN
+        assertThatJson(result).node("relationships.includedProjects.links.related")
+            .isEqualTo("https://service.local/tasks/1/includedProjects");
+        assertThatJson(result).node("relationships.includedProjects.data").isAbsent();
+        assertThatJson(result).node("relationships.projects.data").isPresent();
+        assertThatJson(result).node("relationships.includedProject.data").isPresent();
+    }
+
+    @Test
+    public void onIncludedOnlyModeShouldWriteDataOfIncludedRelationships() throws Exception {
+        // GIVEN
+        Task task = new UnreadableLazyRelationshipTask();
+        task.setId(1L);
+        QueryParams queryParams = new QueryParamsBuilder().buildQueryParams(
+            Collections.singletonMap("include[tasks]", Collections.singleton("includedProject")));
+        JsonPath jsonPath = new PathBuilder(resourceRegistry).buildPath("/tasks");
+        ResourceResponse response = new ResourceResponse(null, jsonPath, queryParams, null, null);
+
+        // WHEN
+        String result = mapperWithRelationshipDataMode(RelationshipDataMode.INCLUDED_ONLY)
+            .writeValueAsString(new Container(task, response));
+
+        // THEN
+        assertThatJson(result).node("relationships.includedProject.data").isPresent();
+        assertThatJson(result).node("relationships.project.data").isPresent();
+        assertThatJson(result).node("relationships.projects.data").isAbsent();
+        assertThatJson(result).node("relationships.includedProjects.data").isAbsent();
+        assertThatJson(result).node("relationships.includedProjects.links.self")
+            .isEqualTo("https://service.local/tasks/1/relationships/includedProjects");
+    }
+
+    private ObjectMapper mapperWithRelationshipDataMode(RelationshipDataMode relationshipDataMode) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JsonApiModuleBuilder()
+            .setRelationshipDataMode(relationshipDataMode)
+            .build(resourceRegistry));
+        return objectMapper;
+    }
+
+    private static class UnreadableLazyRelationshipTask extends Task {
+        @Override
+        public List<Project> getIncludedProjects() {
+            throw new IllegalStateException("lazy relationship should not be read");
+        }
+    }
 }
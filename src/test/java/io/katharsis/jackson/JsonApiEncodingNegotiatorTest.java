@@ -0,0 +1,163 @@
+package io.katharsis.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.katharsis.jackson.serializer.RelationshipDataMode;
+import io.katharsis.queryParams.QueryParams;
+import io.katharsis.request.dto.DataBody;
+import io.katharsis.request.dto.LinkageData;
+import io.katharsis.request.dto.RequestBody;
+import io.katharsis.request.path.JsonPath;
+import io.katharsis.request.path.PathBuilder;
+import io.katharsis.resource.mock.models.Project;
+import io.katharsis.resource.mock.models.Task;
+import io.katharsis.resource.exception.UnsupportedMediaTypeException;
+import io.katharsis.response.CollectionResponse;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.io.ByteArrayInputStream;
+import java.util.LinkedList;
+import java.util.List;
+
+import static io.katharsis.jackson.JsonApiEncodingNegotiator.CBOR_MEDIA_TYPE;
+import static io.katharsis.jackson.JsonApiEncodingNegotiator.JSON_API_MEDIA_TYPE;
+import static io.katharsis.jackson.JsonApiEncodingNegotiator.SMILE_MEDIA_TYPE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JsonApiEncodingNegotiatorTest extends BaseSerializerTest {
+
+    private JsonApiEncodingNegotiator negotiator;
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Before
+    public void setUpNegotiator() {
+        negotiator = new JsonApiEncodingNegotiator(resourceRegistry);
+    }
+
+    @Test
+    public void onAvailableDataFormatsShouldSupportThem() {
+        assertThat(negotiator.getSupportedMediaTypes())
+            .containsExactly(JSON_API_MEDIA_TYPE, SMILE_MEDIA_TYPE, CBOR_MEDIA_TYPE);
+    }
+
+    @Test
+    public void onNoAcceptHeaderShouldSelectJson() {
+        assertThat(negotiator.negotiate(null)).isEqualTo(JSON_API_MEDIA_TYPE);
+        assertThat(negotiator.negotiate("text/html")).isEqualTo(JSON_API_MEDIA_TYPE);
+    }
+
+    @Test
+    public void onAcceptHeaderShouldSelectMostPreferredSupportedType() {
+        assertThat(negotiator.negotiate("application/x-jackson-smile")).isEqualTo(SMILE_MEDIA_TYPE);
+        assertThat(negotiator.negotiate("application/vnd.api+json;q=0.5, application/cbor")).isEqualTo(CBOR_MEDIA_TYPE);
+        assertThat(negotiator.negotiate("application/cbor;q=0.2, application/vnd.api+json"))
+            .isEqualTo(JSON_API_MEDIA_TYPE);
+        assertThat(negotiator.negotiate("application/cbor;q=0, text/html")).isEqualTo(JSON_API_MEDIA_TYPE);
+    }
+
+    @Test
+    public void onContentTypeWithParametersShouldReturnMatchingMapper() {
+        assertThat(negotiator.getObjectMapper("application/x-jackson-smile; charset=binary").getFactory()
+            .getFormatName()).isEqualTo("Smile");
+        assertThat(negotiator.getObjectMapper("application/json; charset=utf-8").getFactory().getFormatName())
+            .isEqualTo("JSON");
+        assertThat(negotiator.getObjectMapper(null).getFactory().getFormatName()).isEqualTo("JSON");
+    }
+
+    @Test
+    public void onUnsupportedContentTypeShouldThrowException() {
+        // GIVEN
+        String contentType = "application/unknown";
+
+        // THEN
+        expectedException.expect(UnsupportedMediaTypeException.class);
+
+        // WHEN
+        negotiator.getObjectMapper(contentType);
+    }
+
+    @Test
+    public void onSmileResponseShouldBeEqualToJsonAndSmaller() throws Exception {
+        // GIVEN
+        CollectionResponse response = tasksResponse();
+        ObjectMapper jsonMapper = negotiator.getObjectMapper(JSON_API_MEDIA_TYPE);
+        ObjectMapper smileMapper = negotiator.getObjectMapper(SMILE_MEDIA_TYPE);
+
+        // WHEN
+        byte[] json = jsonMapper.writeValueAsBytes(response);
+        byte[] smile = smileMapper.writeValueAsBytes(response);
+
+        // THEN
+        JsonNode decoded = smileMapper.readTree(smile);
+        assertThat(decoded).isEqualTo(jsonMapper.readTree(json));
+        assertThat(decoded.get("data").size()).isEqualTo(20);
+        assertThat(smile.length).isLessThan(json.length);
+    }
+
+    @Test
+    public void onCborResponseShouldBeEqualToJson() throws Exception {
+        // GIVEN
+        CollectionResponse response = tasksResponse();
+        ObjectMapper jsonMapper = negotiator.getObjectMapper(JSON_API_MEDIA_TYPE);
+        ObjectMapper cborMapper = negotiator.getObjectMapper(CBOR_MEDIA_TYPE);
+
+        // WHEN
+        byte[] cbor = cborMapper.writeValueAsBytes(response);
+
+        // THEN
+        assertThat(cborMapper.readTree(cbor)).isEqualTo(jsonMapper.readTree(jsonMapper.writeValueAsBytes(response)));
+    }
+
+    @Test
+    public void onConfiguredModuleBuilderShouldUseItForEachEncoding() throws Exception {
+        // GIVEN
+        JsonApiEncodingNegotiator sut = new JsonApiEncodingNegotiator(resourceRegistry, new JsonApiModuleBuilder()
+            .setRelationshipDataMode(RelationshipDataMode.LAZY_AS_LINKS));
+        ObjectMapper smileMapper = sut.getObjectMapper(SMILE_MEDIA_TYPE);
+
+        // WHEN
+        JsonNode result = smileMapper.readTree(smileMapper.writeValueAsBytes(tasksResponse()));
+
+        // THEN
+        JsonNode relationships = result.get("data").get(0).get("relationships");
+        assertThat(relationships.get("includedProjects").has("data")).isFalse();
+        assertThat(relationships.get("project").has("data")).isTrue();
+    }
+
+    @Test
+    public void onSmileRequestBodyShouldMapToObject() throws Exception {
+        // GIVEN
+        String body = "{\"data\": {\"type\": \"tasks\", \"attributes\": {\"name\": \"sample task\"}, " +
+            "\"relationships\": {\"project\": {\"data\": {\"type\": \"projects\", \"id\": \"123\"}}}}}";
+        ObjectMapper smileMapper = negotiator.getObjectMapper(SMILE_MEDIA_TYPE);
+        byte[] smileBody = smileMapper.writeValueAsBytes(new ObjectMapper().readTree(body));
+
+        // WHEN
+        RequestBody result = negotiator.readRequestBody(SMILE_MEDIA_TYPE, new ByteArrayInputStream(smileBody));
+
+        // THEN
+        DataBody data = result.getSingleData();
+        assertThat(data.getType()).isEqualTo("tasks");
+        assertThat(data.getAttributes().get("name").asText()).isEqualTo("sample task");
+        LinkageData project = (LinkageData) data.getRelationships().getAdditionalProperties().get("project");
+        assertThat(project.getId()).isEqualTo("123");
+    }
+
+    private CollectionResponse tasksResponse() {
+        List<Task> tasks = new LinkedList<>();
+        for (long i = 0; i < 20; i++) {
+            Task task = new Task();
+            task.setId(i);
+            task.setName("sample task " + i);
+            task.setProject(new Project());
+            tasks.add(task);
+        }
+        JsonPath jsonPath = new PathBuilder(resourceRegistry).buildPath("/tasks");
+        return new CollectionResponse(tasks, jsonPath, new QueryParams(), null, null);
+    }
+}
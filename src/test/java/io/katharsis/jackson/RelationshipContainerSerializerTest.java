@@ -4,11 +4,15 @@ import io.katharsis.queryParams.QueryParams;
 import io.katharsis.resource.mock.models.LazyTask;
 import io.katharsis.resource.mock.models.Project;
 import io.katharsis.resource.mock.models.Task;
+import io.katharsis.resource.mock.models.Team;
 import io.katharsis.resource.mock.models.User;
 import io.katharsis.response.Container;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
 
 import static net.javacrumbs.jsonunit.fluent.JsonFluentAssert.assertThatJson;
 
@@ -133,4 +137,40 @@ public class RelationshipContainerSerializerTest extends BaseSerializerTest {
         // THEN
         assertThatJson(result).node("relationships.assignedProjects.data").isArray().ofLength(0);
     }
+
+    @Test
+    public void onToManyRelationshipOverLinkageLimitShouldCapLinkage() throws Exception {
+        // GIVEN
+        Team team = new Team().setId(1L);
+        List<Project> projects = new LinkedList<>();
+        for (long i = 0; i < 5; i++) {
+            projects.add(new Project().setId(i));
+        }
+        team.setProjects(projects);
+
+        // WHEN
+        String result = sut.writeValueAsString(new Container(team, testResponse));
+
+        // THEN
+        assertThatJson(result).node("relationships.projects.data").isArray().ofLength(2);
+        assertThatJson(result).node("relationships.projects.data[1].id").isStringEqualTo("1");
+        assertThatJson(result).node("relationships.projects.meta.total").isEqualTo(5);
+        assertThatJson(result).node("relationships.projects.links.next")
+            .isEqualTo("https://service.local/teams/1/relationships/projects?page[offset]=2&page[limit]=2");
+    }
+
+    @Test
+    public void onToManyRelationshipWithinLinkageLimitShouldNotIncludeMeta() throws Exception {
+        // GIVEN
+        Team team = new Team().setId(1L);
+        team.setProjects(Arrays.asList(new Project().setId(1L), new Project().setId(2L)));
+
+        // WHEN
+        String result = sut.writeValueAsString(new Container(team, testResponse));
+
+        // THEN
+        assertThatJson(result).node("relationships.projects.data").isArray().ofLength(2);
+        assertThatJson(result).node("relationships.projects.meta").isAbsent();
+        assertThatJson(result).node("relationships.projects.links.next").isAbsent();
+    }
 }
@@ -0,0 +1,47 @@
+package io.katharsis.jackson.serializer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResourceIdWriterTest {
+
+    @Test
+    public void onIntegralIdsShouldWriteThemAsStrings() throws Exception {
+        // WHEN
+        String result = write(0L, 7, (short) -12, Long.MAX_VALUE, Long.MIN_VALUE, -1234567890123L);
+
+        // THEN
+        assertThat(result).isEqualTo("[\"0\",\"7\",\"-12\",\"9223372036854775807\",\"-9223372036854775808\"," +
+            "\"-1234567890123\"]");
+    }
+
+    @Test
+    public void onOtherIdsShouldWriteTheirStringValue() throws Exception {
+        // GIVEN
+        UUID id = UUID.randomUUID();
+
+        // WHEN
+        String result = write("abc", id);
+
+        // THEN
+        assertThat(result).isEqualTo("[\"abc\",\"" + id + "\"]");
+    }
+
+    private static String write(Object... ids) throws Exception {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator gen = new JsonFactory().createGenerator(writer)) {
+            gen.writeStartArray();
+            for (Object id : ids) {
+                ResourceIdWriter.writeId(gen, id);
+            }
+            gen.writeEndArray();
+        }
+        return writer.toString();
+    }
+}
@@ -0,0 +1,85 @@
+package io.katharsis.jackson.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResourceLinkTemplateTest {
+
+    private final ResourceLinkTemplate sut = new ResourceLinkTemplate("http://domain/tasks/", "/relationships/project");
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+
+    @Test
+    public void onIntegralIdTemplateShouldWriteLinkAsString() throws Exception {
+        // GIVEN
+        StringWriter writer = new StringWriter();
+
+        // WHEN
+        try (JsonGenerator gen = jsonMapper.getFactory().createGenerator(writer)) {
+            gen.writeStartArray();
+            sut.write(gen, 1L);
+            sut.write(gen, -12);
+            gen.writeEndArray();
+        }
+
+        // THEN
+        assertThat(writer.toString()).isEqualTo("[\"http://domain/tasks/1/relationships/project\"," +
+            "\"http://domain/tasks/-12/relationships/project\"]");
+    }
+
+    @Test
+    public void onIdRequiringEscapingTemplateShouldEscapeIt() throws Exception {
+        // GIVEN
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // WHEN
+        try (JsonGenerator gen = jsonMapper.getFactory().createGenerator(outputStream)) {
+            gen.writeStartObject();
+            gen.writeFieldName("self");
+            sut.write(gen, "a\"b");
+            gen.writeEndObject();
+        }
+
+        // THEN
+        assertThat(jsonMapper.readTree(outputStream.toByteArray()).get("self").asText())
+            .isEqualTo("http://domain/tasks/a\"b/relationships/project");
+    }
+
+    @Test
+    public void onNonAsciiEscapingGeneratorTemplateShouldWriteEscapedString() throws Exception {
+        // GIVEN
+        StringWriter writer = new StringWriter();
+
+        // WHEN
+        try (JsonGenerator gen = jsonMapper.getFactory().createGenerator(writer)) {
+            gen.enable(JsonGenerator.Feature.ESCAPE_NON_ASCII);
+            sut.write(gen, "é");
+        }
+
+        // THEN
+        assertThat(writer.toString()).isEqualTo("\"http://domain/tasks/\\u00E9/relationships/project\"");
+    }
+
+    @Test
+    public void onBinaryGeneratorTemplateShouldWriteConcatenatedLink() throws Exception {
+        // GIVEN
+        ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // WHEN
+        try (JsonGenerator gen = smileMapper.getFactory().createGenerator(outputStream)) {
+            sut.write(gen, 1L);
+        }
+
+        // THEN
+        assertThat(smileMapper.readValue(outputStream.toByteArray(), String.class))
+            .isEqualTo("http://domain/tasks/1/relationships/project");
+        assertThat(sut.toString(1L)).isEqualTo("http://domain/tasks/1/relationships/project");
+    }
+}
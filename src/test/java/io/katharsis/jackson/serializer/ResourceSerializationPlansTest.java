@@ -0,0 +1,159 @@
+package io.katharsis.jackson.serializer;
+
+import io.katharsis.jackson.exception.JsonSerializationException;
+import io.katharsis.jackson.serializer.ResourceSerializationPlan.AttributePlan;
+import io.katharsis.jackson.serializer.ResourceSerializationPlan.FieldSelection;
+import io.katharsis.jackson.serializer.ResourceSerializationPlan.RelationshipPlan;
+import io.katharsis.locator.SampleJsonServiceLocator;
+import io.katharsis.resource.field.ResourceFieldNameTransformer;
+import io.katharsis.resource.information.ResourceInformationBuilder;
+import io.katharsis.resource.mock.models.Task;
+import io.katharsis.resource.registry.ResourceRegistry;
+import io.katharsis.resource.registry.ResourceRegistryBuilder;
+import io.katharsis.resource.registry.ResourceRegistryBuilderTest;
+import io.katharsis.resource.registry.ResourceRegistryTest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResourceSerializationPlansTest {
+
+    private ResourceSerializationPlans sut;
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Before
+    public void setUp() {
+        ResourceRegistryBuilder registryBuilder = new ResourceRegistryBuilder(new SampleJsonServiceLocator(),
+            new ResourceInformationBuilder(new ResourceFieldNameTransformer()));
+        ResourceRegistry resourceRegistry = registryBuilder
+            .build(ResourceRegistryBuilderTest.TEST_MODELS_PACKAGE, ResourceRegistryTest.TEST_MODELS_URL);
+        sut = new ResourceSerializationPlans(resourceRegistry);
+    }
+
+    @Test
+    public void onResourceShouldBuildPlanOnce() {
+        // WHEN
+        ResourceSerializationPlan first = sut.forResource(new Task());
+        ResourceSerializationPlan second = sut.forClass(Task.class);
+
+        // THEN
+        assertThat(first).isSameAs(second);
+        assertThat(first.getResourceType().getValue()).isEqualTo("tasks");
+    }
+
+    @Test
+    public void onSubclassOfResourceShouldUsePlanOfResourceClass() {
+        // WHEN
+        ResourceSerializationPlan plan = sut.forResource(new Task() {
+        });
+
+        // THEN
+        assertThat(plan.getResourceClass()).isEqualTo(Task.class);
+    }
+
+    @Test
+    public void onResourceShouldReadIdAndBuildLinks() {
+        // GIVEN
+        Task task = new Task().setId(1L);
+        ResourceSerializationPlan plan = sut.forClass(Task.class);
+
+        // WHEN
+        RelationshipPlan relationship = plan.getRelationship("project");
+
+        // THEN
+        assertThat(plan.getStringId(task)).isEqualTo("1");
+        assertThat(plan.getSelfLink().toString(plan.getId(task)))
+            .isEqualTo(ResourceRegistryTest.TEST_MODELS_URL + "/tasks/1");
+        assertThat(relationship.getSelfLink().toString(1L))
+            .isEqualTo(ResourceRegistryTest.TEST_MODELS_URL + "/tasks/1/relationships/project");
+        assertThat(relationship.getRelatedLink().toString(1L))
+            .isEqualTo(ResourceRegistryTest.TEST_MODELS_URL + "/tasks/1/project");
+        assertThat(relationship.isToMany()).isFalse();
+        assertThat(relationship.getTargetEntry()).isNotNull();
+    }
+
+    @Test
+    public void onFailingIdGetterShouldThrowSerializationException() {
+        // GIVEN
+        ResourceSerializationPlan plan = sut.forClass(Task.class);
+        Task task = new Task() {
+            @Override
+            public Long getId() {
+                throw new IllegalStateException();
+            }
+        };
+
+        // THEN
+        expectedException.expect(JsonSerializationException.class);
+
+        // WHEN
+        plan.getStringId(task);
+    }
+
+    @Test
+    public void onFailingAttributeGetterShouldThrowSerializationException() {
+        // GIVEN
+        AttributePlan attribute = sut.forClass(Task.class).getAttributes().get(0);
+        Task task = new Task() {
+            @Override
+            public String getName() {
+                throw new IllegalStateException();
+            }
+        };
+
+        // THEN
+        expectedException.expect(JsonSerializationException.class);
+
+        // WHEN
+        attribute.getValue(task);
+    }
+
+    @Test
+    public void onSparseFieldsetShouldSelectOnlyRequestedFields() {
+        // GIVEN
+        ResourceSerializationPlan plan = sut.forClass(Task.class);
+        Set<String> includedFields = new HashSet<>(Arrays.asList("name", "project"));
+
+        // WHEN
+        FieldSelection fieldSelection = plan.selectFields(includedFields);
+
+        // THEN
+        List<String> attributeNames = new LinkedList<>();
+        for (int i = fieldSelection.nextAttribute(0); i >= 0; i = fieldSelection.nextAttribute(i + 1)) {
+            attributeNames.add(fieldSelection.getAttribute(i).getName().getValue());
+        }
+        assertThat(attributeNames).containsExactly("name");
+        assertThat(fieldSelection.getRelationshipFields()).extracting("name").containsExactly("project");
+        assertThat(plan.selectFields(new HashSet<>(includedFields))).isSameAs(fieldSelection);
+    }
+
+    @Test
+    public void onNoSparseFieldsetShouldSelectAllFields() {
+        // GIVEN
+        ResourceSerializationPlan plan = sut.forClass(Task.class);
+
+        // WHEN
+        FieldSelection fieldSelection = plan.selectFields(Collections.emptySet());
+
+        // THEN
+        int attributeCount = 0;
+        for (int i = fieldSelection.nextAttribute(0); i >= 0; i = fieldSelection.nextAttribute(i + 1)) {
+            attributeCount++;
+        }
+        assertThat(attributeCount).isEqualTo(plan.getAttributes().size());
+        assertThat(fieldSelection.getRelationshipFields())
+            .isEqualTo(plan.getResourceInformation().getRelationshipFields());
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.Test;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -147,4 +148,25 @@ public class QueryParamsBuilderTest {
             .next()
             .getPath()).isEqualTo("friends");
     }
+
+    @Test
+    public void onGivenSameParamsInDifferentOrderBuilderShouldReturnEqualQueryParams() {
+        // GIVEN
+        Map<String, Set<String>> otherQueryParams = new LinkedHashMap<>();
+        otherQueryParams.put("sort[User][name]", Collections.singleton("asc"));
+        otherQueryParams.put("filter[User][name]", Collections.singleton("John"));
+        queryParams = new LinkedHashMap<>();
+        queryParams.put("filter[User][name]", Collections.singleton("John"));
+        queryParams.put("sort[User][name]", Collections.singleton("asc"));
+
+        // WHEN
+        QueryParams result = sut.buildQueryParams(queryParams);
+        QueryParams otherResult = sut.buildQueryParams(otherQueryParams);
+
+        // THEN
+        assertThat(result).isEqualTo(otherResult);
+        assertThat(result.hashCode()).isEqualTo(otherResult.hashCode());
+        assertThat(result).isNotEqualTo(sut.buildQueryParams(Collections.singletonMap("sort[User][name]",
+            Collections.singleton("desc"))));
+    }
 }
@@ -241,6 +241,47 @@ public class RelationshipRepositoryAdapterTest {
         assertThat(projects.iterator().next().getId()).isEqualTo(42L);
     }
 
+    @Test
+    public void onClassWithoutFindTargetIdsShouldNotBeAvailable() throws Exception {
+        // GIVEN
+        RelationshipRepositoryWithFindManyTargetsRelations repo = new RelationshipRepositoryWithFindManyTargetsRelations();
+        RelationshipRepositoryAdapter<Task, Long, Project, Long> sut = new RelationshipRepositoryAdapter<>(repo, parameterProvider);
+
+        // THEN
+        assertThat(sut.findOneTargetIdAvailable()).isFalse();
+        assertThat(sut.findManyTargetIdsAvailable()).isFalse();
+    }
+
+    @Test
+    public void onClassWithFindOneTargetIdShouldReturnId() throws Exception {
+        // GIVEN
+        RelationshipRepositoryWithFindTargetIds repo = spy(RelationshipRepositoryWithFindTargetIds.class);
+        RelationshipRepositoryAdapter<Task, Long, Project, Long> sut = new RelationshipRepositoryAdapter<>(repo, parameterProvider);
+
+        // WHEN
+        Long projectId = sut.findOneTargetId(1L, "project", queryParams);
+
+        // THEN
+        assertThat(sut.findOneTargetIdAvailable()).isTrue();
+        verify(repo).findOneTargetId(1L, "project", queryParams);
+        assertThat(projectId).isEqualTo(42L);
+    }
+
+    @Test
+    public void onClassWithFindManyTargetIdsShouldReturnIds() throws Exception {
+        // GIVEN
+        RelationshipRepositoryWithFindTargetIds repo = spy(RelationshipRepositoryWithFindTargetIds.class);
+        RelationshipRepositoryAdapter<Task, Long, Project, Long> sut = new RelationshipRepositoryAdapter<>(repo, parameterProvider);
+
+        // WHEN
+        Iterable<Long> projectIds = sut.findManyTargetIds(1L, "projects", queryParams);
+
+        // THEN
+        assertThat(sut.findManyTargetIdsAvailable()).isTrue();
+        verify(repo).findManyTargetIds(1L, "projects", queryParams);
+        assertThat(projectIds).containsExactly(42L);
+    }
+
     @JsonApiRelationshipRepository(source = Task.class, target = Project.class)
     public static class RelationshipRepositoryWithoutAnyMethods {
     }
@@ -344,4 +385,18 @@ public class RelationshipRepositoryAdapterTest {
                 .setId(42L));
         }
     }
+
+    @JsonApiRelationshipRepository(source = Task.class, target = Project.class)
+    public static class RelationshipRepositoryWithFindTargetIds {
+
+        @JsonApiFindOneTargetId
+        public Long findOneTargetId(Long id, String fieldName, QueryParams queryParams) {
+            return 42L;
+        }
+
+        @JsonApiFindManyTargetIds
+        public Iterable<Long> findManyTargetIds(Long id, String fieldName, QueryParams queryParams) {
+            return Collections.singleton(42L);
+        }
+    }
 }
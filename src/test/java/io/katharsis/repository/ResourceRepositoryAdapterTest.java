@@ -10,8 +10,10 @@ import io.katharsis.resource.mock.models.Project;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.eq;
@@ -195,6 +197,90 @@ public class ResourceRepositoryAdapterTest {
         verify(repo).delete(eq(1L), eq(""));
     }
 
+    @Test
+    public void onClassWithoutDeleteAllShouldNotBeAvailable() throws Exception {
+        // GIVEN
+        ResourceRepositoryWithDelete repo = new ResourceRepositoryWithDelete();
+        ResourceRepositoryAdapter<Project, Long> sut = new ResourceRepositoryAdapter<>(repo, parameterProvider);
+
+        // THEN
+        assertThat(sut.deleteAllAvailable()).isFalse();
+    }
+
+    @Test
+    public void onClassWithDeleteAllShouldInvokeMethod() throws Exception {
+        // GIVEN
+        ResourceRepositoryWithDeleteAll repo = spy(ResourceRepositoryWithDeleteAll.class);
+        ResourceRepositoryAdapter<Project, Long> sut = new ResourceRepositoryAdapter<>(repo, parameterProvider);
+        List<Long> ids = Arrays.asList(1L, 2L);
+
+        // WHEN
+        sut.deleteAll(ids);
+
+        // THEN
+        assertThat(sut.deleteAllAvailable()).isTrue();
+        verify(repo).deleteAll(eq(ids), eq(""));
+    }
+
+    @Test
+    public void onClassWithoutCreateShouldNotBeAvailable() throws Exception {
+        // GIVEN
+        ResourceRepositoryWithSave repo = new ResourceRepositoryWithSave();
+        ResourceRepositoryAdapter<Project, Long> sut = new ResourceRepositoryAdapter<>(repo, parameterProvider);
+
+        // THEN
+        assertThat(sut.createAvailable()).isFalse();
+    }
+
+    @Test
+    public void onClassWithCreateShouldInvokeMethod() throws Exception {
+        // GIVEN
+        ResourceRepositoryWithCreate repo = spy(ResourceRepositoryWithCreate.class);
+        ResourceRepositoryAdapter<Project, Long> sut = new ResourceRepositoryAdapter<>(repo, parameterProvider);
+        Project project = new Project();
+        Map<String, Object> relationshipIds = Collections.singletonMap("tasks", Arrays.asList(1L, 2L));
+
+        // WHEN
+        Project result = sut.create(project, relationshipIds);
+
+        // THEN
+        assertThat(sut.createAvailable()).isTrue();
+        assertThat(result.getId()).isEqualTo(1L);
+        verify(repo).create(eq(project), eq(relationshipIds), eq(""));
+    }
+
+    @Test
+    public void onClassWithPatchShouldInvokeMethod() throws Exception {
+        // GIVEN
+        ResourceRepositoryWithPatch repo = spy(ResourceRepositoryWithPatch.class);
+        ResourceRepositoryAdapter<Project, Long> sut = new ResourceRepositoryAdapter<>(repo, parameterProvider);
+        ResourceChanges changes = new ResourceChanges(Collections.singletonMap("name", "new name"),
+            Collections.emptyMap());
+
+        // WHEN
+        Project result = sut.patch(1L, changes);
+
+        // THEN
+        assertThat(sut.patchAvailable()).isTrue();
+        assertThat(result.getName()).isEqualTo("new name");
+        verify(repo).patch(eq(1L), eq(changes), eq(""));
+    }
+
+    @Test
+    public void onClassWithGetReferenceShouldInvokeMethod() throws Exception {
+        // GIVEN
+        ResourceRepositoryWithGetReference repo = spy(ResourceRepositoryWithGetReference.class);
+        ResourceRepositoryAdapter<Project, Long> sut = new ResourceRepositoryAdapter<>(repo, parameterProvider);
+
+        // WHEN
+        Project result = sut.getReference(1L);
+
+        // THEN
+        assertThat(sut.getReferenceAvailable()).isTrue();
+        assertThat(result.getId()).isEqualTo(1L);
+        verify(repo).getReference(eq(1L), eq(""));
+    }
+
     @JsonApiResourceRepository(Project.class)
     public static class ResourceRepositoryWithoutAnyMethods {
     }
@@ -279,4 +365,44 @@ public class ResourceRepositoryAdapterTest {
         public void delete(Long id, String s) {
         }
     }
+
+    @JsonApiResourceRepository(Project.class)
+    public static class ResourceRepositoryWithDeleteAll {
+
+        @JsonApiDeleteAll
+        public void deleteAll(Iterable<Long> ids, String s) {
+        }
+    }
+
+    @JsonApiResourceRepository(Project.class)
+    public static class ResourceRepositoryWithCreate {
+
+        @JsonApiCreate
+        public Project create(Project project, Map<String, Object> relationshipIds, String s) {
+            return project
+                .setId(1L);
+        }
+    }
+
+    @JsonApiResourceRepository(Project.class)
+    public static class ResourceRepositoryWithPatch {
+
+        @JsonApiPatch
+        public Project patch(Long id, ResourceChanges changes, String s) {
+            Project project = new Project()
+                .setId(id);
+            project.setName((String) changes.getAttributes().get("name"));
+            return project;
+        }
+    }
+
+    @JsonApiResourceRepository(Project.class)
+    public static class ResourceRepositoryWithGetReference {
+
+        @JsonApiGetReference
+        public Project getReference(Long id, String s) {
+            return new Project()
+                .setId(id);
+        }
+    }
 }
@@ -9,6 +9,7 @@ import io.katharsis.resource.exception.init.ResourceIdNotFoundException;
 import io.katharsis.resource.field.ResourceFieldNameTransformer;
 import io.katharsis.resource.information.ResourceInformation;
 import io.katharsis.resource.information.ResourceInformationBuilder;
+import io.katharsis.resource.mock.models.Comment;
 import io.katharsis.resource.mock.models.Task;
 import io.katharsis.resource.mock.models.UnAnnotatedTask;
 import org.junit.Rule;
@@ -60,6 +61,23 @@ public class ResourceInformationBuilderTest {
         resourceInformationBuilder.build(DuplicatedIdResource.class);
     }
 
+    @Test
+    public void shouldHaveVersionFieldInfoForVersionedResource() throws Exception {
+        ResourceInformation resourceInformation = resourceInformationBuilder.build(Comment.class);
+
+        assertThat(resourceInformation.getVersionField().getName()).isEqualTo("version");
+        assertThat(resourceInformation.getAttributeFields())
+            .extracting(NAME_PROPERTY)
+            .contains("version");
+    }
+
+    @Test
+    public void shouldNotHaveVersionFieldInfoForNotVersionedResource() throws Exception {
+        ResourceInformation resourceInformation = resourceInformationBuilder.build(Task.class);
+
+        assertThat(resourceInformation.getVersionField()).isNull();
+    }
+
     @Test
     public void shouldHaveProperBasicFieldInfoForValidResource() throws Exception {
         ResourceInformation resourceInformation = resourceInformationBuilder.build(Task.class);
@@ -0,0 +1,44 @@
+package io.katharsis.resource.mock.models;
+
+import io.katharsis.resource.annotations.JsonApiId;
+import io.katharsis.resource.annotations.JsonApiResource;
+import io.katharsis.resource.annotations.JsonApiVersion;
+
+@JsonApiResource(type = "comments")
+public class Comment {
+
+    @JsonApiId
+    private Long id;
+
+    private String content;
+
+    @JsonApiVersion
+    private Long version;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Comment setId(Long id) {
+        this.id = id;
+        return this;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public Comment setContent(String content) {
+        this.content = content;
+        return this;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Comment setVersion(Long version) {
+        this.version = version;
+        return this;
+    }
+}
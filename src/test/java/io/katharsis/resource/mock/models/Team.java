@@ -0,0 +1,36 @@
+package io.katharsis.resource.mock.models;
+
+import io.katharsis.resource.annotations.JsonApiId;
+import io.katharsis.resource.annotations.JsonApiIncludeByDefault;
+import io.katharsis.resource.annotations.JsonApiResource;
+import io.katharsis.resource.annotations.JsonApiToMany;
+
+import java.util.List;
+
+@JsonApiResource(type = "teams")
+public class Team {
+
+    @JsonApiId
+    private Long id;
+
+    @JsonApiToMany(lazy = false, linkageLimit = 2)
+    @JsonApiIncludeByDefault
+    private List<Project> projects;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Team setId(Long id) {
+        this.id = id;
+        return this;
+    }
+
+    public List<Project> getProjects() {
+        return projects;
+    }
+
+    public void setProjects(List<Project> projects) {
+        this.projects = projects;
+    }
+}
@@ -0,0 +1,133 @@
+package io.katharsis.resource.mock.repository;
+
+import io.katharsis.queryParams.QueryParams;
+import io.katharsis.repository.LongIdRepository;
+import io.katharsis.repository.ReferenceRepository;
+import io.katharsis.repository.ResourceRepository;
+import io.katharsis.repository.SaveAllRepository;
+import io.katharsis.repository.VersionRepository;
+import io.katharsis.resource.exception.ResourceNotFoundException;
+import io.katharsis.resource.mock.models.Comment;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Repository providing all of the optional repository interfaces, whose saveAll result can be limited to test
+ * misbehaving repositories.
+ */
+public class CommentRepository
+    implements ResourceRepository<Comment, Long>, VersionRepository<Long>, LongIdRepository<Comment>,
+    SaveAllRepository<Comment>, ReferenceRepository<Comment, Long> {
+
+    private static final ConcurrentHashMap<Long, Comment> THREAD_LOCAL_REPOSITORY = new ConcurrentHashMap<>();
+    private static final AtomicInteger FIND_ONE_CALLS = new AtomicInteger();
+    private static final AtomicInteger LONG_ID_CALLS = new AtomicInteger();
+    private static final AtomicInteger SAVE_ALL_RESULT_LIMIT = new AtomicInteger(Integer.MAX_VALUE);
+
+    @Override
+    public <S extends Comment> S save(S entity) {
+        THREAD_LOCAL_REPOSITORY.put(entity.getId(), entity);
+        return entity;
+    }
+
+    @Override
+    public <S extends Comment> Iterable<S> saveAll(Iterable<S> entities) {
+        List<S> savedEntities = new LinkedList<>();
+        for (S entity : entities) {
+            if (savedEntities.size() < SAVE_ALL_RESULT_LIMIT.get()) {
+                savedEntities.add(save(entity));
+            }
+        }
+        return savedEntities;
+    }
+
+    @Override
+    public Comment findOne(Long id, QueryParams queryParams) {
+        FIND_ONE_CALLS.incrementAndGet();
+        Comment comment = THREAD_LOCAL_REPOSITORY.get(id);
+        if (comment == null) {
+            throw new ResourceNotFoundException(Comment.class.getCanonicalName());
+        }
+        return comment;
+    }
+
+    @Override
+    public Comment getReference(Long id) {
+        return new Comment().setId(id);
+    }
+
+    @Override
+    public Iterable<Comment> findAll(QueryParams queryParams) {
+        return THREAD_LOCAL_REPOSITORY.values();
+    }
+
+    @Override
+    public Iterable<Comment> findAll(Iterable<Long> ids, QueryParams queryParams) {
+        List<Long> idList = new ArrayList<>();
+        ids.forEach(idList::add);
+        return THREAD_LOCAL_REPOSITORY.values()
+            .stream()
+            .filter(value -> idList.contains(value.getId()))
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public void delete(Long id) {
+        THREAD_LOCAL_REPOSITORY.remove(id);
+    }
+
+    @Override
+    public Comment findOne(long id, QueryParams queryParams) {
+        LONG_ID_CALLS.incrementAndGet();
+        return findOne(Long.valueOf(id), queryParams);
+    }
+
+    @Override
+    public Iterable<Comment> findAll(long[] ids, QueryParams queryParams) {
+        LONG_ID_CALLS.incrementAndGet();
+        List<Comment> comments = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            Comment comment = THREAD_LOCAL_REPOSITORY.get(id);
+            if (comment != null) {
+                comments.add(comment);
+            }
+        }
+        return comments;
+    }
+
+    @Override
+    public void deleteAll(long[] ids) {
+        LONG_ID_CALLS.incrementAndGet();
+        for (long id : ids) {
+            THREAD_LOCAL_REPOSITORY.remove(id);
+        }
+    }
+
+    @Override
+    public Object findVersion(Long id, QueryParams queryParams) {
+        Comment comment = THREAD_LOCAL_REPOSITORY.get(id);
+        return comment != null ? comment.getVersion() : null;
+    }
+
+    public static int getFindOneCalls() {
+        return FIND_ONE_CALLS.get();
+    }
+
+    public static int getLongIdCalls() {
+        return LONG_ID_CALLS.get();
+    }
+
+    public static void setSaveAllResultLimit(int limit) {
+        SAVE_ALL_RESULT_LIMIT.set(limit);
+    }
+
+    public static void clear() {
+        THREAD_LOCAL_REPOSITORY.clear();
+        SAVE_ALL_RESULT_LIMIT.set(Integer.MAX_VALUE);
+    }
+}
@@ -2,26 +2,58 @@ package io.katharsis.resource.mock.repository;
 
 import io.katharsis.repository.annotations.*;
 import io.katharsis.queryParams.QueryParams;
+import io.katharsis.repository.ResourceChanges;
 import io.katharsis.resource.exception.ResourceNotFoundException;
 import io.katharsis.resource.mock.models.Task;
+import io.katharsis.utils.PropertyUtils;
 
+import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 @JsonApiResourceRepository(Task.class)
 public class TaskRepository {
 
     private static final ConcurrentHashMap<Long, Task> THREAD_LOCAL_REPOSITORY = new ConcurrentHashMap<>();
+    private static final AtomicReference<ResourceChanges> LAST_CHANGES = new AtomicReference<>();
+    private static final AtomicLong ID_SEQUENCE = new AtomicLong();
 
     @JsonApiSave
     public <S extends Task> S save(S entity) {
-        entity.setId((long) (THREAD_LOCAL_REPOSITORY.size() + 1));
+        if (entity.getId() == null) {
+            entity.setId(ID_SEQUENCE.incrementAndGet());
+        }
         THREAD_LOCAL_REPOSITORY.put(entity.getId(), entity);
 
         return entity;
     }
 
+    @JsonApiSaveAll
+    public <S extends Task> Iterable<S> saveAll(Iterable<S> entities) {
+        List<S> savedEntities = new LinkedList<>();
+        entities.forEach(entity -> savedEntities.add(save(entity)));
+        return savedEntities;
+    }
+
+    @JsonApiPatch
+    public Task patch(Long id, ResourceChanges changes) {
+        LAST_CHANGES.set(changes);
+        Task task = findOne(id, null);
+        changes.getAttributes().forEach((name, value) -> PropertyUtils.setProperty(task, name, value));
+        if (changes.getRelationshipIds().containsKey("project")) {
+            Long projectId = (Long) changes.getRelationshipIds().get("project");
+            task.setProject(projectId != null ? new ProjectRepository().findOne(projectId, null) : null);
+        }
+        if (changes.getRelationshipIds().containsKey("includedProject")) {
+            Long projectId = (Long) changes.getRelationshipIds().get("includedProject");
+            task.setIncludedProject(projectId != null ? new ProjectRepository().findOne(projectId, null) : null);
+        }
+        return task;
+    }
+
     @JsonApiFindOne
     public Task findOne(Long aLong, QueryParams queryParams) {
         Task task = THREAD_LOCAL_REPOSITORY.get(aLong);
@@ -59,4 +91,13 @@ public class TaskRepository {
     public void delete(Long aLong) {
         THREAD_LOCAL_REPOSITORY.remove(aLong);
     }
+
+    @JsonApiDeleteAll
+    public void deleteAll(Iterable<Long> ids) {
+        ids.forEach(THREAD_LOCAL_REPOSITORY::remove);
+    }
+
+    public static ResourceChanges getLastChanges() {
+        return LAST_CHANGES.get();
+    }
 }
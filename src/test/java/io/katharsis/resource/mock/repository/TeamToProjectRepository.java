@@ -0,0 +1,70 @@
+package io.katharsis.resource.mock.repository;
+
+import io.katharsis.queryParams.QueryParams;
+import io.katharsis.queryParams.RestrictedPaginationKeys;
+import io.katharsis.repository.RelationshipRepository;
+import io.katharsis.resource.mock.models.Project;
+import io.katharsis.resource.mock.models.Team;
+
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class TeamToProjectRepository implements RelationshipRepository<Team, Long, Project, Long> {
+
+    private static final ConcurrentMap<Long, List<Long>> THREAD_LOCAL_REPOSITORY = new ConcurrentHashMap<>();
+    private static volatile QueryParams lastQueryParams;
+
+    @Override
+    public void setRelation(Team source, Long targetId, String fieldName) {
+        setRelations(source, Collections.singletonList(targetId), fieldName);
+    }
+
+    @Override
+    public void setRelations(Team source, Iterable<Long> targetIds, String fieldName) {
+        List<Long> projectIds = new LinkedList<>();
+        targetIds.forEach(projectIds::add);
+        THREAD_LOCAL_REPOSITORY.put(source.getId(), projectIds);
+    }
+
+    @Override
+    public void addRelations(Team source, Iterable<Long> targetIds, String fieldName) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void removeRelations(Team source, Iterable<Long> targetIds, String fieldName) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Project findOneTarget(Long sourceId, String fieldName, QueryParams queryParams) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Iterable<Project> findManyTargets(Long sourceId, String fieldName, QueryParams queryParams) {
+        lastQueryParams = queryParams;
+        List<Long> projectIds = THREAD_LOCAL_REPOSITORY.getOrDefault(sourceId, Collections.emptyList());
+        Map<RestrictedPaginationKeys, Integer> pagination = queryParams.getPagination();
+        int offset = Math.min(pagination.getOrDefault(RestrictedPaginationKeys.offset, 0), projectIds.size());
+        int limit = pagination.getOrDefault(RestrictedPaginationKeys.limit, projectIds.size());
+        List<Project> projects = new LinkedList<>();
+        for (Long projectId : projectIds.subList(offset, Math.min(offset + limit, projectIds.size()))) {
+            projects.add(new Project().setId(projectId));
+        }
+        return projects;
+    }
+
+    public QueryParams getLastQueryParams() {
+        return lastQueryParams;
+    }
+
+    public void clear() {
+        THREAD_LOCAL_REPOSITORY.clear();
+        lastQueryParams = null;
+    }
+}
@@ -1,19 +1,25 @@
 package io.katharsis.resource.mock.repository;
 
 import io.katharsis.queryParams.QueryParams;
+import io.katharsis.repository.CreateRepository;
 import io.katharsis.repository.ResourceRepository;
 import io.katharsis.resource.exception.ResourceNotFoundException;
+import io.katharsis.resource.mock.models.Project;
 import io.katharsis.resource.mock.models.User;
 
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
-public class UserRepository implements ResourceRepository<User, Long> {
+public class UserRepository implements ResourceRepository<User, Long>, CreateRepository<User> {
 
     private static final QueryParams REQUEST_PARAMS = new QueryParams();
 
     private static final ConcurrentHashMap<Long, User> THREAD_LOCAL_REPOSITORY = new ConcurrentHashMap<>();
+    private static final AtomicInteger CREATE_CALLS = new AtomicInteger();
 
     @Override
     public <S extends User> S save(S entity) {
@@ -23,6 +29,19 @@ public class UserRepository implements ResourceRepository<User, Long> {
         return entity;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends User> S create(S entity, Map<String, Object> relationshipIds) {
+        CREATE_CALLS.incrementAndGet();
+        if (relationshipIds.containsKey("assignedProjects")) {
+            List<Project> assignedProjects = new LinkedList<>();
+            new ProjectRepository().findAll((Iterable<Long>) relationshipIds.get("assignedProjects"), REQUEST_PARAMS)
+                .forEach(assignedProjects::add);
+            entity.setAssignedProjects(assignedProjects);
+        }
+        return save(entity);
+    }
+
     @Override
     public User findOne(Long aLong, QueryParams queryParams) {
         User user = THREAD_LOCAL_REPOSITORY.get(aLong);
@@ -61,4 +80,8 @@ public class UserRepository implements ResourceRepository<User, Long> {
     public void delete(Long aLong) {
         THREAD_LOCAL_REPOSITORY.remove(aLong);
     }
+
+    public static int getCreateCalls() {
+        return CREATE_CALLS.get();
+    }
 }
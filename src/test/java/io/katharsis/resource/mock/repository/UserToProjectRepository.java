@@ -89,4 +89,14 @@ public class UserToProjectRepository {
         });
         return projects;
     }
+
+    @JsonApiFindManyTargetIds
+    public Iterable<Long> findManyTargetIds(Long sourceId, String fieldName, QueryParams queryParams) {
+        List<Long> projectIds = new LinkedList<>();
+        THREAD_LOCAL_REPOSITORY.keySet()
+            .stream()
+            .filter(relation -> relation.getSource().getId().equals(sourceId) && relation.getFieldName().equals
+                (fieldName)).forEach(relation -> projectIds.add((Long) relation.getTargetId()));
+        return projectIds;
+    }
 }
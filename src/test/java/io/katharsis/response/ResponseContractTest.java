@@ -1,6 +1,7 @@
 package io.katharsis.response;
 
 import io.katharsis.queryParams.QueryParams;
+import io.katharsis.queryParams.QueryParamsBuilder;
 import io.katharsis.resource.information.ResourceInformation;
 import io.katharsis.resource.registry.RegistryEntry;
 import nl.jqno.equalsverifier.EqualsVerifier;
@@ -8,13 +9,15 @@ import nl.jqno.equalsverifier.Warning;
 import org.junit.Test;
 
 import java.lang.reflect.Field;
+import java.util.Collections;
 
 public class ResponseContractTest {
 
     @Test
     public void ContainerEqualsContract() throws NoSuchFieldException {
         EqualsVerifier.forClass(Container.class)
-            .withPrefabValues(QueryParams.class, new QueryParams(), new QueryParams())
+            .withPrefabValues(QueryParams.class, new QueryParams(), new QueryParamsBuilder()
+                .buildQueryParams(Collections.singletonMap("sort[tasks][name]", Collections.singleton("asc"))))
                 .usingGetClass()
                 .suppress(Warning.NONFINAL_FIELDS)
                 .verify();
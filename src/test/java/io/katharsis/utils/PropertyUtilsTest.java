@@ -252,6 +252,76 @@ public class PropertyUtilsTest {
         PropertyUtils.getProperty(bean, "nonExistingProperty");
     }
 
+    @Test
+    public void onResolvedGetterShouldReturnValuesOfManyBeans() throws Exception {
+        // GIVEN
+        Bean bean = new Bean();
+        bean.setPrivatePropertyWithMutators("first");
+        Bean childBean = new ChildBean();
+        childBean.setPrivatePropertyWithMutators("second");
+
+        // WHEN
+        PropertyGetter getter = PropertyUtils.getPropertyGetter(Bean.class, "privatePropertyWithMutators");
+
+        // THEN
+        assertThat(getter.get(bean)).isEqualTo("first");
+        assertThat(getter.get(childBean)).isEqualTo("second");
+    }
+
+    @Test
+    public void onResolvedPublicFieldGetterShouldReturnValue() throws Exception {
+        // GIVEN
+        Bean bean = new Bean();
+        bean.publicProperty = "value";
+
+        // WHEN
+        PropertyGetter getter = PropertyUtils.getPropertyGetter(Bean.class, "publicProperty");
+
+        // THEN
+        assertThat(getter.get(bean)).isEqualTo("value");
+    }
+
+    @Test
+    public void onResolvedGetterOfNonExistingPropertyShouldThrowException() throws Exception {
+        // THEN
+        expectedException.expect(RuntimeException.class);
+
+        // WHEN
+        PropertyUtils.getPropertyGetter(Bean.class, "nonExistingProperty");
+    }
+
+    @Test
+    public void onGeneratedGetterShouldReturnValuesWithoutReflection() throws Exception {
+        // GIVEN
+        Bean bean = new Bean();
+        bean.setPrivatePropertyWithMutators("value");
+        bean.setBooleanPrimitivePropertyWithMutators(true);
+
+        // WHEN
+        PropertyGetter getter = PropertyUtils.getPropertyGetter(Bean.class, "privatePropertyWithMutators", true);
+        PropertyGetter primitiveGetter = PropertyUtils
+            .getPropertyGetter(Bean.class, "booleanPrimitivePropertyWithMutators", true);
+
+        // THEN
+        assertThat(getter.getClass().isSynthetic()).isTrue();
+        assertThat(getter.get(bean)).isEqualTo("value");
+        assertThat(primitiveGetter.get(bean)).isEqualTo(true);
+    }
+
+    @Test
+    public void onGeneratedGetterOfPublicFieldShouldFallBackToReflection() throws Exception {
+        // GIVEN
+        Bean bean = new Bean();
+        bean.publicProperty = "value";
+
+        // WHEN
+        PropertyGetter getter = PropertyUtils.getPropertyGetter(Bean.class, "publicProperty", true);
+
+        // THEN
+        assertThat(getter.getClass().isSynthetic()).isFalse();
+        assertThat(getter.get(bean)).isEqualTo("value");
+    }
+
     public static class Bean {
         private String privatePropertyWithMutators;
         private boolean booleanPrimitivePropertyWithMutators;
@@ -7,6 +7,10 @@ import org.junit.rules.ExpectedException;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.UUID;
 import java.util.Collections;
 import java.util.Objects;
@@ -229,6 +233,62 @@ public class TypeParserTest {
         assertThat(result.iterator().next()).isEqualTo(1L);
     }
 
+    @Test
+    public void onBadEnumValueShouldThrowException() throws Exception {
+        // THEN
+        expectedException.expect(IllegalArgumentException.class);
+
+        // WHEN
+        sut.parse("OTHER_VALUE", SampleEnum.class);
+    }
+
+    @Test
+    public void onDateTimeTypesShouldReturnParsedValues() throws Exception {
+        assertThat(sut.parse("2016-02-29", LocalDate.class)).isEqualTo(LocalDate.of(2016, 2, 29));
+        assertThat(sut.parse("2016-02-29T10:15:30Z", Instant.class))
+            .isEqualTo(Instant.ofEpochSecond(1456740930L));
+        assertThat(sut.parse("PT15M", Duration.class)).isEqualTo(Duration.ofMinutes(15));
+    }
+
+    @Test
+    public void onBadDateShouldThrowException() throws Exception {
+        // THEN
+        expectedException.expect(ParserException.class);
+
+        // WHEN
+        sut.parse("2016-02-30", LocalDate.class);
+    }
+
+    @Test
+    public void onClassWithFactoryMethodShouldReturnClassInstance() throws Exception {
+        SampleValue result = sut.parse("input", SampleValue.class);
+        assertThat(result.value).isEqualTo("input");
+    }
+
+    @Test
+    public void onFailingConstructorShouldThrowParserException() throws Exception {
+        // THEN
+        expectedException.expect(ParserException.class);
+
+        // WHEN
+        sut.parse("", FailingClass.class);
+    }
+
+    @Test
+    public void onErrorInConstructorShouldRethrowIt() throws Exception {
+        // THEN
+        expectedException.expect(AssertionError.class);
+
+        // WHEN
+        sut.parse("error", FailingClass.class);
+    }
+
+    @Test
+    public void onListOfLongsShouldPreserveOrder() throws Exception {
+        Iterable<Long> result = sut.parse(Arrays.asList("3", "1", "2"), Long.class);
+        assertThat(result).containsExactly(3L, 1L, 2L);
+    }
+
     private enum SampleEnum {
         SAMPLE_VALUE
     }
@@ -254,6 +314,48 @@ public class TypeParserTest {
         }
     }
 
+    @Test
+    public void onLongIdsShouldParseThemInOrder() throws Exception {
+        long[] result = sut.parseLongs(Arrays.asList("3", "-1", "9223372036854775807"));
+        assertThat(result).containsExactly(3L, -1L, Long.MAX_VALUE);
+    }
+
+    @Test
+    public void onInvalidLongIdShouldThrowParserException() throws Exception {
+        expectedException.expect(ParserException.class);
+        sut.parseLong("1a");
+    }
+
+    @Test
+    public void onLongClassesShouldBeLongTypes() throws Exception {
+        assertThat(TypeParser.isLongType(long.class)).isTrue();
+        assertThat(TypeParser.isLongType(Long.class)).isTrue();
+        assertThat(TypeParser.isLongType(Integer.class)).isFalse();
+    }
+
     private static class UnknownClass implements Serializable {
     }
+
+    static class SampleValue implements Serializable {
+        private final String value;
+
+        private SampleValue(String value, boolean checked) {
+            this.value = value;
+        }
+
+        public static SampleValue of(CharSequence value) {
+            return new SampleValue(value.toString(), true);
+        }
+    }
+
+    static class FailingClass implements Serializable {
+        public FailingClass(String input) {
+            if (input.isEmpty()) {
+                throw new IllegalStateException("empty input");
+            }
+            if (input.equals("error")) {
+                throw new AssertionError("error input");
+            }
+        }
+    }
 }
\ No newline at end of file